@@ -1,5 +1,9 @@
 package de.tum.in.test.api;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 
@@ -15,6 +19,14 @@ import de.tum.in.test.api.util.ProjectSourcesFinder;
 @API(status = Status.MAINTAINED)
 public class AresConfiguration {
 
+	private static volatile boolean usingClassFilesForStructuralTests;
+	private static volatile int structuralTestParallelism = 1;
+	private static volatile Duration structuralTestTimeout = Duration.ofMinutes(1);
+	private static volatile int astParsingParallelism = 1;
+	private static volatile long astMaxFileSize = Long.MAX_VALUE;
+	private static volatile Path astSummaryCacheDirectory;
+	private static volatile byte[] astSummaryCacheSecret;
+
 	private AresConfiguration() {
 	}
 
@@ -61,4 +73,244 @@ public class AresConfiguration {
 	public static void setBuildGradlePath(String path) {
 		ProjectSourcesFinder.setBuildGradlePath(path);
 	}
+
+	/**
+	 * Returns whether the structural tests read the compiled class files instead of
+	 * loading the classes under test.
+	 * <p>
+	 * Defaults to <code>false</code>.
+	 *
+	 * @return true if class files are read, false if reflection is used
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static boolean isUsingClassFilesForStructuralTests() {
+		return usingClassFilesForStructuralTests;
+	}
+
+	/**
+	 * Sets whether the structural tests read the compiled class files instead of
+	 * loading the classes under test.
+	 * <p>
+	 * If enabled, the classes checked by the structural tests are neither loaded nor
+	 * initialized; their <code>.class</code> files are located using the class loader
+	 * and parsed directly. Annotations inherited from superclasses are not
+	 * considered in this mode.
+	 *
+	 * @param usingClassFiles true to read class files, false to use reflection
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setUsingClassFilesForStructuralTests(boolean usingClassFiles) {
+		usingClassFilesForStructuralTests = usingClassFiles;
+	}
+
+	/**
+	 * Returns the maximum number of threads the structural tests are evaluated
+	 * with.
+	 * <p>
+	 * Defaults to <code>1</code>, which evaluates the structural tests sequentially.
+	 *
+	 * @return the maximum number of threads, at least one
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static int getStructuralTestParallelism() {
+		return structuralTestParallelism;
+	}
+
+	/**
+	 * Sets the maximum number of threads the structural tests are evaluated with.
+	 * <p>
+	 * If greater than one, the checks of all classes in the structure oracle are
+	 * evaluated in parallel on a bounded pool of trusted threads when the dynamic
+	 * tests are generated. The results are reported by the dynamic tests in the
+	 * order of the structure oracle, as in sequential mode.
+	 *
+	 * @param parallelism the maximum number of threads, e.g.
+	 *                    {@link Runtime#availableProcessors()}
+	 * @throws IllegalArgumentException if the parallelism is less than one
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setStructuralTestParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("invalid parallelism: " + parallelism); //$NON-NLS-1$
+		structuralTestParallelism = parallelism;
+	}
+
+	/**
+	 * Returns how long the results of the structural tests evaluated in parallel
+	 * are awaited at most, see {@link #setStructuralTestParallelism(int)}.
+	 * <p>
+	 * Defaults to one minute.
+	 *
+	 * @return the timeout for the structural tests evaluated together
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static Duration getStructuralTestTimeout() {
+		return structuralTestTimeout;
+	}
+
+	/**
+	 * Sets how long the results of the structural tests evaluated in parallel are
+	 * awaited at most, counted from when all of them are submitted. Tests that do
+	 * not finish in time fail with a timeout, or as not executed if they did not
+	 * even start, and the remaining tests are still reported.
+	 *
+	 * @param timeout the timeout for the structural tests evaluated together
+	 * @throws IllegalArgumentException if the timeout is not positive
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setStructuralTestTimeout(Duration timeout) {
+		Objects.requireNonNull(timeout, "The timeout must not be null."); //$NON-NLS-1$
+		if (timeout.isNegative() || timeout.isZero())
+			throw new IllegalArgumentException("invalid timeout: " + timeout); //$NON-NLS-1$
+		structuralTestTimeout = timeout;
+	}
+
+	/**
+	 * Returns the maximum number of threads the source files are parsed with for
+	 * AST assertions.
+	 * <p>
+	 * Defaults to one, which parses all files sequentially.
+	 *
+	 * @return the maximum number of threads
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static int getAstParsingParallelism() {
+		return astParsingParallelism;
+	}
+
+	/**
+	 * Sets the maximum number of threads the source files are parsed with for AST
+	 * assertions.
+	 * <p>
+	 * If greater than one, the files of a directory are parsed in parallel on a
+	 * bounded pool of trusted threads, each with its own Java parser instance. The
+	 * result is the same as in sequential mode.
+	 *
+	 * @param parallelism the maximum number of threads, e.g.
+	 *                    {@link Runtime#availableProcessors()}
+	 * @throws IllegalArgumentException if the parallelism is less than one
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setAstParsingParallelism(int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("invalid parallelism: " + parallelism); //$NON-NLS-1$
+		astParsingParallelism = parallelism;
+	}
+
+	/**
+	 * Returns the directory in which the results of parsing source files for AST
+	 * assertions are cached across test runs.
+	 * <p>
+	 * Defaults to <code>null</code>, which disables the cache.
+	 *
+	 * @return the cache directory, or null if disabled
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static Path getAstSummaryCacheDirectory() {
+		return astSummaryCacheDirectory;
+	}
+
+	/**
+	 * Returns the secret the entries of the AST summary cache are authenticated
+	 * with.
+	 *
+	 * @return a copy of the secret, or null if the entries are authenticated with
+	 *         a random secret of this JVM
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static byte[] getAstSummaryCacheSecret() {
+		var secret = astSummaryCacheSecret;
+		return secret == null ? null : secret.clone();
+	}
+
+	/**
+	 * Sets the directory in which the results of parsing source files for AST
+	 * assertions are cached, only for the test runs of this JVM.
+	 * <p>
+	 * If set, the positions of the syntax tree nodes the AST assertions check for
+	 * are stored per file content and language level in a compact binary format.
+	 * Unchanged files are then not parsed again by later AST assertions. The
+	 * entries are authenticated with a random secret of this JVM, entries written
+	 * by other JVMs are ignored. Use
+	 * {@link #setAstSummaryCacheDirectory(Path, byte[])} to reuse the entries in
+	 * later test runs.
+	 * <p>
+	 * The directory must not be located in the tested submission, e.g. a
+	 * directory of the build server outside of the working copy, so that the
+	 * cache cannot be prepared by a submission.
+	 *
+	 * @param directory the cache directory, or null to disable the cache
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setAstSummaryCacheDirectory(Path directory) {
+		astSummaryCacheSecret = null;
+		astSummaryCacheDirectory = directory;
+	}
+
+	/**
+	 * Sets the directory in which the results of parsing source files for AST
+	 * assertions are cached across test runs, see
+	 * {@link #setAstSummaryCacheDirectory(Path)}.
+	 * <p>
+	 * The entries are authenticated with the given secret, only entries written
+	 * with the same secret are used. The secret must not be accessible to the
+	 * tested submissions, e.g. it can be passed to the test run by the build
+	 * server. The entries can then be shared by all test runs using the same
+	 * secret, including those of other submissions.
+	 *
+	 * @param directory the cache directory, or null to disable the cache
+	 * @param secret    the secret, at least 16 bytes and preferably random
+	 * @throws IllegalArgumentException if the secret is shorter than 16 bytes
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setAstSummaryCacheDirectory(Path directory, byte[] secret) {
+		if (secret.length < 16)
+			throw new IllegalArgumentException("secret too short: " + secret.length); //$NON-NLS-1$
+		astSummaryCacheSecret = secret.clone();
+		astSummaryCacheDirectory = directory;
+	}
+
+	/**
+	 * Returns the maximum size of a source file in bytes that AST assertions
+	 * accept.
+	 * <p>
+	 * Defaults to {@link Long#MAX_VALUE}, which does not limit the file size.
+	 *
+	 * @return the maximum file size in bytes
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static long getAstMaxFileSize() {
+		return astMaxFileSize;
+	}
+
+	/**
+	 * Sets the maximum size of a source file in bytes that AST assertions accept.
+	 * <p>
+	 * AST assertions fail for larger source files before reading them completely.
+	 * This protects the test run against generated or accidentally added sources
+	 * that would need a lot of memory when parsed.
+	 *
+	 * @param maxFileSize the maximum file size in bytes
+	 * @throws IllegalArgumentException if the maximum file size is less than one
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public static void setAstMaxFileSize(long maxFileSize) {
+		if (maxFileSize < 1)
+			throw new IllegalArgumentException("invalid maximum file size: " + maxFileSize); //$NON-NLS-1$
+		astMaxFileSize = maxFileSize;
+	}
 }
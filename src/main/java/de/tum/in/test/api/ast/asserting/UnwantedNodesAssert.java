@@ -12,10 +12,9 @@ import org.apiguardian.api.API.Status;
 import org.assertj.core.api.AbstractAssert;
 
 import com.github.javaparser.ParserConfiguration.LanguageLevel;
-import com.github.javaparser.StaticJavaParser;
 
 import de.tum.in.test.api.AresConfiguration;
-import de.tum.in.test.api.ast.model.UnwantedNode;
+import de.tum.in.test.api.ast.model.*;
 import de.tum.in.test.api.ast.type.*;
 import de.tum.in.test.api.util.ProjectSourcesFinder;
 
@@ -34,9 +33,15 @@ public class UnwantedNodesAssert extends AbstractAssert<UnwantedNodesAssert, Pat
 	 */
 	private final LanguageLevel level;
 
-	private UnwantedNodesAssert(Path path, LanguageLevel level) {
+	/**
+	 * Whether to stop at the first Java file with unwanted nodes
+	 */
+	private final boolean failFast;
+
+	private UnwantedNodesAssert(Path path, LanguageLevel level, boolean failFast) {
 		super(requireNonNull(path), UnwantedNodesAssert.class);
 		this.level = level;
+		this.failFast = failFast;
 		if (!Files.isDirectory(path)) {
 			fail("The source directory %s does not exist", path); //$NON-NLS-1$
 		}
@@ -58,7 +63,7 @@ public class UnwantedNodesAssert extends AbstractAssert<UnwantedNodesAssert, Pat
 				+ " Make sure the build file is configured correctly." //$NON-NLS-1$
 				+ " If it is not located in the execution folder directly," //$NON-NLS-1$
 				+ " set the location using AresConfiguration methods.")); //$NON-NLS-1$
-		return new UnwantedNodesAssert(path, null);
+		return new UnwantedNodesAssert(path, null, false);
 	}
 
 	/**
@@ -70,7 +75,7 @@ public class UnwantedNodesAssert extends AbstractAssert<UnwantedNodesAssert, Pat
 	 */
 	public static UnwantedNodesAssert assertThatSourcesIn(Path directory) {
 		Objects.requireNonNull(directory, "The given source path must not be null."); //$NON-NLS-1$
-		return new UnwantedNodesAssert(directory, null);
+		return new UnwantedNodesAssert(directory, null, false);
 	}
 
 	/**
@@ -89,18 +94,37 @@ public class UnwantedNodesAssert extends AbstractAssert<UnwantedNodesAssert, Pat
 	 */
 	public UnwantedNodesAssert withinPackage(String packageName) {
 		Objects.requireNonNull(packageName, "The package name must not be null."); //$NON-NLS-1$
-		var newPath = actual.resolve(Path.of("", packageName.split("\\."))); //$NON-NLS-1$ //$NON-NLS-2$
-		return new UnwantedNodesAssert(newPath, level);
+		return new UnwantedNodesAssert(resolvePackage(packageName), level, failFast);
 	}
 
 	/**
-	 * Configures the language level used by the Java parser
+	 * Configures the language level used by the Java parser. The language level
+	 * only applies to this assertion, the configuration of the
+	 * {@link com.github.javaparser.StaticJavaParser StaticJavaParser} is not
+	 * changed.
 	 *
 	 * @param level The language level for the Java parser
 	 * @return An unwanted node assertion object (for chaining)
 	 */
 	public UnwantedNodesAssert withLanguageLevel(LanguageLevel level) {
-		return new UnwantedNodesAssert(actual, level);
+		return new UnwantedNodesAssert(actual, level, failFast);
+	}
+
+	/**
+	 * Configures the node checks to stop at the first Java file that contains
+	 * unwanted nodes. The files are checked one after another in the order of
+	 * their paths, and only the unwanted nodes of the first such file are
+	 * reported. This avoids parsing all files if only the result of the check
+	 * matters, e.g. for large projects.
+	 * <p>
+	 * This applies to {@link #hasNo(Type)} and {@link #hasNoneOf(Map)}.
+	 *
+	 * @return An unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert withFailFast() {
+		return new UnwantedNodesAssert(actual, level, true);
 	}
 
 	/**
@@ -115,14 +139,166 @@ public class UnwantedNodesAssert extends AbstractAssert<UnwantedNodesAssert, Pat
 	 * @see LoopType
 	 */
 	public UnwantedNodesAssert hasNo(Type type) {
+		requireLanguageLevel();
+		UnwantedNodeRules unwantedNodeRules = UnwantedNodeRules.of(type.getNodeNameNodeMap());
+		Optional<String> errorMessage = UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(actual,
+				filePath -> unwantedNodeRules, level, failFast);
+		errorMessage.ifPresent(this::failWithUnwantedNodes);
+		return this;
+	}
+
+	/**
+	 * Verifies that the selected Java files do not contain any syntax tree nodes
+	 * of the given types.
+	 * <p>
+	 * In contrast to calling {@link #hasNo(Type)} for each type, the files are
+	 * parsed and searched only once for all types, and all unwanted nodes are
+	 * reported together.
+	 *
+	 * @param types Unwanted statements
+	 * @return This unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert hasNoneOf(Type... types) {
+		Objects.requireNonNull(types, "The types must not be null."); //$NON-NLS-1$
+		return hasNoneOf(Map.of("", List.of(types))); //$NON-NLS-1$
+	}
+
+	/**
+	 * Verifies that the Java files in the given packages do not contain any syntax
+	 * tree nodes of the types specified for the respective package.
+	 * <p>
+	 * The packages are resolved relative to the path of this assertion, like in
+	 * {@link #withinPackage(String)}, and include all of their sub-packages. The
+	 * empty string denotes all files. Files in multiple of the given packages are
+	 * checked for the types of all of them. Each file is parsed and searched only
+	 * once, and all unwanted nodes are reported together, grouped by file and
+	 * unwanted node.
+	 *
+	 * @param typesByPackage The unwanted statements per Java package name
+	 * @return This unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert hasNoneOf(Map<String, ? extends Collection<? extends Type>> typesByPackage) {
+		Objects.requireNonNull(typesByPackage, "The types by package must not be null."); //$NON-NLS-1$
+		requireLanguageLevel();
+		Map<Path, Collection<? extends Type>> typesByDirectory = new LinkedHashMap<>();
+		typesByPackage.forEach((packageName, types) -> {
+			var directory = resolvePackage(packageName);
+			if (!Files.isDirectory(directory)) {
+				failWithMessage("The source directory %s does not exist", directory); //$NON-NLS-1$
+			}
+			typesByDirectory.put(directory, types);
+		});
+		Map<Set<Type>, UnwantedNodeRules> rulesByTypes = new HashMap<>();
+		Optional<String> errorMessage = UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(actual, filePath -> {
+			Set<Type> types = new LinkedHashSet<>();
+			typesByDirectory.forEach((directory, directoryTypes) -> {
+				if (filePath.startsWith(directory)) {
+					types.addAll(directoryTypes);
+				}
+			});
+			if (types.isEmpty()) {
+				return null;
+			}
+			return rulesByTypes.computeIfAbsent(types, UnwantedNodeRules::ofTypes);
+		}, level, failFast);
+		errorMessage.ifPresent(this::failWithUnwantedNodes);
+		return this;
+	}
+
+	/**
+	 * Verifies that the methods and constructors in the selected Java files do not
+	 * call themselves, neither directly nor through other methods.
+	 * <p>
+	 * The calls are resolved by name, see {@link CallGraph}. Overloaded methods
+	 * with the same number of parameters are only distinguished by obviously
+	 * incompatible argument types, e.g. an <code>int</code> literal passed to a
+	 * <code>String</code> parameter. Calls that may target more than one such
+	 * overload are ambiguous and not reported.
+	 *
+	 * @return This unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert hasNoRecursion() {
+		requireLanguageLevel();
+		var recursiveCalls = CallGraph.ofAllFilesBelow(actual, level).findRecursiveCalls();
+		UnwantedNode.getMessageForUnwantedCalls(recursiveCalls,
+				call -> localized("ast.call.recursive", call.getTargetName())) //$NON-NLS-1$
+				.ifPresent(message -> failWithUnwantedNodes("ast.method.has_no_recursion", message)); //$NON-NLS-1$
+		return this;
+	}
+
+	/**
+	 * Verifies that the selected Java files do not call any methods or
+	 * constructors of types in the given package or its sub-packages.
+	 * <p>
+	 * The types of the called methods are derived by name, see {@link CallGraph}.
+	 * Calls on expressions whose type cannot be derived from declarations, type
+	 * names, imports or non-generic return types, like
+	 * <code>map.get(key).stream()</code>, are not detected.
+	 *
+	 * @param packageName Java package name in the form of, e.g.,
+	 *                    <code>java.util.stream</code>
+	 * @return This unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert hasNoCallsInto(String packageName) {
+		Objects.requireNonNull(packageName, "The package name must not be null."); //$NON-NLS-1$
+		requireLanguageLevel();
+		failWithUnwantedCalls(CallGraph.ofAllFilesBelow(actual, level).findCallsInto(packageName));
+		return this;
+	}
+
+	/**
+	 * Verifies that the selected Java files do not call the given method,
+	 * regardless of its parameters.
+	 * <p>
+	 * The types of the called methods are derived by name, see
+	 * {@link #hasNoCallsInto(String)}.
+	 *
+	 * @param qualifiedMethodName The fully qualified method name, e.g.
+	 *                            <code>java.util.Collections.sort</code>
+	 * @return This unwanted node assertion object (for chaining)
+	 * @since 1.14.0
+	 */
+	@API(status = Status.EXPERIMENTAL)
+	public UnwantedNodesAssert hasNoCallsTo(String qualifiedMethodName) {
+		Objects.requireNonNull(qualifiedMethodName, "The method name must not be null."); //$NON-NLS-1$
+		requireLanguageLevel();
+		failWithUnwantedCalls(CallGraph.ofAllFilesBelow(actual, level).findCallsTo(qualifiedMethodName));
+		return this;
+	}
+
+	private Path resolvePackage(String packageName) {
+		Objects.requireNonNull(packageName, "The package name must not be null."); //$NON-NLS-1$
+		if (packageName.isEmpty()) {
+			return actual;
+		}
+		return actual.resolve(Path.of("", packageName.split("\\."))); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void requireLanguageLevel() {
 		if (level == null) {
 			failWithMessage("The 'level' is not set. Please use UnwantedNodesAssert.withLanguageLevel(LanguageLevel)."); //$NON-NLS-1$
 		}
-		StaticJavaParser.getParserConfiguration().setLanguageLevel(level);
-		Optional<String> errorMessage = UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(actual,
-				type.getNodeNameNodeMap());
-		errorMessage.ifPresent(unwantedNodeMessageForAllJavaFiles -> failWithMessage(
-				localized("ast.method.has_no") + System.lineSeparator() + unwantedNodeMessageForAllJavaFiles)); //$NON-NLS-1$
-		return this;
+	}
+
+	private void failWithUnwantedNodes(String unwantedNodeMessageForAllJavaFiles) {
+		failWithUnwantedNodes("ast.method.has_no", unwantedNodeMessageForAllJavaFiles); //$NON-NLS-1$
+	}
+
+	private void failWithUnwantedCalls(List<CallGraph.MethodCall> unwantedCalls) {
+		UnwantedNode.getMessageForUnwantedCalls(unwantedCalls,
+				call -> localized("ast.call.unwanted", call.getTargetName())) //$NON-NLS-1$
+				.ifPresent(message -> failWithUnwantedNodes("ast.method.has_no_calls", message)); //$NON-NLS-1$
+	}
+
+	private void failWithUnwantedNodes(String headerKey, String unwantedNodeMessageForAllJavaFiles) {
+		failWithMessage(localized(headerKey) + System.lineSeparator() + unwantedNodeMessageForAllJavaFiles);
 	}
 }
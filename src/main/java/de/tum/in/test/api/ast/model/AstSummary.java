@@ -0,0 +1,174 @@
+package de.tum.in.test.api.ast.model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.*;
+import com.github.javaparser.ast.Node;
+
+/**
+ * The positions of all nodes of a Java file that unwanted node rules can be
+ * evaluated on without the syntax tree, grouped by node class.
+ * <p>
+ * Only the node classes supported by the {@link LexicalFilter} are recorded,
+ * which are the ones used by the {@link de.tum.in.test.api.ast.type.Type}
+ * enums. The positions of each node class are stored in the order of a
+ * pre-order traversal, like in {@link UnwantedNodeRules#findIn(Node)}.
+ * <p>
+ * Summaries are only valid for the same format version, JavaParser version and
+ * recorded node classes, see {@link #formatId()}. Summaries written with a
+ * different format id are rejected when read, as they could lack node classes
+ * that were added since.
+ *
+ * @since 1.14.0
+ */
+final class AstSummary {
+
+	private static final int MAGIC = 0x41525341; // "ARSA"
+	private static final int VERSION = 1;
+	// begin line, begin column, end line, end column
+	private static final int INTS_PER_POSITION = 4;
+	private static final int MISSING = -1;
+	private static final int BYTES_PER_POSITION = INTS_PER_POSITION * Integer.BYTES;
+
+	private static final Map<String, Class<? extends Node>> NODE_CLASSES_BY_NAME = LexicalFilter
+			.supportedNodeClasses().stream().collect(Collectors.toUnmodifiableMap(Class::getName, Function.identity()));
+
+	private static final String FORMAT_ID = AstSummaryCache.sha256(VERSION + "\n" //$NON-NLS-1$
+			+ JavaParserBuild.PROJECT_VERSION + "\n" //$NON-NLS-1$
+			+ String.join("\n", new TreeSet<>(NODE_CLASSES_BY_NAME.keySet()))) //$NON-NLS-1$
+			.substring(0, 16);
+
+	private final Map<Class<? extends Node>, int[]> positionsByNodeClass;
+
+	private AstSummary(Map<Class<? extends Node>, int[]> positionsByNodeClass) {
+		this.positionsByNodeClass = positionsByNodeClass;
+	}
+
+	/**
+	 * Records the positions of the supported nodes in the given syntax tree.
+	 *
+	 * @param ast the syntax tree
+	 * @return the summary of the syntax tree
+	 */
+	static AstSummary of(Node ast) {
+		Map<Class<? extends Node>, List<Node>> nodesByClass = new LinkedHashMap<>();
+		ast.walk(Node.TreeTraversal.PREORDER, node -> {
+			if (NODE_CLASSES_BY_NAME.containsKey(node.getClass().getName()))
+				nodesByClass.computeIfAbsent(node.getClass(), key -> new ArrayList<>()).add(node);
+		});
+		Map<Class<? extends Node>, int[]> positionsByNodeClass = new LinkedHashMap<>();
+		nodesByClass.forEach((nodeClass, nodes) -> {
+			var positions = new int[nodes.size() * INTS_PER_POSITION];
+			for (var i = 0; i < nodes.size(); i++) {
+				var node = nodes.get(i);
+				var offset = i * INTS_PER_POSITION;
+				putPosition(positions, offset, node.getBegin());
+				putPosition(positions, offset + 2, node.getEnd());
+			}
+			positionsByNodeClass.put(nodeClass, positions);
+		});
+		return new AstSummary(positionsByNodeClass);
+	}
+
+	private static void putPosition(int[] positions, int offset, Optional<Position> position) {
+		positions[offset] = position.map(p -> p.line).orElse(MISSING);
+		positions[offset + 1] = position.map(p -> p.column).orElse(MISSING);
+	}
+
+	/**
+	 * Returns the id of the summary format, which changes with the format
+	 * version, the JavaParser version and the set of recorded node classes.
+	 *
+	 * @return the format id, consisting of hexadecimal digits
+	 */
+	static String formatId() {
+		return FORMAT_ID;
+	}
+
+	/**
+	 * @return the node classes with at least one node in the summary
+	 */
+	Set<Class<? extends Node>> getNodeClasses() {
+		return positionsByNodeClass.keySet();
+	}
+
+	/**
+	 * Returns the positions of the nodes of exactly the given class.
+	 *
+	 * @param nodeClass the runtime class of the nodes
+	 * @return the positions in pre-order, empty if there are none
+	 */
+	List<NodePosition> getPositionsOf(Class<? extends Node> nodeClass) {
+		var positions = positionsByNodeClass.get(nodeClass);
+		if (positions == null)
+			return List.of();
+		List<NodePosition> nodePositions = new ArrayList<>(positions.length / INTS_PER_POSITION);
+		for (var offset = 0; offset < positions.length; offset += INTS_PER_POSITION)
+			nodePositions.add(new NodePosition(positions[offset], positions[offset + 1], positions[offset + 2],
+					positions[offset + 3]));
+		return nodePositions;
+	}
+
+	/**
+	 * Writes the summary in a compact binary format.
+	 *
+	 * @param out the stream to write to, not closed by this method
+	 * @throws IOException if the stream could not be written
+	 */
+	void write(OutputStream out) throws IOException {
+		var data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeUTF(FORMAT_ID);
+		data.writeInt(positionsByNodeClass.size());
+		for (var entry : positionsByNodeClass.entrySet()) {
+			data.writeUTF(entry.getKey().getName());
+			var positions = entry.getValue();
+			data.writeInt(positions.length / INTS_PER_POSITION);
+			for (int value : positions)
+				data.writeInt(value);
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads a summary in the binary format.
+	 *
+	 * @param content the summary in the binary format
+	 * @return the summary
+	 * @throws IOException if the content is not a valid summary of this format
+	 */
+	static AstSummary read(byte[] content) throws IOException {
+		var in = new ByteArrayInputStream(content);
+		var data = new DataInputStream(in);
+		if (data.readInt() != MAGIC)
+			throw new IOException("Not an AST summary"); //$NON-NLS-1$
+		var version = data.readByte();
+		if (version != VERSION)
+			throw new IOException("Unsupported AST summary version " + version); //$NON-NLS-1$
+		var formatId = data.readUTF();
+		if (!FORMAT_ID.equals(formatId))
+			throw new IOException("Unsupported AST summary format " + formatId); //$NON-NLS-1$
+		var nodeClassCount = data.readInt();
+		Map<Class<? extends Node>, int[]> positionsByNodeClass = new LinkedHashMap<>();
+		for (var i = 0; i < nodeClassCount; i++) {
+			var nodeClassName = data.readUTF();
+			var nodeClass = NODE_CLASSES_BY_NAME.get(nodeClassName);
+			if (nodeClass == null)
+				throw new IOException("Unsupported node class in AST summary: " + nodeClassName); //$NON-NLS-1$
+			var count = data.readInt();
+			// the count must not exceed the remaining content, so corrupt summaries cannot exhaust the memory
+			if (count < 0 || count > in.available() / BYTES_PER_POSITION)
+				throw new IOException("Invalid node count in AST summary: " + count); //$NON-NLS-1$
+			var positions = new int[count * INTS_PER_POSITION];
+			for (var j = 0; j < positions.length; j++)
+				positions[j] = data.readInt();
+			positionsByNodeClass.put(nodeClass, positions);
+		}
+		return new AstSummary(positionsByNodeClass);
+	}
+}
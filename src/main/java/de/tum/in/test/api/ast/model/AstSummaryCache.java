@@ -0,0 +1,189 @@
+package de.tum.in.test.api.ast.model;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.*;
+import java.util.Arrays;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.*;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import de.tum.in.test.api.AresConfiguration;
+
+/**
+ * Stores {@link AstSummary AST summaries} in a directory, so that unchanged
+ * Java files do not need to be parsed again in later test runs.
+ * <p>
+ * Each summary is stored in its own file named after the SHA-256 hash of the
+ * file content, the language level and the {@link AstSummary#formatId() format
+ * id}, so files are looked up by content and not by path. Changed files
+ * therefore simply get a new entry, and summaries are shared between files with
+ * the same content. Summaries are written to a temporary file first and then
+ * moved, so concurrent test runs never read incomplete summaries. Unreadable
+ * summaries are ignored and overwritten.
+ * <p>
+ * As the key can be computed by anyone, each entry ends with an HMAC-SHA256 of
+ * its key and summary, using the configured secret or a random secret of this
+ * JVM. Entries that were not written with the same secret, e.g. entries
+ * prepared by a submission, are ignored.
+ *
+ * @since 1.14.0
+ * @see AresConfiguration#setAstSummaryCacheDirectory(Path)
+ */
+final class AstSummaryCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(AstSummaryCache.class);
+
+	private static final String FILE_SUFFIX = ".summary"; //$NON-NLS-1$
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+	private static final String MAC_ALGORITHM = "HmacSHA256"; //$NON-NLS-1$
+	private static final int MAC_LENGTH = 32;
+
+	private static final byte[] JVM_SECRET = randomSecret();
+
+	private final Path directory;
+	private final SecretKeySpec secret;
+
+	AstSummaryCache(Path directory, byte[] secret) {
+		this.directory = directory;
+		this.secret = new SecretKeySpec(secret, MAC_ALGORITHM);
+	}
+
+	private static byte[] randomSecret() {
+		var secret = new byte[MAC_LENGTH];
+		new SecureRandom().nextBytes(secret);
+		return secret;
+	}
+
+	/**
+	 * @return the cache in the configured directory, or null if disabled
+	 */
+	static AstSummaryCache configured() {
+		var directory = AresConfiguration.getAstSummaryCacheDirectory();
+		if (directory == null)
+			return null;
+		var secret = AresConfiguration.getAstSummaryCacheSecret();
+		return new AstSummaryCache(directory, secret == null ? JVM_SECRET : secret);
+	}
+
+	/**
+	 * Computes the key of the summary of the given Java file.
+	 *
+	 * @param javaFilePath  the path of the Java file
+	 * @param languageLevel the language level the file is parsed with
+	 * @return the key, which is also a valid file name
+	 * @throws IOException if the file could not be read
+	 */
+	static String keyOf(Path javaFilePath, LanguageLevel languageLevel) throws IOException {
+		return sha256(Files.readAllBytes(javaFilePath)) + '-' + languageLevel.name() + '-' + AstSummary.formatId();
+	}
+
+	/**
+	 * Computes the SHA-256 hash of the UTF-8 encoded text.
+	 *
+	 * @param text the text
+	 * @return the hash in hexadecimal digits
+	 */
+	static String sha256(String text) {
+		return sha256(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String sha256(byte[] content) {
+		MessageDigest sha256;
+		try {
+			sha256 = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		var hash = sha256.digest(content);
+		var hex = new StringBuilder(hash.length * 2);
+		for (byte b : hash)
+			hex.append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+		return hex.toString();
+	}
+
+	/**
+	 * Computes the authentication code of a summary, which also covers the key so
+	 * that entries cannot be used for other file contents.
+	 */
+	private byte[] macOf(String key, byte[] summary) {
+		Mac mac;
+		try {
+			mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(secret);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+		mac.update(key.getBytes(StandardCharsets.UTF_8));
+		mac.update((byte) 0);
+		return mac.doFinal(summary);
+	}
+
+	/**
+	 * Loads the summary with the given key.
+	 *
+	 * @param key the key, see {@link #keyOf(Path, LanguageLevel)}
+	 * @return the summary, or null if there is no readable summary for the key
+	 */
+	AstSummary load(String key) {
+		var file = directory.resolve(key + FILE_SUFFIX);
+		try {
+			var content = Files.readAllBytes(file);
+			if (content.length < MAC_LENGTH)
+				throw new IOException("Missing authentication code"); //$NON-NLS-1$
+			var summary = Arrays.copyOf(content, content.length - MAC_LENGTH);
+			var mac = Arrays.copyOfRange(content, summary.length, content.length);
+			if (!MessageDigest.isEqual(mac, macOf(key, summary))) {
+				LOG.warn("Ignoring the AST summary {} with an invalid authentication code", file); //$NON-NLS-1$
+				return null;
+			}
+			return AstSummary.read(summary);
+		} catch (@SuppressWarnings("unused") NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Could not read the AST summary {}, parsing the file instead", file, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the summary with the given key. Failures are only logged, as the
+	 * summary is just not cached then.
+	 *
+	 * @param key     the key, see {@link #keyOf(Path, LanguageLevel)}
+	 * @param summary the summary to store
+	 */
+	void store(String key, AstSummary summary) {
+		var file = directory.resolve(key + FILE_SUFFIX);
+		Path temporaryFile = null;
+		try {
+			Files.createDirectories(directory);
+			temporaryFile = Files.createTempFile(directory, key, ".tmp"); //$NON-NLS-1$
+			var content = new ByteArrayOutputStream();
+			summary.write(content);
+			try (var out = new BufferedOutputStream(Files.newOutputStream(temporaryFile))) {
+				content.writeTo(out);
+				out.write(macOf(key, content.toByteArray()));
+			}
+			try {
+				Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+			} catch (@SuppressWarnings("unused") AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			LOG.warn("Could not write the AST summary {}", file, e); //$NON-NLS-1$
+			if (temporaryFile != null) {
+				try {
+					Files.deleteIfExists(temporaryFile);
+				} catch (@SuppressWarnings("unused") IOException suppressed) {
+					// nothing left to do
+				}
+			}
+		}
+	}
+}
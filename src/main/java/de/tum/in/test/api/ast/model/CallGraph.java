@@ -0,0 +1,416 @@
+package de.tum.in.test.api.ast.model;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.CallableDeclaration;
+
+import de.tum.in.test.api.util.LruCache;
+
+/**
+ * The calls between the methods and constructors of a set of Java files, built
+ * once from their syntax trees so that rules like "no recursion" or "no calls
+ * into a package" are simple lookups.
+ * <p>
+ * Calls are resolved by name without a full type analysis, see
+ * {@link CallResolver}. The types of call targets are derived from the
+ * declared types of variables, parameters and fields, from type names and from
+ * the imports. The methods of the project sources are resolved by name and
+ * number of arguments, including overloads that cannot be excluded by obvious
+ * argument types. For chained calls, the return types of project methods and
+ * of the non-generic methods of the Java platform are used. Calls on
+ * expressions whose type cannot be derived this way, e.g. on the result of a
+ * generic method, have an unknown target type.
+ * <p>
+ * The graph of the Java files below a directory is cached as long as all of
+ * the files are unchanged, see {@link JavaFileCache}. The graphs of up to 16
+ * directories are kept, each together with the syntax trees of all of its
+ * files, which are also kept in the {@link JavaFileCache} as long as they are
+ * not evicted there. Graphs built using {@link #of(List)} are not cached.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class CallGraph {
+
+	private static final int MAX_CACHED_GRAPHS = 16;
+
+	private static final Map<Path, CallGraph> CACHE = Collections.synchronizedMap(new LruCache<>(MAX_CACHED_GRAPHS));
+
+	private final List<CompilationUnit> compilationUnits;
+	private final List<Method> methods;
+	private final List<MethodCall> calls;
+
+	private CallGraph(List<JavaFile> javaFiles) {
+		this.compilationUnits = javaFiles.stream().map(JavaFile::getJavaFileAST).collect(Collectors.toList());
+		var resolver = new CallResolver(javaFiles);
+		this.methods = resolver.getMethods();
+		this.calls = resolver.resolveCalls();
+	}
+
+	/**
+	 * Builds the call graph of the given Java files.
+	 *
+	 * @param javaFiles the Java files
+	 * @return the call graph
+	 */
+	public static CallGraph of(List<JavaFile> javaFiles) {
+		return new CallGraph(javaFiles);
+	}
+
+	/**
+	 * Returns the call graph of all Java files below the given directory, which is
+	 * only built again if any of the files changed. The files are parsed with the
+	 * language level configured for the {@link StaticJavaParser}.
+	 *
+	 * @param pathOfDirectory Path to the highest analysis level
+	 * @return the call graph
+	 */
+	public static CallGraph ofAllFilesBelow(Path pathOfDirectory) {
+		return ofAllFilesBelow(pathOfDirectory, StaticJavaParser.getParserConfiguration().getLanguageLevel());
+	}
+
+	/**
+	 * Returns the call graph of all Java files below the given directory, which is
+	 * only built again if any of the files changed.
+	 *
+	 * @param pathOfDirectory Path to the highest analysis level
+	 * @param languageLevel   The language level to parse the files with
+	 * @return the call graph
+	 */
+	public static CallGraph ofAllFilesBelow(Path pathOfDirectory, LanguageLevel languageLevel) {
+		var javaFiles = JavaFile.convertFromFiles(JavaFile.findJavaFiles(pathOfDirectory, path -> true),
+				languageLevel);
+		var key = pathOfDirectory.toAbsolutePath().normalize();
+		var callGraph = CACHE.get(key);
+		if (callGraph == null || !callGraph.isBuiltFrom(javaFiles)) {
+			callGraph = new CallGraph(javaFiles);
+			CACHE.put(key, callGraph);
+		}
+		return callGraph;
+	}
+
+	private boolean isBuiltFrom(List<JavaFile> javaFiles) {
+		if (javaFiles.size() != compilationUnits.size())
+			return false;
+		for (var i = 0; i < javaFiles.size(); i++) {
+			// the cached syntax trees are the same instances as long as the files are unchanged
+			if (javaFiles.get(i).getJavaFileAST() != compilationUnits.get(i))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return all methods and constructors declared in the Java files
+	 */
+	public List<Method> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * @return all method and constructor calls in the Java files, ordered by file
+	 *         and position
+	 */
+	public List<MethodCall> getCalls() {
+		return calls;
+	}
+
+	/**
+	 * Finds all calls that are part of a recursion, i.e. calls of a method by
+	 * itself or calls between methods that call each other in a cycle.
+	 * <p>
+	 * Only calls that are resolved to exactly one method are considered. Calls of
+	 * overloaded methods that cannot be told apart by the known argument types
+	 * are ambiguous and never reported as recursion.
+	 *
+	 * @return the recursive calls, ordered by file and position
+	 */
+	public List<MethodCall> findRecursiveCalls() {
+		var components = new StronglyConnectedComponents().compute();
+		return calls.stream().filter(CallGraph::hasUniqueTarget).filter(call -> {
+			var target = call.getTargets().get(0);
+			var component = components.get(call.getCaller());
+			return target == call.getCaller() || component.size() > 1 && component.contains(target);
+		}).collect(Collectors.toList());
+	}
+
+	private static boolean hasUniqueTarget(MethodCall call) {
+		return call.getCaller() != null && call.getTargets().size() == 1;
+	}
+
+	/**
+	 * Finds all calls of methods or constructors of types in the given package or
+	 * any of its sub-packages.
+	 *
+	 * @param packageName the Java package name, e.g. <code>java.util.stream</code>
+	 * @return the calls into the package, ordered by file and position
+	 */
+	public List<MethodCall> findCallsInto(String packageName) {
+		var prefix = packageName + "."; //$NON-NLS-1$
+		return calls.stream()
+				.filter(call -> call.getTargetTypeName() != null && call.getTargetTypeName().startsWith(prefix))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Finds all calls of the given method, regardless of its parameters.
+	 *
+	 * @param qualifiedMethodName the fully qualified name of the method, e.g.
+	 *                            <code>java.util.Collections.sort</code>
+	 * @return the calls of the method, ordered by file and position
+	 */
+	public List<MethodCall> findCallsTo(String qualifiedMethodName) {
+		return calls.stream()
+				.filter(call -> call.getTargetTypeName() != null && qualifiedMethodName.equals(call.getTargetName()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Tarjan's algorithm, mapping each method to the set of methods that are
+	 * mutually reachable from it. The depth-first search uses an explicit stack,
+	 * so that long call chains, e.g. in generated code, cannot overflow the stack
+	 * of the thread.
+	 */
+	private final class StronglyConnectedComponents {
+
+		private final Map<Method, List<Method>> callees = new IdentityHashMap<>();
+		private final Map<Method, Integer> indices = new IdentityHashMap<>();
+		private final Map<Method, Integer> lowLinks = new IdentityHashMap<>();
+		private final Deque<Method> stack = new ArrayDeque<>();
+		private final Set<Method> onStack = Collections.newSetFromMap(new IdentityHashMap<>());
+		private final Map<Method, Set<Method>> components = new IdentityHashMap<>();
+
+		Map<Method, Set<Method>> compute() {
+			for (MethodCall call : calls) {
+				if (hasUniqueTarget(call))
+					callees.computeIfAbsent(call.getCaller(), key -> new ArrayList<>()).add(call.getTargets().get(0));
+			}
+			for (Method method : methods) {
+				if (!indices.containsKey(method))
+					visit(method);
+			}
+			return components;
+		}
+
+		private void visit(Method root) {
+			Deque<Visit> visits = new ArrayDeque<>();
+			visits.push(enter(root));
+			while (!visits.isEmpty()) {
+				var visit = visits.peek();
+				var method = visit.method;
+				if (visit.callees.hasNext()) {
+					var callee = visit.callees.next();
+					if (!indices.containsKey(callee))
+						visits.push(enter(callee));
+					else if (onStack.contains(callee))
+						lowLinks.put(method, Math.min(lowLinks.get(method), indices.get(callee)));
+					continue;
+				}
+				visits.pop();
+				if (lowLinks.get(method).equals(indices.get(method)))
+					popComponent(method);
+				if (!visits.isEmpty()) {
+					var caller = visits.peek().method;
+					lowLinks.put(caller, Math.min(lowLinks.get(caller), lowLinks.get(method)));
+				}
+			}
+		}
+
+		private Visit enter(Method method) {
+			var index = indices.size();
+			indices.put(method, index);
+			lowLinks.put(method, index);
+			stack.push(method);
+			onStack.add(method);
+			return new Visit(method, callees.getOrDefault(method, List.of()).iterator());
+		}
+
+		private void popComponent(Method root) {
+			Set<Method> component = Collections.newSetFromMap(new IdentityHashMap<>());
+			Method member;
+			do {
+				member = stack.pop();
+				onStack.remove(member);
+				component.add(member);
+				components.put(member, component);
+			} while (member != root);
+		}
+	}
+
+	/**
+	 * A method on the stack of the depth-first search, with the callees that are
+	 * still to be visited.
+	 */
+	private static final class Visit {
+
+		final Method method;
+		final Iterator<Method> callees;
+
+		Visit(Method method, Iterator<Method> callees) {
+			this.method = method;
+			this.callees = callees;
+		}
+	}
+
+	/**
+	 * A method or constructor declared in the Java files.
+	 */
+	public static final class Method {
+
+		private final CallableDeclaration<?> declaration;
+		private final String declaringTypeName;
+		private final List<String> parameterTypes;
+		private final Path filePath;
+		private final NodePosition position;
+
+		Method(CallableDeclaration<?> declaration, String declaringTypeName, Path filePath) {
+			this.declaration = declaration;
+			this.declaringTypeName = declaringTypeName;
+			this.parameterTypes = declaration.getParameters().stream()
+					.map(parameter -> parameter.getType().asString() + (parameter.isVarArgs() ? "..." : "")) //$NON-NLS-1$ //$NON-NLS-2$
+					.collect(Collectors.toUnmodifiableList());
+			this.filePath = filePath;
+			this.position = NodePosition.getPositionOf(declaration);
+		}
+
+		CallableDeclaration<?> getDeclaration() {
+			return declaration;
+		}
+
+		/**
+		 * @return the name of the declaring type, qualified if it is not local or
+		 *         anonymous
+		 */
+		public String getDeclaringTypeName() {
+			return declaringTypeName;
+		}
+
+		/**
+		 * @return the method name, or the simple type name for constructors
+		 */
+		public String getName() {
+			return declaration.getNameAsString();
+		}
+
+		/**
+		 * @return the parameter types as written in the declaration
+		 */
+		public List<String> getParameterTypes() {
+			return parameterTypes;
+		}
+
+		public boolean isConstructor() {
+			return declaration.isConstructorDeclaration();
+		}
+
+		public Path getFilePath() {
+			return filePath;
+		}
+
+		public NodePosition getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return the signature, e.g. <code>pkg.Type.method(int, String)</code>
+		 */
+		public String getSignature() {
+			var parameters = String.join(", ", parameterTypes); //$NON-NLS-1$
+			if (isConstructor())
+				return declaringTypeName + "(" + parameters + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+			return declaringTypeName + "." + getName() + "(" + parameters + ")"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
+		@Override
+		public String toString() {
+			return getSignature();
+		}
+	}
+
+	/**
+	 * A call of a method or constructor, including method references.
+	 */
+	public static final class MethodCall {
+
+		private final Method caller;
+		private final String targetTypeName;
+		private final String methodName;
+		private final List<Method> targets;
+		private final Path filePath;
+		private final NodePosition position;
+
+		MethodCall(Method caller, String targetTypeName, String methodName, List<Method> targets, Path filePath,
+				NodePosition position) {
+			this.caller = caller;
+			this.targetTypeName = targetTypeName;
+			this.methodName = methodName;
+			this.targets = targets;
+			this.filePath = filePath;
+			this.position = position;
+		}
+
+		/**
+		 * @return the method containing the call, null if the call is part of a field
+		 *         or an initializer
+		 */
+		public Method getCaller() {
+			return caller;
+		}
+
+		/**
+		 * @return the fully qualified name of the type of the called method, null if
+		 *         unknown
+		 */
+		public String getTargetTypeName() {
+			return targetTypeName;
+		}
+
+		/**
+		 * @return the name of the called method, null for constructor calls
+		 */
+		public String getMethodName() {
+			return methodName;
+		}
+
+		/**
+		 * @return the methods in the Java files that may be called, empty if the
+		 *         called method is not declared in the Java files
+		 */
+		public List<Method> getTargets() {
+			return targets;
+		}
+
+		public Path getFilePath() {
+			return filePath;
+		}
+
+		public NodePosition getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return the qualified name of the called method, the type name for
+		 *         constructor calls, or only the method name if the type is unknown
+		 */
+		public String getTargetName() {
+			if (methodName == null)
+				return String.valueOf(targetTypeName);
+			if (targetTypeName == null)
+				return methodName;
+			return targetTypeName + "." + methodName; //$NON-NLS-1$
+		}
+
+		@Override
+		public String toString() {
+			return getTargetName() + " " + position; //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,767 @@
+package de.tum.in.test.api.ast.model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.nodeTypes.*;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.type.*;
+
+import de.tum.in.test.api.ast.model.CallGraph.*;
+
+/**
+ * Resolves the calls in Java files by name, see {@link CallGraph}.
+ * <p>
+ * A type name is resolved like the compiler would, looking at type parameters,
+ * enclosing and member types, the types of the same package, single-type
+ * imports, on-demand imports and <code>java.lang</code>. Types that are not
+ * part of the project sources are looked up in the Java platform. The type of
+ * a variable is its declared type, looked up in the enclosing lambdas, methods
+ * and types. Qualified names like <code>System.out</code> are resolved to the
+ * longest prefix that is a type, followed by static fields. Methods are matched
+ * by name and number of arguments, overloads are only excluded if the types of
+ * primitive, boxed or <code>String</code> arguments are known and
+ * incompatible.
+ *
+ * @since 1.14.0
+ */
+final class CallResolver {
+
+	private static final String JAVA_LANG = "java.lang"; //$NON-NLS-1$
+	private static final String STRING = "java.lang.String"; //$NON-NLS-1$
+	private static final List<String> NUMERIC_PRIMITIVES = List.of("byte", "short", "int", "long", "float", "double"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	private static final Map<String, String> UNBOXED_TYPES = Map.of("java.lang.Byte", "byte", "java.lang.Short", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"short", "java.lang.Character", "char", "java.lang.Integer", "int", "java.lang.Long", "long", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"java.lang.Float", "float", "java.lang.Double", "double", "java.lang.Boolean", "boolean"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
+	private static final Map<String, Optional<Class<?>>> PLATFORM_TYPES = new ConcurrentHashMap<>();
+
+	private final List<JavaFile> javaFiles;
+	private final Map<String, TypeDeclaration<?>> projectTypes = new HashMap<>();
+	private final Map<CallableDeclaration<?>, Method> methods = new IdentityHashMap<>();
+	private final Map<Node, Resolution> resolutions = new IdentityHashMap<>();
+
+	CallResolver(List<JavaFile> javaFiles) {
+		this.javaFiles = javaFiles;
+		for (JavaFile javaFile : javaFiles) {
+			for (TypeDeclaration<?> type : javaFile.getJavaFileAST().findAll(TypeDeclaration.class))
+				type.getFullyQualifiedName().ifPresent(name -> projectTypes.putIfAbsent(name, type));
+		}
+		for (JavaFile javaFile : javaFiles) {
+			for (CallableDeclaration<?> callable : javaFile.getJavaFileAST().findAll(CallableDeclaration.class)) {
+				var declaringTypeName = typeNameOf(callable.getParentNode().orElseThrow());
+				methods.put(callable, new Method(callable, declaringTypeName, javaFile.getJavaFilePath()));
+			}
+		}
+	}
+
+	/**
+	 * @return the methods and constructors of the Java files, in the order of
+	 *         their files and positions
+	 */
+	List<Method> getMethods() {
+		List<Method> result = new ArrayList<>(methods.values());
+		result.sort(Comparator.comparing(Method::getFilePath).thenComparing(Method::getPosition));
+		return List.copyOf(result);
+	}
+
+	/**
+	 * @return the calls in the Java files, in the order of their files and
+	 *         positions
+	 */
+	List<MethodCall> resolveCalls() {
+		List<MethodCall> calls = new ArrayList<>();
+		for (JavaFile javaFile : javaFiles) {
+			javaFile.getJavaFileAST().walk(Node.TreeTraversal.PREORDER, node -> {
+				if (!(node instanceof MethodCallExpr || node instanceof ObjectCreationExpr
+						|| node instanceof MethodReferenceExpr))
+					return;
+				var resolution = resolve((Expression) node);
+				var caller = callerOf(node);
+				calls.add(new MethodCall(caller, resolution.typeName, resolution.methodName, resolution.targets,
+						javaFile.getJavaFilePath(), NodePosition.getPositionOf(node)));
+			});
+		}
+		calls.sort(Comparator.comparing(MethodCall::getFilePath).thenComparing(MethodCall::getPosition));
+		return List.copyOf(calls);
+	}
+
+	/**
+	 * Returns the innermost method or constructor containing the node, null if
+	 * the node is part of a field or an initializer.
+	 */
+	private Method callerOf(Node node) {
+		for (Node parent = node.getParentNode().orElse(null); parent != null; parent = parent.getParentNode()
+				.orElse(null)) {
+			if (parent instanceof CallableDeclaration)
+				return methods.get(parent);
+		}
+		return null;
+	}
+
+	private Resolution resolve(Expression call) {
+		var resolution = resolutions.get(call);
+		if (resolution == null) {
+			if (call instanceof MethodCallExpr)
+				resolution = resolveMethodCall((MethodCallExpr) call);
+			else if (call instanceof ObjectCreationExpr)
+				resolution = resolveObjectCreation((ObjectCreationExpr) call);
+			else
+				resolution = resolveMethodReference((MethodReferenceExpr) call);
+			resolutions.put(call, resolution);
+		}
+		return resolution;
+	}
+
+	private Resolution resolveMethodCall(MethodCallExpr call) {
+		var name = call.getNameAsString();
+		var arguments = call.getArguments();
+		var scope = call.getScope().orElse(null);
+		if (scope == null || scope.isThisExpr() && scope.asThisExpr().getTypeName().isEmpty())
+			return resolveUnqualified(call, name, arguments);
+		if (scope.isSuperExpr()) {
+			var typeBody = enclosingTypeBody(call);
+			var superTypeNames = typeBody == null ? List.<String>of() : superTypeNamesOf(typeBody);
+			for (String superTypeName : superTypeNames) {
+				var targets = findMethods(superTypeName, name, arguments, new HashSet<>());
+				if (!targets.isEmpty())
+					return new Resolution(superTypeName, name, targets);
+			}
+			return new Resolution(superTypeNames.isEmpty() ? null : superTypeNames.get(0), name, List.of());
+		}
+		var typeName = typeOf(scope);
+		if (typeName == null)
+			typeName = typeNameOfScope(scope);
+		if (typeName == null)
+			return new Resolution(null, name, List.of());
+		return new Resolution(typeName, name, findMethods(typeName, name, arguments, new HashSet<>()));
+	}
+
+	private Resolution resolveUnqualified(Node call, String name, NodeList<Expression> arguments) {
+		for (Node typeBody = enclosingTypeBody(call); typeBody != null; typeBody = enclosingTypeBody(typeBody)) {
+			var targets = findMethodsInBody(typeBody, name, arguments, new HashSet<>());
+			if (!targets.isEmpty())
+				return new Resolution(targets.get(0).getDeclaringTypeName(), name, targets);
+		}
+		// static imports
+		var compilationUnit = call.findCompilationUnit().orElseThrow();
+		List<String> onDemandTypeNames = new ArrayList<>();
+		for (ImportDeclaration importDeclaration : compilationUnit.getImports()) {
+			if (!importDeclaration.isStatic())
+				continue;
+			var importName = importDeclaration.getNameAsString();
+			if (importDeclaration.isAsterisk()) {
+				onDemandTypeNames.add(importName);
+			} else if (importName.endsWith("." + name)) { //$NON-NLS-1$
+				var typeName = importName.substring(0, importName.length() - name.length() - 1);
+				return new Resolution(typeName, name, findMethods(typeName, name, arguments, new HashSet<>()));
+			}
+		}
+		for (String typeName : onDemandTypeNames) {
+			var targets = findMethods(typeName, name, arguments, new HashSet<>());
+			if (!targets.isEmpty())
+				return new Resolution(typeName, name, targets);
+		}
+		if (onDemandTypeNames.size() == 1)
+			return new Resolution(onDemandTypeNames.get(0), name, List.of());
+		return new Resolution(null, name, List.of());
+	}
+
+	private Resolution resolveObjectCreation(ObjectCreationExpr creation) {
+		var typeName = resolveType(creation.getType(), creation);
+		if (typeName == null)
+			return new Resolution(null, null, List.of());
+		return new Resolution(typeName, null, findConstructors(typeName, creation.getArguments()));
+	}
+
+	private Resolution resolveMethodReference(MethodReferenceExpr reference) {
+		var name = reference.getIdentifier();
+		var scope = reference.getScope();
+		String typeName;
+		if (scope.isTypeExpr())
+			typeName = resolveType(scope.asTypeExpr().getType(), reference);
+		else if (scope.isThisExpr() || scope.isSuperExpr())
+			typeName = typeNameOf(enclosingTypeBody(reference));
+		else
+			typeName = typeOf(scope);
+		if (typeName == null)
+			return new Resolution(null, name, List.of());
+		if ("new".equals(name)) //$NON-NLS-1$
+			return new Resolution(typeName, null, findConstructors(typeName, null));
+		return new Resolution(typeName, name, findMethods(typeName, name, null, new HashSet<>()));
+	}
+
+	/*
+	 * Method lookup
+	 */
+
+	private List<Method> findMethods(String typeName, String name, NodeList<Expression> arguments,
+			Set<String> visited) {
+		var type = projectTypes.get(typeName);
+		if (type == null || !visited.add(typeName))
+			return List.of();
+		return findMethodsInBody(type, name, arguments, visited);
+	}
+
+	private List<Method> findMethodsInBody(Node typeBody, String name, NodeList<Expression> arguments,
+			Set<String> visited) {
+		List<Method> targets = new ArrayList<>();
+		for (BodyDeclaration<?> member : membersOf(typeBody)) {
+			if (member.isMethodDeclaration() && member.asMethodDeclaration().getNameAsString().equals(name)
+					&& isApplicable(member.asMethodDeclaration(), arguments))
+				targets.add(methods.get(member.asMethodDeclaration()));
+		}
+		if (!targets.isEmpty())
+			return targets;
+		for (String superTypeName : superTypeNamesOf(typeBody)) {
+			targets.addAll(findMethods(superTypeName, name, arguments, visited));
+		}
+		return targets;
+	}
+
+	private List<Method> findConstructors(String typeName, NodeList<Expression> arguments) {
+		var type = projectTypes.get(typeName);
+		if (type == null)
+			return List.of();
+		List<Method> targets = new ArrayList<>();
+		for (BodyDeclaration<?> member : type.getMembers()) {
+			if (member.isConstructorDeclaration() && isApplicable(member.asConstructorDeclaration(), arguments))
+				targets.add(methods.get(member.asConstructorDeclaration()));
+		}
+		return targets;
+	}
+
+	private boolean isApplicable(CallableDeclaration<?> callable, NodeList<Expression> arguments) {
+		if (arguments == null)
+			return true;
+		var parameters = callable.getParameters();
+		var isVarArgs = !parameters.isEmpty() && parameters.getLast().orElseThrow().isVarArgs();
+		if (isVarArgs ? arguments.size() < parameters.size() - 1 : arguments.size() != parameters.size())
+			return false;
+		for (var i = 0; i < arguments.size() && i < parameters.size(); i++) {
+			var parameter = parameters.get(i);
+			if (parameter.isVarArgs())
+				break;
+			var argumentType = typeOf(arguments.get(i));
+			var parameterType = resolveType(parameter.getType(), callable);
+			if (argumentType != null && parameterType != null && !isAssignable(argumentType, parameterType))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isAssignable(String argumentType, String parameterType) {
+		var argument = UNBOXED_TYPES.getOrDefault(argumentType, argumentType);
+		var parameter = UNBOXED_TYPES.getOrDefault(parameterType, parameterType);
+		if (!isBasicType(argument) || !isBasicType(parameter) || argument.equals(parameter))
+			return true;
+		if ("char".equals(argument)) //$NON-NLS-1$
+			return NUMERIC_PRIMITIVES.indexOf(parameter) >= NUMERIC_PRIMITIVES.indexOf("int"); //$NON-NLS-1$
+		var argumentRank = NUMERIC_PRIMITIVES.indexOf(argument);
+		return argumentRank >= 0 && NUMERIC_PRIMITIVES.indexOf(parameter) >= argumentRank;
+	}
+
+	private static boolean isBasicType(String typeName) {
+		return STRING.equals(typeName) || UNBOXED_TYPES.containsValue(typeName);
+	}
+
+	/*
+	 * Types of expressions
+	 */
+
+	/**
+	 * Returns the type of the value of the expression, if it is known.
+	 */
+	private String typeOf(Expression expression) {
+		if (expression.isIntegerLiteralExpr())
+			return "int"; //$NON-NLS-1$
+		if (expression.isLongLiteralExpr())
+			return "long"; //$NON-NLS-1$
+		if (expression.isDoubleLiteralExpr())
+			return expression.asDoubleLiteralExpr().getValue().matches(".*[fF]") ? "float" : "double"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (expression.isCharLiteralExpr())
+			return "char"; //$NON-NLS-1$
+		if (expression.isBooleanLiteralExpr())
+			return "boolean"; //$NON-NLS-1$
+		if (expression.isStringLiteralExpr() || expression.isTextBlockLiteralExpr())
+			return STRING;
+		if (expression.isEnclosedExpr())
+			return typeOf(expression.asEnclosedExpr().getInner());
+		if (expression.isCastExpr())
+			return resolveType(expression.asCastExpr().getType(), expression);
+		if (expression.isObjectCreationExpr())
+			return resolveType(expression.asObjectCreationExpr().getType(), expression);
+		if (expression.isThisExpr() && expression.asThisExpr().getTypeName().isEmpty())
+			return typeNameOf(enclosingTypeBody(expression));
+		if (expression.isNameExpr()) {
+			var variableType = findVariableType(expression.asNameExpr().getNameAsString(), expression);
+			if (variableType != null && variableType.isVarType())
+				return typeOfInitializer(variableType.asVarType());
+			return variableType == null ? null : resolveType(variableType, expression);
+		}
+		if (expression.isFieldAccessExpr() && expression.asFieldAccessExpr().getScope().isThisExpr()) {
+			var field = findField(enclosingTypeBody(expression), expression.asFieldAccessExpr().getNameAsString());
+			return field == null ? null : resolveType(field, expression);
+		}
+		if (expression.isFieldAccessExpr() && isQualifiedName(expression.asFieldAccessExpr()))
+			return typeOfStaticField(expression.asFieldAccessExpr());
+		if (expression.isBinaryExpr())
+			return typeOf(expression.asBinaryExpr());
+		if (expression.isMethodCallExpr()) {
+			var resolution = resolve(expression);
+			if (resolution.targets.isEmpty() && resolution.typeName != null)
+				return platformReturnTypeOf(resolution.typeName, resolution.methodName,
+						expression.asMethodCallExpr().getArguments().size());
+			return returnTypeOf(resolution.targets);
+		}
+		return null;
+	}
+
+	private String typeOf(BinaryExpr expression) {
+		switch (expression.getOperator()) {
+		case OR:
+		case AND:
+		case EQUALS:
+		case NOT_EQUALS:
+		case LESS:
+		case GREATER:
+		case LESS_EQUALS:
+		case GREATER_EQUALS:
+			return "boolean"; //$NON-NLS-1$
+		case PLUS:
+		case MINUS:
+		case MULTIPLY:
+		case DIVIDE:
+		case REMAINDER:
+			var left = typeOf(expression.getLeft());
+			var right = typeOf(expression.getRight());
+			if (expression.getOperator() == BinaryExpr.Operator.PLUS && (STRING.equals(left) || STRING.equals(right)))
+				return STRING;
+			if (left == null || right == null)
+				return null;
+			// binary numeric promotion
+			var rank = Math.max(NUMERIC_PRIMITIVES.indexOf(UNBOXED_TYPES.getOrDefault(left, left)),
+					NUMERIC_PRIMITIVES.indexOf(UNBOXED_TYPES.getOrDefault(right, right)));
+			return rank < 0 ? null : NUMERIC_PRIMITIVES.get(Math.max(rank, NUMERIC_PRIMITIVES.indexOf("int"))); //$NON-NLS-1$
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the return type of the public methods of a platform type with the
+	 * given name and number of parameters, if all of them have the same type that
+	 * is not a type variable or array.
+	 */
+	private static String platformReturnTypeOf(String typeName, String methodName, int parameterCount) {
+		var type = platformTypeOf(typeName);
+		if (type == null)
+			return null;
+		String returnType = null;
+		for (java.lang.reflect.Method method : type.getMethods()) {
+			if (!method.getName().equals(methodName) || method.getParameterCount() != parameterCount)
+				continue;
+			// the erasure of a type variable is not the actual type
+			var genericReturnType = method.getGenericReturnType();
+			if (!(genericReturnType instanceof Class && !((Class<?>) genericReturnType).isArray()
+					|| genericReturnType instanceof java.lang.reflect.ParameterizedType))
+				return null;
+			var methodReturnType = method.getReturnType().getName();
+			if (returnType != null && !returnType.equals(methodReturnType))
+				return null;
+			returnType = methodReturnType;
+		}
+		return returnType;
+	}
+
+	private String returnTypeOf(List<Method> targets) {
+		String returnType = null;
+		for (Method target : targets) {
+			var declaration = target.getDeclaration();
+			if (!declaration.isMethodDeclaration())
+				return null;
+			var targetReturnType = resolveType(declaration.asMethodDeclaration().getType(), declaration);
+			if (targetReturnType == null || returnType != null && !returnType.equals(targetReturnType))
+				return null;
+			returnType = targetReturnType;
+		}
+		return returnType;
+	}
+
+	/**
+	 * Returns the type of a qualified name that consists of a type name followed
+	 * by static fields, e.g. <code>java.io.PrintStream</code> for
+	 * <code>System.out</code>. The longest prefix of the name that is a type is
+	 * taken as the type name.
+	 *
+	 * @return the declared type of the last field, or null if the name does not
+	 *         denote a static field or its type is not known
+	 */
+	private String typeOfStaticField(FieldAccessExpr fieldAccess) {
+		var segments = segmentsOf(fieldAccess);
+		for (var typeLength = segments.size() - 1; typeLength > 0; typeLength--) {
+			var typeName = resolveTypeName(String.join(".", segments.subList(0, typeLength)), fieldAccess); //$NON-NLS-1$
+			if (!isKnownType(typeName))
+				continue;
+			for (String fieldName : segments.subList(typeLength, segments.size())) {
+				typeName = staticFieldTypeOf(typeName, fieldName);
+				if (typeName == null)
+					return null;
+			}
+			return typeName;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether a proper prefix of the qualified name is a type, so that the
+	 * name denotes a static field and not a type.
+	 */
+	private boolean startsWithTypeName(FieldAccessExpr fieldAccess) {
+		var segments = segmentsOf(fieldAccess);
+		for (var typeLength = segments.size() - 1; typeLength > 0; typeLength--) {
+			if (isKnownType(resolveTypeName(String.join(".", segments.subList(0, typeLength)), fieldAccess))) //$NON-NLS-1$
+				return true;
+		}
+		return false;
+	}
+
+	private static List<String> segmentsOf(FieldAccessExpr fieldAccess) {
+		List<String> segments = new ArrayList<>();
+		Expression expression = fieldAccess;
+		for (; expression.isFieldAccessExpr(); expression = expression.asFieldAccessExpr().getScope())
+			segments.add(0, expression.asFieldAccessExpr().getNameAsString());
+		segments.add(0, expression.asNameExpr().getNameAsString());
+		return segments;
+	}
+
+	private boolean isKnownType(String typeName) {
+		return typeName != null && (projectTypes.containsKey(typeName) || isPlatformType(typeName));
+	}
+
+	private String staticFieldTypeOf(String typeName, String fieldName) {
+		var projectType = projectTypes.get(typeName);
+		if (projectType != null) {
+			var fieldType = findField(projectType, fieldName);
+			return fieldType == null ? null : resolveType(fieldType, projectType);
+		}
+		var type = platformTypeOf(typeName);
+		if (type == null)
+			return null;
+		java.lang.reflect.Field field;
+		try {
+			field = type.getField(fieldName);
+		} catch (@SuppressWarnings("unused") NoSuchFieldException | SecurityException e) {
+			return null;
+		}
+		// the erasure of a type variable is not the actual type
+		var genericType = field.getGenericType();
+		if (genericType instanceof Class && !((Class<?>) genericType).isArray()
+				|| genericType instanceof java.lang.reflect.ParameterizedType)
+			return field.getType().getName();
+		return null;
+	}
+
+	/**
+	 * Returns the type of the initializer of a local variable declared with
+	 * <code>var</code>, null for variables without one, e.g. in enhanced for loops.
+	 */
+	private String typeOfInitializer(VarType variableType) {
+		var declarator = variableType.getParentNode().filter(VariableDeclarator.class::isInstance)
+				.map(VariableDeclarator.class::cast);
+		return declarator.flatMap(VariableDeclarator::getInitializer).map(this::typeOf).orElse(null);
+	}
+
+	/**
+	 * Returns the type named by the scope of a static call, e.g.
+	 * <code>Collections</code> or <code>java.util.Collections</code>. Qualified
+	 * names of types that are neither project nor platform types are taken as
+	 * they are, unless they start with a known type and therefore denote a field.
+	 */
+	private String typeNameOfScope(Expression scope) {
+		if (scope.isNameExpr())
+			return resolveTypeName(scope.toString(), scope);
+		if (scope.isFieldAccessExpr() && isQualifiedName(scope.asFieldAccessExpr())) {
+			var typeName = resolveTypeName(scope.toString(), scope);
+			if (isKnownType(typeName) || !startsWithTypeName(scope.asFieldAccessExpr()))
+				return typeName;
+			return null;
+		}
+		if (scope.isTypeExpr())
+			return resolveType(scope.asTypeExpr().getType(), scope);
+		return null;
+	}
+
+	private boolean isQualifiedName(FieldAccessExpr fieldAccess) {
+		var scope = fieldAccess.getScope();
+		if (scope.isFieldAccessExpr())
+			return isQualifiedName(scope.asFieldAccessExpr());
+		return scope.isNameExpr() && findVariableType(scope.asNameExpr().getNameAsString(), scope) == null;
+	}
+
+	/**
+	 * Finds the declared type of a local variable, parameter or field visible at
+	 * the given node.
+	 *
+	 * @return the declared type, which may be <code>var</code> or unknown for
+	 *         lambda parameters, or null if there is no such variable
+	 */
+	private static com.github.javaparser.ast.type.Type findVariableType(String name, Node context) {
+		for (Node node = context; node != null; node = node.getParentNode().orElse(null)) {
+			if (node instanceof LambdaExpr) {
+				var type = findParameter(((LambdaExpr) node).getParameters(), name);
+				if (type == null)
+					type = findLocalVariable(((LambdaExpr) node).getBody(), name);
+				if (type != null)
+					return type;
+			} else if (node instanceof CatchClause) {
+				var parameter = ((CatchClause) node).getParameter();
+				if (parameter.getNameAsString().equals(name))
+					return parameter.getType();
+			} else if (node instanceof CallableDeclaration) {
+				var callable = (CallableDeclaration<?>) node;
+				var type = findParameter(callable.getParameters(), name);
+				if (type == null)
+					type = findLocalVariable(callable, name);
+				if (type != null)
+					return type;
+			} else if (node instanceof InitializerDeclaration) {
+				var type = findLocalVariable(node, name);
+				if (type != null)
+					return type;
+			} else if (isTypeBody(node)) {
+				var type = findField(node, name);
+				if (type != null)
+					return type;
+			}
+		}
+		return null;
+	}
+
+	private static com.github.javaparser.ast.type.Type findParameter(NodeList<Parameter> parameters, String name) {
+		for (Parameter parameter : parameters) {
+			if (parameter.getNameAsString().equals(name))
+				return parameter.getType();
+		}
+		return null;
+	}
+
+	private static com.github.javaparser.ast.type.Type findLocalVariable(Node body, String name) {
+		for (VariableDeclarator variable : body.findAll(VariableDeclarator.class)) {
+			if (variable.getNameAsString().equals(name) && !(variable.getParentNode()
+					.orElse(null) instanceof FieldDeclaration))
+				return variable.getType();
+		}
+		return null;
+	}
+
+	private static com.github.javaparser.ast.type.Type findField(Node typeBody, String name) {
+		if (typeBody == null)
+			return null;
+		if (typeBody instanceof RecordDeclaration) {
+			var type = findParameter(((RecordDeclaration) typeBody).getParameters(), name);
+			if (type != null)
+				return type;
+		}
+		for (BodyDeclaration<?> member : membersOf(typeBody)) {
+			if (!member.isFieldDeclaration())
+				continue;
+			for (VariableDeclarator variable : member.asFieldDeclaration().getVariables()) {
+				if (variable.getNameAsString().equals(name))
+					return variable.getType();
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Type names
+	 */
+
+	private String resolveType(com.github.javaparser.ast.type.Type type, Node context) {
+		if (type.isPrimitiveType())
+			return type.asString();
+		if (type.isClassOrInterfaceType())
+			return resolveTypeName(type.asClassOrInterfaceType().getNameWithScope(), context);
+		return null;
+	}
+
+	/**
+	 * Resolves a simple or qualified type name as written in the source code to
+	 * the fully qualified name of the type.
+	 *
+	 * @return the fully qualified name or null if the name cannot be resolved
+	 */
+	private String resolveTypeName(String name, Node context) {
+		var separator = name.indexOf('.');
+		var head = separator < 0 ? name : name.substring(0, separator);
+		var rest = separator < 0 ? "" : name.substring(separator); //$NON-NLS-1$
+		var resolvedHead = resolveSimpleTypeName(head, context);
+		if (resolvedHead != null)
+			return resolvedHead + rest;
+		if (separator >= 0 && Character.isLowerCase(head.charAt(0)))
+			return name;
+		return null;
+	}
+
+	private String resolveSimpleTypeName(String name, Node context) {
+		for (Node node = context; node != null; node = node.getParentNode().orElse(null)) {
+			if (node instanceof NodeWithTypeParameters && ((NodeWithTypeParameters<?>) node).getTypeParameters()
+					.stream().anyMatch(typeParameter -> typeParameter.getNameAsString().equals(name)))
+				return null;
+			if (node instanceof TypeDeclaration) {
+				var type = (TypeDeclaration<?>) node;
+				if (type.getNameAsString().equals(name))
+					return typeNameOf(type);
+				for (BodyDeclaration<?> member : type.getMembers()) {
+					if (member instanceof TypeDeclaration
+							&& ((TypeDeclaration<?>) member).getNameAsString().equals(name))
+						return typeNameOf(member);
+				}
+			}
+		}
+		var compilationUnit = context.findCompilationUnit().orElseThrow();
+		var packageName = compilationUnit.getPackageDeclaration().map(NodeWithName::getNameAsString).orElse(""); //$NON-NLS-1$
+		var samePackageName = packageName.isEmpty() ? name : packageName + "." + name; //$NON-NLS-1$
+		if (projectTypes.containsKey(samePackageName))
+			return samePackageName;
+		List<String> onDemandPackages = new ArrayList<>();
+		for (ImportDeclaration importDeclaration : compilationUnit.getImports()) {
+			if (importDeclaration.isStatic())
+				continue;
+			var importName = importDeclaration.getNameAsString();
+			if (importDeclaration.isAsterisk())
+				onDemandPackages.add(importName);
+			else if (importName.equals(name) || importName.endsWith("." + name)) //$NON-NLS-1$
+				return importName;
+		}
+		for (String onDemandPackage : onDemandPackages) {
+			if (projectTypes.containsKey(onDemandPackage + "." + name)) //$NON-NLS-1$
+				return onDemandPackage + "." + name; //$NON-NLS-1$
+		}
+		onDemandPackages.add(JAVA_LANG);
+		for (String onDemandPackage : onDemandPackages) {
+			if (isPlatformType(onDemandPackage + "." + name)) //$NON-NLS-1$
+				return onDemandPackage + "." + name; //$NON-NLS-1$
+		}
+		return null;
+	}
+
+	private static boolean isPlatformType(String typeName) {
+		return platformTypeOf(typeName) != null;
+	}
+
+	/**
+	 * Looks up a type of the Java platform by its binary or canonical name, e.g.
+	 * <code>java.util.Map$Entry</code> or <code>java.util.Map.Entry</code>.
+	 *
+	 * @return the type or null if there is no such platform type
+	 */
+	private static Class<?> platformTypeOf(String typeName) {
+		return PLATFORM_TYPES.computeIfAbsent(typeName, key -> {
+			var binaryName = key;
+			while (true) {
+				try {
+					return Optional.of(Class.forName(binaryName, false, ClassLoader.getPlatformClassLoader()));
+				} catch (@SuppressWarnings("unused") ClassNotFoundException | LinkageError e) {
+					// the last segment may be the name of a member type
+					var separator = binaryName.lastIndexOf('.');
+					if (separator < 0)
+						return Optional.empty();
+					binaryName = binaryName.substring(0, separator) + '$' + binaryName.substring(separator + 1);
+				}
+			}
+		}).orElse(null);
+	}
+
+	/*
+	 * Type bodies, which are type declarations, anonymous classes and enum
+	 * constants with a body
+	 */
+
+	private static boolean isTypeBody(Node node) {
+		return node instanceof TypeDeclaration
+				|| node instanceof ObjectCreationExpr && ((ObjectCreationExpr) node).getAnonymousClassBody().isPresent()
+				|| node instanceof EnumConstantDeclaration
+						&& ((EnumConstantDeclaration) node).getClassBody().isNonEmpty();
+	}
+
+	private static List<BodyDeclaration<?>> membersOf(Node typeBody) {
+		if (typeBody instanceof TypeDeclaration)
+			return ((TypeDeclaration<?>) typeBody).getMembers();
+		if (typeBody instanceof ObjectCreationExpr)
+			return ((ObjectCreationExpr) typeBody).getAnonymousClassBody().orElseGet(NodeList::new);
+		if (typeBody instanceof EnumConstantDeclaration)
+			return ((EnumConstantDeclaration) typeBody).getClassBody();
+		return List.of();
+	}
+
+	/**
+	 * Returns the innermost type body whose members contain the given node.
+	 */
+	private static Node enclosingTypeBody(Node node) {
+		var child = node;
+		for (Node parent = node.getParentNode().orElse(null); parent != null; parent = parent.getParentNode()
+				.orElse(null)) {
+			if (parent instanceof TypeDeclaration || isTypeBody(parent) && containsMember(parent, child))
+				return parent;
+			child = parent;
+		}
+		return null;
+	}
+
+	private static boolean containsMember(Node typeBody, Node child) {
+		return membersOf(typeBody).stream().anyMatch(member -> member == child);
+	}
+
+	private String typeNameOf(Node typeBody) {
+		if (typeBody == null)
+			return null;
+		if (typeBody instanceof TypeDeclaration) {
+			var type = (TypeDeclaration<?>) typeBody;
+			return type.getFullyQualifiedName()
+					.orElseGet(() -> typeNameOf(enclosingTypeBody(type)) + "$" + type.getNameAsString()); //$NON-NLS-1$
+		}
+		var enclosingTypeName = typeNameOf(enclosingTypeBody(typeBody));
+		if (typeBody instanceof ObjectCreationExpr)
+			return enclosingTypeName + "$" + ((ObjectCreationExpr) typeBody).getType().getNameAsString(); //$NON-NLS-1$
+		return enclosingTypeName + "." + ((EnumConstantDeclaration) typeBody).getNameAsString(); //$NON-NLS-1$
+	}
+
+	private List<String> superTypeNamesOf(Node typeBody) {
+		List<ClassOrInterfaceType> superTypes = new ArrayList<>();
+		if (typeBody instanceof NodeWithExtends)
+			superTypes.addAll(((NodeWithExtends<?>) typeBody).getExtendedTypes());
+		if (typeBody instanceof NodeWithImplements)
+			superTypes.addAll(((NodeWithImplements<?>) typeBody).getImplementedTypes());
+		if (typeBody instanceof ObjectCreationExpr)
+			superTypes.add(((ObjectCreationExpr) typeBody).getType());
+		if (typeBody instanceof EnumConstantDeclaration) {
+			var enumType = enclosingTypeBody(typeBody);
+			return enumType == null ? List.of() : List.of(typeNameOf(enumType));
+		}
+		List<String> superTypeNames = new ArrayList<>();
+		for (ClassOrInterfaceType superType : superTypes) {
+			var superTypeName = resolveType(superType, typeBody);
+			if (superTypeName != null)
+				superTypeNames.add(superTypeName);
+		}
+		return superTypeNames;
+	}
+
+	private static final class Resolution {
+
+		final String typeName;
+		final String methodName;
+		final List<Method> targets;
+
+		Resolution(String typeName, String methodName, List<Method> targets) {
+			this.typeName = typeName;
+			this.methodName = methodName;
+			this.targets = List.copyOf(targets);
+		}
+	}
+}
@@ -5,15 +5,21 @@ import static de.tum.in.test.api.localization.Messages.localized;
 import java.io.IOException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
 import java.util.stream.*;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.slf4j.*;
 
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
 import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 
+import de.tum.in.test.api.AresConfiguration;
+import de.tum.in.test.api.internal.WhitelistedThreadFactory;
+
 /**
  * Stores all required information about a Java file to be analyzed
  */
@@ -41,18 +47,43 @@ public class JavaFile {
 
 	/**
 	 * Turns the Java-file into an AST in case the provided path points to a
-	 * Java-file
+	 * Java-file. Unchanged files are only parsed once, see {@link JavaFileCache}.
 	 *
 	 * @param pathOfFile Path to the Java-file
 	 * @return The information of the Java-file packed into a JavaFile object (null
 	 *         if the file is not a Java-file)
 	 */
 	public static JavaFile convertFromFile(Path pathOfFile) {
+		return convertFromFile(pathOfFile, StaticJavaParser.getParserConfiguration().getLanguageLevel());
+	}
+
+	static JavaFile convertFromFile(Path pathOfFile, LanguageLevel languageLevel) {
+		return convertFromFile(pathOfFile, languageLevel, true);
+	}
+
+	/**
+	 * Turns the Java-file into an AST like {@link #convertFromFile(Path)}, but
+	 * without keeping the AST in the {@link JavaFileCache}. Used if only the
+	 * results of analyzing the AST are kept.
+	 *
+	 * @param pathOfFile    Path to the Java-file
+	 * @param languageLevel The language level to parse the file with
+	 * @return The information of the Java-file packed into a JavaFile object (null
+	 *         if the file is not a Java-file)
+	 */
+	static JavaFile convertFromFileWithoutCaching(Path pathOfFile, LanguageLevel languageLevel) {
+		return convertFromFile(pathOfFile, languageLevel, false);
+	}
+
+	private static JavaFile convertFromFile(Path pathOfFile, LanguageLevel languageLevel, boolean cached) {
 		if (!JAVAFILEMATCHER.matches(pathOfFile.getFileName())) {
 			return null;
 		}
+		checkFileSize(pathOfFile);
 		try {
-			return new JavaFile(pathOfFile, StaticJavaParser.parse(pathOfFile));
+			var ast = cached ? JavaFileCache.parse(pathOfFile, languageLevel)
+					: JavaFileCache.parseWithoutCaching(pathOfFile, languageLevel);
+			return new JavaFile(pathOfFile, ast);
 		} catch (IOException e) {
 			LOG.error("Error reading Java file '{}'", pathOfFile.toAbsolutePath(), e); //$NON-NLS-1$
 			throw new AssertionError(localized("ast.method.convert_from_file", pathOfFile.toAbsolutePath()));
@@ -60,7 +91,9 @@ public class JavaFile {
 	}
 
 	/**
-	 * Turns all Java-file below a certain path into ASTs
+	 * Turns all Java-file below a certain path into ASTs. The files are parsed in
+	 * parallel if configured using
+	 * {@link AresConfiguration#setAstParsingParallelism(int)}.
 	 *
 	 * @param pathOfDirectory Path to the highest analysis level
 	 * @return List of Java-file information packed into JavaFile objects (empty
@@ -68,12 +101,142 @@ public class JavaFile {
 	 *         directory or its subdirectories is a Java-file)
 	 */
 	public static List<JavaFile> readFromDirectory(Path pathOfDirectory) {
+		return readFromDirectory(pathOfDirectory, path -> true);
+	}
+
+	/**
+	 * Turns the selected Java-files below a certain path into ASTs, see
+	 * {@link #readFromDirectory(Path)}. Files that are not selected are not parsed.
+	 *
+	 * @param pathOfDirectory Path to the highest analysis level
+	 * @param fileFilter      Selects the Java-files to parse by their path
+	 * @return List of Java-file information packed into JavaFile objects
+	 */
+	public static List<JavaFile> readFromDirectory(Path pathOfDirectory, Predicate<Path> fileFilter) {
+		return convertFromFiles(findJavaFiles(pathOfDirectory, fileFilter),
+				StaticJavaParser.getParserConfiguration().getLanguageLevel());
+	}
+
+	/**
+	 * Finds the selected Java-files below a certain path without parsing them.
+	 *
+	 * @param pathOfDirectory Path to the highest analysis level
+	 * @param fileFilter      Selects the Java-files by their path
+	 * @return List of the paths of the selected Java-files
+	 */
+	static List<Path> findJavaFiles(Path pathOfDirectory, Predicate<Path> fileFilter) {
 		try (Stream<Path> directoryContentStream = Files.walk(pathOfDirectory)) {
-			return directoryContentStream.map(JavaFile::convertFromFile).filter(Objects::nonNull)
-					.collect(Collectors.toList());
+			return directoryContentStream
+					.filter(path -> path.getFileName() != null && JAVAFILEMATCHER.matches(path.getFileName()))
+					.filter(fileFilter).collect(Collectors.toList());
 		} catch (IOException e) {
 			LOG.error("Error reading Java files in '{}'", pathOfDirectory.toAbsolutePath(), e); //$NON-NLS-1$
 			throw new AssertionError(localized("ast.method.read_from_directory", pathOfDirectory.toAbsolutePath()));
 		}
 	}
+
+	/**
+	 * Turns the given Java-files into ASTs, in parallel if configured using
+	 * {@link AresConfiguration#setAstParsingParallelism(int)}.
+	 *
+	 * @param javaFilePaths Paths of the Java-files
+	 * @param languageLevel The language level to parse the files with
+	 * @return List of Java-file information packed into JavaFile objects, in the
+	 *         order of the paths
+	 */
+	static List<JavaFile> convertFromFiles(List<Path> javaFilePaths, LanguageLevel languageLevel) {
+		return processFiles(javaFilePaths, path -> convertFromFile(path, languageLevel), Function.identity());
+	}
+
+	/**
+	 * Turns the given Java-files into ASTs one after another and analyzes each
+	 * AST right away, so that only the results of the analysis are kept. If
+	 * configured using {@link AresConfiguration#setAstParsingParallelism(int)},
+	 * the files are processed in parallel, but at most one file per thread at a
+	 * time. The ASTs are not kept in the {@link JavaFileCache} either, so the
+	 * memory needed does not grow with the number of files.
+	 *
+	 * @param <T>           The type of the analysis result
+	 * @param javaFilePaths Paths of the Java-files
+	 * @param languageLevel The language level to parse the files with
+	 * @param analysis      Analyzes a Java-file, must be thread-safe if the files
+	 *                      are processed in parallel
+	 * @return List of the analysis results, in the order of the paths
+	 */
+	static <T> List<T> processFiles(List<Path> javaFilePaths, LanguageLevel languageLevel,
+			Function<JavaFile, T> analysis) {
+		return processFiles(javaFilePaths, path -> convertFromFileWithoutCaching(path, languageLevel), analysis);
+	}
+
+	private static <T> List<T> processFiles(List<Path> javaFilePaths, Function<Path, JavaFile> converter,
+			Function<JavaFile, T> analysis) {
+		var parallelism = Math.min(AresConfiguration.getAstParsingParallelism(), javaFilePaths.size());
+		if (parallelism <= 1) {
+			List<T> results = new ArrayList<>(javaFilePaths.size());
+			for (Path path : javaFilePaths) {
+				JavaFile javaFile = converter.apply(path);
+				if (javaFile != null) {
+					results.add(analysis.apply(javaFile));
+				}
+			}
+			return results;
+		}
+		var executor = Executors.newFixedThreadPool(parallelism, new WhitelistedThreadFactory("ajts-ast-")); //$NON-NLS-1$
+		try {
+			List<Future<Optional<T>>> futures = new ArrayList<>(javaFilePaths.size());
+			for (Path path : javaFilePaths) {
+				futures.add(executor.submit(
+						() -> Optional.ofNullable(converter.apply(path)).map(analysis)));
+			}
+			List<T> results = new ArrayList<>(futures.size());
+			for (Future<Optional<T>> future : futures) {
+				awaitResult(future).ifPresent(results::add);
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Fails if the given Java-file is larger than configured using
+	 * {@link AresConfiguration#setAstMaxFileSize(long)}, so that e.g. generated
+	 * sources are neither read nor parsed.
+	 *
+	 * @param pathOfFile Path to the Java-file
+	 */
+	static void checkFileSize(Path pathOfFile) {
+		var maxFileSize = AresConfiguration.getAstMaxFileSize();
+		if (maxFileSize == Long.MAX_VALUE) {
+			return;
+		}
+		long fileSize;
+		try {
+			fileSize = Files.size(pathOfFile);
+		} catch (IOException e) {
+			LOG.error("Error reading Java file '{}'", pathOfFile.toAbsolutePath(), e); //$NON-NLS-1$
+			throw new AssertionError(localized("ast.method.convert_from_file", pathOfFile.toAbsolutePath()));
+		}
+		if (fileSize > maxFileSize) {
+			throw new AssertionError(localized("ast.method.file_too_large", pathOfFile.toAbsolutePath(), maxFileSize));
+		}
+	}
+
+	private static <T> T awaitResult(Future<T> result) {
+		try {
+			return result.get();
+		} catch (ExecutionException e) {
+			var cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException(cause);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
 }
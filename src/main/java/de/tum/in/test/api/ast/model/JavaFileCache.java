@@ -0,0 +1,132 @@
+package de.tum.in.test.api.ast.model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+import com.github.javaparser.*;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.ast.CompilationUnit;
+
+import de.tum.in.test.api.util.*;
+
+/**
+ * Caches the syntax trees of Java files, so that several AST assertions in one
+ * JVM only parse each file once.
+ * <p>
+ * The syntax trees are stored by the absolute file path together with a
+ * {@link SourceFileSnapshot} and the language level used for parsing. A cached
+ * syntax tree is only reused if the language level is the same and the file is
+ * unchanged, which is first checked using size and modification time and, if
+ * those differ, using the content hash. This also keeps the cache valid if the
+ * same JVM tests several submissions.
+ * <p>
+ * Files are parsed with a {@link JavaParser} instance of the current thread for
+ * the requested language level, see {@link ParserConfigurations}. Several
+ * threads can therefore parse files concurrently, even with different language
+ * levels.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class JavaFileCache {
+
+	private static final int MAX_CACHED_FILES = 256;
+
+	private static final Map<Path, Entry> CACHE = Collections.synchronizedMap(new LruCache<>(MAX_CACHED_FILES));
+
+	/*
+	 * JavaParser instances are not thread-safe, each thread gets its own instance
+	 * per language level
+	 */
+	private static final ThreadLocal<Map<LanguageLevel, JavaParser>> PARSERS = ThreadLocal
+			.withInitial(() -> new EnumMap<>(LanguageLevel.class));
+
+	private JavaFileCache() {
+	}
+
+	/**
+	 * Returns the syntax tree of the given Java file, parsing it only if there is
+	 * no up to date syntax tree in the cache. The file is parsed using the
+	 * language level configured for the {@link StaticJavaParser}.
+	 *
+	 * @param javaFilePath the path of the Java file
+	 * @return the syntax tree, shared with other callers and must not be modified
+	 * @throws IOException if the file could not be read
+	 */
+	public static CompilationUnit parse(Path javaFilePath) throws IOException {
+		return parse(javaFilePath, StaticJavaParser.getParserConfiguration().getLanguageLevel());
+	}
+
+	/**
+	 * Returns the syntax tree of the given Java file, parsing it only if there is
+	 * no up to date syntax tree in the cache.
+	 *
+	 * @param javaFilePath  the path of the Java file
+	 * @param languageLevel the language level to parse the file with
+	 * @return the syntax tree, shared with other callers and must not be modified
+	 * @throws IOException if the file could not be read
+	 */
+	public static CompilationUnit parse(Path javaFilePath, LanguageLevel languageLevel) throws IOException {
+		var key = javaFilePath.toAbsolutePath().normalize();
+		var attributes = Files.readAttributes(key, BasicFileAttributes.class);
+		var entry = CACHE.get(key);
+		if (entry != null && entry.languageLevel == languageLevel && entry.snapshot.isUnchanged(attributes))
+			return entry.ast;
+		var content = Files.readAllBytes(key);
+		var snapshot = SourceFileSnapshot.of(attributes, content);
+		CompilationUnit ast;
+		if (entry != null && entry.languageLevel == languageLevel && entry.snapshot.hasSameContent(snapshot))
+			ast = entry.ast;
+		else
+			ast = parse(content, languageLevel);
+		CACHE.put(key, new Entry(snapshot, languageLevel, ast));
+		return ast;
+	}
+
+	/**
+	 * Parses the given Java file without looking it up in or adding it to the
+	 * cache, for callers that only keep the results of analyzing the syntax tree.
+	 *
+	 * @param javaFilePath  the path of the Java file
+	 * @param languageLevel the language level to parse the file with
+	 * @return the syntax tree, which is not shared with other callers
+	 * @throws IOException if the file could not be read
+	 */
+	static CompilationUnit parseWithoutCaching(Path javaFilePath, LanguageLevel languageLevel) throws IOException {
+		return parse(Files.readAllBytes(javaFilePath), languageLevel);
+	}
+
+	private static CompilationUnit parse(byte[] content, LanguageLevel languageLevel) {
+		var parser = PARSERS.get().computeIfAbsent(languageLevel,
+				ParserConfigurations::newParser);
+		var result = parser.parse(new ByteArrayInputStream(content));
+		if (result.isSuccessful() && result.getResult().isPresent())
+			return result.getResult().get();
+		throw new ParseProblemException(result.getProblems());
+	}
+
+	/**
+	 * Removes all syntax trees from the cache.
+	 */
+	public static void clear() {
+		CACHE.clear();
+	}
+
+	private static final class Entry {
+
+		final SourceFileSnapshot snapshot;
+		final LanguageLevel languageLevel;
+		final CompilationUnit ast;
+
+		Entry(SourceFileSnapshot snapshot, LanguageLevel languageLevel, CompilationUnit ast) {
+			this.snapshot = snapshot;
+			this.languageLevel = languageLevel;
+			this.ast = ast;
+		}
+	}
+}
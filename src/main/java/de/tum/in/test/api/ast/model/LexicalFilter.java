@@ -0,0 +1,225 @@
+package de.tum.in.test.api.ast.model;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.*;
+
+import de.tum.in.test.api.util.*;
+
+/**
+ * Decides from the raw bytes of a Java file whether it could contain certain
+ * syntax tree nodes, without parsing it.
+ * <p>
+ * The file is scanned once for the keywords (and the <code>?</code> token) that
+ * the supported node classes cannot occur without. Comments, string, character
+ * and text block literals are skipped. Keywords only consist of ASCII
+ * characters, which never occur inside multi-byte UTF-8 sequences, so the bytes
+ * do not need to be decoded. Files containing Unicode escapes could hide
+ * keywords and are therefore always considered to contain all keywords.
+ * <p>
+ * The keywords found are stored as bit mask together with a
+ * {@link SourceFileSnapshot}, so unchanged files are only scanned once.
+ *
+ * @since 1.14.0
+ */
+final class LexicalFilter {
+
+	/**
+	 * The mask of files that could contain any node.
+	 */
+	static final int ALL = -1;
+
+	private static final List<String> KEYWORDS = List.of("for", "while", "do", "if", "?", "switch", "assert", "throw", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+			"catch", "class", "interface", "record"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	private static final Map<String, Integer> KEYWORD_BITS = KEYWORDS.stream()
+			.collect(Collectors.toUnmodifiableMap(keyword -> keyword, LexicalFilter::bitOf));
+	private static final int QUESTION_MARK_BIT = bitOf("?"); //$NON-NLS-1$
+	private static final Map<Class<? extends Node>, Integer> REQUIRED_KEYWORDS = Map.ofEntries(
+			Map.entry(ForStmt.class, bitOf("for")), //$NON-NLS-1$
+			Map.entry(ForEachStmt.class, bitOf("for")), //$NON-NLS-1$
+			Map.entry(WhileStmt.class, bitOf("while")), //$NON-NLS-1$
+			Map.entry(DoStmt.class, bitOf("do")), //$NON-NLS-1$
+			Map.entry(IfStmt.class, bitOf("if")), //$NON-NLS-1$
+			Map.entry(ConditionalExpr.class, QUESTION_MARK_BIT),
+			Map.entry(SwitchStmt.class, bitOf("switch")), //$NON-NLS-1$
+			Map.entry(SwitchExpr.class, bitOf("switch")), //$NON-NLS-1$
+			Map.entry(AssertStmt.class, bitOf("assert")), //$NON-NLS-1$
+			Map.entry(ThrowStmt.class, bitOf("throw")), //$NON-NLS-1$
+			Map.entry(CatchClause.class, bitOf("catch")), //$NON-NLS-1$
+			Map.entry(LocalClassDeclarationStmt.class, bitOf("class") | bitOf("interface")), //$NON-NLS-1$ //$NON-NLS-2$
+			Map.entry(LocalRecordDeclarationStmt.class, bitOf("record"))); //$NON-NLS-1$
+
+	private static final int MAX_CACHED_FILES = 4096;
+
+	private static final Map<Path, Entry> CACHE = Collections.synchronizedMap(new LruCache<>(MAX_CACHED_FILES));
+
+	private LexicalFilter() {
+	}
+
+	private static int bitOf(String keyword) {
+		return 1 << KEYWORDS.indexOf(keyword);
+	}
+
+	/**
+	 * Returns the keywords that at least one of them must occur in a file that
+	 * contains a node of the given class.
+	 *
+	 * @param nodeClass the node class
+	 * @return the bit mask of the keywords or {@link #ALL} if the node class is not
+	 *         supported
+	 */
+	static int requiredKeywordsOf(Class<? extends Node> nodeClass) {
+		return REQUIRED_KEYWORDS.getOrDefault(nodeClass, ALL);
+	}
+
+	/**
+	 * @return the node classes for which the required keywords are known
+	 */
+	static Set<Class<? extends Node>> supportedNodeClasses() {
+		return REQUIRED_KEYWORDS.keySet();
+	}
+
+	/**
+	 * Returns the keywords occurring in the given Java file, scanning it only if
+	 * it changed since the last scan.
+	 *
+	 * @param javaFilePath the path of the Java file
+	 * @return the bit mask of the keywords, {@link #ALL} if the file could not be
+	 *         read
+	 */
+	static int keywordsIn(Path javaFilePath) {
+		var key = javaFilePath.toAbsolutePath().normalize();
+		try {
+			var attributes = Files.readAttributes(key, BasicFileAttributes.class);
+			var entry = CACHE.get(key);
+			if (entry != null && entry.snapshot.isUnchanged(attributes))
+				return entry.keywords;
+			var content = Files.readAllBytes(key);
+			var snapshot = SourceFileSnapshot.of(attributes, content);
+			var keywords = entry != null && entry.snapshot.hasSameContent(snapshot) ? entry.keywords
+					: keywordsIn(content);
+			CACHE.put(key, new Entry(snapshot, keywords));
+			return keywords;
+		} catch (@SuppressWarnings("unused") IOException e) {
+			// the error is reported when the file is parsed
+			return ALL;
+		}
+	}
+
+	/**
+	 * Scans the given Java source code for the keywords.
+	 *
+	 * @param source the source code, encoded in UTF-8 or any other ASCII
+	 *               compatible encoding
+	 * @return the bit mask of the keywords
+	 */
+	static int keywordsIn(byte[] source) {
+		var keywords = 0;
+		var length = source.length;
+		var i = 0;
+		while (i < length) {
+			int c = source[i] & 0xFF;
+			if (c == '\\' && i + 1 < length && source[i + 1] == 'u')
+				return ALL;
+			if (c == '/' && i + 1 < length && source[i + 1] == '/') {
+				i = skipUntil(source, i + 2, '\n');
+			} else if (c == '/' && i + 1 < length && source[i + 1] == '*') {
+				i = skipComment(source, i + 2);
+			} else if (c == '"' && i + 2 < length && source[i + 1] == '"' && source[i + 2] == '"') {
+				i = skipTextBlock(source, i + 3);
+			} else if (c == '"' || c == '\'') {
+				i = skipLiteral(source, i + 1, c);
+			} else if (isIdentifierStart(c)) {
+				var end = i + 1;
+				while (end < length && isIdentifierPart(source[end] & 0xFF))
+					end++;
+				if (end - i <= 9 && c >= 'a' && c <= 'z') {
+					var bit = KEYWORD_BITS.get(new String(source, i, end - i, ISO_8859_1));
+					if (bit != null)
+						keywords |= bit;
+				}
+				i = end;
+			} else {
+				if (c == '?')
+					keywords |= QUESTION_MARK_BIT;
+				i++;
+			}
+			if (i < 0)
+				return ALL;
+		}
+		return keywords;
+	}
+
+	private static boolean isIdentifierStart(int c) {
+		return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c == '_' || c == '$' || c >= 0x80;
+	}
+
+	private static boolean isIdentifierPart(int c) {
+		return isIdentifierStart(c) || c >= '0' && c <= '9';
+	}
+
+	private static int skipUntil(byte[] source, int start, char terminator) {
+		for (var i = start; i < source.length; i++) {
+			if (source[i] == '\\' && i + 1 < source.length && source[i + 1] == 'u')
+				return -1;
+			if (source[i] == terminator)
+				return i + 1;
+		}
+		return source.length;
+	}
+
+	private static int skipComment(byte[] source, int start) {
+		for (var i = start; i < source.length; i++) {
+			if (source[i] == '\\' && i + 1 < source.length && source[i + 1] == 'u')
+				return -1;
+			if (source[i] == '*' && i + 1 < source.length && source[i + 1] == '/')
+				return i + 2;
+		}
+		return source.length;
+	}
+
+	private static int skipTextBlock(byte[] source, int start) {
+		for (var i = start; i < source.length; i++) {
+			if (source[i] == '\\') {
+				if (i + 1 < source.length && source[i + 1] == 'u')
+					return -1;
+				i++;
+			} else if (source[i] == '"' && i + 2 < source.length && source[i + 1] == '"' && source[i + 2] == '"') {
+				return i + 3;
+			}
+		}
+		return source.length;
+	}
+
+	private static int skipLiteral(byte[] source, int start, int quote) {
+		for (var i = start; i < source.length; i++) {
+			if (source[i] == '\\') {
+				if (i + 1 < source.length && source[i + 1] == 'u')
+					return -1;
+				i++;
+			} else if (source[i] == quote || source[i] == '\n') {
+				return i + 1;
+			}
+		}
+		return source.length;
+	}
+
+	private static final class Entry {
+
+		final SourceFileSnapshot snapshot;
+		final int keywords;
+
+		Entry(SourceFileSnapshot snapshot, int keywords) {
+			this.snapshot = snapshot;
+			this.keywords = keywords;
+		}
+	}
+}
@@ -34,6 +34,19 @@ public class NodePosition implements Comparable<NodePosition> {
 		end = hasEnd ? new Pair<>(nodeEnd.get().line, nodeEnd.get().column) : null;
 	}
 
+	/**
+	 * @param beginLine   line of the beginning, negative if the node has no begin
+	 * @param beginColumn column of the beginning
+	 * @param endLine     line of the end, negative if the node has no end
+	 * @param endColumn   column of the end
+	 */
+	NodePosition(int beginLine, int beginColumn, int endLine, int endColumn) {
+		hasBegin = beginLine >= 0;
+		begin = hasBegin ? new Pair<>(beginLine, beginColumn) : null;
+		hasEnd = endLine >= 0;
+		end = hasEnd ? new Pair<>(endLine, endColumn) : null;
+	}
+
 	public int getBeginLine() {
 		return begin.a;
 	}
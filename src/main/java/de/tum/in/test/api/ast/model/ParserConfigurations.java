@@ -0,0 +1,56 @@
+package de.tum.in.test.api.ast.model;
+
+import java.util.*;
+
+import com.github.javaparser.*;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+/**
+ * One {@link ParserConfiguration} per language level, built once and shared by
+ * all parsers of the AST assertions.
+ * <p>
+ * The configurations are never modified after they are built, and are not
+ * accessible outside of this package. In contrast to the configuration of the
+ * {@link StaticJavaParser}, the language level therefore cannot be changed by
+ * other AST assertions or other users of JavaParser running concurrently in the
+ * same JVM. {@link JavaParser} instances are still not thread-safe and are
+ * created per thread, see {@link JavaFileCache}.
+ *
+ * @since 1.14.0
+ */
+final class ParserConfigurations {
+
+	private static final Map<LanguageLevel, ParserConfiguration> CONFIGURATIONS;
+
+	static {
+		Map<LanguageLevel, ParserConfiguration> configurations = new EnumMap<>(LanguageLevel.class);
+		for (LanguageLevel languageLevel : LanguageLevel.values())
+			configurations.put(languageLevel, new ParserConfiguration().setLanguageLevel(languageLevel));
+		CONFIGURATIONS = Collections.unmodifiableMap(configurations);
+	}
+
+	private ParserConfigurations() {
+	}
+
+	/**
+	 * Returns the configuration for the given language level, which must not be
+	 * modified.
+	 *
+	 * @param languageLevel the language level
+	 * @return the shared configuration
+	 */
+	static ParserConfiguration of(LanguageLevel languageLevel) {
+		return CONFIGURATIONS.get(Objects.requireNonNull(languageLevel));
+	}
+
+	/**
+	 * Creates a new parser for the given language level, which must only be used
+	 * by one thread at a time.
+	 *
+	 * @param languageLevel the language level
+	 * @return the parser
+	 */
+	static JavaParser newParser(LanguageLevel languageLevel) {
+		return new JavaParser(of(languageLevel));
+	}
+}
@@ -2,15 +2,21 @@ package de.tum.in.test.api.ast.model;
 
 import static de.tum.in.test.api.localization.Messages.localized;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.StaticJavaParser;
 import com.github.javaparser.ast.Node;
 
+import de.tum.in.test.api.AresConfiguration;
+
 /**
  * Stores all unwanted nodes of an abstract syntax tree of a Java-file
  */
@@ -27,6 +33,15 @@ public class UnwantedNode {
 		this.unwantedNodePositions.sort(NodePosition::compareTo);
 	}
 
+	/**
+	 * @param unwantedNodeName      Name of the unwanted node
+	 * @param unwantedNodePositions Sorted positions of the unwanted node
+	 */
+	public UnwantedNode(String unwantedNodeName, List<NodePosition> unwantedNodePositions) {
+		this.unwantedNodeName = unwantedNodeName;
+		this.unwantedNodePositions = unwantedNodePositions;
+	}
+
 	public String getUnwantedNodeName() {
 		return unwantedNodeName;
 	}
@@ -36,7 +51,8 @@ public class UnwantedNode {
 	}
 
 	/**
-	 * Finds all unwanted nodes in an abstract syntax tree of a Java-file
+	 * Finds all unwanted nodes in an abstract syntax tree of a Java-file, using a
+	 * single traversal for all unwanted nodes, see {@link UnwantedNodeRules}
 	 *
 	 * @param javaFile               Abstract syntax tree of a Java-file
 	 * @param nodesDefinedAsUnwanted List of unwanted node information (packed into
@@ -44,12 +60,7 @@ public class UnwantedNode {
 	 */
 	public static List<UnwantedNode> getUnwantedNodesInJavaFile(JavaFile javaFile,
 			Map<String, Class<? extends Node>> nodesDefinedAsUnwanted) {
-		return nodesDefinedAsUnwanted.keySet().stream()
-				.map(unwantedNodeName -> new UnwantedNode(javaFile, unwantedNodeName,
-						nodesDefinedAsUnwanted.get(unwantedNodeName)))
-				.filter(unwantedNode -> !unwantedNode.getUnwantedNodePositions().isEmpty())
-				.sorted(Comparator.comparing(uwn -> uwn.getUnwantedNodePositions().get(0)))
-				.collect(Collectors.toList());
+		return UnwantedNodeRules.of(nodesDefinedAsUnwanted).findUnwantedNodes(javaFile);
 	}
 
 	/**
@@ -114,13 +125,34 @@ public class UnwantedNode {
 	 */
 	public static Optional<String> getMessageForUnwantedNodesForFileAt(Path pathOfJavaFile,
 			Map<String, Class<? extends Node>> nodeNameUnwantedNodeMap) {
-		Map<Path, List<UnwantedNode>> unwantedNodes = getUnwantedNodesForFileAt(pathOfJavaFile,
-				nodeNameUnwantedNodeMap);
+		JavaFile javaFile = JavaFile.convertFromFile(pathOfJavaFile);
+		if (javaFile == null) {
+			return Optional.empty();
+		}
+		return getMessageForUnwantedNodesInJavaFile(javaFile, nodeNameUnwantedNodeMap);
+	}
+
+	/**
+	 * Creates an error message in case unwanted files are detected in an already
+	 * parsed Java-File
+	 *
+	 * @param javaFile                Abstract syntax tree of a Java-file
+	 * @param nodeNameUnwantedNodeMap List of unwanted nodes
+	 * @return Error message
+	 */
+	public static Optional<String> getMessageForUnwantedNodesInJavaFile(JavaFile javaFile,
+			Map<String, Class<? extends Node>> nodeNameUnwantedNodeMap) {
+		return getMessageForUnwantedNodesInJavaFile(javaFile, UnwantedNodeRules.of(nodeNameUnwantedNodeMap));
+	}
+
+	private static Optional<String> getMessageForUnwantedNodesInJavaFile(JavaFile javaFile,
+			UnwantedNodeRules unwantedNodeRules) {
+		List<UnwantedNode> unwantedNodes = unwantedNodeRules.findUnwantedNodes(javaFile);
 		if (unwantedNodes.isEmpty()) {
 			return Optional.empty();
 		}
-		return Optional.of(unwantedNodes.keySet().stream()
-				.map(filePath -> getFormattedFileString(filePath, unwantedNodes)).reduce(String::concat).orElse(""));
+		Path filePath = javaFile.getJavaFilePath();
+		return Optional.of(getFormattedFileString(filePath, Map.of(filePath, unwantedNodes)));
 	}
 
 	/**
@@ -133,11 +165,180 @@ public class UnwantedNode {
 	 */
 	public static Optional<String> getMessageForUnwantedNodesForAllFilesBelow(Path pathOfDirectory,
 			Map<String, Class<? extends Node>> nodeNameUnwantedNodeMap) {
-		return JavaFile.readFromDirectory(pathOfDirectory).stream()
-				.sorted(Comparator.comparing(JavaFile::getJavaFilePath))
-				.map(javaFile -> getMessageForUnwantedNodesForFileAt(javaFile.getJavaFilePath(),
-						nodeNameUnwantedNodeMap))
-				.filter(Optional::isPresent).map(Optional::get).map(message -> message + System.lineSeparator())
-				.reduce(String::concat).map(String::trim).map(message -> " " + message);
+		UnwantedNodeRules unwantedNodeRules = UnwantedNodeRules.of(nodeNameUnwantedNodeMap);
+		return getMessageForUnwantedNodesForAllFilesBelow(pathOfDirectory, filePath -> unwantedNodeRules);
+	}
+
+	/**
+	 * Creates an error message in case unwanted files are detected, using
+	 * individual rules for each file. Every file is parsed once and checked for all
+	 * of its rules in a single pass, right after parsing, so that only the
+	 * unwanted nodes are kept and not the syntax trees of all files. Files that
+	 * cannot contain unwanted nodes according to a lexical scan are not parsed at
+	 * all. If configured using
+	 * {@link AresConfiguration#setAstSummaryCacheDirectory(Path)}, files with a
+	 * cached {@link AstSummary} are not parsed either.
+	 *
+	 * @param pathOfDirectory Path to the Directory, at and below where unwanted
+	 *                        nodes shall be detected
+	 * @param rulesForFile    Returns the unwanted node rules for a file path, or
+	 *                        null if the file shall not be checked
+	 * @return Error message listing all unwanted nodes grouped by file and node name
+	 */
+	public static Optional<String> getMessageForUnwantedNodesForAllFilesBelow(Path pathOfDirectory,
+			Function<Path, UnwantedNodeRules> rulesForFile) {
+		return getMessageForUnwantedNodesForAllFilesBelow(pathOfDirectory, rulesForFile,
+				StaticJavaParser.getParserConfiguration().getLanguageLevel(), false);
+	}
+
+	/**
+	 * Creates an error message in case unwanted files are detected, see
+	 * {@link #getMessageForUnwantedNodesForAllFilesBelow(Path, Function)}. The
+	 * files are parsed with the given language level instead of the one configured
+	 * for the {@link StaticJavaParser}.
+	 * <p>
+	 * In fail-fast mode, the files are checked one after another in the order of
+	 * their paths, and no further file is parsed once unwanted nodes are found.
+	 * The message then only lists the unwanted nodes of that first file.
+	 *
+	 * @param pathOfDirectory Path to the Directory, at and below where unwanted
+	 *                        nodes shall be detected
+	 * @param rulesForFile    Returns the unwanted node rules for a file path, or
+	 *                        null if the file shall not be checked
+	 * @param languageLevel   The language level to parse the files with
+	 * @param failFast        Whether to stop at the first file with unwanted nodes
+	 * @return Error message listing the unwanted nodes grouped by file and node
+	 *         name
+	 */
+	public static Optional<String> getMessageForUnwantedNodesForAllFilesBelow(Path pathOfDirectory,
+			Function<Path, UnwantedNodeRules> rulesForFile, LanguageLevel languageLevel, boolean failFast) {
+		Map<Path, UnwantedNodeRules> rulesByFile = new HashMap<>();
+		List<Path> javaFilePaths = JavaFile.findJavaFiles(pathOfDirectory, filePath -> {
+			UnwantedNodeRules unwantedNodeRules = rulesForFile.apply(filePath);
+			if (unwantedNodeRules == null) {
+				return false;
+			}
+			JavaFile.checkFileSize(filePath);
+			if (!unwantedNodeRules.mayOccurIn(filePath)) {
+				return false;
+			}
+			rulesByFile.put(filePath, unwantedNodeRules);
+			return true;
+		});
+		javaFilePaths.sort(Comparator.naturalOrder());
+		AstSummaryCache summaryCache = AstSummaryCache.configured();
+		if (failFast) {
+			for (Path filePath : javaFilePaths) {
+				List<UnwantedNode> unwantedNodes = findUnwantedNodes(filePath, rulesByFile.get(filePath),
+						languageLevel, summaryCache);
+				if (!unwantedNodes.isEmpty()) {
+					return joinFileMessages(List.of(getFormattedFileString(filePath, Map.of(filePath, unwantedNodes))));
+				}
+			}
+			return Optional.empty();
+		}
+		Map<Path, List<UnwantedNode>> unwantedNodesByFile = new TreeMap<>();
+		Map<Path, String> summaryKeys = new HashMap<>();
+		List<Path> javaFilePathsToParse = new ArrayList<>();
+		for (Path filePath : javaFilePaths) {
+			UnwantedNodeRules unwantedNodeRules = rulesByFile.get(filePath);
+			String summaryKey = getSummaryKey(filePath, unwantedNodeRules, languageLevel, summaryCache);
+			AstSummary summary = summaryKey == null ? null : summaryCache.load(summaryKey);
+			if (summary != null) {
+				unwantedNodesByFile.put(filePath, unwantedNodeRules.findUnwantedNodes(summary));
+				continue;
+			}
+			if (summaryKey != null) {
+				summaryKeys.put(filePath, summaryKey);
+			}
+			javaFilePathsToParse.add(filePath);
+		}
+		JavaFile.processFiles(javaFilePathsToParse, languageLevel, javaFile -> {
+			Path filePath = javaFile.getJavaFilePath();
+			String summaryKey = summaryKeys.get(filePath);
+			if (summaryKey != null) {
+				summaryCache.store(summaryKey, AstSummary.of(javaFile.getJavaFileAST()));
+			}
+			return Map.entry(filePath, rulesByFile.get(filePath).findUnwantedNodes(javaFile));
+		}).forEach(entry -> unwantedNodesByFile.put(entry.getKey(), entry.getValue()));
+		List<String> fileMessages = new ArrayList<>();
+		unwantedNodesByFile.forEach((filePath, unwantedNodes) -> {
+			if (!unwantedNodes.isEmpty()) {
+				fileMessages.add(getFormattedFileString(filePath, unwantedNodesByFile));
+			}
+		});
+		return joinFileMessages(fileMessages);
+	}
+
+	private static List<UnwantedNode> findUnwantedNodes(Path filePath, UnwantedNodeRules unwantedNodeRules,
+			LanguageLevel languageLevel, AstSummaryCache summaryCache) {
+		String summaryKey = getSummaryKey(filePath, unwantedNodeRules, languageLevel, summaryCache);
+		AstSummary summary = summaryKey == null ? null : summaryCache.load(summaryKey);
+		if (summary != null) {
+			return unwantedNodeRules.findUnwantedNodes(summary);
+		}
+		JavaFile javaFile = JavaFile.convertFromFileWithoutCaching(filePath, languageLevel);
+		if (javaFile == null) {
+			return List.of();
+		}
+		if (summaryKey != null) {
+			summaryCache.store(summaryKey, AstSummary.of(javaFile.getJavaFileAST()));
+		}
+		return unwantedNodeRules.findUnwantedNodes(javaFile);
+	}
+
+	/**
+	 * Joins the messages of the files into one message, without copying the message
+	 * for each file that is added.
+	 */
+	private static Optional<String> joinFileMessages(List<String> fileMessages) {
+		if (fileMessages.isEmpty()) {
+			return Optional.empty();
+		}
+		var message = new StringBuilder(" ").append(fileMessages.get(0).stripLeading()); //$NON-NLS-1$
+		for (String fileMessage : fileMessages.subList(1, fileMessages.size())) {
+			message.append(System.lineSeparator()).append(fileMessage);
+		}
+		return Optional.of(message.toString().stripTrailing());
+	}
+
+	/**
+	 * Creates an error message in case unwanted calls are detected, grouped by file
+	 * and named like unwanted nodes
+	 *
+	 * @param unwantedCalls Unwanted calls, see {@link CallGraph}
+	 * @param nameOfCall    Returns the name under which a call is reported, calls
+	 *                      with the same name in a file are reported together
+	 * @return Error message listing all unwanted calls grouped by file and name
+	 */
+	public static Optional<String> getMessageForUnwantedCalls(List<CallGraph.MethodCall> unwantedCalls,
+			Function<CallGraph.MethodCall, String> nameOfCall) {
+		Map<Path, Map<String, List<NodePosition>>> positionsByFile = new TreeMap<>();
+		for (CallGraph.MethodCall call : unwantedCalls) {
+			positionsByFile.computeIfAbsent(call.getFilePath(), key -> new LinkedHashMap<>())
+					.computeIfAbsent(nameOfCall.apply(call), key -> new ArrayList<>()).add(call.getPosition());
+		}
+		Map<Path, List<UnwantedNode>> unwantedNodesByFile = new TreeMap<>();
+		positionsByFile.forEach((filePath, positionsByName) -> unwantedNodesByFile.put(filePath,
+				positionsByName.entrySet().stream().map(entry -> {
+					entry.getValue().sort(NodePosition::compareTo);
+					return new UnwantedNode(entry.getKey(), entry.getValue());
+				}).sorted(Comparator.comparing(uwn -> uwn.getUnwantedNodePositions().get(0)))
+						.collect(Collectors.toList())));
+		return joinFileMessages(unwantedNodesByFile.keySet().stream()
+				.map(filePath -> getFormattedFileString(filePath, unwantedNodesByFile)).collect(Collectors.toList()));
+	}
+
+	private static String getSummaryKey(Path pathOfJavaFile, UnwantedNodeRules unwantedNodeRules,
+			LanguageLevel languageLevel, AstSummaryCache summaryCache) {
+		if (summaryCache == null || !unwantedNodeRules.canUseSummary()) {
+			return null;
+		}
+		try {
+			return AstSummaryCache.keyOf(pathOfJavaFile, languageLevel);
+		} catch (@SuppressWarnings("unused") IOException e) {
+			// the error is reported when the file is parsed
+			return null;
+		}
 	}
 }
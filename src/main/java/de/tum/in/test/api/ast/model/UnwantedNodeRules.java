@@ -0,0 +1,202 @@
+package de.tum.in.test.api.ast.model;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+import com.github.javaparser.ast.Node;
+
+import de.tum.in.test.api.ast.type.Type;
+
+/**
+ * A compiled set of unwanted node rules that finds the nodes of all rules in a
+ * single traversal of a syntax tree.
+ * <p>
+ * Each rule consists of the name of the unwanted node and its node class, like
+ * in {@link Type#getNodeNameNodeMap()}. During the traversal, the rules that
+ * apply to a node are looked up by its runtime class, which is only resolved
+ * once per node class. Subclasses of a rule's node class match as well, like
+ * with {@link Node#findAll(Class)}.
+ * <p>
+ * Files that cannot contain any of the unwanted nodes according to the keywords
+ * they contain can be skipped before parsing, see
+ * {@link #mayOccurIn(Path)}. If all node classes are supported by that
+ * filter, the rules can also be evaluated on an {@link AstSummary} instead of
+ * the syntax tree.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class UnwantedNodeRules {
+
+	private final List<String> nodeNames;
+	private final List<Class<? extends Node>> nodeClasses;
+	private final Map<Class<?>, int[]> ruleIndicesByNodeClass = new ConcurrentHashMap<>();
+	// the keywords of which at least one must occur for any rule to match
+	private final int requiredKeywords;
+
+	private UnwantedNodeRules(Map<String, Class<? extends Node>> nodeNameNodeMap) {
+		this.nodeNames = List.copyOf(nodeNameNodeMap.keySet());
+		this.nodeClasses = List.copyOf(nodeNameNodeMap.values());
+		var keywords = 0;
+		for (Class<? extends Node> nodeClass : nodeClasses)
+			keywords |= LexicalFilter.requiredKeywordsOf(nodeClass);
+		this.requiredKeywords = keywords;
+	}
+
+	/**
+	 * Compiles the given rules.
+	 *
+	 * @param nodeNameNodeMap the node names and their unwanted node classes
+	 * @return the compiled rules, in the iteration order of the map
+	 */
+	public static UnwantedNodeRules of(Map<String, Class<? extends Node>> nodeNameNodeMap) {
+		return new UnwantedNodeRules(nodeNameNodeMap);
+	}
+
+	/**
+	 * Compiles the rules of all given types. Rules with the same node name are
+	 * only included once.
+	 *
+	 * @param types the unwanted types
+	 * @return the compiled rules, in the order of the types
+	 */
+	public static UnwantedNodeRules ofTypes(Collection<? extends Type> types) {
+		Map<String, Class<? extends Node>> nodeNameNodeMap = new LinkedHashMap<>();
+		for (Type type : types)
+			type.getNodeNameNodeMap().forEach(nodeNameNodeMap::putIfAbsent);
+		return new UnwantedNodeRules(nodeNameNodeMap);
+	}
+
+	/**
+	 * @return the node names and their unwanted node classes of all rules
+	 */
+	public Map<String, Class<? extends Node>> getNodeNameNodeMap() {
+		Map<String, Class<? extends Node>> nodeNameNodeMap = new LinkedHashMap<>();
+		for (var i = 0; i < nodeNames.size(); i++)
+			nodeNameNodeMap.put(nodeNames.get(i), nodeClasses.get(i));
+		return nodeNameNodeMap;
+	}
+
+	/**
+	 * Checks whether the given Java file could contain unwanted nodes of any rule,
+	 * using a lexical scan instead of parsing the file, see {@link LexicalFilter}.
+	 *
+	 * @param javaFilePath the path of the Java file
+	 * @return false if the file certainly contains no unwanted nodes
+	 */
+	public boolean mayOccurIn(Path javaFilePath) {
+		return requiredKeywords == LexicalFilter.ALL
+				|| (LexicalFilter.keywordsIn(javaFilePath) & requiredKeywords) != 0;
+	}
+
+	/**
+	 * Finds the positions of the unwanted nodes of all rules in a single
+	 * traversal.
+	 *
+	 * @param ast the syntax tree to search
+	 * @return the sorted positions for each node name with at least one unwanted
+	 *         node, in the order of the rules
+	 */
+	public Map<String, List<NodePosition>> findIn(Node ast) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		List<NodePosition>[] positions = new List[nodeNames.size()];
+		ast.walk(Node.TreeTraversal.PREORDER, node -> {
+			for (int ruleIndex : ruleIndicesFor(node.getClass())) {
+				if (positions[ruleIndex] == null)
+					positions[ruleIndex] = new ArrayList<>();
+				positions[ruleIndex].add(NodePosition.getPositionOf(node));
+			}
+		});
+		return toPositionsByNodeName(positions);
+	}
+
+	/**
+	 * Checks whether the rules can be evaluated on an {@link AstSummary}, which is
+	 * the case if the summary records all of their node classes.
+	 *
+	 * @return true if {@link #findIn(AstSummary)} can be used
+	 */
+	boolean canUseSummary() {
+		return requiredKeywords != LexicalFilter.ALL;
+	}
+
+	/**
+	 * Finds the positions of the unwanted nodes of all rules in the summary of a
+	 * syntax tree, with the same result as {@link #findIn(Node)} on the syntax
+	 * tree itself.
+	 *
+	 * @param summary the summary of the syntax tree, see {@link #canUseSummary()}
+	 * @return the sorted positions for each node name with at least one unwanted
+	 *         node, in the order of the rules
+	 */
+	Map<String, List<NodePosition>> findIn(AstSummary summary) {
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		List<NodePosition>[] positions = new List[nodeNames.size()];
+		for (Class<? extends Node> nodeClass : summary.getNodeClasses()) {
+			for (int ruleIndex : ruleIndicesFor(nodeClass)) {
+				if (positions[ruleIndex] == null)
+					positions[ruleIndex] = new ArrayList<>();
+				positions[ruleIndex].addAll(summary.getPositionsOf(nodeClass));
+			}
+		}
+		return toPositionsByNodeName(positions);
+	}
+
+	private Map<String, List<NodePosition>> toPositionsByNodeName(List<NodePosition>[] positions) {
+		Map<String, List<NodePosition>> positionsByNodeName = new LinkedHashMap<>();
+		for (var i = 0; i < positions.length; i++) {
+			if (positions[i] != null) {
+				positions[i].sort(NodePosition::compareTo);
+				positionsByNodeName.put(nodeNames.get(i), positions[i]);
+			}
+		}
+		return positionsByNodeName;
+	}
+
+	/**
+	 * Finds all unwanted nodes of the rules in an abstract syntax tree of a
+	 * Java-file.
+	 *
+	 * @param javaFile Abstract syntax tree of a Java-file
+	 * @return the unwanted nodes with at least one position, ordered by their first
+	 *         position
+	 */
+	public List<UnwantedNode> findUnwantedNodes(JavaFile javaFile) {
+		return toUnwantedNodes(findIn(javaFile.getJavaFileAST()));
+	}
+
+	/**
+	 * Finds all unwanted nodes of the rules in the summary of a syntax tree.
+	 *
+	 * @param summary the summary of the syntax tree, see {@link #canUseSummary()}
+	 * @return the unwanted nodes with at least one position, ordered by their first
+	 *         position
+	 */
+	List<UnwantedNode> findUnwantedNodes(AstSummary summary) {
+		return toUnwantedNodes(findIn(summary));
+	}
+
+	private static List<UnwantedNode> toUnwantedNodes(Map<String, List<NodePosition>> positionsByNodeName) {
+		return positionsByNodeName.entrySet().stream()
+				.map(entry -> new UnwantedNode(entry.getKey(), entry.getValue()))
+				.sorted(Comparator.comparing(uwn -> uwn.getUnwantedNodePositions().get(0)))
+				.collect(Collectors.toList());
+	}
+
+	private int[] ruleIndicesFor(Class<?> nodeClass) {
+		return ruleIndicesByNodeClass.computeIfAbsent(nodeClass, key -> {
+			var indices = new int[nodeClasses.size()];
+			var count = 0;
+			for (var i = 0; i < nodeClasses.size(); i++) {
+				if (nodeClasses.get(i).isAssignableFrom(key))
+					indices[count++] = i;
+			}
+			return Arrays.copyOf(indices, count);
+		});
+	}
+}
@@ -6,7 +6,6 @@ import static de.tum.in.test.api.localization.Messages.localizedFailure;
 import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -27,6 +26,8 @@ public final class TimeoutUtils {
 		ArtemisSecurityManager.isInstalled();
 	}
 
+	private static final ThreadFactory TIMEOUT_THREAD_FACTORY = new WhitelistedThreadFactory("ajts-to-"); //$NON-NLS-1$
+
 	private TimeoutUtils() {
 	}
 
@@ -59,7 +60,7 @@ public final class TimeoutUtils {
 	private static <T> T executeWithTimeout(Duration timeout, Callable<T> action, TestContext context)
 			throws Throwable { // NOSONAR
 		ArtemisSecurityManager.revokeThreadWhitelisting();
-		var executorService = Executors.newSingleThreadExecutor(new WhitelistedThreadFactory());
+		var executorService = Executors.newSingleThreadExecutor(TIMEOUT_THREAD_FACTORY);
 		try {
 			Future<T> future = executorService.submit(action);
 			return invokeChecked(() -> future.get(timeout.toMillis(), TimeUnit.MILLISECONDS));
@@ -82,7 +83,13 @@ public final class TimeoutUtils {
 		return failure;
 	}
 
-	private static String formatDuration(Duration duration) {
+	/**
+	 * Formats the duration for failure messages, e.g. <code>1 min 30 s</code>.
+	 *
+	 * @param duration the duration
+	 * @return the formatted duration
+	 */
+	public static String formatDuration(Duration duration) {
 		List<String> parts = new ArrayList<>();
 		long h = duration.toHours();
 		int m = duration.toMinutesPart();
@@ -98,17 +105,4 @@ public final class TimeoutUtils {
 			parts.add(ms + " ms"); //$NON-NLS-1$
 		return String.join(" ", parts); //$NON-NLS-1$
 	}
-
-	private static class WhitelistedThreadFactory implements ThreadFactory {
-		private static final AtomicInteger TIMEOUT_THREAD_ID = new AtomicInteger(1);
-
-		@Override
-		public Thread newThread(Runnable r) {
-			var thread = new Thread(r, "ajts-to-" + TIMEOUT_THREAD_ID.getAndIncrement()); //$NON-NLS-1$
-			if (thread.getPriority() != Thread.NORM_PRIORITY)
-				thread.setPriority(Thread.NORM_PRIORITY);
-			ArtemisSecurityManager.requestThreadWhitelisting(thread);
-			return thread;
-		}
-	}
 }
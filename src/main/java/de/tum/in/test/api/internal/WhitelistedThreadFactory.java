@@ -0,0 +1,41 @@
+package de.tum.in.test.api.internal;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+import de.tum.in.test.api.security.ArtemisSecurityManager;
+
+/**
+ * Creates threads that are whitelisted by the {@link ArtemisSecurityManager}
+ * and can therefore execute trusted code on behalf of the current test.
+ * <p>
+ * The threads must be created by a thread that is whitelisted itself.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class WhitelistedThreadFactory implements ThreadFactory {
+
+	private final String namePrefix;
+	private final AtomicInteger threadId = new AtomicInteger(1);
+
+	/**
+	 * @param namePrefix the prefix of the thread names, followed by a running
+	 *                   number
+	 */
+	public WhitelistedThreadFactory(String namePrefix) {
+		this.namePrefix = namePrefix;
+	}
+
+	@Override
+	public Thread newThread(Runnable r) {
+		var thread = new Thread(r, namePrefix + threadId.getAndIncrement());
+		if (thread.getPriority() != Thread.NORM_PRIORITY)
+			thread.setPriority(Thread.NORM_PRIORITY);
+		ArtemisSecurityManager.requestThreadWhitelisting(thread);
+		return thread;
+	}
+}
@@ -0,0 +1,146 @@
+package de.tum.in.test.api.io;
+
+import static de.tum.in.test.api.localization.Messages.localized;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.*;
+
+import de.tum.in.test.api.util.LruCache;
+
+/**
+ * One line of the expected output in the format used by
+ * {@link OutputTester#assertLinesMatch(String, String...)}, parsed once.
+ * <p>
+ * Regular expressions are compiled when the line is created and cached across
+ * assertions, literal lines are only compared for equality.
+ */
+final class ExpectedLine {
+
+	enum Kind {
+		LITERAL,
+		REGEX,
+		FAST_FORWARD
+	}
+
+	private static final String REGEX_MARKER = "||"; //$NON-NLS-1$
+	private static final String FAST_FORWARD_MARKER = ">>"; //$NON-NLS-1$
+	private static final Map<String, Pattern> PATTERN_CACHE = Collections.synchronizedMap(new LruCache<>(1024));
+
+	private final int number;
+	private final Kind kind;
+	private final String text;
+	private final Pattern pattern;
+	private final int fastForwardLimit;
+
+	private ExpectedLine(int number, Kind kind, String text, Pattern pattern, int fastForwardLimit) {
+		this.number = number;
+		this.kind = kind;
+		this.text = text;
+		this.pattern = pattern;
+		this.fastForwardLimit = fastForwardLimit;
+	}
+
+	/**
+	 * Number of the expected line, starting at 1.
+	 *
+	 * @return the line number
+	 */
+	int number() {
+		return number;
+	}
+
+	Kind kind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the literal text, the regular expression or the fast-forward line
+	 * without any escapes or <code>||</code> markers.
+	 *
+	 * @return the text of this line
+	 */
+	String text() {
+		return text;
+	}
+
+	boolean isFastForward() {
+		return kind == Kind.FAST_FORWARD;
+	}
+
+	boolean hasFastForwardLimit() {
+		return fastForwardLimit != Integer.MAX_VALUE;
+	}
+
+	int fastForwardLimit() {
+		return fastForwardLimit;
+	}
+
+	boolean matches(String actualLine) {
+		switch (kind) {
+		case LITERAL:
+			return text.equals(actualLine);
+		case REGEX:
+			return pattern.matcher(actualLine).matches();
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Returns how the line is presented to the user in failure messages.
+	 *
+	 * @return the line description, e.g. <code>`abc`</code>
+	 */
+	String describe() {
+		if (kind == Kind.REGEX)
+			return localized("output_tester.line_matching_regex_mismatch") + " `" + text + '`'; //$NON-NLS-1$ //$NON-NLS-2$
+		return '`' + text + '`';
+	}
+
+	@Override
+	public String toString() {
+		return describe();
+	}
+
+	static List<ExpectedLine> parseAll(String... expectedLines) {
+		var lines = Stream.of(expectedLines).flatMap(String::lines).collect(Collectors.toList());
+		return IntStream.range(0, lines.size()).mapToObj(i -> parse(i + 1, lines.get(i)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	static ExpectedLine parse(int number, String line) {
+		if (startsWithEscape(line))
+			return new ExpectedLine(number, Kind.LITERAL, line.substring(1), null, Integer.MAX_VALUE);
+		if (isMarkedWith(line, REGEX_MARKER)) {
+			var regex = line.substring(2, line.length() - 2);
+			var pattern = PATTERN_CACHE.computeIfAbsent(regex, Pattern::compile);
+			return new ExpectedLine(number, Kind.REGEX, regex, pattern, Integer.MAX_VALUE);
+		}
+		if (isMarkedWith(line, FAST_FORWARD_MARKER))
+			return new ExpectedLine(number, Kind.FAST_FORWARD, line, null, parseFastForwardLimit(line));
+		return new ExpectedLine(number, Kind.LITERAL, line, null, Integer.MAX_VALUE);
+	}
+
+	private static int parseFastForwardLimit(String line) {
+		var content = line.substring(2, line.length() - 2).strip();
+		int limit;
+		try {
+			limit = Integer.parseInt(content);
+		} catch (@SuppressWarnings("unused") NumberFormatException e) {
+			// no limit, just fast-forward to the next matching line
+			return Integer.MAX_VALUE;
+		}
+		if (limit <= 0)
+			throw new IllegalArgumentException("fast-forward(" + limit + ") limit must be greater than zero"); //$NON-NLS-1$ //$NON-NLS-2$
+		return limit;
+	}
+
+	private static boolean startsWithEscape(String line) {
+		return line.startsWith("\\||") || line.startsWith("\\>>"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static boolean isMarkedWith(String line, String marker) {
+		return line.length() >= 2 * marker.length() && line.startsWith(marker) && line.endsWith(marker);
+	}
+}
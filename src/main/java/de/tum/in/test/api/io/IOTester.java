@@ -4,7 +4,8 @@ import static de.tum.in.test.api.localization.Messages.localized;
 
 import java.io.*;
 import java.nio.charset.Charset;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.*;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -14,7 +15,7 @@ import org.apiguardian.api.API.Status;
  *
  * @author Christian Femers
  * @since 0.1.0
- * @version 1.0.2
+ * @version 1.1.0
  */
 @API(status = Status.STABLE)
 public final class IOTester {
@@ -98,6 +99,50 @@ public final class IOTester {
 		return this;
 	}
 
+	/**
+	 * Provides the content of the given file as console input, after all input
+	 * that has already been provided.
+	 * <p>
+	 * The file gets memory-mapped, which makes this the preferred way to provide
+	 * large amounts of input.
+	 *
+	 * @param inputFile the UTF-8 encoded file to read the input from
+	 * @return this {@link IOTester}
+	 * @throws UncheckedIOException if the file cannot be read
+	 * @see InputTester#addFileToInput(Path)
+	 * @since 1.14.0
+	 */
+	public IOTester provideInputFrom(Path inputFile) {
+		inTester.addFileToInput(inputFile);
+		return this;
+	}
+
+	/**
+	 * Provides console input interactively: each time the tested code requests
+	 * input and all previously provided input has been read, the responder is
+	 * asked for the next line based on the output so far. This allows testing
+	 * e.g. interactive menus in a single run.
+	 * <p>
+	 * The responder is called directly in the thread that reads the input, so no
+	 * additional threads, polling or waiting are involved. Pending output that has
+	 * no line break yet, like a prompt, gets flushed before. If the responder
+	 * returns null, the read fails just like if no input was provided. Use a
+	 * timeout like {@link de.tum.in.test.api.StrictTimeout StrictTimeout} to limit
+	 * the duration of the whole conversation.
+	 *
+	 * @param responder provides the next input line
+	 * @return this {@link IOTester}
+	 * @since 1.14.0
+	 */
+	public IOTester provideInputInteractively(InputResponder responder) {
+		Objects.requireNonNull(responder);
+		inTester.setInteractiveInput(() -> {
+			flushPendingOutput();
+			return responder.nextLine(outTester);
+		});
+		return this;
+	}
+
 	/**
 	 * Returns all standard output as lines
 	 *
@@ -154,6 +199,15 @@ public final class IOTester {
 		return Line.joinLinesToString(getErrorOutput(), LINE_SEPERATOR);
 	}
 
+	private void flushPendingOutput() {
+		try {
+			out.flush();
+			err.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	public InputTester getInTester() {
 		return inTester;
 	}
@@ -0,0 +1,26 @@
+package de.tum.in.test.api.io;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+/**
+ * Provides console input interactively, depending on what the tested code has
+ * printed so far. See {@link IOTester#provideInputInteractively(InputResponder)}.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.EXPERIMENTAL)
+@FunctionalInterface
+public interface InputResponder {
+
+	/**
+	 * Called each time the tested code requests input and no previously provided
+	 * input is left. This happens in the thread reading the input, before the
+	 * read operation returns.
+	 *
+	 * @param output the standard output recorded so far, including text that was
+	 *               not terminated by a line break yet (like a prompt)
+	 * @return the next input line, or null if no more input should be provided
+	 */
+	String nextLine(OutputTester output);
+}
@@ -2,7 +2,14 @@ package de.tum.in.test.api.io;
 
 import static de.tum.in.test.api.localization.Messages.localized;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
+import java.util.function.Supplier;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -10,29 +17,78 @@ import org.apiguardian.api.API.Status;
 /**
  * Can provide console input, and throws an exception if more is requested than
  * is available. The provided lines get numbered.
+ * <p>
+ * Input is stored already encoded in UTF-8, with all lines of one call to
+ * {@link #addLinesToInput(String...)} in one contiguous buffer. Input files are
+ * memory-mapped instead of being read into the heap. If an interactive input
+ * source is set, it is asked for the next line whenever no input is left.
  *
  * @see IOTester
  * @author Christian Femers
  * @since 0.1.0
- * @version 1.0.2
+ * @version 1.1.0
  */
 @API(status = Status.STABLE)
 public final class InputTester implements LineProvider {
 
+	private static final byte LINE_END = '\n';
+	private static final byte[] LINE_SEPERATOR_BYTES = IOTester.LINE_SEPERATOR.getBytes(StandardCharsets.UTF_8);
+
 	private final List<Line> expectedInput = new ArrayList<>();
-	private int position;
+	private final Deque<InputSegment> pendingInput = new ArrayDeque<>();
+	private InputSegment lastSegment;
+	private Supplier<String> interactiveInput;
 
 	@Override
 	public Line getNextLine() {
-		if (hasNextLine())
-			return expectedInput.get(position++);
-		if (expectedInput.isEmpty())
-			throw new IllegalStateException(localized("input_tester.no_input_expected")); //$NON-NLS-1$
-		throw new IllegalStateException(localized("input_tester.no_more_input_expected", getCurrentLine())); //$NON-NLS-1$
+		var segment = currentSegment();
+		var data = segment.data;
+		int start = data.position();
+		int end = start;
+		while (end < data.limit() && data.get(end) != LINE_END)
+			end++;
+		var line = segment.isFile() ? Line.of(decode(data, start, end))
+				: expectedInput.get(segment.firstUnreadLine());
+		data.position(Math.min(end + 1, data.limit()));
+		return line;
+	}
+
+	/**
+	 * Returns the buffer of the current input segment. The segment stays queued
+	 * until the caller consumed all of its bytes, so that lines not read yet
+	 * still count as remaining input.
+	 */
+	@Override
+	public ByteBuffer getNextInput() {
+		return currentSegment().data;
 	}
 
 	Line getCurrentLine() {
-		return expectedInput.get(position - 1);
+		if (lastSegment.isFile())
+			return Line.of(lastLineOf(lastSegment.file));
+		var data = lastSegment.data;
+		var lineIndex = lastSegment.firstUnreadLine();
+		// the line that was read last, unless a line was only read in part
+		if (data.position() == 0 || data.get(data.position() - 1) == LINE_END)
+			lineIndex--;
+		return expectedInput.get(lineIndex);
+	}
+
+	private InputSegment currentSegment() {
+		removeConsumedInput();
+		if (pendingInput.isEmpty() && interactiveInput != null) {
+			var nextLine = interactiveInput.get();
+			if (nextLine != null)
+				addLinesToInput(nextLine);
+		}
+		var segment = pendingInput.peek();
+		if (segment == null) {
+			if (lastSegment == null)
+				throw new IllegalStateException(localized("input_tester.no_input_expected")); //$NON-NLS-1$
+			throw new IllegalStateException(localized("input_tester.no_more_input_expected", getCurrentLine())); //$NON-NLS-1$
+		}
+		lastSegment = segment;
+		return segment;
 	}
 
 	private void addExpectedLine(AbstractLine line) {
@@ -42,15 +98,130 @@ public final class InputTester implements LineProvider {
 
 	@Override
 	public boolean hasNextLine() {
-		return position < expectedInput.size();
+		removeConsumedInput();
+		return !pendingInput.isEmpty();
+	}
+
+	private void removeConsumedInput() {
+		while (!pendingInput.isEmpty() && !pendingInput.peek().data.hasRemaining())
+			pendingInput.poll();
 	}
 
 	public void addLinesToInput(String... lines) {
-		Arrays.stream(lines).map(Line::of).forEach(this::addExpectedLine);
+		if (lines.length == 0)
+			return;
+		int firstLine = expectedInput.size();
+		var encodedLines = new StringBuilder();
+		for (String text : lines) {
+			addExpectedLine(Line.of(text));
+			encodedLines.append(text).append(IOTester.LINE_SEPERATOR);
+		}
+		byte[] bytes = encodedLines.toString().getBytes(StandardCharsets.UTF_8);
+		pendingInput.add(new InputSegment(ByteBuffer.wrap(bytes), firstLine));
+	}
+
+	/**
+	 * Adds the content of the given file as input, which must be UTF-8 encoded.
+	 * <p>
+	 * The file is memory-mapped and its bytes are passed on as they are, only a
+	 * line break gets added if the file does not end with one. The file must
+	 * therefore not be modified as long as the input is in use.
+	 *
+	 * @param file the file to read the input from
+	 * @throws UncheckedIOException if the file cannot be mapped
+	 * @since 1.14.0
+	 */
+	public void addFileToInput(Path file) {
+		ByteBuffer data;
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			data = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (!data.hasRemaining())
+			return;
+		pendingInput.add(new InputSegment(data, data));
+		if (data.get(data.limit() - 1) != LINE_END)
+			pendingInput.add(new InputSegment(ByteBuffer.wrap(LINE_SEPERATOR_BYTES), data));
+	}
+
+	/**
+	 * Sets the source for input lines that are requested after all previously
+	 * added input has been read.
+	 *
+	 * @param nextLine supplies the next line or null, if no more input should be
+	 *                 provided. May be null to disable interactive input.
+	 */
+	void setInteractiveInput(Supplier<String> nextLine) {
+		interactiveInput = nextLine;
 	}
 
 	public void resetInput() {
 		expectedInput.clear();
-		position = 0;
+		pendingInput.clear();
+		lastSegment = null;
+		interactiveInput = null;
+	}
+
+	private static String lastLineOf(ByteBuffer data) {
+		int end = data.limit();
+		if (end > 0 && data.get(end - 1) == LINE_END)
+			end--;
+		int start = end;
+		while (start > 0 && data.get(start - 1) != LINE_END)
+			start--;
+		return decode(data, start, end);
+	}
+
+	private static String decode(ByteBuffer data, int start, int end) {
+		var bytes = new byte[end - start];
+		data.duplicate().position(start).get(bytes);
+		var text = new String(bytes, StandardCharsets.UTF_8);
+		// files may use Windows line endings
+		return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text; //$NON-NLS-1$
+	}
+
+	private static final class InputSegment {
+
+		final ByteBuffer data;
+		final int firstLine;
+		/**
+		 * The complete mapped file the data belongs to, or null for provided lines.
+		 */
+		final ByteBuffer file;
+		/**
+		 * How far the data has been checked for line ends by
+		 * {@link #firstUnreadLine()}, and how many were found.
+		 */
+		private int scannedUntil;
+		private int lineEndsFound;
+
+		InputSegment(ByteBuffer data, int firstLine) {
+			this.data = data;
+			this.firstLine = firstLine;
+			this.file = null;
+		}
+
+		InputSegment(ByteBuffer data, ByteBuffer file) {
+			this.data = data;
+			this.firstLine = -1;
+			this.file = file;
+		}
+
+		boolean isFile() {
+			return file != null;
+		}
+
+		/**
+		 * Returns the index of the first provided line that has not been read
+		 * completely, by counting the line ends consumed from the data so far.
+		 */
+		int firstUnreadLine() {
+			for (; scannedUntil < data.position(); scannedUntil++) {
+				if (data.get(scannedUntil) == LINE_END)
+					lineEndsFound++;
+			}
+			return firstLine + lineEndsFound;
+		}
 	}
 }
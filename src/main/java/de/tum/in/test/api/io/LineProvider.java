@@ -1,7 +1,18 @@
 package de.tum.in.test.api.io;
 
+import java.nio.ByteBuffer;
+
 interface LineProvider {
 	Line getNextLine();
 
 	boolean hasNextLine();
+
+	/**
+	 * Returns the next chunk of input, already encoded and possibly containing
+	 * many lines at once. The returned buffer is consumed by the caller, and its
+	 * remaining bytes still count as input that has not been read.
+	 *
+	 * @return the next input chunk, never empty
+	 */
+	ByteBuffer getNextInput();
 }
@@ -0,0 +1,120 @@
+package de.tum.in.test.api.io;
+
+import static de.tum.in.test.api.localization.Messages.localized;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Matches all actual output lines against the expected lines, see
+ * {@link OutputTester#assertLinesMatch(String, String...)}.
+ * <p>
+ * The algorithm is the same as the one of
+ * {@link org.junit.jupiter.api.Assertions#assertLinesMatch(List, List, String)
+ * Assertions.assertLinesMatch}, but uses the {@link ExpectedLine}s directly
+ * instead of trying each line as regular expression. If there are no
+ * fast-forward lines, the failure message contains an {@link OutputDiff} of
+ * the lines.
+ */
+final class LinesMatcher {
+
+	private final String message;
+	private final List<ExpectedLine> expectedLines;
+	private final List<String> actualLines;
+
+	LinesMatcher(String message, List<ExpectedLine> expectedLines, List<String> actualLines) {
+		this.message = message;
+		this.expectedLines = expectedLines;
+		this.actualLines = actualLines;
+	}
+
+	/**
+	 * Matches the lines and throws an {@link AssertionFailedError} on the first
+	 * problem found.
+	 */
+	void assertLinesMatch() {
+		int expectedSize = expectedLines.size();
+		int actualSize = actualLines.size();
+		if (expectedSize > actualSize)
+			fail(localized("output_tester.lines_match.too_few_lines", expectedSize, actualSize)); //$NON-NLS-1$
+		if (expectedSize == actualSize && allMatchOneToOne())
+			return;
+		assertLinesMatchWithFastForward();
+	}
+
+	private boolean allMatchOneToOne() {
+		for (var i = 0; i < expectedLines.size(); i++) {
+			if (!expectedLines.get(i).matches(actualLines.get(i)))
+				return false;
+		}
+		return true;
+	}
+
+	private void assertLinesMatchWithFastForward() {
+		int actualSize = actualLines.size();
+		int actualIndex = 0;
+		var expectedIndex = 0;
+		main: while (expectedIndex < expectedLines.size()) {
+			var expectedLine = expectedLines.get(expectedIndex++);
+			if (actualIndex == actualSize)
+				fail(localized("output_tester.lines_match.lines_depleted", expectedLine.number(), //$NON-NLS-1$
+						expectedLine.describe()));
+			var actualLine = actualLines.get(actualIndex);
+			if (expectedLine.matches(actualLine)) {
+				actualIndex++;
+				continue;
+			}
+			if (!expectedLine.isFastForward())
+				fail(localized("output_tester.lines_match.line_mismatch", expectedLine.number(), actualIndex + 1, //$NON-NLS-1$
+						expectedLine.describe(), actualLine));
+			int actualRemaining = actualSize - actualIndex;
+			if (expectedIndex == expectedLines.size()) {
+				// fast-forward in the last expected line
+				if (!expectedLine.hasFastForwardLimit() || expectedLine.fastForwardLimit() == actualRemaining)
+					return;
+				fail(localized("output_tester.lines_match.terminal_fast_forward", expectedLine.fastForwardLimit(), //$NON-NLS-1$
+						actualRemaining));
+			}
+			if (expectedLine.hasFastForwardLimit()) {
+				if (actualRemaining < expectedLine.fastForwardLimit())
+					fail(localized("output_tester.lines_match.fast_forward_not_enough", //$NON-NLS-1$
+							expectedLine.fastForwardLimit(), actualRemaining));
+				actualIndex += expectedLine.fastForwardLimit();
+				continue;
+			}
+			// skip actual lines until the next expected line matches
+			var nextExpectedLine = expectedLines.get(expectedIndex);
+			for (; actualIndex < actualSize; actualIndex++) {
+				if (nextExpectedLine.matches(actualLines.get(actualIndex)))
+					continue main;
+			}
+			fail(localized("output_tester.lines_match.fast_forward_not_found", nextExpectedLine.describe())); //$NON-NLS-1$
+		}
+		if (actualIndex < actualSize)
+			fail(localized("output_tester.lines_match.more_actual_lines", actualSize - actualIndex)); //$NON-NLS-1$
+	}
+
+	private void fail(String details) {
+		var prefix = message == null || message.isBlank() ? "" : message + " ==> "; //$NON-NLS-1$ //$NON-NLS-2$
+		var expected = expectedLines.stream().map(ExpectedLine::text)
+				.collect(Collectors.joining(IOTester.LINE_SEPERATOR));
+		var actual = String.join(IOTester.LINE_SEPERATOR, actualLines);
+		throw new AssertionFailedError(prefix + details + createDiffReport(), expected, actual);
+	}
+
+	private String createDiffReport() {
+		if (expectedLines.stream().anyMatch(ExpectedLine::isFastForward))
+			return ""; //$NON-NLS-1$
+		var diff = OutputDiff.compute(expectedLines, actualLines);
+		if (!diff.hasDifferences())
+			return ""; //$NON-NLS-1$
+		var expectedTexts = expectedLines.stream()
+				.map(line -> line.kind() == ExpectedLine.Kind.REGEX ? "||" + line.text() + "||" : line.text()) //$NON-NLS-1$ //$NON-NLS-2$
+				.collect(Collectors.toList());
+		return IOTester.LINE_SEPERATOR + localized("output_tester.diff.title") + IOTester.LINE_SEPERATOR //$NON-NLS-1$
+				+ diff.toReport(expectedTexts, actualLines, OutputDiff.DEFAULT_CONTEXT,
+						OutputDiff.DEFAULT_MAX_REPORT_LINES);
+	}
+}
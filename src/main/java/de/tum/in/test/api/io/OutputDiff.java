@@ -0,0 +1,302 @@
+package de.tum.in.test.api.io;
+
+import static de.tum.in.test.api.localization.Messages.localized;
+
+import java.util.*;
+
+/**
+ * Computes the difference between expected and actual output lines and
+ * formats it as compact report in the style of a unified diff.
+ * <p>
+ * This uses the linear space variant of the algorithm by Eugene W. Myers
+ * ("An O(ND) Difference Algorithm and Its Variations"), which needs
+ * <i>O((N+M) D)</i> time for <i>N</i> expected and <i>M</i> actual lines with
+ * <i>D</i> differences. Common leading and trailing lines are skipped right
+ * away. To keep the time bounded for outputs that have almost nothing in common,
+ * the search stops after a fixed amount of work and reports the remaining
+ * lines as changed completely, which is correct but no longer minimal.
+ */
+final class OutputDiff {
+
+	/**
+	 * Compares an expected line with an actual line.
+	 */
+	@FunctionalInterface
+	interface LineEquality {
+		boolean matches(int expectedIndex, int actualIndex);
+	}
+
+	static final int DEFAULT_CONTEXT = 3;
+	static final int DEFAULT_MAX_REPORT_LINES = 100;
+
+	private static final long MAX_WORK = 10_000_000L;
+
+	private static final byte EQUAL = 0;
+	private static final byte REMOVED = 1;
+	private static final byte ADDED = 2;
+
+	private final int expectedSize;
+	private final int actualSize;
+	private final LineEquality equality;
+	private final boolean[] removed;
+	private final boolean[] added;
+	private long remainingWork = MAX_WORK;
+
+	private OutputDiff(int expectedSize, int actualSize, LineEquality equality) {
+		this.expectedSize = expectedSize;
+		this.actualSize = actualSize;
+		this.equality = equality;
+		this.removed = new boolean[expectedSize];
+		this.added = new boolean[actualSize];
+	}
+
+	static OutputDiff compute(int expectedSize, int actualSize, LineEquality equality) {
+		var diff = new OutputDiff(expectedSize, actualSize, equality);
+		diff.compare(0, expectedSize, 0, actualSize);
+		return diff;
+	}
+
+	/**
+	 * Computes the difference of expected lines in the format of
+	 * {@link OutputTester#assertLinesMatch(String, String...)} and the actual
+	 * lines. Fast-forward lines are not supported.
+	 *
+	 * @param expectedLines the expected lines, must not contain fast-forward lines
+	 * @param actualLines   the actual lines
+	 * @return the difference
+	 */
+	static OutputDiff compute(List<ExpectedLine> expectedLines, List<String> actualLines) {
+		var expected = expectedLines.toArray(new ExpectedLine[0]);
+		var actual = actualLines.toArray(new String[0]);
+		// comparing hash codes first is cheap, as strings cache them
+		var actualHashes = new int[actual.length];
+		for (var i = 0; i < actual.length; i++)
+			actualHashes[i] = actual[i].hashCode();
+		var expectedHashes = new int[expected.length];
+		for (var i = 0; i < expected.length; i++)
+			expectedHashes[i] = expected[i].text().hashCode();
+		return compute(expected.length, actual.length, (e, a) -> {
+			var expectedLine = expected[e];
+			if (expectedLine.kind() == ExpectedLine.Kind.LITERAL && expectedHashes[e] != actualHashes[a])
+				return false;
+			return expectedLine.matches(actual[a]);
+		});
+	}
+
+	boolean hasDifferences() {
+		for (boolean isRemoved : removed) {
+			if (isRemoved)
+				return true;
+		}
+		for (boolean isAdded : added) {
+			if (isAdded)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates a unified diff like report, with expected lines prefixed by
+	 * <code>-</code> and actual lines prefixed by <code>+</code>.
+	 *
+	 * @param expectedTexts   the text to print for each expected line
+	 * @param actualTexts     the text to print for each actual line
+	 * @param context         the number of unchanged lines shown around changes
+	 * @param maxReportLines  the maximum number of lines in all hunks, further
+	 *                        changes are only counted
+	 * @return the report, or an empty string if there are no differences
+	 */
+	String toReport(List<String> expectedTexts, List<String> actualTexts, int context, int maxReportLines) {
+		// create the edit script, each operation stores the positions in both lists
+		int opCount = 0;
+		var kinds = new byte[expectedSize + actualSize];
+		var expectedPositions = new int[kinds.length];
+		var actualPositions = new int[kinds.length];
+		for (int e = 0, a = 0; e < expectedSize || a < actualSize; opCount++) {
+			expectedPositions[opCount] = e;
+			actualPositions[opCount] = a;
+			if (e < expectedSize && removed[e]) {
+				kinds[opCount] = REMOVED;
+				e++;
+			} else if (a < actualSize && added[a]) {
+				kinds[opCount] = ADDED;
+				a++;
+			} else {
+				kinds[opCount] = EQUAL;
+				e++;
+				a++;
+			}
+		}
+		var report = new StringBuilder();
+		var reportLines = 0;
+		var op = 0;
+		while (op < opCount) {
+			if (kinds[op] == EQUAL) {
+				op++;
+				continue;
+			}
+			if (reportLines >= maxReportLines) {
+				var remainingChanges = 0;
+				for (; op < opCount; op++) {
+					if (kinds[op] != EQUAL)
+						remainingChanges++;
+				}
+				report.append(localized("output_tester.diff.truncated", remainingChanges)) //$NON-NLS-1$
+						.append(IOTester.LINE_SEPERATOR);
+				break;
+			}
+			// find the end of the hunk, changes less than two contexts apart are merged
+			int start = Math.max(0, op - context);
+			int lastChange = op;
+			int end = op;
+			while (end < opCount && end - lastChange <= 2 * context) {
+				if (kinds[end] != EQUAL)
+					lastChange = end;
+				end++;
+			}
+			end = Math.min(opCount, lastChange + context + 1);
+			var expectedCount = 0;
+			var actualCount = 0;
+			for (var i = start; i < end; i++) {
+				if (kinds[i] != ADDED)
+					expectedCount++;
+				if (kinds[i] != REMOVED)
+					actualCount++;
+			}
+			report.append("@@ -").append(hunkStart(expectedPositions[start], expectedCount)).append(',') //$NON-NLS-1$
+					.append(expectedCount).append(" +").append(hunkStart(actualPositions[start], actualCount)) //$NON-NLS-1$
+					.append(',').append(actualCount).append(" @@").append(IOTester.LINE_SEPERATOR); //$NON-NLS-1$
+			for (op = start; op < end && reportLines < maxReportLines; op++, reportLines++) {
+				if (kinds[op] == REMOVED)
+					report.append('-').append(expectedTexts.get(expectedPositions[op]));
+				else if (kinds[op] == ADDED)
+					report.append('+').append(actualTexts.get(actualPositions[op]));
+				else
+					report.append(' ').append(actualTexts.get(actualPositions[op]));
+				report.append(IOTester.LINE_SEPERATOR);
+			}
+		}
+		return report.toString();
+	}
+
+	private static int hunkStart(int position, int count) {
+		// line numbers start at 1, empty ranges refer to the line before
+		return count == 0 ? position : position + 1;
+	}
+
+	private void compare(int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+		// skip common prefix and suffix
+		while (expectedStart < expectedEnd && actualStart < actualEnd
+				&& equality.matches(expectedStart, actualStart)) {
+			expectedStart++;
+			actualStart++;
+		}
+		while (expectedStart < expectedEnd && actualStart < actualEnd
+				&& equality.matches(expectedEnd - 1, actualEnd - 1)) {
+			expectedEnd--;
+			actualEnd--;
+		}
+		if (expectedStart == expectedEnd || actualStart == actualEnd || remainingWork <= 0) {
+			markChanged(expectedStart, expectedEnd, actualStart, actualEnd);
+			return;
+		}
+		var split = findMiddle(expectedStart, expectedEnd, actualStart, actualEnd);
+		if (split == null) {
+			markChanged(expectedStart, expectedEnd, actualStart, actualEnd);
+			return;
+		}
+		compare(expectedStart, split[0], actualStart, split[1]);
+		compare(split[0], expectedEnd, split[1], actualEnd);
+	}
+
+	private void markChanged(int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+		for (var i = expectedStart; i < expectedEnd; i++)
+			removed[i] = true;
+		for (var i = actualStart; i < actualEnd; i++)
+			added[i] = true;
+	}
+
+	/**
+	 * Searches the middle of an optimal edit path by running the greedy algorithm
+	 * forward and backward at the same time until both meet.
+	 *
+	 * @return the point where the paths overlap as expected and actual position,
+	 *         or null if the work limit was reached before
+	 */
+	private int[] findMiddle(int expectedStart, int expectedEnd, int actualStart, int actualEnd) {
+		int n = expectedEnd - expectedStart;
+		int m = actualEnd - actualStart;
+		int maxD = (n + m + 1) / 2;
+		int offset = maxD + 1;
+		var forward = new int[2 * maxD + 3];
+		var backward = new int[2 * maxD + 3];
+		Arrays.fill(forward, -1);
+		Arrays.fill(backward, -1);
+		forward[offset + 1] = 0;
+		backward[offset + 1] = 0;
+		int delta = n - m;
+		boolean checkInForward = (delta & 1) != 0;
+		int forwardKStart = 0;
+		int forwardKEnd = 0;
+		int backwardKStart = 0;
+		int backwardKEnd = 0;
+		for (var d = 0; d <= maxD; d++) {
+			if (remainingWork <= 0)
+				return null;
+			for (int k = -d + forwardKStart; k <= d - forwardKEnd; k += 2) {
+				int x;
+				if (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+					x = forward[offset + k + 1];
+				else
+					x = forward[offset + k - 1] + 1;
+				int y = x - k;
+				int snakeStart = x;
+				while (x < n && y < m && equality.matches(expectedStart + x, actualStart + y)) {
+					x++;
+					y++;
+				}
+				remainingWork -= x - snakeStart + 1L;
+				forward[offset + k] = x;
+				if (x > n) {
+					forwardKEnd += 2;
+				} else if (y > m) {
+					forwardKStart += 2;
+				} else if (checkInForward) {
+					int backwardIndex = offset + delta - k;
+					if (backwardIndex >= 0 && backwardIndex < backward.length && backward[backwardIndex] != -1
+							&& x >= n - backward[backwardIndex])
+						return new int[] { expectedStart + x, actualStart + y };
+				}
+			}
+			for (int k = -d + backwardKStart; k <= d - backwardKEnd; k += 2) {
+				int x;
+				if (k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1]))
+					x = backward[offset + k + 1];
+				else
+					x = backward[offset + k - 1] + 1;
+				int y = x - k;
+				int snakeStart = x;
+				while (x < n && y < m && equality.matches(expectedEnd - x - 1, actualEnd - y - 1)) {
+					x++;
+					y++;
+				}
+				remainingWork -= x - snakeStart + 1L;
+				backward[offset + k] = x;
+				if (x > n) {
+					backwardKEnd += 2;
+				} else if (y > m) {
+					backwardKStart += 2;
+				} else if (!checkInForward) {
+					int forwardIndex = offset + delta - k;
+					if (forwardIndex >= 0 && forwardIndex < forward.length && forward[forwardIndex] != -1) {
+						int forwardX = forward[forwardIndex];
+						int forwardY = forwardX - (forwardIndex - offset);
+						if (forwardX >= n - x)
+							return new int[] { expectedStart + forwardX, actualStart + forwardY };
+					}
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -3,16 +3,13 @@ package de.tum.in.test.api.io;
 import static de.tum.in.test.api.localization.Messages.localized;
 
 import java.nio.CharBuffer;
-import java.security.SecureRandom;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.regex.Pattern;
-import java.util.stream.*;
+import java.util.stream.Collectors;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.assertj.core.api.*;
-import org.opentest4j.*;
+import org.opentest4j.AssertionFailedError;
 
 /**
  * Captures console output as {@link Line}s, and therefore is OS line separator
@@ -21,32 +18,14 @@ import org.opentest4j.*;
  * @see IOTester
  * @author Christian Femers
  * @since 0.1.0
- * @version 1.1.1
+ * @version 1.2.0
  */
 @API(status = Status.STABLE)
 public final class OutputTester implements LineAcceptor {
 
-	private static final int MAX_SPACES = 16;
-	private static final int RANDOM_BOUND = MAX_SPACES * MAX_SPACES;
-	private static final char[] SPACES = " ".repeat(MAX_SPACES).toCharArray(); //$NON-NLS-1$
-	private static final SecureRandom SECURE_RANDOM = new SecureRandom();
-	private static final Pattern EXPECTED_LINE_PATTERN = Pattern.compile("`" // line start //$NON-NLS-1$
-			+ "\\(\\?x\\)" // comments enabled //$NON-NLS-1$
-			+ "#([0-9A-F]{8})\\R" // the line number //$NON-NLS-1$
-			+ ".+`" // actual line content and end of line //$NON-NLS-1$
-			+ "(?=[^`]*(?:\\R|$))" // lookahead for not quoted text and then line break or end of the //$NON-NLS-1$
-									// string
-	);
-
 	private final List<Line> actualOutput = new ArrayList<>();
 
-	private final long randomBits;
-	private final String randomString;
-
-	public OutputTester() {
-		randomBits = SECURE_RANDOM.nextLong();
-		randomString = Long.toUnsignedString(randomBits, 16);
-	}
+	private StreamingLinesMatcher lineExpectation;
 
 	@Override
 	public void acceptOutput(CharBuffer output) {
@@ -61,6 +40,8 @@ public final class OutputTester implements LineAcceptor {
 			// extend old line
 			currentLine = (DynamicLine) getCurrentLine().get();
 		}
+		// the first line that might get completed by this output
+		int firstChangedLine = actualOutput.size() - 1;
 		// add lines
 		var lastPos = 0;
 		var lastWasCarriageReturn = false;
@@ -83,6 +64,17 @@ public final class OutputTester implements LineAcceptor {
 		}
 		if (lastPos != output.length())
 			currentLine.append(output.subSequence(lastPos, output.length()));
+		checkLineExpectation(firstChangedLine);
+	}
+
+	private void checkLineExpectation(int fromLine) {
+		if (lineExpectation == null)
+			return;
+		for (var i = fromLine; i < actualOutput.size(); i++) {
+			var line = actualOutput.get(i);
+			if (line.isComplete())
+				lineExpectation.acceptLine(line.text());
+		}
 	}
 
 	private void addNewLine(AbstractLine line) {
@@ -98,6 +90,7 @@ public final class OutputTester implements LineAcceptor {
 
 	public void resetOutput() {
 		actualOutput.clear();
+		lineExpectation = null;
 	}
 
 	/**
@@ -134,7 +127,7 @@ public final class OutputTester implements LineAcceptor {
 	}
 
 	/**
-	 * Checks the lines using
+	 * Checks the lines like
 	 * {@link org.junit.jupiter.api.Assertions#assertLinesMatch(List, List, String)
 	 * Assertions.assertLinesMatch}. The main difference is that we make the RegEx
 	 * matching predictable by using <code>||</code> at the start and at the end of
@@ -145,7 +138,8 @@ public final class OutputTester implements LineAcceptor {
 	 * ||\d+||
 	 * </pre>
 	 *
-	 * for regular expressions and otherwise do a literal comparison.
+	 * for regular expressions and otherwise do a literal comparison. Regular
+	 * expressions are compiled only once and cached.
 	 * <p>
 	 * Fast-forward lines are not being escaped and look like
 	 *
@@ -168,7 +162,7 @@ public final class OutputTester implements LineAcceptor {
 	}
 
 	/**
-	 * Checks the lines using
+	 * Checks the lines like
 	 * {@link org.junit.jupiter.api.Assertions#assertLinesMatch(List, List, String)
 	 * Assertions.assertLinesMatch}. The main difference is that we make the RegEx
 	 * matching predictable by using <code>||</code> at the start and at the end of
@@ -179,7 +173,8 @@ public final class OutputTester implements LineAcceptor {
 	 * ||\d+||
 	 * </pre>
 	 *
-	 * for regular expressions and otherwise do a literal comparison.
+	 * for regular expressions and otherwise do a literal comparison. Regular
+	 * expressions are compiled only once and cached.
 	 * <p>
 	 * Fast-forward lines are not being escaped and look like
 	 *
@@ -199,91 +194,68 @@ public final class OutputTester implements LineAcceptor {
 	 * @author Christian Femers
 	 */
 	public void assertLinesMatch(String message, OutputTestOptions[] outputOptions, String... expectedLines) {
-		var lines = Stream.of(expectedLines).flatMap(String::lines).collect(Collectors.toList());
-		var lineCount = lines.size();
-		var expectedLinePatterns = new ArrayList<String>();
-		for (var i = 0; i < lineCount; i++) {
-			String line = lines.get(i);
-			// use StringBuilder as we have potentially many operations on the same string
-			var newLine = new StringBuilder(line);
-			// remember what the user wants this line to be
-			boolean isRegEx = isRegExLine(line);
-			boolean isFastForward = !isRegEx && line.startsWith(">>") && line.endsWith(">>"); //$NON-NLS-1$ //$NON-NLS-2$
-			// remove escapes and our own special notation
-			if (startsWithEscape(line)) {
-				// remove char used for escape
-				newLine.deleteCharAt(0);
-			} else if (isRegEx) {
-				// remove pattern notation
-				newLine.delete(0, 2).delete(newLine.length() - 2, newLine.length());
-			}
-			// fast-forward needs to stay the same or JUnit LineMatcher won't recognize it
-			if (!isFastForward) {
-				// don't quote lines that were marked as regular expressions by the user
-				if (!isRegEx)
-					newLine.replace(0, newLine.length(), Pattern.quote(newLine.toString()));
-				// insert random comment to avoid equality comparison working
-				newLine.insert(0, String.format("(?x)#%08X%n", i)); //$NON-NLS-1$
-				newLine.append('#').append(randomString);
-			} else {
-				// add a random number of spaces both to the front and back
-				var spacesRandom = ThreadLocalRandom.current().nextInt(RANDOM_BOUND);
-				int front = spacesRandom % MAX_SPACES;
-				int back = spacesRandom / MAX_SPACES;
-				newLine.insert(2, SPACES, 0, front);
-				newLine.insert(newLine.length() - 2, SPACES, 0, back);
-			}
-			expectedLinePatterns.add(newLine.toString());
-		}
-		var linesAsString = getLinesAsString(outputOptions);
-		// use JUnit 5 API to to the line comparison
-		try {
-			org.junit.jupiter.api.Assertions.assertLinesMatch(expectedLinePatterns, linesAsString, message);
-		} catch (AssertionFailedError afe) {
-			throw tryCleanUpAssertionFailedError(lines, afe);
-		}
+		var lines = ExpectedLine.parseAll(expectedLines);
+		new LinesMatcher(message, lines, getLinesAsString(outputOptions)).assertLinesMatch();
 	}
 
-	private static AssertionFailedError tryCleanUpAssertionFailedError(List<String> lines, AssertionFailedError afe) {
-		var failureMessage = afe.getMessage();
-		var matcher = EXPECTED_LINE_PATTERN.matcher(failureMessage);
-		if (matcher.find()) {
-			var lineNumber = Integer.parseInt(matcher.group(1), 16);
-			var expectedLine = lines.get(lineNumber);
-			var cleanExpectedLine = new StringBuilder(expectedLine);
-			if (startsWithEscape(expectedLine))
-				cleanExpectedLine.append('`').setCharAt(0, '`');
-			else if (isRegExLine(expectedLine))
-				cleanExpectedLine.delete(0, 2).delete(cleanExpectedLine.length() - 2, cleanExpectedLine.length())
-						.insert(0, " `").insert(0, localized("output_tester.line_matching_regex_mismatch")).append('`'); //$NON-NLS-1$ //$NON-NLS-2$
-			else
-				cleanExpectedLine.insert(0, '`').append('`');
-			String newFailureMessage = matcher.replaceFirst(cleanExpectedLine.toString());
-			return new AssertionFailedError(newFailureMessage, tryReplaceExpected(lines, afe.getExpected()),
-					afe.getActual().getEphemeralValue());
-		}
-		return afe;
-	}
-
-	private static Object tryReplaceExpected(List<String> expectedLines, ValueWrapper expectedValueWrapper) {
-		Object value = expectedValueWrapper.getEphemeralValue();
-		if (!(value instanceof String))
-			return value;
-		return expectedLines.stream().map(line -> {
-			if (startsWithEscape(line))
-				return line.substring(1);
-			if (isRegExLine(line))
-				return line.substring(2, line.length() - 2);
-			return line;
-		}).collect(Collectors.joining(IOTester.LINE_SEPERATOR));
+	/**
+	 * Registers the expected lines before the tested code is executed, the lines
+	 * are then matched while they are printed. The test fails with an
+	 * {@link AssertionFailedError} thrown on the first line that does not match,
+	 * which stops programs that print wrong output endlessly right away.
+	 * <p>
+	 * The expected lines have the same format as in
+	 * {@link #assertLinesMatch(String, String...)}. Fast-forward lines without a
+	 * line count skip lines until the next expected line matches. Output already
+	 * recorded is checked immediately. Call {@link #assertExpectedLinesMatched()}
+	 * after the tested code has finished to check that no expected line is
+	 * missing.
+	 *
+	 * @param message       the error message for the assertion failure.
+	 * @param expectedLines the expected line patterns as described above.
+	 * @since 1.14.0
+	 */
+	public void expectLinesMatch(String message, String... expectedLines) {
+		expectLinesMatch(message, OutputTestOptions.NONE, expectedLines);
 	}
 
-	private static boolean startsWithEscape(String line) {
-		return line.startsWith("\\||") || line.startsWith("\\>>"); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Registers the expected lines before the tested code is executed, the lines
+	 * are then matched while they are printed. The test fails with an
+	 * {@link AssertionFailedError} thrown on the first line that does not match,
+	 * which stops programs that print wrong output endlessly right away.
+	 * <p>
+	 * The expected lines have the same format as in
+	 * {@link #assertLinesMatch(String, String...)}. Fast-forward lines without a
+	 * line count skip lines until the next expected line matches. Output already
+	 * recorded is checked immediately. Call {@link #assertExpectedLinesMatched()}
+	 * after the tested code has finished to check that no expected line is
+	 * missing.
+	 *
+	 * @param message       the error message for the assertion failure.
+	 * @param outputOptions the {@link OutputTestOptions} for this test.
+	 * @param expectedLines the expected line patterns as described above.
+	 * @since 1.14.0
+	 */
+	public void expectLinesMatch(String message, OutputTestOptions[] outputOptions, String... expectedLines) {
+		boolean ignoreLastEmpty = !OutputTestOptions.DONT_IGNORE_LAST_EMPTY_LINE.isIn(outputOptions);
+		lineExpectation = new StreamingLinesMatcher(message, ExpectedLine.parseAll(expectedLines), ignoreLastEmpty);
+		checkLineExpectation(0);
 	}
 
-	private static boolean isRegExLine(String expectedLine) {
-		return expectedLine.startsWith("||") && expectedLine.endsWith("||"); //$NON-NLS-1$ //$NON-NLS-2$
+	/**
+	 * Checks that all lines registered with
+	 * {@link #expectLinesMatch(String, String...)} were printed, including the
+	 * last line if it was not terminated by a line break. Any mismatch already
+	 * found while the output was printed is thrown again.
+	 *
+	 * @throws IllegalStateException if no lines are expected
+	 * @since 1.14.0
+	 */
+	public void assertExpectedLinesMatched() {
+		if (lineExpectation == null)
+			throw new IllegalStateException(localized("output_tester.no_lines_expected")); //$NON-NLS-1$
+		lineExpectation.finish(getCurrentLine().orElse(null));
 	}
 
 	private List<Line> processLines(OutputTestOptions... outputOptions) {
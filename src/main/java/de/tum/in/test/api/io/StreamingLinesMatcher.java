@@ -0,0 +1,105 @@
+package de.tum.in.test.api.io;
+
+import static de.tum.in.test.api.localization.Messages.localized;
+
+import java.util.List;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Matches output lines against expected lines one by one while they are
+ * printed, see {@link OutputTester#expectLinesMatch(String, String...)}.
+ * <p>
+ * Fast-forward lines are matched greedily: an unlimited fast-forward skips
+ * actual lines until the next expected line matches. The first mismatch is
+ * remembered and thrown again for any further line, so that catching the error
+ * in the tested code does not help.
+ */
+final class StreamingLinesMatcher {
+
+	private final String message;
+	private final List<ExpectedLine> expectedLines;
+	private final boolean ignoreLastEmptyLine;
+
+	private int expectedIndex;
+	private int actualLineCount;
+	private int linesToSkip;
+	private boolean seeking;
+	private boolean finished;
+	private AssertionFailedError failure;
+
+	StreamingLinesMatcher(String message, List<ExpectedLine> expectedLines, boolean ignoreLastEmptyLine) {
+		this.message = message;
+		this.expectedLines = expectedLines;
+		this.ignoreLastEmptyLine = ignoreLastEmptyLine;
+		consumeFastForwardLines();
+	}
+
+	/**
+	 * Processes the next complete actual line.
+	 *
+	 * @param actualLine the text of the line
+	 * @throws AssertionFailedError if the line does not match
+	 */
+	void acceptLine(String actualLine) {
+		if (failure != null)
+			throw failure;
+		actualLineCount++;
+		if (linesToSkip > 0) {
+			linesToSkip--;
+			return;
+		}
+		if (expectedIndex == expectedLines.size()) {
+			if (!seeking)
+				fail(localized("output_tester.streaming_unexpected_line", actualLineCount, actualLine)); //$NON-NLS-1$
+			return;
+		}
+		var expectedLine = expectedLines.get(expectedIndex);
+		if (expectedLine.matches(actualLine)) {
+			expectedIndex++;
+			seeking = false;
+			consumeFastForwardLines();
+		} else if (!seeking) {
+			fail(localized("output_tester.streaming_line_mismatch", expectedLine.number(), expectedLine.describe(), //$NON-NLS-1$
+					actualLineCount, actualLine));
+		}
+	}
+
+	/**
+	 * Checks that the output is complete after the tested code has finished.
+	 *
+	 * @param lastLine the last line, which might not be complete.
+	 * @throws AssertionFailedError if any expected line is missing
+	 */
+	void finish(Line lastLine) {
+		if (failure != null)
+			throw failure;
+		if (finished)
+			return;
+		finished = true;
+		if (lastLine != null && !lastLine.isComplete() && !(ignoreLastEmptyLine && lastLine.text().isEmpty()))
+			acceptLine(lastLine.text());
+		if (linesToSkip > 0)
+			fail(localized("output_tester.streaming_fast_forward_depleted", linesToSkip)); //$NON-NLS-1$
+		if (expectedIndex < expectedLines.size()) {
+			var expectedLine = expectedLines.get(expectedIndex);
+			fail(localized("output_tester.streaming_lines_depleted", expectedLine.number(), expectedLine.describe())); //$NON-NLS-1$
+		}
+	}
+
+	private void consumeFastForwardLines() {
+		while (expectedIndex < expectedLines.size() && expectedLines.get(expectedIndex).isFastForward()) {
+			var fastForward = expectedLines.get(expectedIndex++);
+			if (fastForward.hasFastForwardLimit())
+				linesToSkip += fastForward.fastForwardLimit();
+			else
+				seeking = true;
+		}
+	}
+
+	private void fail(String details) {
+		var prefix = message == null || message.isBlank() ? "" : message + " ==> "; //$NON-NLS-1$ //$NON-NLS-2$
+		failure = new AssertionFailedError(prefix + details);
+		throw failure;
+	}
+}
@@ -1,14 +1,23 @@
 package de.tum.in.test.api.io;
 
 import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
+/**
+ * Reads the input provided by a {@link LineProvider} in (possibly large)
+ * already encoded chunks, but never hands out more than the current line at
+ * once, as other readers like {@link java.util.Scanner} buffer input
+ * internally.
+ */
 final class TestInStream extends InputStream {
 
+	private static final byte LINE_END = '\n';
+
 	private final LineProvider lineProvider;
 
-	private ByteArrayInputStream input;
+	private ByteBuffer input;
+	private int lineEnd;
 
 	TestInStream(LineProvider lineProvider) {
 		this.lineProvider = Objects.requireNonNull(lineProvider);
@@ -16,36 +25,45 @@ final class TestInStream extends InputStream {
 
 	@Override
 	public int read() throws IOException {
-		if (input == null)
-			tryLoadNextLine();
-		int res = input.read();
-		if (input.available() == 0)
-			input = null;
-		return res;
+		if (input == null || !input.hasRemaining())
+			tryLoadNextInput();
+		return input.get() & 0xFF;
 	}
 
 	@Override
 	public int available() throws IOException {
-		return input == null ? 0 : input.available();
+		// only the rest of the current line, as the next one might not be requested
+		return input == null ? 0 : Math.max(0, lineEnd - input.position());
 	}
 
 	@Override
 	public int read(byte[] b, int off, int len) throws IOException {
-		if (input == null)
-			tryLoadNextLine();
-		int res = input.read(b, off, len);
-		if (input.available() == 0)
-			input = null;
-		return res;
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (len == 0)
+			return 0;
+		if (input == null || !input.hasRemaining())
+			tryLoadNextInput();
+		int count = Math.min(len, currentLineEnd() - input.position());
+		input.get(b, off, count);
+		return count;
 	}
 
 	void resetInternalState() {
 		input = null;
 	}
 
-	private void tryLoadNextLine() {
-		Line currentLine = lineProvider.getNextLine();
-		byte[] bytes = currentLine.text().concat(IOTester.LINE_SEPERATOR).getBytes(StandardCharsets.UTF_8);
-		input = new ByteArrayInputStream(bytes);
+	private void tryLoadNextInput() {
+		input = lineProvider.getNextInput();
+		lineEnd = input.position();
+	}
+
+	private int currentLineEnd() {
+		if (lineEnd <= input.position()) {
+			lineEnd = input.position();
+			while (lineEnd < input.limit() && input.get(lineEnd++) != LINE_END) {
+				// search for the end of the current line
+			}
+		}
+		return lineEnd;
 	}
 }
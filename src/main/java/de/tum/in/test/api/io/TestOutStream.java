@@ -65,8 +65,9 @@ final class TestOutStream extends OutputStream {
 			throw new IllegalArgumentException(localized("output_tester.output_is_invalid_utf8", problemString), //$NON-NLS-1$
 					e);
 		}
-		outputAcceptor.acceptOutput(result);
+		// reset first, the acceptor may fail the test
 		currentInput.reset();
+		outputAcceptor.acceptOutput(result);
 	}
 
 	@Override
@@ -6,16 +6,16 @@ import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.DynamicContainer.dynamicContainer;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
-import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
-import java.util.stream.*;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.json.JSONArray;
 import org.junit.jupiter.api.*;
 
+import de.tum.in.test.api.structural.StructureOracle.ExpectedAttribute;
+
 /**
  * This test evaluates if the specified attributes in the structure oracle are
  * correctly implemented with the expected type, visibility modifiers and
@@ -38,21 +38,15 @@ public abstract class AttributeTestProvider extends StructuralTestProvider {
 	 *                            be generated (which seems to be unlikely)
 	 */
 	protected DynamicContainer generateTestsForAllClasses() throws URISyntaxException {
-		List<DynamicNode> tests = new ArrayList<>();
+		List<DynamicTest> tests = new ArrayList<>();
 		if (structureOracleJSON == null)
 			throw failure(
 					"The AttributeTest test can only run if the structural oracle (test.json) is present. If you do not provide it, delete AttributeTest.java!"); //$NON-NLS-1$
-		for (var i = 0; i < structureOracleJSON.length(); i++) {
-			var expectedClassJSON = structureOracleJSON.getJSONObject(i);
+		for (var expectedClass : StructureOracle.of(structureOracleJSON).getClasses()) {
 			// Only test the classes that have attributes defined in the oracle.
-			if (expectedClassJSON.has(JSON_PROPERTY_CLASS) && (expectedClassJSON.has(JSON_PROPERTY_ATTRIBUTES)
-					|| expectedClassJSON.has(JSON_PROPERTY_ENUM_VALUES))) {
-				var expectedClassPropertiesJSON = expectedClassJSON.getJSONObject(JSON_PROPERTY_CLASS);
-				var expectedClassName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_NAME);
-				var expectedPackageName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_PACKAGE);
-				var expectedClassStructure = new ExpectedClassStructure(expectedClassName, expectedPackageName,
-						expectedClassJSON);
-				tests.add(dynamicTest("testAttributes[" + expectedClassName + "]", //$NON-NLS-1$ //$NON-NLS-2$
+			if (expectedClass.hasClass() && (expectedClass.hasAttributes() || expectedClass.hasEnumValues())) {
+				var expectedClassStructure = new ExpectedClassStructure(expectedClass);
+				tests.add(dynamicTest("testAttributes[" + expectedClass.getName() + "]", //$NON-NLS-1$ //$NON-NLS-2$
 						() -> testAttributes(expectedClassStructure)));
 			}
 		}
@@ -63,7 +57,7 @@ public abstract class AttributeTestProvider extends StructuralTestProvider {
 		 * Using a custom URI here to workaround surefire rendering the JUnit XML
 		 * without the correct test names.
 		 */
-		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), tests.stream());
+		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), evaluateTests(tests));
 	}
 
 	/**
@@ -76,15 +70,12 @@ public abstract class AttributeTestProvider extends StructuralTestProvider {
 	 */
 	protected static void testAttributes(ExpectedClassStructure expectedClassStructure) {
 		var expectedClassName = expectedClassStructure.getExpectedClassName();
-		var observedClass = findClassForTestType(expectedClassStructure, "attribute"); //$NON-NLS-1$
-		if (expectedClassStructure.hasProperty(JSON_PROPERTY_ATTRIBUTES)) {
-			var expectedAttributes = expectedClassStructure.getPropertyAsJsonArray(JSON_PROPERTY_ATTRIBUTES);
-			checkAttributes(expectedClassName, observedClass, expectedAttributes);
-		}
-		if (expectedClassStructure.hasProperty(JSON_PROPERTY_ENUM_VALUES)) {
-			var expectedEnumValues = expectedClassStructure.getPropertyAsJsonArray(JSON_PROPERTY_ENUM_VALUES);
-			checkEnumValues(expectedClassName, observedClass, expectedEnumValues);
-		}
+		var observedClass = observeClassForTestType(expectedClassStructure, "attribute"); //$NON-NLS-1$
+		var expectedClass = expectedClassStructure.getCompiledClass();
+		if (expectedClass.hasAttributes())
+			checkAttributes(expectedClassName, observedClass, expectedClass.getAttributes());
+		if (expectedClass.hasEnumValues())
+			checkEnumValues(expectedClassName, observedClass, expectedClass.getEnumValues());
 	}
 
 	/**
@@ -102,42 +93,34 @@ public abstract class AttributeTestProvider extends StructuralTestProvider {
 	 */
 	protected static void checkAttributes(String expectedClassName, Class<?> observedClass,
 			JSONArray expectedAttributes) {
-		for (var i = 0; i < expectedAttributes.length(); i++) {
-			var expectedAttribute = expectedAttributes.getJSONObject(i);
-			var expectedName = expectedAttribute.getString(JSON_PROPERTY_NAME);
-			var expectedTypeName = expectedAttribute.getString(JSON_PROPERTY_TYPE);
-			var expectedModifiers = getExpectedJsonProperty(expectedAttribute, JSON_PROPERTY_MODIFIERS);
-			var expectedAnnotations = getExpectedJsonProperty(expectedAttribute, JSON_PROPERTY_ANNOTATIONS);
+		checkAttributes(expectedClassName, ObservedClass.of(observedClass),
+				StructureOracle.compileAttributes(expectedAttributes));
+	}
 
+	private static void checkAttributes(String expectedClassName, ObservedClass observedClass,
+			List<ExpectedAttribute> expectedAttributes) {
+		for (ExpectedAttribute expectedAttribute : expectedAttributes) {
+			var expectedName = expectedAttribute.getName();
 			// We check for each expected attribute if the name and the type is right.
-			var nameIsCorrect = false;
-			var typeIsCorrect = false;
-			var modifiersAreCorrect = false;
-			var annotationsAreCorrect = false;
-
-			for (Field observedAttribute : observedClass.getDeclaredFields()) {
-				if (expectedName.equals(observedAttribute.getName())) {
-					nameIsCorrect = true;
-					typeIsCorrect = checkExpectedType(observedAttribute.getType(), observedAttribute.getGenericType(),
-							expectedTypeName);
-					modifiersAreCorrect = checkModifiers(Modifier.toString(observedAttribute.getModifiers()).split(" "), //$NON-NLS-1$
-							expectedModifiers);
-					annotationsAreCorrect = checkAnnotations(observedAttribute.getAnnotations(), expectedAnnotations);
-					// If all are correct, then we found our attribute and we can break the loop
-					if (typeIsCorrect && modifiersAreCorrect && annotationsAreCorrect)
-						break;
-				}
-				// TODO: we should also take wrong case and typos into account (the else case)
+			var observedAttribute = observedClass.getField(expectedName);
+			if (observedAttribute == null) {
+				// point to an attribute that has the wrong case or typos in its name, if any
+				var misnamedAttribute = observedClass.findMisnamedField(expectedName);
+				if (misnamedAttribute.isPresent())
+					throw localizedFailure("structural.attribute.misnamed", expectedName, expectedClassName, //$NON-NLS-1$
+							misnamedAttribute.get());
+				throw localizedFailure("structural.attribute.name", expectedName, expectedClassName); //$NON-NLS-1$
 			}
-			checkAttributeCorrectness(nameIsCorrect, typeIsCorrect, modifiersAreCorrect, annotationsAreCorrect,
-					expectedName, expectedClassName);
+			var typeIsCorrect = expectedAttribute.getType().matches(observedAttribute.getType());
+			var modifiersAreCorrect = expectedAttribute.getModifiers().matches(observedAttribute.getModifiers());
+			var annotationsAreCorrect = expectedAttribute.getAnnotations().matches(observedAttribute.getAnnotations());
+			checkAttributeCorrectness(typeIsCorrect, modifiersAreCorrect, annotationsAreCorrect, expectedName,
+					expectedClassName);
 		}
 	}
 
-	private static void checkAttributeCorrectness(boolean nameIsCorrect, boolean typeIsCorrect,
-			boolean modifiersAreCorrect, boolean annotationsAreCorrect, String expectedName, String expectedClassName) {
-		if (!nameIsCorrect)
-			throw localizedFailure("structural.attribute.name", expectedName, expectedClassName); //$NON-NLS-1$
+	private static void checkAttributeCorrectness(boolean typeIsCorrect, boolean modifiersAreCorrect,
+			boolean annotationsAreCorrect, String expectedName, String expectedClassName) {
 		if (!typeIsCorrect)
 			throw localizedFailure("structural.attribute.type", expectedName, expectedClassName); //$NON-NLS-1$
 		if (!modifiersAreCorrect)
@@ -160,13 +143,15 @@ public abstract class AttributeTestProvider extends StructuralTestProvider {
 	 */
 	protected static void checkEnumValues(String expectedClassName, Class<?> observedClass,
 			JSONArray expectedEnumValues) {
-		if (!observedClass.isEnum())
+		checkEnumValues(expectedClassName, ObservedClass.of(observedClass),
+				StructureOracle.compileEnumValues(expectedEnumValues));
+	}
+
+	private static void checkEnumValues(String expectedClassName, ObservedClass observedClass,
+			Set<String> expectedEnumNames) {
+		var observedEnumNames = observedClass.getEnumConstantNames();
+		if (observedEnumNames == null)
 			throw localizedFailure("structural.attribute.noEnumConstants", expectedClassName); //$NON-NLS-1$
-		@SuppressWarnings("unchecked")
-		var observedEnumValues = ((Class<? extends Enum<?>>) observedClass).getEnumConstants();
-		var observedEnumNames = Stream.of(observedEnumValues).map(Enum::name).collect(Collectors.toSet());
-		var expectedEnumNames = IntStream.range(0, expectedEnumValues.length()).mapToObj(expectedEnumValues::getString)
-				.collect(Collectors.toSet());
 		var missing = expectedEnumNames.stream().filter(not(observedEnumNames::contains)).findFirst();
 		missing.ifPresent(missingName -> fail(
 				localized("structural.attribute.missingEnumConstants", expectedClassName, missingName))); //$NON-NLS-1$
@@ -0,0 +1,334 @@
+package de.tum.in.test.api.structural;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.net.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+import org.json.*;
+import org.slf4j.*;
+
+/**
+ * A compact binary format for the structure oracle (test.json), which can be
+ * loaded without parsing the JSON text.
+ * <p>
+ * The format stores the JSON tree with type tags, and all strings, including
+ * the object keys, are stored only once in a string table. The precompiled
+ * oracle is placed next to the JSON file with the suffix {@value #FILE_SUFFIX}
+ * appended, e.g. <code>test.json.bin</code>.
+ * {@link StructuralTestProvider#retrieveStructureOracleJSON(URL)} prefers the
+ * binary oracle if it exists and is not older than the JSON file, and maps it
+ * into memory if it is a file. This is also checked for entries of a jar file,
+ * and for other locations if both report a modification time. Otherwise, the
+ * JSON file is read as before.
+ * <p>
+ * The binary oracle can be generated during the build, e.g. with the
+ * <code>exec-maven-plugin</code> in the <code>process-test-resources</code>
+ * phase:
+ *
+ * <pre>
+ * &lt;plugin&gt;
+ *   &lt;groupId&gt;org.codehaus.mojo&lt;/groupId&gt;
+ *   &lt;artifactId&gt;exec-maven-plugin&lt;/artifactId&gt;
+ *   &lt;executions&gt;
+ *     &lt;execution&gt;
+ *       &lt;phase&gt;process-test-resources&lt;/phase&gt;
+ *       &lt;goals&gt;&lt;goal&gt;java&lt;/goal&gt;&lt;/goals&gt;
+ *       &lt;configuration&gt;
+ *         &lt;mainClass&gt;de.tum.in.test.api.structural.BinaryStructureOracle&lt;/mainClass&gt;
+ *         &lt;classpathScope&gt;test&lt;/classpathScope&gt;
+ *         &lt;arguments&gt;
+ *           &lt;argument&gt;${project.build.testOutputDirectory}/test/test.json&lt;/argument&gt;
+ *         &lt;/arguments&gt;
+ *       &lt;/configuration&gt;
+ *     &lt;/execution&gt;
+ *   &lt;/executions&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.EXPERIMENTAL)
+public final class BinaryStructureOracle {
+
+	private static final Logger LOG = LoggerFactory.getLogger(BinaryStructureOracle.class);
+
+	/**
+	 * The suffix appended to the file name of the JSON structure oracle.
+	 */
+	public static final String FILE_SUFFIX = ".bin"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x4152534F; // "ARSO"
+	private static final int VERSION = 1;
+
+	private static final byte TAG_OBJECT = 'O';
+	private static final byte TAG_ARRAY = 'A';
+	private static final byte TAG_STRING = 'S';
+	private static final byte TAG_TRUE = 'T';
+	private static final byte TAG_FALSE = 'F';
+	private static final byte TAG_NULL = 'N';
+	private static final byte TAG_LONG = 'J';
+	private static final byte TAG_DOUBLE = 'D';
+	private static final byte TAG_DECIMAL = 'X';
+
+	private BinaryStructureOracle() {
+	}
+
+	/**
+	 * Converts the given JSON structure oracles into the binary format. The binary
+	 * oracles are written next to the JSON files, see {@link #FILE_SUFFIX}.
+	 *
+	 * @param args the paths of the JSON structure oracles
+	 * @throws IOException if a file could not be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0)
+			throw new IllegalArgumentException("Usage: BinaryStructureOracle <test.json>..."); //$NON-NLS-1$
+		for (String arg : args) {
+			var jsonFile = Path.of(arg);
+			var binaryFile = jsonFile.resolveSibling(jsonFile.getFileName() + FILE_SUFFIX);
+			compile(jsonFile, binaryFile);
+			LOG.info("Compiled structure oracle {} to {}", jsonFile, binaryFile); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Converts the JSON structure oracle into the binary format.
+	 *
+	 * @param jsonFile   the JSON structure oracle
+	 * @param binaryFile the file to write the binary oracle to
+	 * @throws IOException if a file could not be read or written
+	 */
+	public static void compile(Path jsonFile, Path binaryFile) throws IOException {
+		var structureOracle = new JSONArray(Files.readString(jsonFile, UTF_8));
+		try (var out = new BufferedOutputStream(Files.newOutputStream(binaryFile))) {
+			write(structureOracle, out);
+		}
+	}
+
+	/**
+	 * Writes the structure oracle in the binary format.
+	 *
+	 * @param structureOracle the structure oracle
+	 * @param out             the stream to write to, not closed by this method
+	 * @throws IOException if the stream could not be written
+	 */
+	public static void write(JSONArray structureOracle, OutputStream out) throws IOException {
+		Map<String, Integer> stringIndices = new LinkedHashMap<>();
+		collectStrings(structureOracle, stringIndices);
+		var data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeByte(VERSION);
+		data.writeInt(stringIndices.size());
+		for (String string : stringIndices.keySet()) {
+			var bytes = string.getBytes(UTF_8);
+			data.writeInt(bytes.length);
+			data.write(bytes);
+		}
+		writeValue(structureOracle, data, stringIndices);
+		data.flush();
+	}
+
+	private static void collectStrings(Object value, Map<String, Integer> stringIndices) {
+		if (value instanceof JSONObject) {
+			var object = (JSONObject) value;
+			for (String key : object.keySet()) {
+				stringIndices.putIfAbsent(key, stringIndices.size());
+				collectStrings(object.get(key), stringIndices);
+			}
+		} else if (value instanceof JSONArray) {
+			for (Object element : (JSONArray) value)
+				collectStrings(element, stringIndices);
+		} else if (value instanceof String) {
+			stringIndices.putIfAbsent((String) value, stringIndices.size());
+		}
+	}
+
+	private static void writeValue(Object value, DataOutputStream data, Map<String, Integer> stringIndices)
+			throws IOException {
+		if (value instanceof JSONObject) {
+			var object = (JSONObject) value;
+			data.writeByte(TAG_OBJECT);
+			data.writeInt(object.length());
+			for (String key : object.keySet()) {
+				data.writeInt(stringIndices.get(key));
+				writeValue(object.get(key), data, stringIndices);
+			}
+		} else if (value instanceof JSONArray) {
+			var array = (JSONArray) value;
+			data.writeByte(TAG_ARRAY);
+			data.writeInt(array.length());
+			for (Object element : array)
+				writeValue(element, data, stringIndices);
+		} else if (value instanceof String) {
+			data.writeByte(TAG_STRING);
+			data.writeInt(stringIndices.get(value));
+		} else if (value instanceof Boolean) {
+			data.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+		} else if (value == null || JSONObject.NULL.equals(value)) {
+			data.writeByte(TAG_NULL);
+		} else if (value instanceof Integer || value instanceof Long) {
+			data.writeByte(TAG_LONG);
+			data.writeLong(((Number) value).longValue());
+		} else if (value instanceof Double || value instanceof Float) {
+			data.writeByte(TAG_DOUBLE);
+			data.writeDouble(((Number) value).doubleValue());
+		} else if (value instanceof Number) {
+			data.writeByte(TAG_DECIMAL);
+			var bytes = value.toString().getBytes(UTF_8);
+			data.writeInt(bytes.length);
+			data.write(bytes);
+		} else {
+			throw new IOException("Unsupported value in structure oracle: " + value); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Reads the binary structure oracle that belongs to the JSON structure oracle
+	 * at the given location, if there is an up-to-date one.
+	 *
+	 * @param jsonUrl the location of the JSON structure oracle
+	 * @return the structure oracle or an empty optional if there is no usable
+	 *         binary oracle
+	 */
+	static Optional<JSONArray> readFor(URL jsonUrl) {
+		try {
+			var binaryUrl = new URL(jsonUrl.toExternalForm() + FILE_SUFFIX);
+			if ("file".equals(binaryUrl.getProtocol())) //$NON-NLS-1$
+				return readFile(Path.of(jsonUrl.toURI()), Path.of(binaryUrl.toURI()));
+			var binaryTime = lastModified(binaryUrl);
+			var jsonTime = lastModified(jsonUrl);
+			if (binaryTime != 0 && jsonTime != 0 && binaryTime < jsonTime) {
+				LOG.warn("The binary structure oracle {} is older than the JSON file, using JSON instead", binaryUrl); //$NON-NLS-1$
+				return Optional.empty();
+			}
+			try (var in = binaryUrl.openStream()) {
+				return Optional.of(read(ByteBuffer.wrap(in.readAllBytes())));
+			}
+		} catch (@SuppressWarnings("unused") FileNotFoundException | NoSuchFileException e) {
+			return Optional.empty();
+		} catch (IOException | URISyntaxException | RuntimeException e) {
+			LOG.warn("Could not read the binary structure oracle for {}, using JSON instead", jsonUrl, e); //$NON-NLS-1$
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Returns the modification time of the resource in milliseconds, or 0 if
+	 * unknown. For jar files, this is the time of the entry and not of the jar.
+	 */
+	private static long lastModified(URL url) throws IOException {
+		var connection = url.openConnection();
+		if (connection instanceof JarURLConnection) {
+			var entry = ((JarURLConnection) connection).getJarEntry();
+			if (entry == null)
+				throw new FileNotFoundException(url.toExternalForm());
+			return Math.max(0, entry.getTime());
+		}
+		return connection.getLastModified();
+	}
+
+	private static Optional<JSONArray> readFile(Path jsonFile, Path binaryFile) throws IOException {
+		if (!Files.isRegularFile(binaryFile))
+			return Optional.empty();
+		if (Files.exists(jsonFile)
+				&& Files.getLastModifiedTime(binaryFile).compareTo(Files.getLastModifiedTime(jsonFile)) < 0) {
+			LOG.warn("The binary structure oracle {} is older than the JSON file, using JSON instead", binaryFile); //$NON-NLS-1$
+			return Optional.empty();
+		}
+		try (var channel = FileChannel.open(binaryFile, StandardOpenOption.READ)) {
+			return Optional.of(read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())));
+		}
+	}
+
+	/**
+	 * Reads a structure oracle in the binary format.
+	 *
+	 * @param buffer the binary oracle
+	 * @return the structure oracle
+	 * @throws IOException if the buffer does not contain a binary oracle
+	 */
+	static JSONArray read(ByteBuffer buffer) throws IOException {
+		try {
+			buffer.order(ByteOrder.BIG_ENDIAN);
+			if (buffer.getInt() != MAGIC)
+				throw new IOException("Not a binary structure oracle"); //$NON-NLS-1$
+			var version = buffer.get();
+			if (version != VERSION)
+				throw new IOException("Unsupported binary structure oracle version " + version); //$NON-NLS-1$
+			var strings = new String[readLength(buffer, Integer.BYTES)];
+			for (var i = 0; i < strings.length; i++)
+				strings[i] = readString(buffer);
+			var structureOracle = readValue(buffer, strings);
+			if (!(structureOracle instanceof JSONArray))
+				throw new IOException("The binary structure oracle does not contain an array"); //$NON-NLS-1$
+			return (JSONArray) structureOracle;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+			throw new IOException("Truncated binary structure oracle", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Reads the number of elements that follow, which must not exceed the
+	 * remaining bytes, so that corrupt lengths do not cause huge allocations.
+	 *
+	 * @param minElementSize the minimum number of bytes of each element
+	 */
+	private static int readLength(ByteBuffer buffer, int minElementSize) throws IOException {
+		var length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining() / minElementSize)
+			throw new IOException("Invalid length in binary structure oracle: " + length); //$NON-NLS-1$
+		return length;
+	}
+
+	private static String readString(ByteBuffer buffer) throws IOException {
+		var bytes = new byte[readLength(buffer, 1)];
+		buffer.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	private static Object readValue(ByteBuffer buffer, String[] strings) throws IOException {
+		var tag = buffer.get();
+		switch (tag) {
+		case TAG_OBJECT:
+			// each entry has at least the key index and a tag
+			var length = readLength(buffer, Integer.BYTES + 1);
+			var object = new JSONObject();
+			for (var i = 0; i < length; i++) {
+				var key = strings[buffer.getInt()];
+				object.put(key, readValue(buffer, strings));
+			}
+			return object;
+		case TAG_ARRAY:
+			var size = readLength(buffer, 1);
+			var array = new JSONArray();
+			for (var i = 0; i < size; i++)
+				array.put(readValue(buffer, strings));
+			return array;
+		case TAG_STRING:
+			return strings[buffer.getInt()];
+		case TAG_TRUE:
+			return Boolean.TRUE;
+		case TAG_FALSE:
+			return Boolean.FALSE;
+		case TAG_NULL:
+			return JSONObject.NULL;
+		case TAG_LONG:
+			var value = buffer.getLong();
+			return value == (int) value ? (Object) (int) value : (Object) value;
+		case TAG_DOUBLE:
+			return buffer.getDouble();
+		case TAG_DECIMAL:
+			return new BigDecimal(readString(buffer));
+		default:
+			throw new IOException("Unknown tag in binary structure oracle: " + tag); //$NON-NLS-1$
+		}
+	}
+}
@@ -0,0 +1,599 @@
+package de.tum.in.test.api.structural;
+
+import java.io.*;
+import java.net.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+import org.slf4j.*;
+
+import de.tum.in.test.api.structural.ObservedClass.*;
+import de.tum.in.test.api.util.*;
+
+/**
+ * Creates {@link ObservedClass} snapshots by parsing compiled class files
+ * directly, without loading or initializing the classes.
+ * <p>
+ * Only the parts of the class file format needed for the structural tests are
+ * interpreted: the constant pool, the access flags, the super types, the
+ * fields and methods, and the <code>Signature</code>,
+ * <code>RuntimeVisibleAnnotations</code> and <code>InnerClasses</code>
+ * attributes. All other attributes, including the byte code, are skipped. The
+ * type names are converted to the form reflection would return them, see
+ * {@link ObservedType}.
+ * <p>
+ * In contrast to reflection, annotations inherited from superclasses are not
+ * part of the class annotations, because they would require reading the class
+ * files of all superclasses.
+ *
+ * @since 1.14.0
+ */
+final class ClassFileReader {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ClassFileReader.class);
+
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final String CLASS_FILE_EXTENSION = ".class"; //$NON-NLS-1$
+	private static final String ENUM_CLASS = "java/lang/Enum"; //$NON-NLS-1$
+	private static final String CONSTRUCTOR_NAME = "<init>"; //$NON-NLS-1$
+	private static final String STATIC_INITIALIZER_NAME = "<clinit>"; //$NON-NLS-1$
+	private static final String SIGNATURE_ATTRIBUTE = "Signature"; //$NON-NLS-1$
+	private static final String ANNOTATIONS_ATTRIBUTE = "RuntimeVisibleAnnotations"; //$NON-NLS-1$
+	private static final String INNER_CLASSES_ATTRIBUTE = "InnerClasses"; //$NON-NLS-1$
+
+	private static final int ACC_SUPER = 0x0020;
+	private static final int ACC_INTERFACE = 0x0200;
+	private static final int ACC_ENUM = 0x4000;
+	/*
+	 * The flags reflection reports for classes, fields and methods, as recognized
+	 * by the JVM.
+	 */
+	private static final int CLASS_MODIFIERS = 0x7FFF & ~ACC_SUPER;
+	private static final int FIELD_MODIFIERS = 0x50DF;
+	private static final int METHOD_MODIFIERS = 0x1DFF;
+
+	private static final Map<String, CachedClass> OBSERVED_CLASSES = Collections
+			.synchronizedMap(new LruCache<>(256));
+
+	private final DataInputStream input;
+	private String[] utf8Constants;
+	private int[] classNameIndices;
+	private final Map<String, InnerClass> innerClasses = new HashMap<>();
+
+	private ClassFileReader(DataInputStream input) {
+		this.input = input;
+	}
+
+	/**
+	 * Reads the class file of the class with the given name, as found by the
+	 * class loader. The snapshots are cached by the location of the class file.
+	 * Class files in directories are checked for changes using a
+	 * {@link SourceFileSnapshot}, so that recompiled classes are read again.
+	 *
+	 * @param className   the binary name of the class, e.g.
+	 *                    <code>a.Outer$Inner</code>
+	 * @param classLoader the class loader to locate the class file with
+	 * @return the snapshot or an empty optional if there is no readable class file
+	 */
+	static Optional<ObservedClass> read(String className, ClassLoader classLoader) {
+		var resource = classLoader.getResource(className.replace('.', '/') + CLASS_FILE_EXTENSION);
+		if (resource == null)
+			return Optional.empty();
+		var location = resource.toExternalForm();
+		var cached = OBSERVED_CLASSES.get(location);
+		try {
+			var classFile = toFile(resource);
+			if (classFile == null) {
+				// class files in archives or the runtime image do not change
+				if (cached != null)
+					return Optional.of(cached.observedClass);
+				try (var in = resource.openStream()) {
+					cached = new CachedClass(null, read(in));
+				}
+			} else {
+				var attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+				if (cached != null && cached.snapshot.isUnchanged(attributes))
+					return Optional.of(cached.observedClass);
+				var content = Files.readAllBytes(classFile);
+				var snapshot = SourceFileSnapshot.of(attributes, content);
+				var observedClass = cached != null && cached.snapshot.hasSameContent(snapshot) ? cached.observedClass
+						: read(new ByteArrayInputStream(content));
+				cached = new CachedClass(snapshot, observedClass);
+			}
+		} catch (IOException | RuntimeException e) {
+			LOG.warn("Could not read class file {}", location, e); //$NON-NLS-1$
+			return Optional.empty();
+		}
+		OBSERVED_CLASSES.put(location, cached);
+		return Optional.of(cached.observedClass);
+	}
+
+	private static Path toFile(URL resource) {
+		if (!"file".equals(resource.getProtocol())) //$NON-NLS-1$
+			return null;
+		try {
+			return Path.of(resource.toURI());
+		} catch (@SuppressWarnings("unused") URISyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the class file from the given stream.
+	 *
+	 * @param in the content of the class file, not closed by this method
+	 * @return the snapshot of the class
+	 * @throws IOException if the stream could not be read or does not contain a
+	 *                     class file
+	 */
+	static ObservedClass read(InputStream in) throws IOException {
+		return new ClassFileReader(new DataInputStream(new BufferedInputStream(in))).readClass();
+	}
+
+	private ObservedClass readClass() throws IOException {
+		if (input.readInt() != MAGIC)
+			throw new IOException("Not a class file"); //$NON-NLS-1$
+		// minor and major version
+		input.readUnsignedShort();
+		input.readUnsignedShort();
+		readConstantPool();
+		var accessFlags = input.readUnsignedShort();
+		var thisClass = readClassName();
+		var superclassIndex = input.readUnsignedShort();
+		var superclass = superclassIndex == 0 ? null : className(superclassIndex);
+		var interfaceCount = input.readUnsignedShort();
+		List<String> interfaces = new ArrayList<>(interfaceCount);
+		for (var i = 0; i < interfaceCount; i++)
+			interfaces.add(readClassName());
+		var fields = readMembers();
+		var methods = readMembers();
+		var attributes = readAttributes();
+
+		var innerClass = innerClasses.get(thisClass);
+		var modifiers = (innerClass == null ? accessFlags : innerClass.flags) & CLASS_MODIFIERS;
+		var isEnum = (accessFlags & ACC_ENUM) != 0 && ENUM_CLASS.equals(superclass);
+		ObservedType observedSuperclass = null;
+		List<ObservedType> observedInterfaces = new ArrayList<>(interfaces.size());
+		var signature = attributes.signature == null ? null : new SignatureCursor(attributes.signature);
+		if (signature != null)
+			signature.skipTypeParameters();
+		if (superclass != null) {
+			var genericName = signature == null ? null : signature.readTypeName();
+			if ((accessFlags & ACC_INTERFACE) == 0)
+				observedSuperclass = toType(toDescriptor(superclass), genericName);
+		}
+		for (String interfaceName : interfaces) {
+			var genericName = signature == null ? null : signature.readTypeName();
+			observedInterfaces.add(toType(toDescriptor(interfaceName), genericName));
+		}
+		List<ObservedField> observedFields = new ArrayList<>(fields.size());
+		for (Member field : fields) {
+			var genericName = field.signature == null ? null : new SignatureCursor(field.signature).readTypeName();
+			observedFields.add(new ObservedField(field.name, toType(field.descriptor, genericName),
+					field.flags & FIELD_MODIFIERS, toAnnotationTypes(field.annotations),
+					(field.flags & ACC_ENUM) != 0));
+		}
+		List<ObservedExecutable> observedMethods = new ArrayList<>();
+		List<ObservedExecutable> observedConstructors = new ArrayList<>();
+		for (Member method : methods) {
+			if (STATIC_INITIALIZER_NAME.equals(method.name))
+				continue;
+			var descriptor = new SignatureCursor(method.descriptor);
+			var parameterDescriptors = descriptor.readParameterDescriptors();
+			List<String> genericParameterNames = null;
+			String genericReturnName = null;
+			if (method.signature != null) {
+				var methodSignature = new SignatureCursor(method.signature);
+				methodSignature.skipTypeParameters();
+				genericParameterNames = methodSignature.readParameterTypeNames();
+				genericReturnName = methodSignature.readTypeName();
+				// like reflection, the signature can lack synthetic and implicit parameters
+				if (genericParameterNames.size() != parameterDescriptors.size())
+					genericParameterNames = null;
+			}
+			List<ObservedType> parameterTypes = new ArrayList<>(parameterDescriptors.size());
+			for (var i = 0; i < parameterDescriptors.size(); i++)
+				parameterTypes.add(toType(parameterDescriptors.get(i),
+						genericParameterNames == null ? null : genericParameterNames.get(i)));
+			var annotationTypes = toAnnotationTypes(method.annotations);
+			var flags = method.flags & METHOD_MODIFIERS;
+			if (CONSTRUCTOR_NAME.equals(method.name)) {
+				observedConstructors.add(new ObservedExecutable(binaryName(thisClass), flags, annotationTypes,
+						parameterTypes, null));
+			} else {
+				observedMethods.add(new ObservedExecutable(method.name, flags, annotationTypes, parameterTypes,
+						toType(descriptor.readDescriptor(), genericReturnName)));
+			}
+		}
+		return new ObservedClass(binaryName(thisClass), modifiers, isEnum, observedSuperclass, observedInterfaces,
+				toAnnotationTypes(attributes.annotations), observedFields, observedMethods, observedConstructors);
+	}
+
+	private void readConstantPool() throws IOException {
+		var count = input.readUnsignedShort();
+		utf8Constants = new String[count];
+		classNameIndices = new int[count];
+		for (var i = 1; i < count; i++) {
+			var tag = input.readUnsignedByte();
+			switch (tag) {
+			case 1: // Utf8
+				utf8Constants[i] = input.readUTF();
+				break;
+			case 7: // Class
+				classNameIndices[i] = input.readUnsignedShort();
+				break;
+			case 8: // String
+			case 16: // MethodType
+			case 19: // Module
+			case 20: // Package
+				skip(2);
+				break;
+			case 15: // MethodHandle
+				skip(3);
+				break;
+			case 3: // Integer
+			case 4: // Float
+			case 9: // Fieldref
+			case 10: // Methodref
+			case 11: // InterfaceMethodref
+			case 12: // NameAndType
+			case 17: // Dynamic
+			case 18: // InvokeDynamic
+				skip(4);
+				break;
+			case 5: // Long
+			case 6: // Double
+				skip(8);
+				// eight byte constants take up two entries
+				i++;
+				break;
+			default:
+				throw new IOException("Unknown constant pool tag " + tag); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private List<Member> readMembers() throws IOException {
+		var count = input.readUnsignedShort();
+		List<Member> members = new ArrayList<>(count);
+		for (var i = 0; i < count; i++) {
+			var flags = input.readUnsignedShort();
+			var name = utf8Constants[input.readUnsignedShort()];
+			var descriptor = utf8Constants[input.readUnsignedShort()];
+			var attributes = readAttributes();
+			members.add(new Member(flags, name, descriptor, attributes.signature, attributes.annotations));
+		}
+		return members;
+	}
+
+	private Attributes readAttributes() throws IOException {
+		var attributes = new Attributes();
+		var count = input.readUnsignedShort();
+		for (var i = 0; i < count; i++) {
+			var name = utf8Constants[input.readUnsignedShort()];
+			var length = input.readInt();
+			if (SIGNATURE_ATTRIBUTE.equals(name)) {
+				attributes.signature = utf8Constants[input.readUnsignedShort()];
+			} else if (ANNOTATIONS_ATTRIBUTE.equals(name)) {
+				var annotationCount = input.readUnsignedShort();
+				for (var j = 0; j < annotationCount; j++)
+					attributes.annotations.add(readAnnotation());
+			} else if (INNER_CLASSES_ATTRIBUTE.equals(name)) {
+				readInnerClasses();
+			} else {
+				skip(length);
+			}
+		}
+		return attributes;
+	}
+
+	private String readAnnotation() throws IOException {
+		var typeDescriptor = utf8Constants[input.readUnsignedShort()];
+		var pairCount = input.readUnsignedShort();
+		for (var i = 0; i < pairCount; i++) {
+			// element name
+			input.readUnsignedShort();
+			skipElementValue();
+		}
+		return typeDescriptor;
+	}
+
+	private void skipElementValue() throws IOException {
+		var tag = input.readUnsignedByte();
+		switch (tag) {
+		case 'e':
+			skip(4);
+			break;
+		case '@':
+			readAnnotation();
+			break;
+		case '[':
+			var count = input.readUnsignedShort();
+			for (var i = 0; i < count; i++)
+				skipElementValue();
+			break;
+		default:
+			// constants and classes
+			skip(2);
+		}
+	}
+
+	private void readInnerClasses() throws IOException {
+		var count = input.readUnsignedShort();
+		for (var i = 0; i < count; i++) {
+			var innerClass = readClassName();
+			var outerClassIndex = input.readUnsignedShort();
+			var simpleNameIndex = input.readUnsignedShort();
+			var flags = input.readUnsignedShort();
+			innerClasses.put(innerClass, new InnerClass(outerClassIndex == 0 ? null : className(outerClassIndex),
+					simpleNameIndex == 0 ? null : utf8Constants[simpleNameIndex], flags));
+		}
+	}
+
+	private String readClassName() throws IOException {
+		return className(input.readUnsignedShort());
+	}
+
+	private String className(int index) {
+		return utf8Constants[classNameIndices[index]];
+	}
+
+	private void skip(int length) throws IOException {
+		var remaining = length;
+		while (remaining > 0) {
+			var skipped = input.skipBytes(remaining);
+			if (skipped == 0) {
+				if (input.read() < 0)
+					throw new EOFException();
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	private List<ObservedType> toAnnotationTypes(List<String> annotationDescriptors) {
+		List<ObservedType> annotationTypes = new ArrayList<>(annotationDescriptors.size());
+		for (String descriptor : annotationDescriptors)
+			annotationTypes.add(toType(descriptor, null));
+		return annotationTypes;
+	}
+
+	/**
+	 * Creates the type from its descriptor, e.g. <code>[Ljava/lang/String;</code>.
+	 *
+	 * @param descriptor  the field descriptor of the erased type
+	 * @param genericName the generic type name from the signature or null
+	 */
+	private ObservedType toType(String descriptor, String genericName) {
+		var typeName = genericName == null ? new SignatureCursor(descriptor).readTypeName() : genericName;
+		var dimensions = 0;
+		while (descriptor.charAt(dimensions) == '[')
+			dimensions++;
+		var arraySuffix = "[]".repeat(dimensions); //$NON-NLS-1$
+		if (descriptor.charAt(dimensions) != 'L') {
+			var primitive = new SignatureCursor(descriptor.substring(dimensions)).readTypeName();
+			return new ObservedType(primitive + arraySuffix, typeName, primitive + arraySuffix);
+		}
+		var internalName = descriptor.substring(dimensions + 1, descriptor.length() - 1);
+		var canonicalName = canonicalName(internalName);
+		if (canonicalName == null)
+			canonicalName = dimensions == 0 ? binaryName(internalName) : descriptor.replace('/', '.');
+		else
+			canonicalName += arraySuffix;
+		return new ObservedType(canonicalName, typeName, simpleName(internalName) + arraySuffix);
+	}
+
+	private String canonicalName(String internalName) {
+		var innerClass = innerClasses.get(internalName);
+		if (innerClass == null)
+			return binaryName(internalName);
+		// local and anonymous classes have no canonical name
+		if (innerClass.outerClass == null || innerClass.simpleName == null)
+			return null;
+		var outerCanonicalName = canonicalName(innerClass.outerClass);
+		return outerCanonicalName == null ? null : outerCanonicalName + '.' + innerClass.simpleName;
+	}
+
+	private String simpleName(String internalName) {
+		var innerClass = innerClasses.get(internalName);
+		if (innerClass != null)
+			return innerClass.simpleName == null ? "" : innerClass.simpleName; //$NON-NLS-1$
+		return internalName.substring(internalName.lastIndexOf('/') + 1);
+	}
+
+	private static String binaryName(String internalName) {
+		return internalName.replace('/', '.');
+	}
+
+	private static String toDescriptor(String internalName) {
+		return 'L' + internalName + ';';
+	}
+
+	/**
+	 * Reads descriptors and generic signatures, see JVMS §4.3 and §4.7.9.1. Type
+	 * names are rendered like {@link java.lang.reflect.Type#getTypeName()}.
+	 */
+	private static final class SignatureCursor {
+
+		private final String signature;
+		private int position;
+
+		SignatureCursor(String signature) {
+			this.signature = signature;
+		}
+
+		void skipTypeParameters() {
+			if (signature.charAt(position) != '<')
+				return;
+			position++;
+			while (signature.charAt(position) != '>') {
+				position = signature.indexOf(':', position);
+				while (signature.charAt(position) == ':') {
+					position++;
+					if ("LT[".indexOf(signature.charAt(position)) >= 0) //$NON-NLS-1$
+						readTypeName();
+				}
+			}
+			position++;
+		}
+
+		List<String> readParameterDescriptors() {
+			List<String> parameters = new ArrayList<>();
+			// skip '('
+			position++;
+			while (signature.charAt(position) != ')')
+				parameters.add(readDescriptor());
+			position++;
+			return parameters;
+		}
+
+		List<String> readParameterTypeNames() {
+			List<String> parameters = new ArrayList<>();
+			// skip '('
+			position++;
+			while (signature.charAt(position) != ')')
+				parameters.add(readTypeName());
+			position++;
+			return parameters;
+		}
+
+		String readDescriptor() {
+			var start = position;
+			while (signature.charAt(position) == '[')
+				position++;
+			if (signature.charAt(position) == 'L')
+				position = signature.indexOf(';', position);
+			position++;
+			return signature.substring(start, position);
+		}
+
+		String readTypeName() {
+			var c = signature.charAt(position++);
+			switch (c) {
+			case 'B':
+				return "byte"; //$NON-NLS-1$
+			case 'C':
+				return "char"; //$NON-NLS-1$
+			case 'D':
+				return "double"; //$NON-NLS-1$
+			case 'F':
+				return "float"; //$NON-NLS-1$
+			case 'I':
+				return "int"; //$NON-NLS-1$
+			case 'J':
+				return "long"; //$NON-NLS-1$
+			case 'S':
+				return "short"; //$NON-NLS-1$
+			case 'Z':
+				return "boolean"; //$NON-NLS-1$
+			case 'V':
+				return "void"; //$NON-NLS-1$
+			case '[':
+				return readTypeName() + "[]"; //$NON-NLS-1$
+			case 'T':
+				var end = signature.indexOf(';', position);
+				var typeVariable = signature.substring(position, end);
+				position = end + 1;
+				return typeVariable;
+			case 'L':
+				return readClassTypeName();
+			default:
+				throw new IllegalArgumentException("Invalid signature " + signature); //$NON-NLS-1$
+			}
+		}
+
+		private String readClassTypeName() {
+			var typeName = new StringBuilder();
+			while (true) {
+				var c = signature.charAt(position++);
+				if (c == ';')
+					return typeName.toString();
+				if (c == '/') {
+					typeName.append('.');
+				} else if (c == '.') {
+					// member type of a parameterized type
+					typeName.append('$');
+				} else if (c == '<') {
+					typeName.append('<');
+					var first = true;
+					while (signature.charAt(position) != '>') {
+						if (!first)
+							typeName.append(", "); //$NON-NLS-1$
+						typeName.append(readTypeArgument());
+						first = false;
+					}
+					position++;
+					typeName.append('>');
+				} else {
+					typeName.append(c);
+				}
+			}
+		}
+
+		private String readTypeArgument() {
+			switch (signature.charAt(position)) {
+			case '*':
+				position++;
+				return "?"; //$NON-NLS-1$
+			case '+':
+				position++;
+				var upperBound = readTypeName();
+				// like reflection, an upper bound of Object is omitted
+				return "java.lang.Object".equals(upperBound) ? "?" : "? extends " + upperBound; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			case '-':
+				position++;
+				return "? super " + readTypeName(); //$NON-NLS-1$
+			default:
+				return readTypeName();
+			}
+		}
+	}
+
+	private static final class Member {
+
+		final int flags;
+		final String name;
+		final String descriptor;
+		final String signature;
+		final List<String> annotations;
+
+		Member(int flags, String name, String descriptor, String signature, List<String> annotations) {
+			this.flags = flags;
+			this.name = name;
+			this.descriptor = descriptor;
+			this.signature = signature;
+			this.annotations = annotations;
+		}
+	}
+
+	private static final class Attributes {
+
+		String signature;
+		final List<String> annotations = new ArrayList<>();
+	}
+
+	private static final class InnerClass {
+
+		final String outerClass;
+		final String simpleName;
+		final int flags;
+
+		InnerClass(String outerClass, String simpleName, int flags) {
+			this.outerClass = outerClass;
+			this.simpleName = simpleName;
+			this.flags = flags;
+		}
+	}
+
+	private static final class CachedClass {
+
+		final SourceFileSnapshot snapshot;
+		final ObservedClass observedClass;
+
+		CachedClass(SourceFileSnapshot snapshot, ObservedClass observedClass) {
+			this.snapshot = snapshot;
+			this.observedClass = observedClass;
+		}
+	}
+}
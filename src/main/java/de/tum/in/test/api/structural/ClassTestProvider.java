@@ -13,6 +13,9 @@ import org.apiguardian.api.API.Status;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
 
+import de.tum.in.test.api.structural.ObservedClass.ObservedType;
+import de.tum.in.test.api.structural.StructureOracle.*;
+
 /**
  * This test evaluates the hierarchy of the class, i.e. if the class is abstract
  * or an interface or an enum and also if the class extends another superclass
@@ -36,25 +39,20 @@ public abstract class ClassTestProvider extends StructuralTestProvider {
 	 *                            be generated (which seems to be unlikely)
 	 */
 	protected DynamicContainer generateTestsForAllClasses() throws URISyntaxException {
-		List<DynamicNode> tests = new ArrayList<>();
+		List<DynamicTest> tests = new ArrayList<>();
 		if (structureOracleJSON == null)
 			throw failure(
 					"The ClassTest test can only run if the structural oracle (test.json) is present. If you do not provide it, delete ClassTest.java!"); //$NON-NLS-1$
-		for (var i = 0; i < structureOracleJSON.length(); i++) {
-			var expectedClassJSON = structureOracleJSON.getJSONObject(i);
-			var expectedClassPropertiesJSON = expectedClassJSON.getJSONObject(JSON_PROPERTY_CLASS);
+		for (var expectedClass : StructureOracle.of(structureOracleJSON).getClasses()) {
+			var expectedClassPropertiesJSON = expectedClass.getJSON().getJSONObject(JSON_PROPERTY_CLASS);
 			/*
 			 * Only test the classes that have additional properties (except name and
 			 * package) defined in the structure oracle.
 			 */
-			if (expectedClassPropertiesJSON.has(JSON_PROPERTY_NAME)
-					&& expectedClassPropertiesJSON.has(JSON_PROPERTY_PACKAGE)
-					&& hasAdditionalProperties(expectedClassPropertiesJSON)) {
-				var expectedClassName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_NAME);
-				var expectedPackageName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_PACKAGE);
-				var expectedClassStructure = new ExpectedClassStructure(expectedClassName, expectedPackageName,
-						expectedClassJSON);
-				tests.add(dynamicTest("testClass[" + expectedClassName + "]", () -> testClass(expectedClassStructure))); //$NON-NLS-1$ //$NON-NLS-2$
+			if (expectedClass.hasNameAndPackage() && hasAdditionalProperties(expectedClassPropertiesJSON)) {
+				var expectedClassStructure = new ExpectedClassStructure(expectedClass);
+				tests.add(dynamicTest("testClass[" + expectedClass.getName() + "]", //$NON-NLS-1$ //$NON-NLS-2$
+						() -> testClass(expectedClassStructure)));
 			}
 		}
 		if (tests.isEmpty())
@@ -64,7 +62,7 @@ public abstract class ClassTestProvider extends StructuralTestProvider {
 		 * Using a custom URI here to workaround surefire rendering the JUnit XML
 		 * without the correct test names.
 		 */
-		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), tests.stream());
+		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), evaluateTests(tests));
 	}
 
 	protected static boolean hasAdditionalProperties(JSONObject jsonObject) {
@@ -84,82 +82,57 @@ public abstract class ClassTestProvider extends StructuralTestProvider {
 	 */
 	protected static void testClass(ExpectedClassStructure expectedClassStructure) {
 		var expectedClassName = expectedClassStructure.getExpectedClassName();
-		var observedClass = findClassForTestType(expectedClassStructure, "class"); //$NON-NLS-1$
-		var expectedClassPropertiesJSON = expectedClassStructure.getPropertyAsJsonObject(JSON_PROPERTY_CLASS);
-		checkBasicClassProperties(expectedClassName, observedClass, expectedClassPropertiesJSON);
-		checkSuperclass(expectedClassName, observedClass, expectedClassPropertiesJSON);
-		checkInterfaces(expectedClassName, observedClass, expectedClassPropertiesJSON);
-		checkAnnotations(expectedClassName, observedClass, expectedClassPropertiesJSON);
+		var observedClass = observeClassForTestType(expectedClassStructure, "class"); //$NON-NLS-1$
+		var expectedClassProperties = expectedClassStructure.getCompiledClass().getClassProperties();
+		checkBasicClassProperties(expectedClassName, observedClass, expectedClassProperties);
+		checkSuperclass(expectedClassName, observedClass, expectedClassProperties);
+		checkInterfaces(expectedClassName, observedClass, expectedClassProperties);
+		checkAnnotations(expectedClassName, observedClass, expectedClassProperties);
 	}
 
-	private static void checkBasicClassProperties(String expectedClassName, Class<?> observedClass,
-			JSONObject expectedClassPropertiesJSON) {
-		if (checkBooleanOf(expectedClassPropertiesJSON, "isAbstract") //$NON-NLS-1$
-				&& !Modifier.isAbstract(observedClass.getModifiers()))
+	private static void checkBasicClassProperties(String expectedClassName, ObservedClass observedClass,
+			ExpectedClassProperties expectedClassProperties) {
+		var modifiers = observedClass.getModifierFlags();
+		if (expectedClassProperties.isAbstract() && !Modifier.isAbstract(modifiers))
 			throw localizedFailure("structural.class.abstract", expectedClassName); //$NON-NLS-1$
-		if (checkBooleanOf(expectedClassPropertiesJSON, "isEnum") && !observedClass.isEnum()) //$NON-NLS-1$
+		if (expectedClassProperties.isEnum() && !observedClass.isEnum())
 			throw localizedFailure("structural.class.enum", expectedClassName); //$NON-NLS-1$
-		if (checkBooleanOf(expectedClassPropertiesJSON, "isInterface") //$NON-NLS-1$
-				&& !Modifier.isInterface(observedClass.getModifiers()))
+		if (expectedClassProperties.isInterface() && !Modifier.isInterface(modifiers))
 			throw localizedFailure("structural.class.interface", expectedClassName); //$NON-NLS-1$
-		if (expectedClassPropertiesJSON.has(JSON_PROPERTY_MODIFIERS)) {
-			var expectedModifiers = getExpectedJsonProperty(expectedClassPropertiesJSON, JSON_PROPERTY_MODIFIERS);
-			var modifiersAreCorrect = checkModifiers(Modifier.toString(observedClass.getModifiers()).split(" "), //$NON-NLS-1$
-					expectedModifiers);
-			if (!modifiersAreCorrect)
-				throw localizedFailure("structural.class.modifiers", expectedClassName); //$NON-NLS-1$
-		}
+		var expectedModifiers = expectedClassProperties.getModifiers();
+		if (expectedModifiers != null && !expectedModifiers.matches(observedClass.getModifiers()))
+			throw localizedFailure("structural.class.modifiers", expectedClassName); //$NON-NLS-1$
 	}
 
-	private static boolean checkBooleanOf(JSONObject expectedClassPropertiesJSON, String booleanProperty) {
-		return expectedClassPropertiesJSON.has(booleanProperty)
-				&& expectedClassPropertiesJSON.getBoolean(booleanProperty);
+	private static void checkSuperclass(String expectedClassName, ObservedClass observedClass,
+			ExpectedClassProperties expectedClassProperties) {
+		var expectedSuperclass = expectedClassProperties.getSuperclass();
+		if (expectedSuperclass != null && !expectedSuperclass.matches(observedClass.getSuperclass()))
+			throw localizedFailure("structural.class.extends", expectedClassName, expectedSuperclass.getName()); //$NON-NLS-1$
 	}
 
-	private static void checkSuperclass(String expectedClassName, Class<?> observedClass,
-			JSONObject expectedClassPropertiesJSON) {
-		// Filter out the enums, since there is a separate test for them
-		if (expectedClassPropertiesJSON.has(JSON_PROPERTY_SUPERCLASS)
-				&& !"Enum".equals(expectedClassPropertiesJSON.getString(JSON_PROPERTY_SUPERCLASS))) { //$NON-NLS-1$
-			var expectedSuperClassName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_SUPERCLASS);
-			if (!checkExpectedType(observedClass.getSuperclass(), observedClass.getGenericSuperclass(),
-					expectedSuperClassName)) {
-				throw localizedFailure("structural.class.extends", expectedClassName, expectedSuperClassName); //$NON-NLS-1$
-			}
-		}
-	}
-
-	private static void checkInterfaces(String expectedClassName, Class<?> observedClass,
-			JSONObject expectedClassPropertiesJSON) {
-		if (expectedClassPropertiesJSON.has(JSON_PROPERTY_INTERFACES)) {
-			var expectedInterfaces = expectedClassPropertiesJSON.getJSONArray(JSON_PROPERTY_INTERFACES);
-			var observedInterfaces = observedClass.getInterfaces();
-			var observedGenericInterfaceTypes = observedClass.getGenericInterfaces();
-			for (var i = 0; i < expectedInterfaces.length(); i++) {
-				var expectedInterface = expectedInterfaces.getString(i);
-				var implementsInterface = false;
-				for (var j = 0; j < observedInterfaces.length; j++) {
-					var observedInterface = observedInterfaces[j];
-					var observedGenericInterfaceType = observedGenericInterfaceTypes[j];
-					if (checkExpectedType(observedInterface, observedGenericInterfaceType, expectedInterface)) {
-						implementsInterface = true;
-						break;
-					}
+	private static void checkInterfaces(String expectedClassName, ObservedClass observedClass,
+			ExpectedClassProperties expectedClassProperties) {
+		var expectedInterfaces = expectedClassProperties.getInterfaces();
+		if (expectedInterfaces == null)
+			return;
+		for (ExpectedType expectedInterface : expectedInterfaces) {
+			var implementsInterface = false;
+			for (ObservedType observedInterface : observedClass.getInterfaces()) {
+				if (expectedInterface.matches(observedInterface)) {
+					implementsInterface = true;
+					break;
 				}
-				if (!implementsInterface)
-					throw localizedFailure("structural.class.implements", expectedClassName, expectedInterface); //$NON-NLS-1$
 			}
+			if (!implementsInterface)
+				throw localizedFailure("structural.class.implements", expectedClassName, expectedInterface.getName()); //$NON-NLS-1$
 		}
 	}
 
-	private static void checkAnnotations(String expectedClassName, Class<?> observedClass,
-			JSONObject expectedClassPropertiesJSON) {
-		if (expectedClassPropertiesJSON.has(JSON_PROPERTY_ANNOTATIONS)) {
-			var expectedAnnotations = expectedClassPropertiesJSON.getJSONArray(JSON_PROPERTY_ANNOTATIONS);
-			var observedAnnotations = observedClass.getAnnotations();
-			var annotationsAreRight = checkAnnotations(observedAnnotations, expectedAnnotations);
-			if (!annotationsAreRight)
-				throw localizedFailure("structural.class.annotations", expectedClassName); //$NON-NLS-1$
-		}
+	private static void checkAnnotations(String expectedClassName, ObservedClass observedClass,
+			ExpectedClassProperties expectedClassProperties) {
+		var expectedAnnotations = expectedClassProperties.getAnnotations();
+		if (expectedAnnotations != null && !expectedAnnotations.matches(observedClass.getAnnotations()))
+			throw localizedFailure("structural.class.annotations", expectedClassName); //$NON-NLS-1$
 	}
 }
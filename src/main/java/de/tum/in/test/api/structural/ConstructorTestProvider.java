@@ -4,7 +4,6 @@ import static de.tum.in.test.api.localization.Messages.localizedFailure;
 import static org.junit.jupiter.api.DynamicContainer.dynamicContainer;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
-import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
 
@@ -13,6 +12,9 @@ import org.apiguardian.api.API.Status;
 import org.json.JSONArray;
 import org.junit.jupiter.api.*;
 
+import de.tum.in.test.api.structural.ObservedClass.ObservedExecutable;
+import de.tum.in.test.api.structural.StructureOracle.*;
+
 /**
  * This test evaluates if the specified constructors in the structure oracle are
  * correctly implemented with the expected parameter types and annotations,
@@ -35,21 +37,15 @@ public abstract class ConstructorTestProvider extends StructuralTestProvider {
 	 *                            be generated (which seems to be unlikely)
 	 */
 	protected DynamicContainer generateTestsForAllClasses() throws URISyntaxException {
-		List<DynamicNode> tests = new ArrayList<>();
+		List<DynamicTest> tests = new ArrayList<>();
 		if (structureOracleJSON == null)
 			throw failure(
 					"The ConstructorTest can only run if the structural oracle (test.json) is present. If you do not provide it, delete ConstructorTest.java!"); //$NON-NLS-1$
-		for (var i = 0; i < structureOracleJSON.length(); i++) {
-			var expectedClassJSON = structureOracleJSON.getJSONObject(i);
-
+		for (var expectedClass : StructureOracle.of(structureOracleJSON).getClasses()) {
 			// Only test the constructors if they are specified in the structure diff
-			if (expectedClassJSON.has(JSON_PROPERTY_CLASS) && expectedClassJSON.has(JSON_PROPERTY_CONSTRUCTORS)) {
-				var expectedClassPropertiesJSON = expectedClassJSON.getJSONObject(JSON_PROPERTY_CLASS);
-				var expectedClassName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_NAME);
-				var expectedPackageName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_PACKAGE);
-				var expectedClassStructure = new ExpectedClassStructure(expectedClassName, expectedPackageName,
-						expectedClassJSON);
-				tests.add(dynamicTest("testConstructors[" + expectedClassName + "]", //$NON-NLS-1$ //$NON-NLS-2$
+			if (expectedClass.hasClass() && expectedClass.hasConstructors()) {
+				var expectedClassStructure = new ExpectedClassStructure(expectedClass);
+				tests.add(dynamicTest("testConstructors[" + expectedClass.getName() + "]", //$NON-NLS-1$ //$NON-NLS-2$
 						() -> testConstructors(expectedClassStructure)));
 			}
 		}
@@ -60,7 +56,7 @@ public abstract class ConstructorTestProvider extends StructuralTestProvider {
 		 * Using a custom URI here to workaround surefire rendering the JUnit XML
 		 * without the correct test names.
 		 */
-		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), tests.stream());
+		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), evaluateTests(tests));
 	}
 
 	/**
@@ -73,11 +69,10 @@ public abstract class ConstructorTestProvider extends StructuralTestProvider {
 	 */
 	protected static void testConstructors(ExpectedClassStructure expectedClassStructure) {
 		var expectedClassName = expectedClassStructure.getExpectedClassName();
-		var observedClass = findClassForTestType(expectedClassStructure, "constructor"); //$NON-NLS-1$
-		if (expectedClassStructure.hasProperty(JSON_PROPERTY_CONSTRUCTORS)) {
-			var expectedConstructors = expectedClassStructure.getPropertyAsJsonArray(JSON_PROPERTY_CONSTRUCTORS);
-			checkConstructors(expectedClassName, observedClass, expectedConstructors);
-		}
+		var observedClass = observeClassForTestType(expectedClassStructure, "constructor"); //$NON-NLS-1$
+		var expectedClass = expectedClassStructure.getCompiledClass();
+		if (expectedClass.hasConstructors())
+			checkConstructors(expectedClassName, observedClass, expectedClass.getConstructors());
 	}
 
 	/**
@@ -95,43 +90,57 @@ public abstract class ConstructorTestProvider extends StructuralTestProvider {
 	 */
 	protected static void checkConstructors(String expectedClassName, Class<?> observedClass,
 			JSONArray expectedConstructors) {
-		for (var i = 0; i < expectedConstructors.length(); i++) {
-			var expectedConstructor = expectedConstructors.getJSONObject(i);
-			var expectedParameters = getExpectedJsonProperty(expectedConstructor, JSON_PROPERTY_PARAMETERS);
-			var expectedModifiers = getExpectedJsonProperty(expectedConstructor, JSON_PROPERTY_MODIFIERS);
-			var expectedAnnotations = getExpectedJsonProperty(expectedConstructor, JSON_PROPERTY_ANNOTATIONS);
-			var strictParameterOrder = getExpectedJsonBooleanProperty(expectedConstructor, JSON_PROPERTY_STRICT_ORDER);
-
-			var parametersAreRight = false;
-			var modifiersAreRight = false;
-			var annotationsAreRight = false;
+		checkConstructors(expectedClassName, ObservedClass.of(observedClass),
+				StructureOracle.compileConstructors(expectedConstructors));
+	}
 
-			for (Constructor<?> observedConstructor : observedClass.getDeclaredConstructors()) {
-				var observedParameters = observedConstructor.getParameterTypes();
-				var observedModifiers = Modifier.toString(observedConstructor.getModifiers()).split(" "); //$NON-NLS-1$
-				var observedAnnotations = observedConstructor.getAnnotations();
+	private static void checkConstructors(String expectedClassName, ObservedClass observedClass,
+			List<ExpectedConstructor> expectedConstructors) {
+		for (ExpectedConstructor expectedConstructor : expectedConstructors) {
+			var expectedParameters = expectedConstructor.getParameters();
+			// look up the constructors with matching parameter types first
+			var candidates = observedClass.findConstructors(expectedParameters.getFingerprint(),
+					expectedParameters.isStrictOrder());
+			var checks = checkObservedConstructors(expectedConstructor, candidates);
+			if (!checks.hasPassedAll())
+				checks = checkObservedConstructors(expectedConstructor, observedClass.getConstructors());
+			checkConstructorCorrectness(expectedClassName, expectedParameters, checks);
+		}
+	}
 
-				parametersAreRight = checkParameters(observedParameters, expectedParameters, strictParameterOrder);
-				modifiersAreRight = checkModifiers(observedModifiers, expectedModifiers);
-				annotationsAreRight = checkAnnotations(observedAnnotations, expectedAnnotations);
+	private static ConstructorChecks checkObservedConstructors(ExpectedConstructor expectedConstructor,
+			List<ObservedExecutable> observedConstructors) {
+		var checks = new ConstructorChecks();
+		for (ObservedExecutable observedConstructor : observedConstructors) {
+			checks.parameters = expectedConstructor.getParameters().matches(observedConstructor);
+			checks.modifiers = expectedConstructor.getModifiers().matches(observedConstructor.getModifiers());
+			checks.annotations = expectedConstructor.getAnnotations().matches(observedConstructor.getAnnotations());
 
-				// If both are correct, then we found our constructor and we can break the loop
-				if (parametersAreRight && modifiersAreRight && annotationsAreRight)
-					break;
-			}
-			checkConstructorCorrectness(expectedClassName, expectedParameters, parametersAreRight, modifiersAreRight,
-					annotationsAreRight);
+			// If all are correct, then we found our constructor and we can break the loop
+			if (checks.hasPassedAll())
+				break;
 		}
+		return checks;
 	}
 
-	private static void checkConstructorCorrectness(String expectedClassName, JSONArray expectedParameters,
-			boolean parametersAreCorrect, boolean modifiersAreCorrect, boolean annotationsAreCorrect) {
-		String parameters = describeParameters(expectedParameters);
-		if (!parametersAreCorrect)
+	private static void checkConstructorCorrectness(String expectedClassName, ExpectedParameters expectedParameters,
+			ConstructorChecks constructorChecks) {
+		String parameters = expectedParameters.describe();
+		if (!constructorChecks.parameters)
 			throw localizedFailure("structural.constructor.parameters", expectedClassName, parameters); //$NON-NLS-1$
-		if (!modifiersAreCorrect)
+		if (!constructorChecks.modifiers)
 			throw localizedFailure("structural.constructor.modifiers", expectedClassName, parameters); //$NON-NLS-1$
-		if (!annotationsAreCorrect)
+		if (!constructorChecks.annotations)
 			throw localizedFailure("structural.constructor.annotations", expectedClassName, parameters); //$NON-NLS-1$
 	}
+
+	private static class ConstructorChecks {
+		boolean parameters;
+		boolean modifiers;
+		boolean annotations;
+
+		boolean hasPassedAll() {
+			return parameters && modifiers && annotations;
+		}
+	}
 }
@@ -4,7 +4,6 @@ import static de.tum.in.test.api.localization.Messages.localizedFailure;
 import static org.junit.jupiter.api.DynamicContainer.dynamicContainer;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
-import java.lang.reflect.*;
 import java.net.*;
 import java.util.*;
 
@@ -13,6 +12,9 @@ import org.apiguardian.api.API.Status;
 import org.json.JSONArray;
 import org.junit.jupiter.api.*;
 
+import de.tum.in.test.api.structural.ObservedClass.ObservedExecutable;
+import de.tum.in.test.api.structural.StructureOracle.*;
+
 /**
  * This test evaluates if the specified methods in the structure oracle are
  * correctly implemented with the expected name, return type, parameter types,
@@ -36,20 +38,15 @@ public abstract class MethodTestProvider extends StructuralTestProvider {
 	 *                            be generated (which seems to be unlikely)
 	 */
 	protected DynamicContainer generateTestsForAllClasses() throws URISyntaxException {
-		List<DynamicNode> tests = new ArrayList<>();
+		List<DynamicTest> tests = new ArrayList<>();
 		if (structureOracleJSON == null)
 			throw failure(
 					"The MethodTest test can only run if the structural oracle (test.json) is present. If you do not provide it, delete MethodTest.java!"); //$NON-NLS-1$
-		for (var i = 0; i < structureOracleJSON.length(); i++) {
-			var expectedClassJSON = structureOracleJSON.getJSONObject(i);
+		for (var expectedClass : StructureOracle.of(structureOracleJSON).getClasses()) {
 			// Only test the classes that have methods defined in the structure oracle.
-			if (expectedClassJSON.has(JSON_PROPERTY_CLASS) && expectedClassJSON.has(JSON_PROPERTY_METHODS)) {
-				var expectedClassPropertiesJSON = expectedClassJSON.getJSONObject(JSON_PROPERTY_CLASS);
-				var expectedClassName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_NAME);
-				var expectedPackageName = expectedClassPropertiesJSON.getString(JSON_PROPERTY_PACKAGE);
-				var expectedClassStructure = new ExpectedClassStructure(expectedClassName, expectedPackageName,
-						expectedClassJSON);
-				tests.add(dynamicTest("testMethods[" + expectedClassName + "]", //$NON-NLS-1$ //$NON-NLS-2$
+			if (expectedClass.hasClass() && expectedClass.hasMethods()) {
+				var expectedClassStructure = new ExpectedClassStructure(expectedClass);
+				tests.add(dynamicTest("testMethods[" + expectedClass.getName() + "]", //$NON-NLS-1$ //$NON-NLS-2$
 						() -> testMethods(expectedClassStructure)));
 			}
 		}
@@ -60,7 +57,7 @@ public abstract class MethodTestProvider extends StructuralTestProvider {
 		 * Using a custom URI here to workaround surefire rendering the JUnit XML
 		 * without the correct test names.
 		 */
-		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), tests.stream());
+		return dynamicContainer(getClass().getName(), new URI(getClass().getName()), evaluateTests(tests));
 	}
 
 	/**
@@ -73,11 +70,10 @@ public abstract class MethodTestProvider extends StructuralTestProvider {
 	 */
 	public static void testMethods(ExpectedClassStructure expectedClassStructure) {
 		var expectedClassName = expectedClassStructure.getExpectedClassName();
-		var observedClass = findClassForTestType(expectedClassStructure, "method"); //$NON-NLS-1$
-		if (expectedClassStructure.hasProperty(JSON_PROPERTY_METHODS)) {
-			var methodsJSON = expectedClassStructure.getPropertyAsJsonArray(JSON_PROPERTY_METHODS);
-			checkMethods(expectedClassName, observedClass, methodsJSON);
-		}
+		var observedClass = observeClassForTestType(expectedClassStructure, "method"); //$NON-NLS-1$
+		var expectedClass = expectedClassStructure.getCompiledClass();
+		if (expectedClass.hasMethods())
+			checkMethods(expectedClassName, observedClass, expectedClass.getMethods());
 	}
 
 	/**
@@ -94,44 +90,58 @@ public abstract class MethodTestProvider extends StructuralTestProvider {
 	 *                          modifiers of each method.
 	 */
 	protected static void checkMethods(String expectedClassName, Class<?> observedClass, JSONArray expectedMethods) {
-		for (var i = 0; i < expectedMethods.length(); i++) {
-			var expectedMethod = expectedMethods.getJSONObject(i);
-			var expectedName = expectedMethod.getString(JSON_PROPERTY_NAME);
-			var expectedParameters = getExpectedJsonProperty(expectedMethod, JSON_PROPERTY_PARAMETERS);
-			var expectedModifiers = getExpectedJsonProperty(expectedMethod, JSON_PROPERTY_MODIFIERS);
-			var expectedAnnotations = getExpectedJsonProperty(expectedMethod, JSON_PROPERTY_ANNOTATIONS);
-			var expectedReturnType = expectedMethod.getString(JSON_PROPERTY_RETURN_TYPE);
-			var strictParameterOrder = getExpectedJsonBooleanProperty(expectedMethod, JSON_PROPERTY_STRICT_ORDER);
-			var checks = new MethodChecks();
-			for (Method observedMethod : observedClass.getDeclaredMethods()) {
-				// TODO: check if overloading is supported properly
-				if (expectedName.equals(observedMethod.getName())) {
-					checks.name = true;
-					checks.parameters = checkParameters(observedMethod.getParameterTypes(), expectedParameters,
-							strictParameterOrder);
-					checks.modifiers = checkModifiers(Modifier.toString(observedMethod.getModifiers()).split(" "), //$NON-NLS-1$
-							expectedModifiers);
-					checks.annotations = checkAnnotations(observedMethod.getAnnotations(), expectedAnnotations);
-					checks.returnType = checkExpectedType(observedMethod.getReturnType(),
-							observedMethod.getGenericReturnType(), expectedReturnType);
+		checkMethods(expectedClassName, ObservedClass.of(observedClass),
+				StructureOracle.compileMethods(expectedMethods));
+	}
 
-					// If all are correct, then we found the desired method and we can break the
-					// loop
-					if (checks.hasPassedAll())
-						break;
-				}
-				/*
-				 * TODO: we should also take wrong case and typos into account (i.e. the else
-				 * case)
-				 */
+	private static void checkMethods(String expectedClassName, ObservedClass observedClass,
+			List<ExpectedMethod> expectedMethods) {
+		for (ExpectedMethod expectedMethod : expectedMethods) {
+			var expectedName = expectedMethod.getName();
+			var expectedParameters = expectedMethod.getParameters();
+			// look up the overloads with matching parameter types first
+			var candidates = observedClass.findMethods(expectedName, expectedParameters.getFingerprint(),
+					expectedParameters.isStrictOrder());
+			var checks = checkObservedMethods(expectedMethod, candidates);
+			if (!checks.hasPassedAll())
+				checks = checkObservedMethods(expectedMethod, observedClass.getMethods(expectedName));
+			if (!checks.name) {
+				// point to methods that have the wrong case or typos in their name, if any
+				var misnamedMethod = observedClass.findMisnamedMethod(expectedName);
+				if (misnamedMethod.isPresent())
+					throw localizedFailure("structural.method.misnamed", expectedName, expectedClassName, //$NON-NLS-1$
+							expectedParameters.describe(), misnamedMethod.get());
 			}
 			checkMethodCorrectness(expectedClassName, expectedName, expectedParameters, checks);
 		}
 	}
 
+	/**
+	 * Checks the given methods until one matches the expected method completely.
+	 * If none does, the checks of the last method are returned, so for several
+	 * overloads the failure reported is that of the last one, which is not
+	 * necessarily the overload closest to the expected method.
+	 */
+	private static MethodChecks checkObservedMethods(ExpectedMethod expectedMethod,
+			List<ObservedExecutable> observedMethods) {
+		var checks = new MethodChecks();
+		for (ObservedExecutable observedMethod : observedMethods) {
+			checks.name = true;
+			checks.parameters = expectedMethod.getParameters().matches(observedMethod);
+			checks.modifiers = expectedMethod.getModifiers().matches(observedMethod.getModifiers());
+			checks.annotations = expectedMethod.getAnnotations().matches(observedMethod.getAnnotations());
+			checks.returnType = expectedMethod.getReturnType().matches(observedMethod.getReturnType());
+
+			// If all are correct, then we found the desired method and we can break the loop
+			if (checks.hasPassedAll())
+				break;
+		}
+		return checks;
+	}
+
 	private static void checkMethodCorrectness(String expectedClassName, String expectedName,
-			JSONArray expectedParameters, MethodChecks methodChecks) {
-		String parameters = StructuralTestProvider.describeParameters(expectedParameters);
+			ExpectedParameters expectedParameters, MethodChecks methodChecks) {
+		String parameters = expectedParameters.describe();
 		if (!methodChecks.name)
 			throw localizedFailure("structural.method.name", expectedName, expectedClassName, parameters); //$NON-NLS-1$
 		if (!methodChecks.parameters)
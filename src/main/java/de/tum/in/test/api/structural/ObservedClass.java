@@ -0,0 +1,468 @@
+package de.tum.in.test.api.structural;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.stream.*;
+
+import de.tum.in.test.api.structural.testutils.NameIndex;
+
+/**
+ * A snapshot of the structure of a class that is checked by the structural
+ * tests.
+ * <p>
+ * The declared fields, methods and constructors are only retrieved once per
+ * class and indexed by name, together with their modifiers, annotations and
+ * types. All types are represented by their names only, which allows creating
+ * the snapshot either using reflection or by reading the class file, see
+ * {@link ClassFileReader}. Snapshots created by reflection are stored in a
+ * {@link ClassValue} and are thereby shared by all structural providers without
+ * preventing the class from being unloaded.
+ *
+ * @since 1.14.0
+ */
+final class ObservedClass {
+
+	private static final String CONSTRUCTOR_KEY = "<init>"; //$NON-NLS-1$
+
+	private static final ClassValue<ObservedClass> OBSERVED_CLASSES = new ClassValue<>() {
+		@Override
+		protected ObservedClass computeValue(Class<?> type) {
+			return new ObservedClass(type);
+		}
+	};
+
+	private final String name;
+	private final int modifierFlags;
+	private final Set<String> modifiers;
+	private final boolean isEnum;
+	private final ObservedType superclass;
+	private final List<ObservedType> interfaces;
+	private final List<ObservedType> annotations;
+	private final Map<String, ObservedField> fieldsByName;
+	private final Map<String, List<ObservedExecutable>> methodsByName;
+	private final List<ObservedExecutable> constructors;
+	private final Set<String> enumConstantNames;
+	/*
+	 * Methods and constructors by their name and parameter fingerprint, see
+	 * executableKey
+	 */
+	private final Map<String, List<ObservedExecutable>> executablesByParameters;
+	/*
+	 * Only needed if members are not found by their exact name, created on first
+	 * use
+	 */
+	private volatile NameIndex fieldNameIndex;
+	private volatile NameIndex methodNameIndex;
+
+	ObservedClass(String name, int modifierFlags, boolean isEnum, ObservedType superclass,
+			List<ObservedType> interfaces, List<ObservedType> annotations, List<ObservedField> fields,
+			List<ObservedExecutable> methods, List<ObservedExecutable> constructors) {
+		this.name = name;
+		this.modifierFlags = modifierFlags;
+		this.modifiers = modifierSet(modifierFlags);
+		this.isEnum = isEnum;
+		this.superclass = superclass;
+		this.interfaces = List.copyOf(interfaces);
+		this.annotations = List.copyOf(annotations);
+		this.fieldsByName = fields.stream()
+				.collect(Collectors.toUnmodifiableMap(ObservedField::getName, field -> field, (a, b) -> a));
+		this.methodsByName = methods.stream()
+				.collect(Collectors.groupingBy(ObservedExecutable::getName, Collectors.toUnmodifiableList()));
+		this.constructors = List.copyOf(constructors);
+		this.enumConstantNames = isEnum
+				? fields.stream().filter(ObservedField::isEnumConstant).map(ObservedField::getName)
+						.collect(Collectors.toCollection(LinkedHashSet::new))
+				: null;
+		Map<String, List<ObservedExecutable>> byParameters = new HashMap<>();
+		for (ObservedExecutable method : methods)
+			indexByParameters(method.getName(), method, byParameters);
+		for (ObservedExecutable constructor : constructors)
+			indexByParameters(CONSTRUCTOR_KEY, constructor, byParameters);
+		this.executablesByParameters = byParameters;
+	}
+
+	private static void indexByParameters(String name, ObservedExecutable executable,
+			Map<String, List<ObservedExecutable>> byParameters) {
+		for (boolean strictOrder : new boolean[] { true, false }) {
+			var key = executableKey(name, executable.getParameterFingerprint(strictOrder), strictOrder);
+			byParameters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(executable);
+		}
+	}
+
+	private static String executableKey(String name, String parameterFingerprint, boolean strictOrder) {
+		return name + (strictOrder ? "(" : "{") + parameterFingerprint; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private ObservedClass(Class<?> type) {
+		this(type.getName(), type.getModifiers(), type.isEnum(),
+				type.getSuperclass() == null ? null : ObservedType.of(type.getSuperclass(), type.getGenericSuperclass()),
+				ObservedType.ofAll(type.getInterfaces(), type.getGenericInterfaces()),
+				ObservedType.ofAnnotations(type.getAnnotations()),
+				Stream.of(type.getDeclaredFields()).map(ObservedField::new).collect(Collectors.toList()),
+				Stream.of(type.getDeclaredMethods()).map(ObservedExecutable::new).collect(Collectors.toList()),
+				Stream.of(type.getDeclaredConstructors()).map(ObservedExecutable::new).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Returns the snapshot of the given loaded class, created using reflection.
+	 *
+	 * @param type the class
+	 * @return the shared snapshot
+	 */
+	static ObservedClass of(Class<?> type) {
+		return OBSERVED_CLASSES.get(type);
+	}
+
+	String getName() {
+		return name;
+	}
+
+	int getModifierFlags() {
+		return modifierFlags;
+	}
+
+	Set<String> getModifiers() {
+		return modifiers;
+	}
+
+	boolean isEnum() {
+		return isEnum;
+	}
+
+	/**
+	 * @return the superclass or null for interfaces and {@link Object}
+	 */
+	ObservedType getSuperclass() {
+		return superclass;
+	}
+
+	List<ObservedType> getInterfaces() {
+		return interfaces;
+	}
+
+	List<ObservedType> getAnnotations() {
+		return annotations;
+	}
+
+	/**
+	 * @param fieldName the name of the field
+	 * @return the declared field or null if there is none with this name
+	 */
+	ObservedField getField(String fieldName) {
+		return fieldsByName.get(fieldName);
+	}
+
+	/**
+	 * @param methodName the name of the methods
+	 * @return all declared methods with the name, the list might be empty
+	 */
+	List<ObservedExecutable> getMethods(String methodName) {
+		return methodsByName.getOrDefault(methodName, List.of());
+	}
+
+	List<ObservedExecutable> getConstructors() {
+		return constructors;
+	}
+
+	/**
+	 * Returns the declared methods with the name and the parameter fingerprint,
+	 * see {@link #parameterFingerprint(List, boolean)}.
+	 *
+	 * @param methodName           the name of the methods
+	 * @param parameterFingerprint the fingerprint of the parameters
+	 * @param strictOrder          if the fingerprint considers the parameter
+	 *                             order
+	 * @return the candidate methods, the list might be empty
+	 */
+	List<ObservedExecutable> findMethods(String methodName, String parameterFingerprint, boolean strictOrder) {
+		return executablesByParameters.getOrDefault(executableKey(methodName, parameterFingerprint, strictOrder),
+				List.of());
+	}
+
+	/**
+	 * Returns the declared constructors with the parameter fingerprint, see
+	 * {@link #parameterFingerprint(List, boolean)}.
+	 *
+	 * @param parameterFingerprint the fingerprint of the parameters
+	 * @param strictOrder          if the fingerprint considers the parameter
+	 *                             order
+	 * @return the candidate constructors, the list might be empty
+	 */
+	List<ObservedExecutable> findConstructors(String parameterFingerprint, boolean strictOrder) {
+		return executablesByParameters.getOrDefault(executableKey(CONSTRUCTOR_KEY, parameterFingerprint, strictOrder),
+				List.of());
+	}
+
+	/**
+	 * Finds a declared field whose name only differs in upper and lower case or by
+	 * typos from the given name, see {@link NameIndex}.
+	 *
+	 * @param fieldName the expected name of the field
+	 * @return the name of the similar field, if there is any
+	 */
+	Optional<String> findMisnamedField(String fieldName) {
+		var index = fieldNameIndex;
+		if (index == null) {
+			index = createMemberNameIndex(fieldsByName.keySet());
+			fieldNameIndex = index;
+		}
+		return findMisnamed(index, fieldName);
+	}
+
+	/**
+	 * Finds declared methods whose name only differs in upper and lower case or by
+	 * typos from the given name, see {@link NameIndex}.
+	 *
+	 * @param methodName the expected name of the methods
+	 * @return the name of the similar methods, if there are any
+	 */
+	Optional<String> findMisnamedMethod(String methodName) {
+		var index = methodNameIndex;
+		if (index == null) {
+			index = createMemberNameIndex(methodsByName.keySet());
+			methodNameIndex = index;
+		}
+		return findMisnamed(index, methodName);
+	}
+
+	private static NameIndex createMemberNameIndex(Set<String> memberNames) {
+		// synthetic members like this$0 or lambda$run$0 are never meant by the user
+		return new NameIndex(memberNames.stream().filter(memberName -> memberName.indexOf('$') < 0)
+				.collect(Collectors.toList()));
+	}
+
+	private static Optional<String> findMisnamed(NameIndex index, String memberName) {
+		var withDifferentCase = index.findWithDifferentCase(memberName);
+		if (!withDifferentCase.isEmpty())
+			return Optional.of(withDifferentCase.get(0));
+		return index.findMisspelled(memberName);
+	}
+
+	/**
+	 * Returns the names of the enum constants in the order of their declaration.
+	 *
+	 * @return the names of the constants or null if the class is no enum
+	 */
+	Set<String> getEnumConstantNames() {
+		return enumConstantNames;
+	}
+
+	/**
+	 * Returns the modifiers as set of their keywords, the same as the ones used in
+	 * the structure oracle.
+	 *
+	 * @param modifiers the modifiers as returned by reflection
+	 * @return the keywords, empty if there are no modifiers
+	 */
+	static Set<String> modifierSet(int modifiers) {
+		var modifierString = Modifier.toString(modifiers);
+		if (modifierString.isEmpty())
+			return Set.of();
+		return Set.of(modifierString.split(" ")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates the fingerprint of a parameter list from the simple names of the
+	 * parameter types. Without strict order, the names are sorted first, so that
+	 * the fingerprint represents the multiset of the parameter types.
+	 *
+	 * @param simpleNames the simple names of the parameter types
+	 * @param strictOrder if the order of the parameters is relevant
+	 * @return the fingerprint, equal for equal parameter lists
+	 */
+	static String parameterFingerprint(List<String> simpleNames, boolean strictOrder) {
+		if (strictOrder || simpleNames.size() < 2)
+			return String.join(",", simpleNames); //$NON-NLS-1$
+		return simpleNames.stream().sorted().collect(Collectors.joining(",")); //$NON-NLS-1$
+	}
+
+	/**
+	 * The names of a type, in the form that reflection would return them.
+	 */
+	static final class ObservedType {
+
+		private final String canonicalName;
+		private final String typeName;
+		private final String simpleName;
+
+		/**
+		 * @param canonicalName the canonical name as returned by
+		 *                      {@link Class#getCanonicalName()} or if there is none,
+		 *                      {@link Class#getName()}
+		 * @param typeName      the name of the generic type as returned by
+		 *                      {@link Type#getTypeName()}
+		 * @param simpleName    the simple name as returned by
+		 *                      {@link Class#getSimpleName()}
+		 */
+		ObservedType(String canonicalName, String typeName, String simpleName) {
+			this.canonicalName = canonicalName;
+			this.typeName = typeName;
+			this.simpleName = simpleName;
+		}
+
+		static ObservedType of(Class<?> type, Type genericType) {
+			var canonicalName = type.getCanonicalName();
+			return new ObservedType(canonicalName == null ? type.getName() : canonicalName,
+					genericType.getTypeName(), type.getSimpleName());
+		}
+
+		static ObservedType of(Class<?> type) {
+			return of(type, type);
+		}
+
+		static List<ObservedType> ofAll(Class<?>[] types) {
+			return Stream.of(types).map(ObservedType::of).collect(Collectors.toUnmodifiableList());
+		}
+
+		static List<ObservedType> ofAll(Class<?>[] types, Type[] genericTypes) {
+			return IntStream.range(0, types.length).mapToObj(i -> of(types[i], genericTypes[i]))
+					.collect(Collectors.toUnmodifiableList());
+		}
+
+		static List<ObservedType> ofAnnotations(Annotation[] annotations) {
+			return Stream.of(annotations).map(annotation -> of(annotation.annotationType()))
+					.collect(Collectors.toUnmodifiableList());
+		}
+
+		String getCanonicalName() {
+			return canonicalName;
+		}
+
+		String getTypeName() {
+			return typeName;
+		}
+
+		String getSimpleName() {
+			return simpleName;
+		}
+
+		@Override
+		public String toString() {
+			return typeName;
+		}
+	}
+
+	static final class ObservedField {
+
+		private final String name;
+		private final ObservedType type;
+		private final Set<String> modifiers;
+		private final List<ObservedType> annotations;
+		private final boolean enumConstant;
+
+		ObservedField(String name, ObservedType type, int modifiers, List<ObservedType> annotations,
+				boolean enumConstant) {
+			this.name = name;
+			this.type = type;
+			this.modifiers = modifierSet(modifiers);
+			this.annotations = List.copyOf(annotations);
+			this.enumConstant = enumConstant;
+		}
+
+		ObservedField(Field field) {
+			this(field.getName(), ObservedType.of(field.getType(), field.getGenericType()), field.getModifiers(),
+					ObservedType.ofAnnotations(field.getAnnotations()), field.isEnumConstant());
+		}
+
+		String getName() {
+			return name;
+		}
+
+		ObservedType getType() {
+			return type;
+		}
+
+		Set<String> getModifiers() {
+			return modifiers;
+		}
+
+		List<ObservedType> getAnnotations() {
+			return annotations;
+		}
+
+		boolean isEnumConstant() {
+			return enumConstant;
+		}
+	}
+
+	/**
+	 * A method or constructor.
+	 */
+	static final class ObservedExecutable {
+
+		private final String name;
+		private final Set<String> modifiers;
+		private final List<ObservedType> annotations;
+		private final List<ObservedType> parameterTypes;
+		private final String orderedParameterFingerprint;
+		private final String unorderedParameterFingerprint;
+		private final ObservedType returnType;
+
+		/**
+		 * @param returnType the return type, null for constructors
+		 */
+		ObservedExecutable(String name, int modifiers, List<ObservedType> annotations,
+				List<ObservedType> parameterTypes, ObservedType returnType) {
+			this.name = name;
+			this.modifiers = modifierSet(modifiers);
+			this.annotations = List.copyOf(annotations);
+			this.parameterTypes = List.copyOf(parameterTypes);
+			var simpleNames = parameterTypes.stream().map(ObservedType::getSimpleName).collect(Collectors.toList());
+			this.orderedParameterFingerprint = parameterFingerprint(simpleNames, true);
+			this.unorderedParameterFingerprint = parameterFingerprint(simpleNames, false);
+			this.returnType = returnType;
+		}
+
+		ObservedExecutable(Executable executable) {
+			this(executable.getName(), executable.getModifiers(), ObservedType.ofAnnotations(executable.getAnnotations()),
+					ofParameters(executable),
+					executable instanceof Method ? ObservedType.of(((Method) executable).getReturnType(),
+							((Method) executable).getGenericReturnType()) : null);
+		}
+
+		private static List<ObservedType> ofParameters(Executable executable) {
+			var parameterTypes = executable.getParameterTypes();
+			var genericParameterTypes = executable.getGenericParameterTypes();
+			/*
+			 * The generic parameter types can lack synthetic and implicit parameters, e.g.
+			 * of constructors of inner classes
+			 */
+			if (genericParameterTypes.length != parameterTypes.length)
+				return ObservedType.ofAll(parameterTypes);
+			return ObservedType.ofAll(parameterTypes, genericParameterTypes);
+		}
+
+		String getName() {
+			return name;
+		}
+
+		Set<String> getModifiers() {
+			return modifiers;
+		}
+
+		List<ObservedType> getAnnotations() {
+			return annotations;
+		}
+
+		List<ObservedType> getParameterTypes() {
+			return parameterTypes;
+		}
+
+		/**
+		 * @param strictOrder if the fingerprint considers the parameter order
+		 * @return the fingerprint of the parameters, see
+		 *         {@link ObservedClass#parameterFingerprint(List, boolean)}
+		 */
+		String getParameterFingerprint(boolean strictOrder) {
+			return strictOrder ? orderedParameterFingerprint : unorderedParameterFingerprint;
+		}
+
+		/**
+		 * @return the return type of the method, null for constructors
+		 */
+		ObservedType getReturnType() {
+			return returnType;
+		}
+	}
+}
@@ -1,21 +1,28 @@
 package de.tum.in.test.api.structural;
 
 import static de.tum.in.test.api.localization.Messages.*;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
 import java.io.*;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.net.URL;
+import java.time.Duration;
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
 import org.json.*;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.function.Executable;
 import org.opentest4j.AssertionFailedError;
 import org.slf4j.*;
 
+import de.tum.in.test.api.AresConfiguration;
+import de.tum.in.test.api.internal.*;
 import de.tum.in.test.api.structural.testutils.*;
 
 /**
@@ -76,7 +83,8 @@ public abstract class StructuralTestProvider {
 	protected static final String JSON_PROPERTY_OPTIONAL = "optional"; //$NON-NLS-1$
 
 	private static final String PACKAGE_PATH_SEPARATOR = "."; //$NON-NLS-1$
-	private static final Pattern PACKAGE_NAME_IN_GENERIC_TYPE = Pattern.compile("(?:[^\\[\\]<>?,\\s.]++\\.)++"); //$NON-NLS-1$
+
+	private static final Map<String, JSONArray> STRUCTURE_ORACLES_BY_URL = new ConcurrentHashMap<>();
 
 	protected static JSONArray structureOracleJSON;
 
@@ -96,13 +104,7 @@ public abstract class StructuralTestProvider {
 	 * @return The current class that undergoes the tests, never null.
 	 */
 	protected static Class<?> findClassForTestType(ExpectedClassStructure expectedClassStructure, String typeOfTest) {
-		var classNameScanner = new ClassNameScanner(expectedClassStructure.getExpectedClassName(),
-				expectedClassStructure.getExpectedPackageName());
-		var scanResultEnum = classNameScanner.getScanResult().getResult();
-		var classNameScanMessage = classNameScanner.getScanResult().getMessage();
-		// please note: inner classes are not supported
-		if (!ScanResultType.CORRECT_NAME_CORRECT_PLACE.equals(scanResultEnum))
-			throw failure(classNameScanMessage);
+		var classNameScanMessage = scanForExpectedClass(expectedClassStructure);
 		try {
 			return Class.forName(expectedClassStructure.getQualifiedClassName(), false,
 					StructuralTestProvider.class.getClassLoader());
@@ -114,6 +116,135 @@ public abstract class StructuralTestProvider {
 		}
 	}
 
+	/**
+	 * Scans the project like {@link #findClassForTestType(ExpectedClassStructure,
+	 * String)} and returns the structure of the class if it's found. If
+	 * {@link AresConfiguration#isUsingClassFilesForStructuralTests()} is enabled,
+	 * the class file is read instead of loading the class.
+	 *
+	 * @param expectedClassStructure The class structure that we expect to find a
+	 *                               class for.
+	 * @param typeOfTest             The name of the test type, displayed in the
+	 *                               feedback.
+	 * @return The structure of the class that undergoes the tests, never null.
+	 */
+	static ObservedClass observeClassForTestType(ExpectedClassStructure expectedClassStructure, String typeOfTest) {
+		if (!AresConfiguration.isUsingClassFilesForStructuralTests())
+			return ObservedClass.of(findClassForTestType(expectedClassStructure, typeOfTest));
+		var classNameScanMessage = scanForExpectedClass(expectedClassStructure);
+		return ClassFileReader
+				.read(expectedClassStructure.getQualifiedClassName(), StructuralTestProvider.class.getClassLoader())
+				.orElseThrow(() -> localizedFailure("structural.common.classLoadFailed", typeOfTest, //$NON-NLS-1$
+						classNameScanMessage));
+	}
+
+	private static String scanForExpectedClass(ExpectedClassStructure expectedClassStructure) {
+		var classNameScanner = new ClassNameScanner(expectedClassStructure.getExpectedClassName(),
+				expectedClassStructure.getExpectedPackageName());
+		var scanResultEnum = classNameScanner.getScanResult().getResult();
+		var classNameScanMessage = classNameScanner.getScanResult().getMessage();
+		// please note: inner classes need to be specified as Outer$Inner
+		if (!ScanResultType.CORRECT_NAME_CORRECT_PLACE.equals(scanResultEnum))
+			throw failure(classNameScanMessage);
+		return classNameScanMessage;
+	}
+
+	/**
+	 * Returns the dynamic tests for the classes of the structure oracle, in the
+	 * same order. If {@link AresConfiguration#getStructuralTestParallelism()} is
+	 * greater than one, the tests are evaluated in parallel right away on a pool
+	 * of trusted threads, and the returned dynamic tests only report the outcomes.
+	 * All outcomes are awaited until one common deadline, which is
+	 * {@link AresConfiguration#getStructuralTestTimeout()} after the tests were
+	 * submitted. A test that is still running then fails with a timeout, and a
+	 * test that was not even started, e.g. because the pool is occupied by
+	 * hanging tests, fails as not executed.
+	 *
+	 * @param tests the dynamic tests that perform the structural checks
+	 * @return the dynamic tests to be executed by JUnit
+	 */
+	static Stream<DynamicTest> evaluateTests(List<DynamicTest> tests) {
+		var parallelism = Math.min(AresConfiguration.getStructuralTestParallelism(), tests.size());
+		if (parallelism <= 1)
+			return tests.stream();
+		var executor = Executors.newFixedThreadPool(parallelism, new WhitelistedThreadFactory("ajts-st-")); //$NON-NLS-1$
+		try {
+			List<Future<Throwable>> outcomes = new ArrayList<>(tests.size());
+			List<AtomicBoolean> started = new ArrayList<>(tests.size());
+			for (DynamicTest test : tests) {
+				var testStarted = new AtomicBoolean();
+				started.add(testStarted);
+				outcomes.add(executor.submit(() -> {
+					testStarted.set(true);
+					return execute(test.getExecutable());
+				}));
+			}
+			var timeout = AresConfiguration.getStructuralTestTimeout();
+			awaitOutcomes(outcomes, System.nanoTime() + timeout.toNanos());
+			// tests that did not start are cancelled first, so they cannot start on threads of cancelled tests
+			for (var i = 0; i < tests.size(); i++) {
+				if (!started.get(i).get())
+					outcomes.get(i).cancel(true);
+			}
+			outcomes.forEach(outcome -> outcome.cancel(true));
+			List<DynamicTest> evaluatedTests = new ArrayList<>(tests.size());
+			for (var i = 0; i < tests.size(); i++) {
+				var failure = outcomeOf(outcomes.get(i), started.get(i).get(), timeout);
+				evaluatedTests.add(dynamicTest(tests.get(i).getDisplayName(), () -> {
+					if (failure != null)
+						throw failure;
+				}));
+			}
+			return evaluatedTests.stream();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Throwable execute(Executable executable) {
+		try {
+			executable.execute();
+			return null;
+		} catch (Throwable t) { // NOSONAR the failure is rethrown by the dynamic test
+			return t;
+		}
+	}
+
+	/**
+	 * Waits until all outcomes are available or the deadline has passed.
+	 */
+	private static void awaitOutcomes(List<Future<Throwable>> outcomes, long deadline) {
+		for (Future<Throwable> outcome : outcomes) {
+			try {
+				outcome.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (@SuppressWarnings("unused") ExecutionException e) {
+				// reported by outcomeOf
+			} catch (@SuppressWarnings("unused") TimeoutException e) {
+				return;
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static Throwable outcomeOf(Future<Throwable> outcome, boolean started, Duration timeout) {
+		if (outcome.isCancelled()) {
+			var formattedTimeout = TimeoutUtils.formatDuration(timeout);
+			if (!started)
+				return localizedFailure("structural.common.notExecuted", formattedTimeout); //$NON-NLS-1$
+			return localizedFailure("timeout.failure_message", formattedTimeout); //$NON-NLS-1$
+		}
+		try {
+			return outcome.get();
+		} catch (ExecutionException e) {
+			return e.getCause();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return e;
+		}
+	}
+
 	/**
 	 * get the expected elements or an empty JSON array
 	 *
@@ -147,90 +278,11 @@ public abstract class StructuralTestProvider {
 	 * @return True if they match, false otherwise.
 	 */
 	protected static boolean checkModifiers(String[] observedModifiers, JSONArray expectedModifiers) {
-		/*
-		 * If both the observed and expected elements have no modifiers, then they
-		 * match. A note: for technical reasons, we get in case of no observed
-		 * modifiers, a string array with an empty string.
-		 */
-		if (Arrays.equals(observedModifiers, new String[] { "" }) && expectedModifiers.length() == 0) //$NON-NLS-1$
-			return true;
-		/*
-		 * Otherwise check if all expected necessary modifiers are contained in the
-		 * array of the observed ones and if any forbidden modifiers were used.
-		 */
-		Set<ModifierSpecification> modifierSpecifications = new HashSet<>();
-		for (var i = 0; i < expectedModifiers.length(); i++)
-			modifierSpecifications.add(ModifierSpecification.getModifierForJsonString(expectedModifiers.getString(i)));
-		Set<String> observedModifiersSet = Set.of(observedModifiers);
-		Set<String> allowedModifiers = modifierSpecifications.stream().map(ModifierSpecification::getModifier)
-				.collect(Collectors.toSet());
-		boolean hasAllNecessaryModifiers = modifierSpecifications.stream().filter(ModifierSpecification::isRequired)
-				.map(ModifierSpecification::getModifier).allMatch(observedModifiersSet::contains);
-		boolean hasForbiddenModifier = observedModifiersSet.stream()
-				.anyMatch(modifier -> !allowedModifiers.contains(modifier));
-
-		return hasAllNecessaryModifiers && !hasForbiddenModifier;
-	}
-
-	private static final class ModifierSpecification {
-
-		private final String modifier;
-		private final boolean optional;
-
-		private ModifierSpecification(String modifier, boolean optional) {
-			this.modifier = Objects.requireNonNull(modifier);
-			this.optional = optional;
-		}
-
-		String getModifier() {
-			return modifier;
-		}
-
-		boolean isRequired() {
-			return !optional;
-		}
-
-		static ModifierSpecification getModifierForJsonString(String jsonString) {
-			String[] sections = jsonString.split(":", -1); //$NON-NLS-1$
-			if (sections.length == 1)
-				return new ModifierSpecification(jsonString, false);
-			if (JSON_PROPERTY_OPTIONAL.equals(sections[0]))
-				return new ModifierSpecification(sections[1].trim(), true);
-			throw new IllegalArgumentException("Invalid entry for modifier: '" + jsonString + "'"); //$NON-NLS-1$ //$NON-NLS-2$
-		}
+		return StructureOracle.ExpectedModifiers.compile(expectedModifiers).matches(observedModifiers);
 	}
 
 	protected static boolean checkAnnotations(Annotation[] observedAnnotations, JSONArray expectedAnnotations) {
-		/*
-		 * If both the observed and expected elements have no annotations, then they
-		 * match. A note: for technical reasons, we get in case of no observed
-		 * annotations, a string array with an empty string.
-		 */
-		if (observedAnnotations.length == 0 && expectedAnnotations.length() == 0)
-			return true;
-		/*
-		 * If the number of the annotations does not match, then the annotations per se
-		 * do not match either.
-		 */
-		if (observedAnnotations.length != expectedAnnotations.length())
-			return false;
-		/*
-		 * Otherwise check if each expected annotation is contained in the array of the
-		 * observed ones. If at least one isn't, then the modifiers don't match.
-		 */
-		for (Object expectedAnnotation : expectedAnnotations) {
-			var expectedAnnotationFound = false;
-			var expectedAnnotationAsString = (String) expectedAnnotation;
-			for (Annotation observedAnnotation : observedAnnotations)
-				if (checkExpectedType(observedAnnotation.annotationType(), observedAnnotation.annotationType(),
-						expectedAnnotationAsString)) {
-					expectedAnnotationFound = true;
-					break;
-				}
-			if (!expectedAnnotationFound)
-				return false;
-		}
-		return true;
+		return StructureOracle.ExpectedAnnotations.compile(expectedAnnotations).matches(observedAnnotations);
 	}
 
 	/**
@@ -244,40 +296,7 @@ public abstract class StructuralTestProvider {
 	 */
 	protected static boolean checkParameters(Class<?>[] observedParameters, JSONArray expectedParameters,
 			boolean strictOrder) {
-		/*
-		 * If both the observed and expected elements have no parameters, then they
-		 * match.
-		 */
-		if (observedParameters.length == 0 && expectedParameters.length() == 0)
-			return true;
-		/*
-		 * If the number of parameters do not match, then the parameters cannot match
-		 * either.
-		 */
-		if (observedParameters.length != expectedParameters.length())
-			return false;
-		var expectedParameterTypeNames = new String[expectedParameters.length()];
-		for (var i = 0; i < expectedParameters.length(); i++)
-			expectedParameterTypeNames[i] = expectedParameters.getString(i);
-
-		var observedParameterTypeNames = new String[observedParameters.length];
-		for (var i = 0; i < observedParameters.length; i++)
-			// TODO: Canonical names should be supported as well.
-			observedParameterTypeNames[i] = observedParameters[i].getSimpleName();
-
-		if (strictOrder) {
-			return Arrays.equals(expectedParameterTypeNames, observedParameterTypeNames);
-		}
-
-		/*
-		 * Create hash tables to store how often a parameter type occurs. Checking the
-		 * occurrences of a certain parameter type is enough, since the parameter order
-		 * is not relevant to us.
-		 */
-		Map<String, Integer> expectedParametersHashtable = createParametersHashMap(expectedParameterTypeNames);
-		Map<String, Integer> observedParametersHashtable = createParametersHashMap(observedParameterTypeNames);
-
-		return expectedParametersHashtable.equals(observedParametersHashtable);
+		return StructureOracle.ExpectedParameters.compile(expectedParameters, strictOrder).matches(observedParameters);
 	}
 
 	/**
@@ -305,24 +324,7 @@ public abstract class StructuralTestProvider {
 	 * @return True if the names match, false if not.
 	 */
 	protected static boolean checkExpectedType(Class<?> actualClass, Type actualGenericType, String expectedTypeName) {
-		var expectedTypeIsGeneric = expectedTypeName.contains("<") && expectedTypeName.contains(">"); //$NON-NLS-1$ //$NON-NLS-2$
-		String actualName;
-		if (expectedTypeIsGeneric) {
-			actualName = actualGenericType.getTypeName();
-		} else {
-			actualName = actualClass.getCanonicalName();
-			if (actualName == null)
-				actualName = actualClass.getName();
-		}
-		var actualSimpleName = PACKAGE_NAME_IN_GENERIC_TYPE.matcher(actualName).replaceAll(""); //$NON-NLS-1$
-		/*
-		 * If the given expected name contains a '.' it can be assumed that it
-		 * represents a full canonical name. If it does not, we can assume it represents
-		 * a simple name.
-		 */
-		if (expectedTypeName.contains(PACKAGE_PATH_SEPARATOR))
-			return expectedTypeName.equals(actualName);
-		return expectedTypeName.equals(actualSimpleName);
+		return StructureOracle.ExpectedType.of(expectedTypeName).matches(actualClass, actualGenericType);
 	}
 
 	/**
@@ -348,6 +350,12 @@ public abstract class StructuralTestProvider {
 
 	/**
 	 * This method retrieves the JSON array in the structure oracle.
+	 * <p>
+	 * The oracle is only read once per URL. Each call returns a new copy of it,
+	 * which the caller may modify without affecting other providers, but only
+	 * until it is used by the structural tests, as the model compiled from it is
+	 * cached for each array. If a precompiled {@link BinaryStructureOracle} exists
+	 * next to the JSON file, it is used instead of parsing the JSON.
 	 *
 	 * @param structureOracleFileUrl The file url of the structure oracle file,
 	 *                               which is used for the structural tests.
@@ -356,6 +364,38 @@ public abstract class StructuralTestProvider {
 	protected static JSONArray retrieveStructureOracleJSON(URL structureOracleFileUrl) {
 		if (structureOracleFileUrl == null)
 			return null;
+		var structureOracle = STRUCTURE_ORACLES_BY_URL.computeIfAbsent(structureOracleFileUrl.toExternalForm(),
+				url -> readStructureOracleJSON(structureOracleFileUrl));
+		return (JSONArray) copyOf(structureOracle);
+	}
+
+	/**
+	 * Copies JSON arrays and objects deeply, which is faster than reading the
+	 * oracle again. All other JSON values are immutable.
+	 */
+	private static Object copyOf(Object value) {
+		if (value instanceof JSONArray) {
+			var array = (JSONArray) value;
+			var copy = new JSONArray(array.length());
+			for (Object element : array)
+				copy.put(copyOf(element));
+			return copy;
+		}
+		if (value instanceof JSONObject) {
+			var object = (JSONObject) value;
+			var copy = new JSONObject();
+			for (String key : object.keySet())
+				copy.put(key, copyOf(object.get(key)));
+			return copy;
+		}
+		return value;
+	}
+
+	private static JSONArray readStructureOracleJSON(URL structureOracleFileUrl) {
+		// a precompiled binary oracle next to the JSON file is preferred, if present
+		var binaryStructureOracle = BinaryStructureOracle.readFor(structureOracleFileUrl);
+		if (binaryStructureOracle.isPresent())
+			return binaryStructureOracle.get();
 		var result = new StringBuilder();
 		try (var bufferedReader = new BufferedReader(new InputStreamReader(structureOracleFileUrl.openStream()))) {
 			var buffer = new char[8192];
@@ -379,6 +419,7 @@ public abstract class StructuralTestProvider {
 		private final String expectedClassName;
 		private final String expectedPackageName;
 		private final JSONObject expectedClassJson;
+		private StructureOracle.ExpectedClass compiledClass;
 
 		public ExpectedClassStructure(String expectedClassName, String expectedPackageName,
 				JSONObject expectedClassJson) {
@@ -387,6 +428,11 @@ public abstract class StructuralTestProvider {
 			this.expectedClassJson = Objects.requireNonNull(expectedClassJson);
 		}
 
+		ExpectedClassStructure(StructureOracle.ExpectedClass compiledClass) {
+			this(compiledClass.getName(), compiledClass.getPackageName(), compiledClass.getJSON());
+			this.compiledClass = compiledClass;
+		}
+
 		public String getExpectedClassName() {
 			return expectedClassName;
 		}
@@ -417,6 +463,18 @@ public abstract class StructuralTestProvider {
 		public JSONArray getPropertyAsJsonArray(String propertyName) {
 			return getExpectedClassJson().getJSONArray(propertyName);
 		}
+
+		/**
+		 * Returns the compiled form of the expected class JSON, which is shared with
+		 * the other providers if the structure was created from the oracle.
+		 *
+		 * @return the compiled class
+		 */
+		synchronized StructureOracle.ExpectedClass getCompiledClass() {
+			if (compiledClass == null)
+				compiledClass = new StructureOracle.ExpectedClass(expectedClassJson);
+			return compiledClass;
+		}
 	}
 
 	protected static AssertionFailedError failure(String message) {
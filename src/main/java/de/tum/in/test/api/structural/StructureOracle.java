@@ -0,0 +1,737 @@
+package de.tum.in.test.api.structural;
+
+import static de.tum.in.test.api.localization.Messages.localized;
+import static de.tum.in.test.api.structural.StructuralTestProvider.*;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.*;
+
+import org.json.*;
+
+import de.tum.in.test.api.structural.ObservedClass.*;
+import de.tum.in.test.api.util.LruCache;
+
+/**
+ * The structure oracle (test.json) compiled into an immutable model, shared by
+ * all structural test providers.
+ * <p>
+ * The JSON is only navigated once per oracle: each class entry is compiled into
+ * an {@link ExpectedClass} with pre-parsed modifier specifications, parameter
+ * lists and type names. The sections of a class (class properties, attributes,
+ * enum values, methods and constructors) are compiled on first use, so that
+ * errors in the oracle are still reported by the dynamic test of the respective
+ * provider and not when generating the tests.
+ *
+ * @since 1.14.0
+ */
+final class StructureOracle {
+
+	private static final Map<JSONArray, StructureOracle> COMPILED_ORACLES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private final List<ExpectedClass> classes;
+
+	private StructureOracle(JSONArray structureOracleJSON) {
+		this.classes = IntStream.range(0, structureOracleJSON.length())
+				.mapToObj(i -> new ExpectedClass(structureOracleJSON.getJSONObject(i)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	/**
+	 * Returns the compiled model for the given oracle, compiling it only once for
+	 * each JSON array instance.
+	 *
+	 * @param structureOracleJSON the JSON array of the oracle, must not be modified
+	 *                            afterwards
+	 * @return the compiled oracle
+	 */
+	static StructureOracle of(JSONArray structureOracleJSON) {
+		return COMPILED_ORACLES.computeIfAbsent(structureOracleJSON, StructureOracle::new);
+	}
+
+	List<ExpectedClass> getClasses() {
+		return classes;
+	}
+
+	static List<ExpectedAttribute> compileAttributes(JSONArray attributesJSON) {
+		return compileAll(attributesJSON, ExpectedAttribute::new);
+	}
+
+	static List<ExpectedMethod> compileMethods(JSONArray methodsJSON) {
+		return compileAll(methodsJSON, ExpectedMethod::new);
+	}
+
+	static List<ExpectedConstructor> compileConstructors(JSONArray constructorsJSON) {
+		return compileAll(constructorsJSON, ExpectedConstructor::new);
+	}
+
+	static Set<String> compileEnumValues(JSONArray enumValuesJSON) {
+		// keep the order of the oracle for deterministic failure messages
+		return Collections.unmodifiableSet(new LinkedHashSet<>(getStrings(enumValuesJSON)));
+	}
+
+	private static <T> List<T> compileAll(JSONArray elements, Function<JSONObject, T> compiler) {
+		return IntStream.range(0, elements.length()).mapToObj(i -> compiler.apply(elements.getJSONObject(i)))
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	private static List<String> getStrings(JSONArray array) {
+		return IntStream.range(0, array.length()).mapToObj(array::getString)
+				.collect(Collectors.toUnmodifiableList());
+	}
+
+	/**
+	 * One class entry of the oracle.
+	 */
+	static final class ExpectedClass {
+
+		private final JSONObject json;
+		private final JSONObject classJSON;
+		private final String name;
+		private final String packageName;
+
+		private ExpectedClassProperties classProperties;
+		private List<ExpectedAttribute> attributes;
+		private Set<String> enumValues;
+		private List<ExpectedMethod> methods;
+		private List<ExpectedConstructor> constructors;
+
+		ExpectedClass(JSONObject json) {
+			this.json = json;
+			this.classJSON = json.optJSONObject(JSON_PROPERTY_CLASS);
+			this.name = getOptionalString(classJSON, JSON_PROPERTY_NAME);
+			this.packageName = getOptionalString(classJSON, JSON_PROPERTY_PACKAGE);
+		}
+
+		private static String getOptionalString(JSONObject object, String key) {
+			return object != null && object.has(key) ? object.getString(key) : null;
+		}
+
+		JSONObject getJSON() {
+			return json;
+		}
+
+		boolean hasClass() {
+			return classJSON != null;
+		}
+
+		boolean hasNameAndPackage() {
+			return name != null && packageName != null;
+		}
+
+		/**
+		 * Returns the simple name of the class.
+		 *
+		 * @return the name
+		 * @throws JSONException if the class or its name is not specified
+		 */
+		String getName() {
+			if (name == null)
+				return getClassJSON().getString(JSON_PROPERTY_NAME);
+			return name;
+		}
+
+		/**
+		 * Returns the package name of the class.
+		 *
+		 * @return the package name
+		 * @throws JSONException if the class or its package is not specified
+		 */
+		String getPackageName() {
+			if (packageName == null)
+				return getClassJSON().getString(JSON_PROPERTY_PACKAGE);
+			return packageName;
+		}
+
+		private JSONObject getClassJSON() {
+			if (classJSON == null)
+				return json.getJSONObject(JSON_PROPERTY_CLASS);
+			return classJSON;
+		}
+
+		boolean hasAttributes() {
+			return json.has(JSON_PROPERTY_ATTRIBUTES);
+		}
+
+		boolean hasEnumValues() {
+			return json.has(JSON_PROPERTY_ENUM_VALUES);
+		}
+
+		boolean hasMethods() {
+			return json.has(JSON_PROPERTY_METHODS);
+		}
+
+		boolean hasConstructors() {
+			return json.has(JSON_PROPERTY_CONSTRUCTORS);
+		}
+
+		synchronized ExpectedClassProperties getClassProperties() {
+			if (classProperties == null)
+				classProperties = new ExpectedClassProperties(getClassJSON());
+			return classProperties;
+		}
+
+		synchronized List<ExpectedAttribute> getAttributes() {
+			if (attributes == null)
+				attributes = compileAttributes(json.getJSONArray(JSON_PROPERTY_ATTRIBUTES));
+			return attributes;
+		}
+
+		synchronized Set<String> getEnumValues() {
+			if (enumValues == null)
+				enumValues = compileEnumValues(json.getJSONArray(JSON_PROPERTY_ENUM_VALUES));
+			return enumValues;
+		}
+
+		synchronized List<ExpectedMethod> getMethods() {
+			if (methods == null)
+				methods = compileMethods(json.getJSONArray(JSON_PROPERTY_METHODS));
+			return methods;
+		}
+
+		synchronized List<ExpectedConstructor> getConstructors() {
+			if (constructors == null)
+				constructors = compileConstructors(json.getJSONArray(JSON_PROPERTY_CONSTRUCTORS));
+			return constructors;
+		}
+	}
+
+	/**
+	 * The properties of the class itself, like the modifiers and super types.
+	 */
+	static final class ExpectedClassProperties {
+
+		private final boolean isAbstract;
+		private final boolean isEnum;
+		private final boolean isInterface;
+		private final ExpectedModifiers modifiers;
+		private final ExpectedType superclass;
+		private final List<ExpectedType> interfaces;
+		private final ExpectedAnnotations annotations;
+
+		ExpectedClassProperties(JSONObject classJSON) {
+			this.isAbstract = classJSON.optBoolean("isAbstract"); //$NON-NLS-1$
+			this.isEnum = classJSON.optBoolean("isEnum"); //$NON-NLS-1$
+			this.isInterface = classJSON.optBoolean("isInterface"); //$NON-NLS-1$
+			this.modifiers = classJSON.has(JSON_PROPERTY_MODIFIERS)
+					? ExpectedModifiers.compile(classJSON.getJSONArray(JSON_PROPERTY_MODIFIERS))
+					: null;
+			// Filter out the enums, since there is a separate test for them
+			var superclassName = classJSON.optString(JSON_PROPERTY_SUPERCLASS, null);
+			this.superclass = superclassName == null || "Enum".equals(superclassName) ? null //$NON-NLS-1$
+					: ExpectedType.of(superclassName);
+			this.interfaces = classJSON.has(JSON_PROPERTY_INTERFACES)
+					? getStrings(classJSON.getJSONArray(JSON_PROPERTY_INTERFACES)).stream().map(ExpectedType::of)
+							.collect(Collectors.toUnmodifiableList())
+					: null;
+			this.annotations = classJSON.has(JSON_PROPERTY_ANNOTATIONS)
+					? ExpectedAnnotations.compile(classJSON.getJSONArray(JSON_PROPERTY_ANNOTATIONS))
+					: null;
+		}
+
+		boolean isAbstract() {
+			return isAbstract;
+		}
+
+		boolean isEnum() {
+			return isEnum;
+		}
+
+		boolean isInterface() {
+			return isInterface;
+		}
+
+		/**
+		 * @return the modifiers or null if not specified
+		 */
+		ExpectedModifiers getModifiers() {
+			return modifiers;
+		}
+
+		/**
+		 * @return the superclass or null if not specified or <code>Enum</code>
+		 */
+		ExpectedType getSuperclass() {
+			return superclass;
+		}
+
+		/**
+		 * @return the interfaces or null if not specified
+		 */
+		List<ExpectedType> getInterfaces() {
+			return interfaces;
+		}
+
+		/**
+		 * @return the annotations or null if not specified
+		 */
+		ExpectedAnnotations getAnnotations() {
+			return annotations;
+		}
+	}
+
+	static final class ExpectedAttribute {
+
+		private final String name;
+		private final ExpectedType type;
+		private final ExpectedModifiers modifiers;
+		private final ExpectedAnnotations annotations;
+
+		ExpectedAttribute(JSONObject attributeJSON) {
+			this.name = attributeJSON.getString(JSON_PROPERTY_NAME);
+			this.type = ExpectedType.of(attributeJSON.getString(JSON_PROPERTY_TYPE));
+			this.modifiers = ExpectedModifiers.compile(getExpectedJsonProperty(attributeJSON, JSON_PROPERTY_MODIFIERS));
+			this.annotations = ExpectedAnnotations
+					.compile(getExpectedJsonProperty(attributeJSON, JSON_PROPERTY_ANNOTATIONS));
+		}
+
+		String getName() {
+			return name;
+		}
+
+		ExpectedType getType() {
+			return type;
+		}
+
+		ExpectedModifiers getModifiers() {
+			return modifiers;
+		}
+
+		ExpectedAnnotations getAnnotations() {
+			return annotations;
+		}
+	}
+
+	static final class ExpectedMethod {
+
+		private final String name;
+		private final ExpectedParameters parameters;
+		private final ExpectedModifiers modifiers;
+		private final ExpectedAnnotations annotations;
+		private final ExpectedType returnType;
+
+		ExpectedMethod(JSONObject methodJSON) {
+			this.name = methodJSON.getString(JSON_PROPERTY_NAME);
+			this.parameters = ExpectedParameters.compile(getExpectedJsonProperty(methodJSON, JSON_PROPERTY_PARAMETERS),
+					getExpectedJsonBooleanProperty(methodJSON, JSON_PROPERTY_STRICT_ORDER));
+			this.modifiers = ExpectedModifiers.compile(getExpectedJsonProperty(methodJSON, JSON_PROPERTY_MODIFIERS));
+			this.annotations = ExpectedAnnotations.compile(getExpectedJsonProperty(methodJSON, JSON_PROPERTY_ANNOTATIONS));
+			this.returnType = ExpectedType.of(methodJSON.getString(JSON_PROPERTY_RETURN_TYPE));
+		}
+
+		String getName() {
+			return name;
+		}
+
+		ExpectedParameters getParameters() {
+			return parameters;
+		}
+
+		ExpectedModifiers getModifiers() {
+			return modifiers;
+		}
+
+		ExpectedAnnotations getAnnotations() {
+			return annotations;
+		}
+
+		ExpectedType getReturnType() {
+			return returnType;
+		}
+	}
+
+	static final class ExpectedConstructor {
+
+		private final ExpectedParameters parameters;
+		private final ExpectedModifiers modifiers;
+		private final ExpectedAnnotations annotations;
+
+		ExpectedConstructor(JSONObject constructorJSON) {
+			this.parameters = ExpectedParameters.compile(
+					getExpectedJsonProperty(constructorJSON, JSON_PROPERTY_PARAMETERS),
+					getExpectedJsonBooleanProperty(constructorJSON, JSON_PROPERTY_STRICT_ORDER));
+			this.modifiers = ExpectedModifiers
+					.compile(getExpectedJsonProperty(constructorJSON, JSON_PROPERTY_MODIFIERS));
+			this.annotations = ExpectedAnnotations
+					.compile(getExpectedJsonProperty(constructorJSON, JSON_PROPERTY_ANNOTATIONS));
+		}
+
+		ExpectedParameters getParameters() {
+			return parameters;
+		}
+
+		ExpectedModifiers getModifiers() {
+			return modifiers;
+		}
+
+		ExpectedAnnotations getAnnotations() {
+			return annotations;
+		}
+	}
+
+	/**
+	 * The expected modifiers, each of them either required or optional.
+	 * <p>
+	 * An invalid entry does not fail the compilation, it is only reported once the
+	 * modifiers are checked against an actual element.
+	 */
+	static final class ExpectedModifiers {
+
+		private static final ExpectedModifiers NONE = new ExpectedModifiers(Set.of(), Set.of(), null);
+
+		private final Set<String> requiredModifiers;
+		private final Set<String> allowedModifiers;
+		private final String invalidEntry;
+
+		private ExpectedModifiers(Set<String> requiredModifiers, Set<String> allowedModifiers, String invalidEntry) {
+			this.requiredModifiers = requiredModifiers;
+			this.allowedModifiers = allowedModifiers;
+			this.invalidEntry = invalidEntry;
+		}
+
+		static ExpectedModifiers compile(JSONArray expectedModifiers) {
+			if (expectedModifiers.isEmpty())
+				return NONE;
+			Set<String> required = new HashSet<>();
+			Set<String> allowed = new HashSet<>();
+			for (var i = 0; i < expectedModifiers.length(); i++) {
+				var jsonString = expectedModifiers.getString(i);
+				String[] sections = jsonString.split(":", -1); //$NON-NLS-1$
+				if (sections.length == 1) {
+					required.add(jsonString);
+					allowed.add(jsonString);
+				} else if (JSON_PROPERTY_OPTIONAL.equals(sections[0])) {
+					allowed.add(sections[1].trim());
+				} else {
+					return new ExpectedModifiers(Set.of(), Set.of(), jsonString);
+				}
+			}
+			return new ExpectedModifiers(Set.copyOf(required), Set.copyOf(allowed), null);
+		}
+
+		/**
+		 * Checks the observed modifiers, see
+		 * {@link StructuralTestProvider#checkModifiers(String[], JSONArray)}.
+		 *
+		 * @param observedModifiers the observed modifiers as string array
+		 * @return true if they match, false otherwise
+		 * @throws IllegalArgumentException if the expected modifiers contain an
+		 *                                  invalid entry
+		 */
+		boolean matches(String[] observedModifiers) {
+			/*
+			 * A note: for technical reasons, we get in case of no observed modifiers, a
+			 * string array with an empty string.
+			 */
+			if (observedModifiers.length == 1 && observedModifiers[0].isEmpty())
+				return matches(Set.of());
+			return matches(Set.of(observedModifiers));
+		}
+
+		/**
+		 * Checks the observed modifiers.
+		 *
+		 * @param observedModifiers the observed modifier keywords, see
+		 *                          {@link ObservedClass#modifierSet(int)}
+		 * @return true if they match, false otherwise
+		 * @throws IllegalArgumentException if the expected modifiers contain an
+		 *                                  invalid entry
+		 */
+		boolean matches(Set<String> observedModifiers) {
+			if (invalidEntry != null)
+				throw new IllegalArgumentException("Invalid entry for modifier: '" + invalidEntry + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+			/*
+			 * If both the observed and expected elements have no modifiers, then they
+			 * match. Missing modifiers never match any expected ones, not even optional
+			 * modifiers.
+			 */
+			if (observedModifiers.isEmpty())
+				return this == NONE;
+			/*
+			 * Otherwise check if all expected necessary modifiers are contained in the
+			 * observed ones and if any forbidden modifiers were used.
+			 */
+			return observedModifiers.containsAll(requiredModifiers) && allowedModifiers.containsAll(observedModifiers);
+		}
+	}
+
+	/**
+	 * The expected annotations, all of which need to be present.
+	 */
+	static final class ExpectedAnnotations {
+
+		private static final ExpectedAnnotations NONE = new ExpectedAnnotations(List.of());
+
+		private final List<ExpectedType> annotationTypes;
+
+		private ExpectedAnnotations(List<ExpectedType> annotationTypes) {
+			this.annotationTypes = annotationTypes;
+		}
+
+		static ExpectedAnnotations compile(JSONArray expectedAnnotations) {
+			if (expectedAnnotations.isEmpty())
+				return NONE;
+			return new ExpectedAnnotations(getStrings(expectedAnnotations).stream().map(ExpectedType::of)
+					.collect(Collectors.toUnmodifiableList()));
+		}
+
+		/**
+		 * Checks the observed annotations, see
+		 * {@link StructuralTestProvider#checkAnnotations(Annotation[], JSONArray)}.
+		 *
+		 * @param observedAnnotations the observed annotations
+		 * @return true if they match, false otherwise
+		 */
+		boolean matches(Annotation[] observedAnnotations) {
+			return matches(ObservedType.ofAnnotations(observedAnnotations));
+		}
+
+		/**
+		 * Checks the types of the observed annotations.
+		 *
+		 * @param observedAnnotations the observed annotation types
+		 * @return true if they match, false otherwise
+		 */
+		boolean matches(List<ObservedType> observedAnnotations) {
+			/*
+			 * If the number of the annotations does not match, then the annotations per se
+			 * do not match either.
+			 */
+			if (observedAnnotations.size() != annotationTypes.size())
+				return false;
+			/*
+			 * Otherwise check if each expected annotation is contained in the array of the
+			 * observed ones.
+			 */
+			for (ExpectedType expectedAnnotation : annotationTypes) {
+				var expectedAnnotationFound = false;
+				for (ObservedType observedAnnotation : observedAnnotations) {
+					if (expectedAnnotation.matches(observedAnnotation)) {
+						expectedAnnotationFound = true;
+						break;
+					}
+				}
+				if (!expectedAnnotationFound)
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * The expected parameter types of a method or constructor.
+	 * <p>
+	 * The parameter types can be given as simple, canonical or generic type names.
+	 * Independent of that, the parameters are summarized by a fingerprint of the
+	 * simple names of their erasures, see
+	 * {@link ObservedClass#parameterFingerprint(List, boolean)}. Equal fingerprints
+	 * are necessary for matching parameters, which allows looking up the candidates
+	 * by the fingerprint before comparing the single parameter types.
+	 */
+	static final class ExpectedParameters {
+
+		private final List<String> typeNames;
+		// null for the types given by their simple name
+		private final List<ExpectedType> qualifiedOrGenericTypes;
+		private final boolean onlySimpleNames;
+		private final String fingerprint;
+		private final boolean strictOrder;
+		private final String jsonString;
+
+		private ExpectedParameters(List<String> typeNames, boolean strictOrder, String jsonString) {
+			this.typeNames = typeNames;
+			this.qualifiedOrGenericTypes = typeNames.stream().map(ExpectedType::of)
+					.map(type -> type.isQualifiedOrGeneric() ? type : null).collect(Collectors.toList());
+			this.onlySimpleNames = qualifiedOrGenericTypes.stream().allMatch(Objects::isNull);
+			this.fingerprint = ObservedClass.parameterFingerprint(
+					typeNames.stream().map(ExpectedParameters::toSimpleErasure).collect(Collectors.toList()),
+					strictOrder);
+			this.strictOrder = strictOrder;
+			this.jsonString = jsonString;
+		}
+
+		static ExpectedParameters compile(JSONArray expectedParameters, boolean strictOrder) {
+			return new ExpectedParameters(getStrings(expectedParameters), strictOrder, expectedParameters.toString());
+		}
+
+		/**
+		 * @return the fingerprint of the simple names of the parameter erasures
+		 */
+		String getFingerprint() {
+			return fingerprint;
+		}
+
+		boolean isStrictOrder() {
+			return strictOrder;
+		}
+
+		/**
+		 * Checks the observed parameter types, see
+		 * {@link StructuralTestProvider#checkParameters(Class[], JSONArray, boolean)}.
+		 *
+		 * @param observedParameters the observed parameter types
+		 * @return true if they match, false otherwise
+		 */
+		boolean matches(Class<?>[] observedParameters) {
+			var parameterTypes = ObservedType.ofAll(observedParameters);
+			return matches(parameterTypes, ObservedClass.parameterFingerprint(
+					parameterTypes.stream().map(ObservedType::getSimpleName).collect(Collectors.toList()),
+					strictOrder));
+		}
+
+		/**
+		 * Checks the parameters of the observed method or constructor.
+		 *
+		 * @param observedExecutable the observed method or constructor
+		 * @return true if they match, false otherwise
+		 */
+		boolean matches(ObservedExecutable observedExecutable) {
+			return matches(observedExecutable.getParameterTypes(),
+					observedExecutable.getParameterFingerprint(strictOrder));
+		}
+
+		private boolean matches(List<ObservedType> observedParameters, String observedFingerprint) {
+			/*
+			 * If the simple names do not match, then the parameters cannot match either.
+			 * If they do, only qualified and generic type names need to be checked in
+			 * addition.
+			 */
+			if (!fingerprint.equals(observedFingerprint))
+				return false;
+			if (onlySimpleNames)
+				return true;
+			if (strictOrder) {
+				for (var i = 0; i < observedParameters.size(); i++) {
+					var expectedType = qualifiedOrGenericTypes.get(i);
+					if (expectedType != null && !expectedType.matches(observedParameters.get(i)))
+						return false;
+				}
+				return true;
+			}
+			/*
+			 * The parameter order is not relevant, so each expected qualified or generic
+			 * type needs a distinct observed parameter with the same simple name.
+			 */
+			List<ObservedType> unmatched = new ArrayList<>(observedParameters);
+			for (ExpectedType expectedType : qualifiedOrGenericTypes) {
+				if (expectedType == null)
+					continue;
+				var index = 0;
+				while (index < unmatched.size() && !expectedType.matches(unmatched.get(index)))
+					index++;
+				if (index == unmatched.size())
+					return false;
+				unmatched.remove(index);
+			}
+			return true;
+		}
+
+		/**
+		 * @return the localized description used in failure messages, see
+		 *         {@link StructuralTestProvider#describeParameters(JSONArray)}
+		 */
+		String describe() {
+			return typeNames.isEmpty() ? localized("structural.common.noParams") //$NON-NLS-1$
+					: localized("structural.common.withParams", jsonString); //$NON-NLS-1$
+		}
+
+		/**
+		 * Returns the simple name of the erasure of the type name, e.g.
+		 * <code>Entry[]</code> for <code>java.util.Map.Entry&lt;K, V&gt;[]</code>.
+		 */
+		private static String toSimpleErasure(String typeName) {
+			var erasure = new StringBuilder();
+			var depth = 0;
+			for (var i = 0; i < typeName.length(); i++) {
+				var c = typeName.charAt(i);
+				if (c == '<')
+					depth++;
+				else if (c == '>')
+					depth--;
+				else if (depth == 0 && !Character.isWhitespace(c))
+					erasure.append(c);
+			}
+			var arrayStart = erasure.indexOf("["); //$NON-NLS-1$
+			var baseEnd = arrayStart < 0 ? erasure.length() : arrayStart;
+			var simpleStart = Math.max(erasure.lastIndexOf(".", baseEnd), erasure.lastIndexOf("$", baseEnd)) + 1; //$NON-NLS-1$ //$NON-NLS-2$
+			return erasure.substring(simpleStart);
+		}
+	}
+
+	/**
+	 * An expected type name, either simple or canonical and optionally generic.
+	 */
+	static final class ExpectedType {
+
+		private static final String PACKAGE_PATH_SEPARATOR = "."; //$NON-NLS-1$
+		private static final Pattern PACKAGE_NAME_IN_GENERIC_TYPE = Pattern.compile("(?:[^\\[\\]<>?,\\s.]++\\.)++"); //$NON-NLS-1$
+		private static final Map<String, String> SIMPLE_NAMES = Collections.synchronizedMap(new LruCache<>(1024));
+
+		private final String name;
+		private final boolean generic;
+		private final boolean qualified;
+
+		private ExpectedType(String name) {
+			this.name = name;
+			this.generic = name.contains("<") && name.contains(">"); //$NON-NLS-1$ //$NON-NLS-2$
+			/*
+			 * If the given expected name contains a '.' it can be assumed that it
+			 * represents a full canonical name. If it does not, we can assume it represents
+			 * a simple name.
+			 */
+			this.qualified = name.contains(PACKAGE_PATH_SEPARATOR);
+		}
+
+		static ExpectedType of(String name) {
+			return new ExpectedType(name);
+		}
+
+		/**
+		 * @return true if the name contains a package or type arguments
+		 */
+		boolean isQualifiedOrGeneric() {
+			return qualified || generic;
+		}
+
+		String getName() {
+			return name;
+		}
+
+		/**
+		 * Checks the actual type, see
+		 * {@link StructuralTestProvider#checkExpectedType(Class, Type, String)}.
+		 *
+		 * @param actualClass       the class of the structural element
+		 * @param actualGenericType the generic type of the structural element
+		 * @return true if the names match, false if not
+		 */
+		boolean matches(Class<?> actualClass, Type actualGenericType) {
+			return matches(ObservedType.of(actualClass, actualGenericType));
+		}
+
+		/**
+		 * Checks the names of the actual type.
+		 *
+		 * @param actualType the type of the structural element, null never matches
+		 * @return true if the names match, false if not
+		 */
+		boolean matches(ObservedType actualType) {
+			if (actualType == null)
+				return false;
+			var actualName = generic ? actualType.getTypeName() : actualType.getCanonicalName();
+			if (qualified)
+				return name.equals(actualName);
+			return name.equals(SIMPLE_NAMES.computeIfAbsent(actualName,
+					typeName -> PACKAGE_NAME_IN_GENERIC_TYPE.matcher(typeName).replaceAll(""))); //$NON-NLS-1$
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+}
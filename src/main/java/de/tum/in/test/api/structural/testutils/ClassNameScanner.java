@@ -3,10 +3,7 @@ package de.tum.in.test.api.structural.testutils;
 import static de.tum.in.test.api.localization.Messages.localized;
 import static de.tum.in.test.api.structural.testutils.ScanResultType.*;
 
-import java.io.File;
-import java.nio.file.Path;
 import java.util.*;
-import java.util.stream.*;
 
 import org.apiguardian.api.API;
 import org.apiguardian.api.API.Status;
@@ -15,7 +12,6 @@ import org.slf4j.*;
 import info.debatty.java.stringsimilarity.*;
 
 import de.tum.in.test.api.AresConfiguration;
-import de.tum.in.test.api.util.ProjectSourcesFinder;
 
 /**
  * This class scans the submission project if the current expected class is
@@ -40,6 +36,9 @@ import de.tum.in.test.api.util.ProjectSourcesFinder;
  * <p>
  * A note on the limit of allowed number of typos: the maximal number depends on
  * the length of the class name and is defined as ceiling(classNameLength / 4).
+ * <p>
+ * Member classes are found using their binary name without the package, e.g.
+ * <code>Outer$Inner</code>.
  *
  * @author Stephan Krusche (krusche@in.tum.de)
  * @version 5.1 (2022-03-30)
@@ -63,7 +62,12 @@ public class ClassNameScanner {
 	 * Damerau-Levenshtein to compute the edit distance to have an absolute value
 	 * for the amount of difference
 	 */
-	private static final Damerau DAMERAU_LEVENSHTEIN = new Damerau();
+	static final Damerau DAMERAU_LEVENSHTEIN = new Damerau();
+	/**
+	 * Names with a larger Damerau-Levenshtein distance are never considered typos,
+	 * see {@link #isMisspelledWithHighProbability(String, String)}
+	 */
+	static final int MAX_TYPO_DISTANCE = 2;
 
 	/*
 	 * The class name and package name of the expected class that is currently being
@@ -72,17 +76,19 @@ public class ClassNameScanner {
 	private final String expectedClassName;
 	private final String expectedPackageName;
 
+	private final ProjectSourceIndex sourceIndex;
 	/**
 	 * Mapping between the class name and the observed package names (list) in the
 	 * project
 	 */
-	private final Map<String, List<String>> observedClasses = new HashMap<>();
+	private final Map<String, List<String>> observedClasses;
 	private final ScanResult scanResult;
 
 	public ClassNameScanner(String expectedClassName, String expectedPackageName) {
 		this.expectedClassName = expectedClassName;
 		this.expectedPackageName = expectedPackageName;
-		findObservedClassesInProject();
+		this.sourceIndex = findSourceIndex();
+		this.observedClasses = sourceIndex.getPackagesByTypeName();
 		this.scanResult = computeScanResult();
 	}
 
@@ -94,11 +100,12 @@ public class ClassNameScanner {
 	 * This method computes the scan result of the submission for the expected class
 	 * name. It first checks if the class is in the project at all. If that's the
 	 * case, it then checks if that class is properly placed or not and generates
-	 * feedback accordingly. Otherwise the method loops over the observed classes
-	 * and checks if any of the observed classes is actually the expected one but
-	 * with the wrong case or types in the name. It again checks in each case if the
-	 * class is misplaced or not and delivers the feedback. Finally, in none of
-	 * these holds, the class is simply declared as not found.
+	 * feedback accordingly. Otherwise the method looks up observed classes that are
+	 * actually the expected one but with the wrong case or typos in the name, using
+	 * the precomputed lookup structures of the {@link ProjectSourceIndex}. It
+	 * again checks in each case if the class is misplaced or not and delivers the
+	 * feedback. Finally, in none of these holds, the class is simply declared as
+	 * not found.
 	 *
 	 * @return An instance of ScanResult containing the result type and the feedback
 	 *         message.
@@ -113,41 +120,35 @@ public class ClassNameScanner {
 		/*
 		 * if the class was NOT found in the correct package, we try to to find it in a
 		 * different package or try to find similar classes (e.g. with typos)
+		 *
+		 * 1) check whether the class might have the wrong case
 		 */
-		for (var observedClass : observedClasses.entrySet()) {
-			var foundObservedClassName = observedClass.getKey();
-			var observedPackageNames = observedClass.getValue();
-			var foundObservedPackageNames = observedPackageNames.toString();
-
-			boolean classPresentMultiple = observedPackageNames.size() > 1;
-			boolean classCorrectlyPlaced = !classPresentMultiple
-					&& (observedPackageNames.contains(expectedPackageName));
-			/*
-			 * 1) check whether the class might have the wrong case
-			 */
-			if (foundObservedClassName.equalsIgnoreCase(expectedClassName))
-				return createScanResult(foundObservedClassName, foundObservedPackageNames, classPresentMultiple,
-						classCorrectlyPlaced, WRONG_CASE_MULTIPLE, WRONG_CASE_CORRECT_PLACE, WRONG_CASE_MISPLACED);
-			/*
-			 * 2) check whether there are similar classes (e.g. the student has a small typo
-			 * in the class name)
-			 */
-			if (isMisspelledWithHighProbability(expectedClassName, foundObservedClassName))
-				return createScanResult(foundObservedClassName, foundObservedPackageNames, classPresentMultiple,
-						classCorrectlyPlaced, TYPOS_MULTIPLE, TYPOS_CORRECT_PLACE, TYPOS_MISPLACED);
+		var classesWithWrongCase = sourceIndex.findWithDifferentCase(expectedClassName);
+		if (!classesWithWrongCase.isEmpty())
+			return createScanResult(classesWithWrongCase.get(0), WRONG_CASE_MULTIPLE, WRONG_CASE_CORRECT_PLACE,
+					WRONG_CASE_MISPLACED);
+		/*
+		 * 2) check whether there are similar classes (e.g. the student has a small typo
+		 * in the class name), everything else is too far away to count as typo
+		 */
+		for (String similarClassName : sourceIndex.findSimilar(expectedClassName, MAX_TYPO_DISTANCE)) {
+			if (isMisspelledWithHighProbability(expectedClassName, similarClassName))
+				return createScanResult(similarClassName, TYPOS_MULTIPLE, TYPOS_CORRECT_PLACE, TYPOS_MISPLACED);
 		}
 		return createScanResult(ScanResultType.NOTFOUND, expectedClassName, null);
 	}
 
-	private ScanResult createScanResult(String foundObservedClassName, String foundObservedPackageName,
-			boolean classPresentMultiple, boolean classCorrectlyPlaced, ScanResultType multipleTimes,
+	private ScanResult createScanResult(String foundObservedClassName, ScanResultType multipleTimes,
 			ScanResultType correctPlace, ScanResultType misplaced) {
+		var observedPackageNames = observedClasses.get(foundObservedClassName);
+		boolean classPresentMultiple = observedPackageNames.size() > 1;
+		boolean classCorrectlyPlaced = !classPresentMultiple && observedPackageNames.contains(expectedPackageName);
 		ScanResultType scanResultType;
 		if (classPresentMultiple)
 			scanResultType = multipleTimes;
 		else
 			scanResultType = classCorrectlyPlaced ? correctPlace : misplaced;
-		return createScanResult(scanResultType, foundObservedClassName, foundObservedPackageName);
+		return createScanResult(scanResultType, foundObservedClassName, observedPackageNames.toString());
 	}
 
 	private ScanResultType getScanResultTypeClassFound(List<String> observedPackageNames) {
@@ -198,57 +199,19 @@ public class ClassNameScanner {
 	}
 
 	/**
-	 * This method retrieves the actual type names and their packages by walking the
-	 * project file structure. The root node (which is the assignment folder) is
-	 * defined in the project build file (pom.xml or build.gradle) of the project.
-	 */
-	private void findObservedClassesInProject() {
-		var assignmentFolderName = ProjectSourcesFinder.findProjectSourcesPath();
-		if (assignmentFolderName.isPresent()) {
-			walkProjectFileStructure(assignmentFolderName.get(), assignmentFolderName.get().toFile(), observedClasses);
-		} else {
-			LOG.error("Could not retrieve source directory from project file. Contact your instructor."); //$NON-NLS-1$ ´
-		}
-	}
-
-	/**
-	 * This method recursively walks the actual folder file structure starting from
-	 * the assignment folder and adds each type it finds e.g. filenames ending with
-	 * <code>.java</code> and <code>.kt</code> to the passed JSON object.
+	 * This method retrieves the actual type names and their packages from the
+	 * shared {@link ProjectSourceIndex}. The root node (which is the assignment
+	 * folder) is defined in the project build file (pom.xml or build.gradle) of the
+	 * project.
 	 *
-	 * @param assignmentFolder The root folder where the method starts walking the
-	 *                         project structure.
-	 * @param node             The current node the method is visiting.
-	 * @param foundClasses     The JSON object where the type names and packages get
-	 *                         appended.
+	 * @return the source index, empty if the source directory is unknown
 	 */
-	private void walkProjectFileStructure(Path assignmentFolder, File node, Map<String, List<String>> foundClasses) {
-		// Example:
-		// * assignmentFolderName: assignment/src
-		// * fileName: assignment/src/de/tum/in/ase/eist/BubbleSort.java
-		// Required Package Name: de.tum.in.ase.eist
-		var fileName = node.getName();
-		// support Java and Kotlin files
-		if (fileName.endsWith(".java") || fileName.endsWith(".kt")) { //$NON-NLS-1$ //$NON-NLS-2$
-			var fileNameComponents = fileName.split("\\."); //$NON-NLS-1$
-			var className = fileNameComponents[fileNameComponents.length - 2];
-
-			Path packagePath = assignmentFolder.relativize(node.toPath().getParent());
-			var packageName = StreamSupport.stream(packagePath.spliterator(), false).map(Object::toString)
-					.collect(Collectors.joining(".")); //$NON-NLS-1$
-
-			if (foundClasses.containsKey(className))
-				foundClasses.get(className).add(packageName);
-			else
-				foundClasses.put(className, new ArrayList<>(List.of(packageName)));
-		}
-		// TODO: we should also support inner classes here
-		if (node.isDirectory()) {
-			String[] subNodes = node.list();
-			if (subNodes != null && subNodes.length > 0)
-				for (String currentSubNode : subNodes)
-					walkProjectFileStructure(assignmentFolder, new File(node, currentSubNode), foundClasses);
-		}
+	private static ProjectSourceIndex findSourceIndex() {
+		var configuredSourceIndex = ProjectSourceIndex.forConfiguredProject();
+		if (configuredSourceIndex.isPresent())
+			return configuredSourceIndex.get();
+		LOG.error("Could not retrieve source directory from project file. Contact your instructor."); //$NON-NLS-1$ ´
+		return ProjectSourceIndex.EMPTY;
 	}
 
 	/**
@@ -0,0 +1,76 @@
+package de.tum.in.test.api.structural.testutils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+/**
+ * An immutable set of names with precomputed lookup structures for names that
+ * only differ in upper and lower case or are probably misspelled versions of
+ * each other.
+ * <p>
+ * The names are grouped by their lower case form and stored in a
+ * {@link TypeNameTree}, so a lookup only computes the edit distance for a small
+ * part of the names. Probable typos are determined like for class names, see
+ * {@link ClassNameScanner}.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class NameIndex {
+
+	private final Map<String, List<String>> namesByLowerCase;
+	private final TypeNameTree nameTree;
+
+	/**
+	 * Creates a new index for the given names.
+	 *
+	 * @param names the names, duplicates are ignored
+	 */
+	public NameIndex(Collection<String> names) {
+		var distinctNames = new TreeSet<>(names);
+		this.namesByLowerCase = distinctNames.stream()
+				.collect(Collectors.groupingBy(name -> name.toLowerCase(Locale.ROOT)));
+		this.nameTree = new TypeNameTree(distinctNames,
+				(a, b) -> (int) ClassNameScanner.DAMERAU_LEVENSHTEIN.distance(a, b));
+	}
+
+	/**
+	 * Finds the names that only differ in upper and lower case from the given name.
+	 *
+	 * @param name the name to search for
+	 * @return the other names that are equal ignoring the case, sorted
+	 */
+	public List<String> findWithDifferentCase(String name) {
+		var candidates = namesByLowerCase.getOrDefault(name.toLowerCase(Locale.ROOT), List.of());
+		return candidates.stream().filter(candidate -> !candidate.equals(name)).collect(Collectors.toList());
+	}
+
+	/**
+	 * Finds the names within the given Damerau-Levenshtein distance of the given
+	 * name.
+	 *
+	 * @param name        the name to search for
+	 * @param maxDistance the maximum edit distance, inclusive
+	 * @return the names, the closest ones first
+	 */
+	public List<String> findSimilar(String name, int maxDistance) {
+		return nameTree.findWithin(name, maxDistance);
+	}
+
+	/**
+	 * Finds the name that the given name is most likely a misspelled version of,
+	 * or the other way around. Names that are equal to the given name are never
+	 * returned.
+	 *
+	 * @param name the name to search for
+	 * @return the most similar name that probably only differs by typos
+	 */
+	public Optional<String> findMisspelled(String name) {
+		return findSimilar(name, ClassNameScanner.MAX_TYPO_DISTANCE).stream()
+				.filter(candidate -> !candidate.equals(name))
+				.filter(candidate -> ClassNameScanner.isMisspelledWithHighProbability(name, candidate)).findFirst();
+	}
+}
@@ -0,0 +1,409 @@
+package de.tum.in.test.api.structural.testutils;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+import org.slf4j.*;
+
+import de.tum.in.test.api.util.*;
+
+/**
+ * An immutable index of all types declared in the project sources, mapping the
+ * type name to the names of the packages it was found in.
+ * <p>
+ * Every Java and Kotlin file contributes the type named like the file. For Java
+ * files, the source is additionally scanned for further top level types and
+ * member types. Member types are stored with their binary name relative to the
+ * package, e.g. <code>Outer$Inner</code>, so that they can be loaded with
+ * {@link Class#forName(String)} like top level types. Local and anonymous
+ * classes are ignored.
+ * <p>
+ * The index is shared across the JVM for each project build file
+ * configuration. Because one JVM may test several submissions one after the
+ * other, the source directory is checked for changes before the index is
+ * reused, see {@link Tracker}. Only files that were added or whose size, last
+ * modification time and content hash changed are scanned again.
+ *
+ * @since 1.14.0
+ */
+final class ProjectSourceIndex {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ProjectSourceIndex.class);
+
+	static final ProjectSourceIndex EMPTY = new ProjectSourceIndex(Map.of());
+
+	private static final Map<List<String>, Tracker> TRACKER_BY_CONFIGURATION = new ConcurrentHashMap<>();
+	/*
+	 * Many structural tests look up types in quick succession, the sources are
+	 * only checked for changes again after this interval
+	 */
+	private static final long REVALIDATION_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+	private static final String JAVA_FILE_EXTENSION = ".java"; //$NON-NLS-1$
+	private static final String KOTLIN_FILE_EXTENSION = ".kt"; //$NON-NLS-1$
+	private static final Set<String> TYPE_KEYWORDS = Set.of("class", "interface", "enum", "record"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private final Map<String, List<String>> packagesByTypeName;
+	/*
+	 * Only needed for classes that are not found by their exact name, created on
+	 * first use
+	 */
+	private volatile NameIndex nameIndex;
+
+	private ProjectSourceIndex(Map<String, List<String>> packagesByTypeName) {
+		this.packagesByTypeName = packagesByTypeName;
+	}
+
+	/**
+	 * Returns the mapping between the type names and the names of the packages
+	 * they were found in.
+	 *
+	 * @return an unmodifiable map, the package lists are unmodifiable as well
+	 */
+	Map<String, List<String>> getPackagesByTypeName() {
+		return packagesByTypeName;
+	}
+
+	/**
+	 * Finds the type names that only differ in upper and lower case from the given
+	 * name.
+	 *
+	 * @param typeName the type name to search for
+	 * @return the other type names that are equal ignoring the case, sorted
+	 */
+	List<String> findWithDifferentCase(String typeName) {
+		return getNameIndex().findWithDifferentCase(typeName);
+	}
+
+	/**
+	 * Finds the type names within the given Damerau-Levenshtein distance of the
+	 * given name.
+	 *
+	 * @param typeName    the type name to search for
+	 * @param maxDistance the maximum edit distance, inclusive
+	 * @return the type names, the closest ones first
+	 */
+	List<String> findSimilar(String typeName, int maxDistance) {
+		return getNameIndex().findSimilar(typeName, maxDistance);
+	}
+
+	private NameIndex getNameIndex() {
+		var index = nameIndex;
+		if (index == null) {
+			index = new NameIndex(packagesByTypeName.keySet());
+			nameIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the project sources as configured by the project build
+	 * file, see {@link ProjectSourcesFinder#findProjectSourcesPath()}.
+	 * <p>
+	 * The index is only built completely once for each build file configuration
+	 * and is updated incrementally afterwards. If the sources path cannot be
+	 * determined, nothing is cached and the lookup is repeated on the next call.
+	 *
+	 * @return the index or an empty optional if the sources path is unknown
+	 */
+	static Optional<ProjectSourceIndex> forConfiguredProject() {
+		var configuration = Arrays.asList(ProjectSourcesFinder.getPomXmlPath(),
+				ProjectSourcesFinder.getBuildGradlePath());
+		var tracker = TRACKER_BY_CONFIGURATION.get(configuration);
+		if (tracker != null)
+			return Optional.of(tracker.getIndex());
+		return ProjectSourcesFinder.findProjectSourcesPath().map(sourcesPath -> TRACKER_BY_CONFIGURATION
+				.computeIfAbsent(configuration, key -> new Tracker(sourcesPath)).getIndex());
+	}
+
+	/**
+	 * Builds the index by walking the given sources directory.
+	 *
+	 * @param sourcesPath the root of the package structure, e.g.
+	 *                    <code>assignment/src</code>
+	 * @return the new index, empty if the directory does not exist
+	 */
+	static ProjectSourceIndex build(Path sourcesPath) {
+		return new Tracker(sourcesPath).refresh();
+	}
+
+	/**
+	 * Keeps the index of a source directory up to date.
+	 * <p>
+	 * The types found in each file are stored together with a
+	 * {@link SourceFileSnapshot} of the file. A refresh walks the directory and
+	 * only reads files whose size or modification time changed, and only scans
+	 * them again if their content hash changed as well. A new index is created if
+	 * any types were added or removed, otherwise the previous index and its lookup
+	 * structures are reused.
+	 */
+	static final class Tracker {
+
+		private final Path sourcesPath;
+		private final Map<Path, FileEntry> entries = new HashMap<>();
+		private ProjectSourceIndex index;
+		private long lastRefreshNanos;
+		private int scannedFiles;
+
+		Tracker(Path sourcesPath) {
+			this.sourcesPath = sourcesPath;
+		}
+
+		/**
+		 * Returns the current index, the sources are checked for changes if the last
+		 * check is older than the revalidation interval.
+		 *
+		 * @return the up to date index
+		 */
+		synchronized ProjectSourceIndex getIndex() {
+			if (index == null || System.nanoTime() - lastRefreshNanos >= REVALIDATION_INTERVAL_NANOS)
+				return refresh();
+			return index;
+		}
+
+		/**
+		 * Checks the sources for changes and updates the index.
+		 *
+		 * @return the up to date index
+		 */
+		synchronized ProjectSourceIndex refresh() {
+			scannedFiles = 0;
+			Set<Path> visitedFiles = new HashSet<>();
+			var changed = new boolean[] { index == null };
+			if (Files.isDirectory(sourcesPath)) {
+				try {
+					Files.walkFileTree(sourcesPath, new SimpleFileVisitor<>() {
+						@Override
+						public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+							if (attrs.isRegularFile() && isSourceFile(file)) {
+								visitedFiles.add(file);
+								changed[0] |= update(file, attrs);
+							}
+							return FileVisitResult.CONTINUE;
+						}
+
+						@Override
+						public FileVisitResult visitFileFailed(Path file, IOException exc) {
+							LOG.warn("Could not visit {} for the source index", file, exc); //$NON-NLS-1$
+							return FileVisitResult.CONTINUE;
+						}
+					});
+				} catch (IOException e) {
+					LOG.error("Could not walk the project sources in {}", sourcesPath, e); //$NON-NLS-1$
+				}
+			}
+			changed[0] |= entries.keySet().retainAll(visitedFiles);
+			if (changed[0])
+				index = createIndex();
+			lastRefreshNanos = System.nanoTime();
+			return index;
+		}
+
+		/**
+		 * @return the number of files that were scanned for types during the last
+		 *         refresh
+		 */
+		synchronized int getScannedFiles() {
+			return scannedFiles;
+		}
+
+		private boolean update(Path file, BasicFileAttributes attrs) {
+			var entry = entries.get(file);
+			boolean isJavaFile = file.getFileName().toString().endsWith(JAVA_FILE_EXTENSION);
+			if (entry != null && (!isJavaFile || entry.snapshot != null && entry.snapshot.isUnchanged(attrs)))
+				return false;
+			var newEntry = scanFile(file, attrs, isJavaFile, entry);
+			entries.put(file, newEntry);
+			return entry == null || !entry.typeNames.equals(newEntry.typeNames);
+		}
+
+		private FileEntry scanFile(Path file, BasicFileAttributes attrs, boolean isJavaFile, FileEntry previous) {
+			// Example:
+			// * sourcesPath: assignment/src
+			// * file: assignment/src/de/tum/in/ase/eist/BubbleSort.java
+			// Required Package Name: de.tum.in.ase.eist
+			var fileName = file.getFileName().toString();
+			var fileNameComponents = fileName.split("\\."); //$NON-NLS-1$
+			var typeName = fileNameComponents[fileNameComponents.length - 2];
+			var packagePath = sourcesPath.relativize(file.getParent());
+			var packageName = StreamSupport.stream(packagePath.spliterator(), false).map(Object::toString)
+					.collect(Collectors.joining(".")); //$NON-NLS-1$
+			if (!isJavaFile)
+				return new FileEntry(null, packageName, List.of(typeName));
+			try {
+				var content = Files.readAllBytes(file);
+				var snapshot = SourceFileSnapshot.of(attrs, content);
+				if (previous != null && previous.snapshot != null && previous.snapshot.hasSameContent(snapshot))
+					return new FileEntry(snapshot, packageName, previous.typeNames);
+				scannedFiles++;
+				List<String> typeNames = new ArrayList<>();
+				typeNames.add(typeName);
+				findDeclaredTypes(new String(content, UTF_8)).stream().filter(name -> !name.equals(typeName))
+						.forEach(typeNames::add);
+				return new FileEntry(snapshot, packageName, List.copyOf(typeNames));
+			} catch (IOException e) {
+				LOG.warn("Could not read {} for the source index", file, e); //$NON-NLS-1$
+				// no snapshot, the file is read again on the next refresh
+				return new FileEntry(null, packageName, List.of(typeName));
+			}
+		}
+
+		private ProjectSourceIndex createIndex() {
+			Map<String, List<String>> foundTypes = new HashMap<>();
+			entries.entrySet().stream().sorted(Map.Entry.comparingByKey()).map(Map.Entry::getValue)
+					.forEach(entry -> {
+						// the type named like the file is counted once per file
+						foundTypes.computeIfAbsent(entry.typeNames.get(0), key -> new ArrayList<>())
+								.add(entry.packageName);
+						for (String declaredType : entry.typeNames.subList(1, entry.typeNames.size())) {
+							var packages = foundTypes.computeIfAbsent(declaredType, key -> new ArrayList<>());
+							if (!packages.contains(entry.packageName))
+								packages.add(entry.packageName);
+						}
+					});
+			var packagesByTypeName = foundTypes.entrySet().stream().collect(
+					Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> List.copyOf(entry.getValue())));
+			return new ProjectSourceIndex(packagesByTypeName);
+		}
+
+		private static boolean isSourceFile(Path file) {
+			var fileName = file.getFileName().toString();
+			return fileName.endsWith(JAVA_FILE_EXTENSION) || fileName.endsWith(KOTLIN_FILE_EXTENSION);
+		}
+	}
+
+	private static final class FileEntry {
+
+		/*
+		 * null for Kotlin files, which are not read, and for files that could not be
+		 * read
+		 */
+		final SourceFileSnapshot snapshot;
+		final String packageName;
+		// the type named like the file first, followed by further declared types
+		final List<String> typeNames;
+
+		FileEntry(SourceFileSnapshot snapshot, String packageName, List<String> typeNames) {
+			this.snapshot = snapshot;
+			this.packageName = packageName;
+			this.typeNames = typeNames;
+		}
+	}
+
+	/**
+	 * Finds the top level and member types declared in the given Java source code
+	 * without parsing it completely. Comments, string and character literals are
+	 * skipped, and the nesting is tracked by counting braces.
+	 *
+	 * @param source the Java source code
+	 * @return the names of the declared types, member types are joined with their
+	 *         enclosing types by <code>$</code>
+	 */
+	static List<String> findDeclaredTypes(String source) {
+		List<String> declaredTypes = new ArrayList<>();
+		// enclosing types and the brace depth of their body
+		Deque<String> enclosingTypes = new ArrayDeque<>();
+		Deque<Integer> enclosingTypeDepths = new ArrayDeque<>();
+		String pendingType = null;
+		var depth = 0;
+		var previousSignificant = ' ';
+		var length = source.length();
+		var i = 0;
+		while (i < length) {
+			char c = source.charAt(i);
+			if (c == '/' && i + 1 < length && source.charAt(i + 1) == '/') {
+				i = skipUntil(source, i + 2, "\n"); //$NON-NLS-1$
+				continue;
+			}
+			if (c == '/' && i + 1 < length && source.charAt(i + 1) == '*') {
+				i = skipUntil(source, i + 2, "*/"); //$NON-NLS-1$
+				continue;
+			}
+			if (c == '"' && source.startsWith("\"\"\"", i)) { //$NON-NLS-1$
+				i = skipUntil(source, i + 3, "\"\"\""); //$NON-NLS-1$
+				previousSignificant = '"';
+				continue;
+			}
+			if (c == '"' || c == '\'') {
+				i = skipLiteral(source, i + 1, c);
+				previousSignificant = c;
+				continue;
+			}
+			if (Character.isJavaIdentifierStart(c)) {
+				int end = i + 1;
+				while (end < length && Character.isJavaIdentifierPart(source.charAt(end)))
+					end++;
+				var word = source.substring(i, end);
+				if (pendingType == null && previousSignificant != '.' && TYPE_KEYWORDS.contains(word)) {
+					var name = readIdentifierAfter(source, end);
+					if (name != null && (enclosingTypeDepths.isEmpty() ? depth == 0
+							: enclosingTypeDepths.peek() == depth)) {
+						pendingType = enclosingTypes.isEmpty() ? name : enclosingTypes.peek() + '$' + name;
+					}
+				}
+				previousSignificant = 'a';
+				i = end;
+				continue;
+			}
+			if (c == '{') {
+				depth++;
+				if (pendingType != null) {
+					declaredTypes.add(pendingType);
+					enclosingTypes.push(pendingType);
+					enclosingTypeDepths.push(depth);
+					pendingType = null;
+				}
+			} else if (c == '}') {
+				if (!enclosingTypeDepths.isEmpty() && enclosingTypeDepths.peek() == depth) {
+					enclosingTypes.pop();
+					enclosingTypeDepths.pop();
+				}
+				depth--;
+			} else if (c == ';') {
+				// e.g. a record component named like a keyword, or an incomplete declaration
+				pendingType = null;
+			}
+			if (!Character.isWhitespace(c))
+				previousSignificant = c;
+			i++;
+		}
+		return declaredTypes;
+	}
+
+	private static String readIdentifierAfter(String source, int start) {
+		var i = start;
+		while (i < source.length() && Character.isWhitespace(source.charAt(i)))
+			i++;
+		if (i == start || i == source.length() || !Character.isJavaIdentifierStart(source.charAt(i)))
+			return null;
+		var end = i + 1;
+		while (end < source.length() && Character.isJavaIdentifierPart(source.charAt(end)))
+			end++;
+		return source.substring(i, end);
+	}
+
+	private static int skipUntil(String source, int start, String terminator) {
+		int end = source.indexOf(terminator, start);
+		return end < 0 ? source.length() : end + terminator.length();
+	}
+
+	private static int skipLiteral(String source, int start, char quote) {
+		var i = start;
+		while (i < source.length()) {
+			char c = source.charAt(i);
+			if (c == '\\')
+				i += 2;
+			else if (c == quote || c == '\n')
+				return i + 1;
+			else
+				i++;
+		}
+		return source.length();
+	}
+}
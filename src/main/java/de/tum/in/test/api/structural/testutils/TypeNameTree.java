@@ -0,0 +1,91 @@
+package de.tum.in.test.api.structural.testutils;
+
+import java.util.*;
+import java.util.function.ToIntBiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * A BK-tree (Burkhard-Keller tree) of type names for looking up names that are
+ * within a given edit distance of a query.
+ * <p>
+ * Each child is stored under its distance to the parent node. Because the
+ * distance is a metric, a lookup with the maximum distance <i>r</i> only needs to
+ * descend into children whose distance differs by at most <i>r</i> from the
+ * distance between the query and the current node, which for small <i>r</i>
+ * skips most of the names.
+ *
+ * @since 1.14.0
+ */
+final class TypeNameTree {
+
+	private final ToIntBiFunction<String, String> distance;
+	private Node root;
+
+	/**
+	 * Creates a new tree for the given names.
+	 *
+	 * @param names    the names to add, duplicates are ignored
+	 * @param distance the distance, must be a metric
+	 */
+	TypeNameTree(Collection<String> names, ToIntBiFunction<String, String> distance) {
+		this.distance = distance;
+		names.forEach(this::add);
+	}
+
+	private void add(String name) {
+		if (root == null) {
+			root = new Node(name);
+			return;
+		}
+		var node = root;
+		while (true) {
+			int nodeDistance = distance.applyAsInt(name, node.name);
+			if (nodeDistance == 0)
+				return;
+			var child = node.children.get(nodeDistance);
+			if (child == null) {
+				node.children.put(nodeDistance, new Node(name));
+				return;
+			}
+			node = child;
+		}
+	}
+
+	/**
+	 * Finds all names that have at most the given distance to the query.
+	 *
+	 * @param query       the name to search for
+	 * @param maxDistance the maximum distance, inclusive
+	 * @return the matching names ordered by their distance to the query and then
+	 *         by name
+	 */
+	List<String> findWithin(String query, int maxDistance) {
+		if (root == null)
+			return List.of();
+		List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+		Deque<Node> nodesToVisit = new ArrayDeque<>();
+		nodesToVisit.push(root);
+		while (!nodesToVisit.isEmpty()) {
+			var node = nodesToVisit.pop();
+			int nodeDistance = distance.applyAsInt(query, node.name);
+			if (nodeDistance <= maxDistance)
+				matches.add(Map.entry(node.name, nodeDistance));
+			for (var child : node.children.entrySet()) {
+				if (Math.abs(child.getKey() - nodeDistance) <= maxDistance)
+					nodesToVisit.push(child.getValue());
+			}
+		}
+		matches.sort(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+		return matches.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+	}
+
+	private static final class Node {
+
+		final String name;
+		final Map<Integer, Node> children = new HashMap<>();
+
+		Node(String name) {
+			this.name = name;
+		}
+	}
+}
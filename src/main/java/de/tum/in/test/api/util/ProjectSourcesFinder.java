@@ -28,8 +28,8 @@ public class ProjectSourcesFinder {
 	private static final Pattern GRADLE_SOURCE_DIR_PATTERN = Pattern
 			.compile("def\\s+assignmentSrcDir\\s*=\\s*\"(?<dir>.+)\""); //$NON-NLS-1$
 
-	private static String pomXmlPath = "pom.xml"; //$NON-NLS-1$
-	private static String buildGradlePath = "build.gradle"; //$NON-NLS-1$
+	private static volatile String pomXmlPath = "pom.xml"; //$NON-NLS-1$
+	private static volatile String buildGradlePath = "build.gradle"; //$NON-NLS-1$
 
 	/**
 	 * Returns the project sources path depending on the Ares and project
@@ -0,0 +1,82 @@
+package de.tum.in.test.api.util;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.*;
+import java.util.zip.CRC32C;
+
+import org.apiguardian.api.API;
+import org.apiguardian.api.API.Status;
+
+/**
+ * The state of a source file at the time it was read, used to detect changed
+ * sources in long-lived JVMs that test more than one submission.
+ * <p>
+ * Size and last modification time can be compared without reading the file
+ * using {@link #isUnchanged(BasicFileAttributes)}. If they differ, the file is
+ * read again and {@link #hasSameContent(SourceFileSnapshot)} decides based on
+ * the content hash whether the cached information derived from the file is
+ * still valid.
+ *
+ * @since 1.14.0
+ */
+@API(status = Status.INTERNAL)
+public final class SourceFileSnapshot {
+
+	private final long size;
+	private final FileTime lastModifiedTime;
+	private final long contentHash;
+
+	private SourceFileSnapshot(long size, FileTime lastModifiedTime, long contentHash) {
+		this.size = size;
+		this.lastModifiedTime = lastModifiedTime;
+		this.contentHash = contentHash;
+	}
+
+	/**
+	 * Records the state of a file.
+	 *
+	 * @param attributes the attributes of the file, read before the content
+	 * @param content    the content of the file
+	 * @return the state of the file
+	 */
+	public static SourceFileSnapshot of(BasicFileAttributes attributes, byte[] content) {
+		var crc = new CRC32C();
+		crc.update(content);
+		return new SourceFileSnapshot(content.length, attributes.lastModifiedTime(), crc.getValue());
+	}
+
+	/**
+	 * Reads the file and records its state.
+	 *
+	 * @param file the file to read
+	 * @return the state of the file
+	 * @throws IOException if the file could not be read
+	 */
+	public static SourceFileSnapshot read(Path file) throws IOException {
+		var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+		return of(attributes, Files.readAllBytes(file));
+	}
+
+	/**
+	 * Checks whether size and last modification time are still the same, without
+	 * reading the file.
+	 *
+	 * @param attributes the current attributes of the file
+	 * @return true if the file is assumed to be unchanged
+	 */
+	public boolean isUnchanged(BasicFileAttributes attributes) {
+		return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+	}
+
+	/**
+	 * Checks whether the file had the same content when the other snapshot was
+	 * taken, i.e. whether both size and content hash are equal.
+	 *
+	 * @param other the other snapshot of the file, may be null
+	 * @return true if the content is equal
+	 */
+	public boolean hasSameContent(SourceFileSnapshot other) {
+		return other != null && size == other.size && contentHash == other.contentHash;
+	}
+}
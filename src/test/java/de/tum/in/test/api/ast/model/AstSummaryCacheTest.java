@@ -0,0 +1,165 @@
+package de.tum.in.test.api.ast.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.stmt.ForStmt;
+
+import de.tum.in.test.api.AresConfiguration;
+import de.tum.in.test.api.ast.type.*;
+
+@SuppressWarnings("static-method")
+class AstSummaryCacheTest {
+
+	private static final String SOURCE = "class A {\n" //
+			+ "	void run(int[] values) {\n" //
+			+ "		for (int i = 0; i < 2; i++) {\n" //
+			+ "			while (i > 5) { }\n" //
+			+ "		}\n" //
+			+ "		for (int value : values) {\n" //
+			+ "			if (value > 0) throw new IllegalStateException();\n" //
+			+ "		}\n" //
+			+ "	}\n" //
+			+ "}\n";
+
+	private static final byte[] SECRET = "not part of the submission".getBytes(StandardCharsets.UTF_8);
+
+	private static final List<Type> TYPES = List.of(LoopType.ANY, ConditionalType.ANY, ExceptionHandlingType.ANY);
+
+	@AfterEach
+	void resetConfiguration() {
+		AresConfiguration.setAstSummaryCacheDirectory(null);
+		JavaFileCache.clear();
+	}
+
+	@Test
+	void testSameAsSyntaxTree() throws IOException {
+		var ast = StaticJavaParser.parse(SOURCE);
+		var out = new ByteArrayOutputStream();
+		AstSummary.of(ast).write(out);
+		var summary = AstSummary.read(out.toByteArray());
+		var rules = UnwantedNodeRules.ofTypes(TYPES);
+
+		assertThat(rules.canUseSummary()).isTrue();
+		assertThat(describe(rules.findIn(summary))).isEqualTo(describe(rules.findIn(ast)));
+	}
+
+	@Test
+	void testSummaryReusedForSameContent(@TempDir Path directory) throws IOException {
+		var sources = Files.createDirectories(directory.resolve("src"));
+		var cacheDirectory = directory.resolve("cache");
+		Files.writeString(sources.resolve("A.java"), SOURCE);
+		AresConfiguration.setAstSummaryCacheDirectory(cacheDirectory, SECRET);
+
+		var parsed = UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(sources,
+				path -> UnwantedNodeRules.ofTypes(TYPES));
+
+		assertThat(parsed).isPresent();
+		assertThat(listFiles(cacheDirectory)).hasSize(1);
+
+		// replace the cached summary to see that it is used instead of parsing
+		var key = AstSummaryCache.keyOf(sources.resolve("A.java"), LanguageLevel.JAVA_11);
+		var otherAst = StaticJavaParser.parse("class B { void run() { while (true) { } } }");
+		new AstSummaryCache(cacheDirectory, SECRET).store(key, AstSummary.of(otherAst));
+		JavaFileCache.clear();
+
+		var cached = UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(sources,
+				path -> UnwantedNodeRules.ofTypes(TYPES));
+
+		assertThat(cached).isPresent();
+		assertThat(cached.get()).isNotEqualTo(parsed.get());
+	}
+
+	@Test
+	void testForgedSummaryIgnored(@TempDir Path directory) throws IOException {
+		var sources = Files.createDirectories(directory.resolve("src"));
+		var cacheDirectory = Files.createDirectories(directory.resolve("cache"));
+		var javaFile = sources.resolve("A.java");
+		Files.writeString(javaFile, SOURCE);
+		var key = AstSummaryCache.keyOf(javaFile, LanguageLevel.JAVA_11);
+		// a summary without unwanted nodes as a submission could provide it
+		try (var out = Files.newOutputStream(cacheDirectory.resolve(key + ".summary"))) {
+			AstSummary.of(StaticJavaParser.parse("class A { }")).write(out);
+		}
+		new AstSummaryCache(cacheDirectory, "another secret of 16 bytes".getBytes(StandardCharsets.UTF_8))
+				.store(key + "-other", AstSummary.of(StaticJavaParser.parse("class A { }")));
+		Files.move(cacheDirectory.resolve(key + "-other.summary"), cacheDirectory.resolve(key + ".summary"),
+				StandardCopyOption.REPLACE_EXISTING);
+		AresConfiguration.setAstSummaryCacheDirectory(cacheDirectory, SECRET);
+
+		assertThat(new AstSummaryCache(cacheDirectory, SECRET).load(key)).isNull();
+		assertThat(UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(sources,
+				path -> UnwantedNodeRules.ofTypes(TYPES))).isPresent();
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> AresConfiguration.setAstSummaryCacheDirectory(cacheDirectory, new byte[8]));
+	}
+
+	@Test
+	void testInvalidSummaryIgnored(@TempDir Path directory) throws IOException {
+		var javaFile = directory.resolve("A.java");
+		Files.writeString(javaFile, SOURCE);
+		var cache = new AstSummaryCache(directory.resolve("cache"), SECRET);
+		var key = AstSummaryCache.keyOf(javaFile, LanguageLevel.JAVA_11);
+
+		assertThat(key).endsWith("-JAVA_11-" + AstSummary.formatId())
+				.isNotEqualTo(AstSummaryCache.keyOf(javaFile, LanguageLevel.JAVA_17));
+		assertThat(cache.load(key)).isNull();
+
+		cache.store(key, AstSummary.of(StaticJavaParser.parse(SOURCE)));
+		assertThat(cache.load(key)).isNotNull();
+
+		Files.writeString(listFiles(directory.resolve("cache")).get(0), "invalid");
+		assertThat(cache.load(key)).isNull();
+	}
+
+	@Test
+	void testOtherFormatRejected() throws IOException {
+		var out = new ByteArrayOutputStream();
+		AstSummary.of(StaticJavaParser.parse(SOURCE)).write(out);
+		var content = out.toByteArray();
+		// the format id follows the magic number, the version and the length of the id
+		var formatIdOffset = Integer.BYTES + 1 + Short.BYTES;
+		content[formatIdOffset] = (byte) (content[formatIdOffset] == '0' ? '1' : '0');
+
+		assertThatIOException().isThrownBy(() -> AstSummary.read(content))
+				.withMessageStartingWith("Unsupported AST summary format");
+	}
+
+	@Test
+	void testNodeCountBoundedByContent() throws IOException {
+		var out = new ByteArrayOutputStream();
+		var data = new DataOutputStream(out);
+		data.writeInt(0x41525341);
+		data.writeByte(1);
+		data.writeUTF(AstSummary.formatId());
+		data.writeInt(1);
+		data.writeUTF(ForStmt.class.getName());
+		data.writeInt(Integer.MAX_VALUE / 4);
+
+		assertThatIOException().isThrownBy(() -> AstSummary.read(out.toByteArray()))
+				.withMessageStartingWith("Invalid node count");
+	}
+
+	private static List<Path> listFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.collect(Collectors.toList());
+		}
+	}
+
+	private static Map<String, List<String>> describe(Map<String, List<NodePosition>> positions) {
+		Map<String, List<String>> descriptions = new LinkedHashMap<>();
+		positions.forEach((name, nodePositions) -> descriptions.put(name,
+				nodePositions.stream().map(NodePosition::toString).collect(Collectors.toList())));
+		return descriptions;
+	}
+}
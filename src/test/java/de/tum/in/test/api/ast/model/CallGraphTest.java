@@ -0,0 +1,153 @@
+package de.tum.in.test.api.ast.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+
+import de.tum.in.test.api.ast.model.CallGraph.MethodCall;
+
+@SuppressWarnings("static-method")
+class CallGraphTest {
+
+	private static final String MATH = "package p;\n" //
+			+ "public class MathUtils {\n" //
+			+ "	static int factorial(int n) {\n" //
+			+ "		return n <= 1 ? 1 : n * factorial(n - 1);\n" //
+			+ "	}\n" //
+			+ "	static boolean isEven(int n) {\n" //
+			+ "		return n == 0 || isOdd(n - 1);\n" //
+			+ "	}\n" //
+			+ "	static boolean isOdd(int n) {\n" //
+			+ "		return n != 0 && isEven(n - 1);\n" //
+			+ "	}\n" //
+			+ "	static int sum(int[] values) {\n" //
+			+ "		return sum(values, 0);\n" //
+			+ "	}\n" //
+			+ "	static int sum(int[] values, int from) {\n" //
+			+ "		return from;\n" //
+			+ "	}\n" //
+			+ "}\n";
+
+	private static final String OVERLOADS = "package p;\n" //
+			+ "import java.util.List;\n" //
+			+ "public class Overloads {\n" //
+			+ "	void print(List<String> lines) {\n" //
+			+ "		print(lines.get(0));\n" //
+			+ "	}\n" //
+			+ "	void print(String line) {\n" //
+			+ "	}\n" //
+			+ "}\n";
+
+	private static final String PRINTER = "package p;\n" //
+			+ "import java.util.*;\n" //
+			+ "import java.util.stream.Collectors;\n" //
+			+ "public class Printer {\n" //
+			+ "	private final List<String> lines = new ArrayList<>();\n" //
+			+ "	void print(String line) {\n" //
+			+ "		lines.add(line);\n" //
+			+ "	}\n" //
+			+ "	void print(int number) {\n" //
+			+ "		print(String.valueOf(number));\n" //
+			+ "		print(\"\" + MathUtils.factorial(number));\n" //
+			+ "	}\n" //
+			+ "	void add(String line) {\n" //
+			+ "		lines.add(line);\n" //
+			+ "		Collections.sort(lines);\n" //
+			+ "	}\n" //
+			+ "	String join() {\n" //
+			+ "		return lines.stream().collect(Collectors.joining());\n" //
+			+ "	}\n" //
+			+ "	int length(Map<String, Printer> printers) {\n" //
+			+ "		return printers.get(\"\").join().length();\n" //
+			+ "	}\n" //
+			+ "	void log(String line) {\n" //
+			+ "		System.out.println(line);\n" //
+			+ "		java.lang.System.err.println(line);\n" //
+			+ "	}\n" //
+			+ "	int total(List<Integer> numbers) {\n" //
+			+ "		var copy = new ArrayList<Integer>(numbers);\n" //
+			+ "		return copy.stream().mapToInt(number -> number).sum();\n" //
+			+ "	}\n" //
+			+ "}\n";
+
+	@Test
+	void testRecursiveCalls() {
+		var callGraph = callGraphOf(MATH, PRINTER);
+
+		assertThat(describe(callGraph.findRecursiveCalls())).containsExactly("p.MathUtils.factorial@4",
+				"p.MathUtils.isOdd@7", "p.MathUtils.isEven@10");
+	}
+
+	@Test
+	void testLongCallChain() {
+		var source = new StringBuilder("class Chain {\n");
+		for (var i = 0; i < 5_000; i++)
+			source.append("	void m").append(i).append("() { m").append(i + 1).append("(); }\n");
+		source.append("	void m5000() { }\n}\n");
+		var callGraph = callGraphOf(source.toString());
+
+		assertThat(callGraph.findRecursiveCalls()).isEmpty();
+	}
+
+	@Test
+	void testAmbiguousCallsNotRecursive() {
+		var callGraph = callGraphOf(OVERLOADS);
+
+		assertThat(callGraph.getCalls()).filteredOn(call -> "print".equals(call.getMethodName())).singleElement()
+				.satisfies(call -> assertThat(call.getTargets()).hasSize(2));
+		assertThat(callGraph.findRecursiveCalls()).isEmpty();
+	}
+
+	@Test
+	void testResolvedTargets() {
+		var callGraph = callGraphOf(MATH, PRINTER);
+		var calls = callGraph.getCalls();
+
+		assertThat(calls).filteredOn(call -> "p.MathUtils.sum".equals(call.getTargetName())).singleElement()
+				.satisfies(call -> assertThat(call.getTargets()).singleElement()
+						.satisfies(target -> assertThat(target.getSignature()).isEqualTo("p.MathUtils.sum(int[], int)")));
+		assertThat(calls).filteredOn(call -> "factorial".equals(call.getMethodName())
+				&& call.getCaller().getDeclaringTypeName().equals("p.Printer")).singleElement()
+				.satisfies(call -> assertThat(call.getTargets()).hasSize(1));
+		assertThat(calls).filteredOn(call -> call.getCaller() == null).singleElement()
+				.satisfies(call -> assertThat(call.getTargetName()).isEqualTo("java.util.ArrayList"));
+	}
+
+	@Test
+	void testCallsIntoPackage() {
+		var callGraph = callGraphOf(MATH, PRINTER);
+
+		assertThat(describe(callGraph.findCallsInto("java.util"))).containsExactly("java.util.ArrayList@5",
+				"java.util.List.add@7", "java.util.List.add@14", "java.util.Collections.sort@15",
+				"java.util.stream.Stream.collect@18", "java.util.List.stream@18",
+				"java.util.stream.Collectors.joining@18", "java.util.Map.get@21", "java.util.ArrayList@28",
+				"java.util.stream.IntStream.sum@29", "java.util.stream.Stream.mapToInt@29",
+				"java.util.ArrayList.stream@29");
+		assertThat(describe(callGraph.findCallsInto("java.util.stream"))).containsExactly(
+				"java.util.stream.Stream.collect@18", "java.util.stream.Collectors.joining@18",
+				"java.util.stream.IntStream.sum@29", "java.util.stream.Stream.mapToInt@29");
+		assertThat(describe(callGraph.findCallsTo("java.util.Collections.sort")))
+				.containsExactly("java.util.Collections.sort@15");
+		assertThat(describe(callGraph.findCallsInto("java.lang"))).containsExactly("java.lang.String.valueOf@10");
+		assertThat(describe(callGraph.findCallsInto("java.io"))).containsExactly("java.io.PrintStream.println@24",
+				"java.io.PrintStream.println@25");
+	}
+
+	private static CallGraph callGraphOf(String... sources) {
+		List<JavaFile> javaFiles = new ArrayList<>();
+		for (var i = 0; i < sources.length; i++)
+			javaFiles.add(new JavaFile(Path.of("File" + i + ".java"), StaticJavaParser.parse(sources[i])));
+		return CallGraph.of(javaFiles);
+	}
+
+	private static List<String> describe(List<MethodCall> calls) {
+		return calls.stream().map(call -> call.getTargetName() + "@" + call.getPosition().getBeginLine())
+				.collect(Collectors.toList());
+	}
+}
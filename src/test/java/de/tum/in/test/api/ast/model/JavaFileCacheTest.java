@@ -0,0 +1,93 @@
+package de.tum.in.test.api.ast.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+import com.github.javaparser.StaticJavaParser;
+
+import de.tum.in.test.api.ast.asserting.UnwantedNodesAssert;
+import de.tum.in.test.api.ast.type.LoopType;
+
+@SuppressWarnings("static-method")
+class JavaFileCacheTest {
+
+	private LanguageLevel previousLevel;
+
+	@BeforeEach
+	void setLanguageLevel() {
+		previousLevel = StaticJavaParser.getParserConfiguration().getLanguageLevel();
+		StaticJavaParser.getParserConfiguration().setLanguageLevel(LanguageLevel.JAVA_11);
+	}
+
+	@AfterEach
+	void resetLanguageLevel() {
+		StaticJavaParser.getParserConfiguration().setLanguageLevel(previousLevel);
+	}
+
+	@Test
+	void testUnchangedFileParsedOnce(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { }");
+
+		var ast = JavaFileCache.parse(file);
+
+		assertThat(JavaFileCache.parse(file)).isSameAs(ast);
+		touch(file, 10);
+		assertThat(JavaFileCache.parse(file)).isSameAs(ast);
+		StaticJavaParser.getParserConfiguration().setLanguageLevel(LanguageLevel.JAVA_17);
+		assertThat(JavaFileCache.parse(file)).isNotSameAs(ast);
+	}
+
+	@Test
+	void testChangedFileParsedAgain(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { }");
+		var ast = JavaFileCache.parse(file);
+
+		Files.writeString(file, "class A { void b() { } }");
+		touch(file, 10);
+		var changedAst = JavaFileCache.parse(file);
+
+		assertThat(changedAst).isNotSameAs(ast);
+		assertThat(changedAst.getType(0).getMethods()).hasSize(1);
+	}
+
+	@Test
+	void testConvertFromFileUsesCache(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { }");
+
+		var javaFile = JavaFile.convertFromFile(file);
+
+		assertThat(javaFile.getJavaFilePath()).isEqualTo(file);
+		assertThat(JavaFile.readFromDirectory(directory)).singleElement()
+				.extracting(JavaFile::getJavaFileAST).isSameAs(javaFile.getJavaFileAST());
+	}
+
+	@Test
+	void testLanguageLevelNotTakenFromStaticJavaParser(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "record A(int value) { }");
+
+		var ast = JavaFileCache.parse(file, LanguageLevel.JAVA_17);
+		UnwantedNodesAssert.assertThatSourcesIn(directory).withLanguageLevel(LanguageLevel.JAVA_17)
+				.hasNo(LoopType.ANY);
+
+		assertThat(ast.getType(0).isRecordDeclaration()).isTrue();
+		assertThat(StaticJavaParser.getParserConfiguration().getLanguageLevel()).isEqualTo(LanguageLevel.JAVA_11);
+		assertThatThrownBy(() -> JavaFileCache.parse(file)).isInstanceOf(ParseProblemException.class);
+	}
+
+	private static void touch(Path file, long seconds) throws IOException {
+		Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+	}
+}
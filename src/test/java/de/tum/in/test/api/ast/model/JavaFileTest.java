@@ -0,0 +1,69 @@
+package de.tum.in.test.api.ast.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
+
+import de.tum.in.test.api.AresConfiguration;
+import de.tum.in.test.api.ast.type.LoopType;
+
+@SuppressWarnings("static-method")
+class JavaFileTest {
+
+	@AfterEach
+	void resetConfiguration() {
+		AresConfiguration.setAstParsingParallelism(1);
+		AresConfiguration.setAstMaxFileSize(Long.MAX_VALUE);
+	}
+
+	@Test
+	void testProcessFilesInOrder(@TempDir Path directory) throws IOException {
+		List<Path> files = new ArrayList<>();
+		for (var i = 0; i < 8; i++) {
+			var file = directory.resolve("A" + i + ".java");
+			Files.writeString(file, "class A" + i + " { void run() { " + "while (true) { } ".repeat(i) + "} }");
+			files.add(file);
+		}
+		var rules = UnwantedNodeRules.of(LoopType.WHILESTMT.getNodeNameNodeMap());
+		AresConfiguration.setAstParsingParallelism(3);
+
+		var counts = JavaFile.processFiles(files, LanguageLevel.JAVA_11,
+				javaFile -> rules.findUnwantedNodes(javaFile).stream()
+						.mapToInt(node -> node.getUnwantedNodePositions().size()).sum());
+
+		assertThat(counts).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+	}
+
+	@Test
+	void testProcessFilesNotCached(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { }");
+
+		var asts = JavaFile.processFiles(List.of(file), LanguageLevel.JAVA_11, JavaFile::getJavaFileAST);
+
+		assertThat(asts).singleElement().isNotSameAs(JavaFileCache.parse(file, LanguageLevel.JAVA_11));
+		assertThat(JavaFile.convertFromFiles(List.of(file), LanguageLevel.JAVA_11)).singleElement()
+				.satisfies(javaFile -> assertThat(javaFile.getJavaFileAST())
+						.isSameAs(JavaFileCache.parse(file, LanguageLevel.JAVA_11)));
+	}
+
+	@Test
+	void testFileTooLarge(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { void run() { while (true) { } } }");
+		AresConfiguration.setAstMaxFileSize(16);
+
+		assertThatThrownBy(() -> JavaFile.convertFromFile(file)).isInstanceOf(AssertionError.class)
+				.hasMessageContaining(file.toAbsolutePath().toString());
+		assertThatThrownBy(() -> UnwantedNode.getMessageForUnwantedNodesForAllFilesBelow(directory,
+				LoopType.ANY.getNodeNameNodeMap())).isInstanceOf(AssertionError.class);
+		assertThatIllegalArgumentException().isThrownBy(() -> AresConfiguration.setAstMaxFileSize(0));
+	}
+}
@@ -0,0 +1,81 @@
+package de.tum.in.test.api.ast.model;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.*;
+
+import de.tum.in.test.api.ast.type.*;
+
+@SuppressWarnings("static-method")
+class LexicalFilterTest {
+
+	@Test
+	void testKeywordsInCode() {
+		var keywords = keywordsIn("class A { void run(boolean b) { if (b) for (;;) { } int x = b ? 1 : 2; } }");
+
+		assertThat(keywords & LexicalFilter.requiredKeywordsOf(IfStmt.class)).isNotZero();
+		assertThat(keywords & LexicalFilter.requiredKeywordsOf(ForStmt.class)).isNotZero();
+		assertThat(keywords & LexicalFilter.requiredKeywordsOf(ForEachStmt.class)).isNotZero();
+		assertThat(keywords & LexicalFilter.requiredKeywordsOf(WhileStmt.class)).isZero();
+		assertThat(keywords & LexicalFilter.requiredKeywordsOf(SwitchStmt.class)).isZero();
+	}
+
+	@Test
+	void testKeywordsInCommentsAndLiteralsIgnored() {
+		var keywords = keywordsIn("class A {\n" //
+				+ "	// while (true)\n" //
+				+ "	/* switch (x) { } ? */\n" //
+				+ "	String s = \"for if \\\" throw\";\n" //
+				+ "	char c = '?', d = '\\'';\n" //
+				+ "	String t = \"\"\"\n" //
+				+ "		do { } while (x) \\\"\"\" assert\n" //
+				+ "		\"\"\";\n" //
+				+ "	void format() { doSomething(iff, forEach, whileX); }\n" //
+				+ "}\n");
+
+		assertThat(keywords).isEqualTo(keywordsIn("class"));
+	}
+
+	@Test
+	void testUnicodeEscapes() {
+		assertThat(keywordsIn("class A { int \\u0069f; }")).isEqualTo(LexicalFilter.ALL);
+		assertThat(keywordsIn("class A { // \\u000a while (true) { }\n }")).isEqualTo(LexicalFilter.ALL);
+		assertThat(keywordsIn("class A { String s = \"\\\\u\"; }")).isEqualTo(keywordsIn("class"));
+	}
+
+	@Test
+	void testUnsupportedNodeClass() {
+		assertThat(LexicalFilter.requiredKeywordsOf(MethodDeclaration.class)).isEqualTo(LexicalFilter.ALL);
+		assertThat(UnwantedNodeRules.of(Map.of("Method", MethodDeclaration.class))
+				.mayOccurIn(Path.of("does/not/exist.java"))).isTrue();
+	}
+
+	@Test
+	void testMayOccurIn(@TempDir Path directory) throws IOException {
+		var file = directory.resolve("A.java");
+		Files.writeString(file, "class A { void run() { while (true) { } } }");
+		var loops = UnwantedNodeRules.ofTypes(List.of(LoopType.ANY));
+		var conditionals = UnwantedNodeRules.ofTypes(List.of(ConditionalType.ANY));
+
+		assertThat(loops.mayOccurIn(file)).isTrue();
+		assertThat(conditionals.mayOccurIn(file)).isFalse();
+
+		Files.writeString(file, "class A { void run(boolean b) { if (b) { } } }");
+
+		assertThat(loops.mayOccurIn(file)).isFalse();
+		assertThat(conditionals.mayOccurIn(file)).isTrue();
+	}
+
+	private static int keywordsIn(String source) {
+		return LexicalFilter.keywordsIn(source.getBytes(UTF_8));
+	}
+}
@@ -0,0 +1,82 @@
+package de.tum.in.test.api.ast.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.*;
+import com.github.javaparser.ast.stmt.*;
+
+import de.tum.in.test.api.ast.type.*;
+
+@SuppressWarnings("static-method")
+class UnwantedNodeRulesTest {
+
+	private static final String SOURCE = "class A {\n" //
+			+ "	void run(int[] values) {\n" //
+			+ "		for (int i = 0; i < 2; i++) {\n" //
+			+ "			while (i > 5) { }\n" //
+			+ "		}\n" //
+			+ "		for (int value : values) {\n" //
+			+ "			if (value > 0) throw new IllegalStateException();\n" //
+			+ "		}\n" //
+			+ "		do { } while (false);\n" //
+			+ "	}\n" //
+			+ "}\n";
+
+	@Test
+	void testSameAsFindAll() {
+		var ast = StaticJavaParser.parse(SOURCE);
+		var types = List.of(LoopType.ANY, ConditionalType.ANY, ExceptionHandlingType.ANY, ClassType.ANY);
+		var rules = UnwantedNodeRules.ofTypes(types);
+
+		var found = rules.findIn(ast);
+
+		for (var rule : rules.getNodeNameNodeMap().entrySet()) {
+			var expected = positionsOf(ast, rule.getValue());
+			if (expected.isEmpty())
+				assertThat(found).doesNotContainKey(rule.getKey());
+			else
+				assertThat(found.get(rule.getKey())).map(String::valueOf).as(rule.getKey())
+						.containsExactlyElementsOf(expected);
+		}
+		assertThat(found).hasSize(6);
+	}
+
+	@Test
+	void testSubclassesMatch() {
+		var ast = StaticJavaParser.parse(SOURCE);
+
+		var found = UnwantedNodeRules.of(Map.of("Statement", Statement.class)).findIn(ast);
+
+		assertThat(found.get("Statement")).hasSize(ast.findAll(Statement.class).size());
+	}
+
+	@Test
+	void testFindUnwantedNodesOrderedByPosition() {
+		var javaFile = new JavaFile(Path.of("A.java"), StaticJavaParser.parse(SOURCE));
+
+		var unwantedNodes = UnwantedNodeRules.ofTypes(List.of(ExceptionHandlingType.ANY, LoopType.ANY))
+				.findUnwantedNodes(javaFile);
+
+		assertThat(unwantedNodes).extracting(unwantedNode -> unwantedNode.getUnwantedNodePositions().get(0))
+				.extracting(NodePosition::getBeginLine).containsExactly(3, 4, 6, 7, 9);
+	}
+
+	@Test
+	void testOfTypesMergesDuplicateRules() {
+		var rules = UnwantedNodeRules.ofTypes(List.of(LoopType.ANY, LoopType.FORSTMT, LoopType.ANY_WHILE));
+
+		assertThat(rules.getNodeNameNodeMap()).isEqualTo(LoopType.ANY.getNodeNameNodeMap());
+	}
+
+	private static List<String> positionsOf(CompilationUnit ast, Class<? extends Node> type) {
+		return ast.findAll(type).stream().map(NodePosition::getPositionOf).sorted().map(String::valueOf)
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,19 @@
+package de.tum.in.test.api.io;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+@SuppressWarnings("static-method")
+class ExpectedLineTest {
+
+	@Test
+	void testFastForwardLimit() {
+		assertThat(ExpectedLine.parse(1, ">> 3 >>").fastForwardLimit()).isEqualTo(3);
+		assertThat(ExpectedLine.parse(1, ">> any >>").fastForwardLimit()).isEqualTo(Integer.MAX_VALUE);
+		assertThatIllegalArgumentException().isThrownBy(() -> ExpectedLine.parse(1, ">> 0 >>"))
+				.withMessage("fast-forward(0) limit must be greater than zero");
+		assertThatIllegalArgumentException().isThrownBy(() -> ExpectedLine.parse(1, ">> -3 >>"))
+				.withMessage("fast-forward(-3) limit must be greater than zero");
+	}
+}
@@ -1,11 +1,16 @@
 package de.tum.in.test.api.io;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.Scanner;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
 @SuppressWarnings("static-method")
 class IOTesterTest {
@@ -44,6 +49,82 @@ class IOTesterTest {
 		}
 	}
 
+	@Test
+	void testManyLinesAtOnce() {
+		try (Scanner scanner = new Scanner(System.in)) {
+			tester.provideInputLines("1", "Pinguin", "äöü");
+			tester.provideInputLines("", "2");
+
+			assertThat(scanner.nextInt()).isEqualTo(1);
+			assertThat(scanner.nextLine()).isEmpty();
+			assertThat(scanner.nextLine()).isEqualTo("Pinguin");
+			assertThat(scanner.nextLine()).isEqualTo("äöü");
+			assertThat(scanner.nextLine()).isEmpty();
+			assertThat(scanner.nextLine()).isEqualTo("2");
+			assertThatThrownBy(scanner::nextLine).isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("2");
+		}
+	}
+
+	@Test
+	void testRemainingLinesOfSameCall() {
+		try (Scanner scanner = new Scanner(System.in)) {
+			tester.provideInputLines("1", "2");
+
+			assertThat(scanner.nextLine()).isEqualTo("1");
+			assertThat(tester.in().hasNextLine()).isTrue();
+			assertThat(scanner.nextLine()).isEqualTo("2");
+			assertThat(tester.in().hasNextLine()).isFalse();
+		}
+	}
+
+	@Test
+	void testInputFromFile(@TempDir Path tempDir) throws IOException {
+		var inputFile = tempDir.resolve("input.txt");
+		Files.writeString(inputFile, "A\r\nB\nEisbär", StandardCharsets.UTF_8);
+		try (Scanner scanner = new Scanner(System.in)) {
+			tester.provideInputLines("X").provideInputFrom(inputFile).provideInputLines("Y");
+
+			assertThat(scanner.nextLine()).isEqualTo("X");
+			assertThat(scanner.nextLine()).isEqualTo("A");
+			assertThat(scanner.nextLine()).isEqualTo("B");
+			assertThat(scanner.nextLine()).isEqualTo("Eisbär");
+			assertThat(scanner.nextLine()).isEqualTo("Y");
+			assertThat(tester.in().hasNextLine()).isFalse();
+		}
+	}
+
+	@Test
+	void testInputFromFileDepleted(@TempDir Path tempDir) throws IOException {
+		var inputFile = tempDir.resolve("input.txt");
+		Files.writeString(inputFile, "first\nlast\n", StandardCharsets.UTF_8);
+		tester.provideInputFrom(inputFile);
+
+		assertThat(tester.in().getNextLine().text()).isEqualTo("first");
+		assertThat(tester.in().getNextLine().text()).isEqualTo("last");
+		assertThatThrownBy(tester.in()::getNextLine).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("last");
+	}
+
+	@Test
+	void testInteractiveInput() {
+		try (Scanner scanner = new Scanner(System.in)) {
+			tester.provideInputLines("A").provideInputInteractively(output -> {
+				var lines = output.getLinesAsString();
+				return lines.isEmpty() ? null : lines.get(lines.size() - 1).toLowerCase();
+			});
+
+			assertThat(scanner.nextLine()).isEqualTo("A");
+			System.out.print("X");
+			assertThat(scanner.nextLine()).isEqualTo("x");
+			System.out.print("Y");
+			assertThat(scanner.nextLine()).isEqualTo("xy");
+			tester.out().resetOutput();
+			assertThatThrownBy(scanner::nextLine).isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("xy");
+		}
+	}
+
 	@Test
 	void testIn() {
 		assertThat(tester.in()).isNotNull().isSameAs(tester.getInTester());
@@ -0,0 +1,99 @@
+package de.tum.in.test.api.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.test.api.localization.UseLocale;
+
+@UseLocale("en")
+@SuppressWarnings("static-method")
+class OutputDiffTest {
+
+	@Test
+	void testNoDifferences() {
+		var lines = List.of("a", "b");
+		var diff = OutputDiff.compute(ExpectedLine.parseAll("a", "||\\w||"), lines);
+
+		assertThat(diff.hasDifferences()).isFalse();
+		assertThat(diff.toReport(lines, lines, 3, 100)).isEmpty();
+	}
+
+	@Test
+	void testSmallDifference() {
+		var expected = List.of("a", "b", "c", "d");
+		var actual = List.of("a", "x", "c", "d", "e");
+		var diff = OutputDiff.compute(ExpectedLine.parseAll(expected.toArray(String[]::new)), actual);
+
+		assertThat(diff.toReport(expected, actual, 3, 100)).isEqualTo("@@ -1,4 +1,5 @@\n" //
+				+ " a\n" //
+				+ "-b\n" //
+				+ "+x\n" //
+				+ " c\n" //
+				+ " d\n" //
+				+ "+e\n");
+	}
+
+	@Test
+	void testSeparateHunks() {
+		var expected = numberedLines(100);
+		var actual = new ArrayList<>(expected);
+		actual.set(10, "changed");
+		actual.remove(80);
+		var diff = OutputDiff.compute(ExpectedLine.parseAll(expected.toArray(String[]::new)), actual);
+
+		assertThat(diff.toReport(expected, actual, 1, 100)).isEqualTo("@@ -10,3 +10,3 @@\n" //
+				+ " line 9\n" //
+				+ "-line 10\n" //
+				+ "+changed\n" //
+				+ " line 11\n" //
+				+ "@@ -80,3 +80,2 @@\n" //
+				+ " line 79\n" //
+				+ "-line 80\n" //
+				+ " line 81\n");
+	}
+
+	@Test
+	void testReportTruncated() {
+		var expected = numberedLines(10);
+		var actual = expected.stream().map(line -> line + "!").collect(Collectors.toList());
+		var diff = OutputDiff.compute(ExpectedLine.parseAll(expected.toArray(String[]::new)), actual);
+
+		assertThat(diff.toReport(expected, actual, 3, 5)).startsWith("@@ -1,10 +1,10 @@\n-line 0\n")
+				.endsWith("... 15 more changed lines not shown\n");
+	}
+
+	@Test
+	void testLargeOutputFewDifferences() {
+		var expected = numberedLines(100_000);
+		var actual = new ArrayList<>(expected);
+		actual.set(50_000, "changed");
+		actual.add(90_000, "inserted");
+		var expectedLines = ExpectedLine.parseAll(expected.toArray(String[]::new));
+
+		var report = assertTimeout(Duration.ofSeconds(5),
+				() -> OutputDiff.compute(expectedLines, actual).toReport(expected, actual, 3, 100));
+		assertThat(report).contains("-line 50000\n+changed\n", "+inserted\n").hasLineCount(17);
+	}
+
+	@Test
+	void testLargeOutputNothingInCommon() {
+		var expected = numberedLines(100_000);
+		var actual = expected.stream().map(line -> line + "!").collect(Collectors.toList());
+		var expectedLines = ExpectedLine.parseAll(expected.toArray(String[]::new));
+
+		var report = assertTimeout(Duration.ofSeconds(5),
+				() -> OutputDiff.compute(expectedLines, actual).toReport(expected, actual, 3, 100));
+		assertThat(report).startsWith("@@ -1,100000 +1,100000 @@\n")
+				.endsWith("... 199900 more changed lines not shown\n");
+	}
+
+	private static List<String> numberedLines(int count) {
+		return IntStream.range(0, count).mapToObj(i -> "line " + i).collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,122 @@
+package de.tum.in.test.api.structural;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.jar.*;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("static-method")
+class BinaryStructureOracleTest {
+
+	private static final String ORACLE = "[ {\n" //
+			+ "  \"class\" : { \"name\" : \"A\", \"package\" : \"p\", \"isAbstract\" : true },\n" //
+			+ "  \"attributes\" : [ { \"name\" : \"x\", \"type\" : \"int\", \"modifiers\" : [ \"private\" ] } ],\n" //
+			+ "  \"methods\" : [ { \"name\" : \"m\", \"parameters\" : [ ], \"returnType\" : \"void\", \"strictOrder\" : false } ],\n" //
+			+ "  \"numbers\" : [ 1, 12345678901, 2.5, null, \"\\u00fcml\\u00e4ut\" ]\n" //
+			+ "} ]";
+
+	@Test
+	void testRoundTrip() throws IOException {
+		var json = new JSONArray(ORACLE);
+		var out = new ByteArrayOutputStream();
+		BinaryStructureOracle.write(json, out);
+
+		var read = BinaryStructureOracle.read(ByteBuffer.wrap(out.toByteArray()));
+
+		assertThat(read.similar(json)).isTrue();
+	}
+
+	@Test
+	void testReadForFile(@TempDir Path directory) throws IOException {
+		var jsonFile = directory.resolve("test.json");
+		Files.writeString(jsonFile, ORACLE);
+		BinaryStructureOracle.main(new String[] { jsonFile.toString() });
+
+		var read = BinaryStructureOracle.readFor(jsonFile.toUri().toURL());
+
+		assertThat(read).isPresent();
+		assertThat(read.get().similar(new JSONArray(ORACLE))).isTrue();
+	}
+
+	@Test
+	void testReadForOutdatedFile(@TempDir Path directory) throws IOException {
+		var jsonFile = directory.resolve("test.json");
+		var binaryFile = directory.resolve("test.json" + BinaryStructureOracle.FILE_SUFFIX);
+		Files.writeString(jsonFile, ORACLE);
+		BinaryStructureOracle.compile(jsonFile, binaryFile);
+		Files.setLastModifiedTime(binaryFile, FileTime.from(Instant.now().minusSeconds(60)));
+
+		assertThat(BinaryStructureOracle.readFor(jsonFile.toUri().toURL())).isEmpty();
+	}
+
+	@Test
+	void testReadForMissingOrInvalidFile(@TempDir Path directory) throws IOException {
+		var jsonFile = directory.resolve("test.json");
+		Files.writeString(jsonFile, ORACLE);
+
+		assertThat(BinaryStructureOracle.readFor(jsonFile.toUri().toURL())).isEmpty();
+		Files.writeString(directory.resolve("test.json" + BinaryStructureOracle.FILE_SUFFIX), "[ ]");
+		assertThat(BinaryStructureOracle.readFor(jsonFile.toUri().toURL())).isEmpty();
+	}
+
+	@Test
+	void testTruncated() throws IOException {
+		var out = new ByteArrayOutputStream();
+		BinaryStructureOracle.write(new JSONArray(ORACLE), out);
+		var truncated = ByteBuffer.wrap(out.toByteArray(), 0, out.size() / 2).slice();
+
+		assertThatIOException().isThrownBy(() -> BinaryStructureOracle.read(truncated));
+	}
+
+	@Test
+	void testHugeLength() throws IOException {
+		var out = new ByteArrayOutputStream();
+		var data = new DataOutputStream(out);
+		data.writeInt(0x4152534F);
+		data.writeByte(1);
+		data.writeInt(1);
+		data.writeInt(Integer.MAX_VALUE - 8);
+		data.writeByte('A');
+
+		assertThatIOException().isThrownBy(() -> BinaryStructureOracle.read(ByteBuffer.wrap(out.toByteArray())))
+				.withMessageStartingWith("Invalid length");
+	}
+
+	@Test
+	void testReadForJarEntry(@TempDir Path directory) throws IOException {
+		var now = Instant.now();
+		var upToDate = writeJar(directory.resolve("up-to-date.jar"), now, now);
+		var outdated = writeJar(directory.resolve("outdated.jar"), now, now.minusSeconds(60));
+
+		assertThat(BinaryStructureOracle.readFor(upToDate)).isPresent();
+		assertThat(BinaryStructureOracle.readFor(outdated)).isEmpty();
+	}
+
+	private static URL writeJar(Path jarFile, Instant jsonTime, Instant binaryTime) throws IOException {
+		var binaryOracle = new ByteArrayOutputStream();
+		BinaryStructureOracle.write(new JSONArray(ORACLE), binaryOracle);
+		try (var jar = new JarOutputStream(Files.newOutputStream(jarFile))) {
+			addEntry(jar, "test.json", ORACLE.getBytes(StandardCharsets.UTF_8), jsonTime);
+			addEntry(jar, "test.json" + BinaryStructureOracle.FILE_SUFFIX, binaryOracle.toByteArray(), binaryTime);
+		}
+		return new URL("jar:" + jarFile.toUri() + "!/test.json");
+	}
+
+	private static void addEntry(JarOutputStream jar, String name, byte[] content, Instant time) throws IOException {
+		var entry = new JarEntry(name);
+		entry.setLastModifiedTime(FileTime.from(time));
+		jar.putNextEntry(entry);
+		jar.write(content);
+		jar.closeEntry();
+	}
+}
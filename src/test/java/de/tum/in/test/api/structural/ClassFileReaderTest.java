@@ -0,0 +1,226 @@
+package de.tum.in.test.api.structural;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.*;
+import java.lang.annotation.*;
+import java.net.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.tum.in.test.api.structural.ObservedClass.*;
+
+@SuppressWarnings("static-method")
+class ClassFileReaderTest {
+
+	@Test
+	void testSameAsReflection() throws IOException {
+		for (Class<?> type : List.of(Sample.class, Sample.Inner.class, Sample.Color.class, Shape.class,
+				Shape.Nested.class, ObservedClass.class)) {
+			assertSameStructure(readClassFile(type), ObservedClass.of(type));
+		}
+	}
+
+	@Test
+	void testGenericTypeNames() throws IOException {
+		var observed = readClassFile(Sample.class);
+
+		assertThat(observed.getField("map").getType().getTypeName())
+				.isEqualTo("java.util.Map<java.lang.String, java.util.List<? extends java.lang.Number>>");
+		assertThat(observed.getField("entry").getType().getTypeName())
+				.isEqualTo("java.util.Map$Entry<?, ? super java.lang.Integer>");
+		assertThat(observed.getField("entry").getType().getCanonicalName()).isEqualTo("java.util.Map.Entry");
+		assertThat(observed.getField("inners").getType().getSimpleName()).isEqualTo("Inner[]");
+		assertThat(observed.getMethods("first").get(0).getReturnType().getTypeName()).isEqualTo("T");
+		assertThat(observed.getSuperclass().getTypeName()).isEqualTo("java.util.AbstractList<java.lang.String>");
+	}
+
+	@Test
+	void testEnumWithoutInitialization() throws IOException {
+		var observed = readClassFile(Sample.Color.class);
+
+		assertThat(observed.isEnum()).isTrue();
+		assertThat(observed.getEnumConstantNames()).containsExactly("RED", "GREEN");
+		assertThat(readClassFile(Sample.class).getEnumConstantNames()).isNull();
+	}
+
+	@Test
+	void testReadByName() {
+		var loader = ClassFileReaderTest.class.getClassLoader();
+
+		assertThat(ClassFileReader.read(Sample.Inner.class.getName(), loader)).get()
+				.extracting(ObservedClass::getName).isEqualTo(Sample.Inner.class.getName());
+		assertThat(ClassFileReader.read("de.tum.in.test.api.structural.Missing", loader)).isEmpty();
+	}
+
+	@Test
+	void testRecompiledClassReadAgain(@TempDir Path directory) throws IOException {
+		var classFile = Files.createDirectories(directory.resolve("x")).resolve("A.class");
+		Files.write(classFile, classFileBytes(Sample.Color.class));
+		try (var loader = new URLClassLoader(new URL[] { directory.toUri().toURL() }, null)) {
+			assertThat(ClassFileReader.read("x.A", loader)).get().extracting(ObservedClass::getName)
+					.isEqualTo(Sample.Color.class.getName());
+
+			Files.write(classFile, classFileBytes(Sample.Inner.class));
+			Files.setLastModifiedTime(classFile, FileTime.from(Instant.now().plusSeconds(10)));
+
+			assertThat(ClassFileReader.read("x.A", loader)).get().extracting(ObservedClass::getName)
+					.isEqualTo(Sample.Inner.class.getName());
+		}
+	}
+
+	@Test
+	void testNoClassFile() {
+		var input = new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 });
+
+		assertThatIOException().isThrownBy(() -> ClassFileReader.read(input));
+	}
+
+	private static byte[] classFileBytes(Class<?> type) throws IOException {
+		var path = type.getName().replace('.', '/') + ".class";
+		try (var in = type.getClassLoader().getResourceAsStream(path)) {
+			return in.readAllBytes();
+		}
+	}
+
+	private static ObservedClass readClassFile(Class<?> type) throws IOException {
+		var path = type.getName().replace('.', '/') + ".class";
+		try (var in = type.getClassLoader().getResourceAsStream(path)) {
+			return ClassFileReader.read(in);
+		}
+	}
+
+	private static void assertSameStructure(ObservedClass actual, ObservedClass expected) {
+		assertThat(actual.getName()).isEqualTo(expected.getName());
+		assertThat(actual.getModifiers()).as(expected.getName()).isEqualTo(expected.getModifiers());
+		assertThat(actual.getModifierFlags()).as(expected.getName()).isEqualTo(expected.getModifierFlags());
+		assertThat(actual.isEnum()).isEqualTo(expected.isEnum());
+		assertThat(describe(actual.getSuperclass())).isEqualTo(describe(expected.getSuperclass()));
+		assertThat(describe(actual.getInterfaces())).isEqualTo(describe(expected.getInterfaces()));
+		assertThat(describe(actual.getAnnotations())).isEqualTo(describe(expected.getAnnotations()));
+		assertThat(actual.getEnumConstantNames()).isEqualTo(expected.getEnumConstantNames());
+		assertThat(describeExecutables(actual.getConstructors()))
+				.isEqualTo(describeExecutables(expected.getConstructors()));
+		for (var name : List.of("map", "entry", "inners", "id", "value", "RED", "this$0")) {
+			var expectedField = expected.getField(name);
+			var actualField = actual.getField(name);
+			if (expectedField == null) {
+				assertThat(actualField).isNull();
+				continue;
+			}
+			assertThat(actualField.getModifiers()).isEqualTo(expectedField.getModifiers());
+			assertThat(describe(actualField.getType())).isEqualTo(describe(expectedField.getType()));
+			assertThat(describe(actualField.getAnnotations())).isEqualTo(describe(expectedField.getAnnotations()));
+			assertThat(actualField.isEnumConstant()).isEqualTo(expectedField.isEnumConstant());
+		}
+		for (var name : List.of("first", "get", "size", "area", "of", "read", "values", "valueOf")) {
+			assertThat(describeExecutables(actual.getMethods(name)))
+					.isEqualTo(describeExecutables(expected.getMethods(name)));
+		}
+	}
+
+	private static Set<String> describeExecutables(List<ObservedExecutable> executables) {
+		return executables.stream()
+				.map(executable -> executable.getName() + executable.getModifiers() + describe(executable.getAnnotations())
+						+ describe(executable.getParameterTypes()) + describe(executable.getReturnType()))
+				.collect(Collectors.toSet());
+	}
+
+	private static String describe(List<ObservedType> types) {
+		return types.stream().map(ClassFileReaderTest::describe).sorted().collect(Collectors.toList()).toString();
+	}
+
+	private static String describe(ObservedType type) {
+		if (type == null)
+			return "null";
+		return type.getCanonicalName() + "|" + type.getTypeName() + "|" + type.getSimpleName();
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+		String value() default "";
+
+		int[] numbers() default {};
+	}
+
+	@Marker(value = "sample", numbers = { 1, 2 })
+	static class Sample extends AbstractList<String> implements Serializable, Comparable<Sample> {
+
+		private static final long serialVersionUID = 1L;
+
+		@Marker
+		protected Map<String, List<? extends Number>> map;
+		transient Map.Entry<?, ? super Integer> entry;
+		volatile Inner[] inners;
+		private final long id;
+
+		@Deprecated
+		Sample(long id, String... values) {
+			this.id = id + values.length;
+		}
+
+		@Override
+		public String get(int index) {
+			return null;
+		}
+
+		@Override
+		public int size() {
+			return (int) id;
+		}
+
+		@Override
+		public int compareTo(Sample other) {
+			return 0;
+		}
+
+		static <T extends Comparable<? super T>> T first(Collection<T> values, int[][] unused) {
+			return values.iterator().next();
+		}
+
+		synchronized Object read(Function<? super String, ?> reader) {
+			return reader.apply("");
+		}
+
+		final class Inner {
+			int value;
+		}
+
+		enum Color {
+			RED,
+			GREEN {
+				@Override
+				public String toString() {
+					return "green";
+				}
+			};
+
+			static Color of(String name) {
+				return valueOf(name);
+			}
+		}
+	}
+
+	interface Shape {
+
+		double area();
+
+		static Shape of(double area) {
+			return () -> area;
+		}
+
+		abstract class Nested<T> implements Shape, Comparable<Nested<T>> {
+			T value;
+
+			@Marker
+			abstract <U extends T> List<? super U> read(Map<String, U> values);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package de.tum.in.test.api.structural;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.annotation.*;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.test.api.structural.ObservedClass.ObservedType;
+
+@SuppressWarnings("static-method")
+class ObservedClassTest {
+
+	@Test
+	void testSnapshotShared() {
+		assertThat(ObservedClass.of(Example.class)).isSameAs(ObservedClass.of(Example.class));
+	}
+
+	@Test
+	void testMembersIndexedByName() {
+		var observed = ObservedClass.of(Example.class);
+
+		assertThat(observed.getModifiers()).containsExactlyInAnyOrder("static", "abstract");
+		assertThat(observed.getField("counter").getModifiers()).containsExactlyInAnyOrder("private", "static");
+		assertThat(observed.getField("name").getModifiers()).isEmpty();
+		assertThat(observed.getField("name").getAnnotations()).hasSize(1);
+		assertThat(observed.getField("missing")).isNull();
+		assertThat(observed.getMethods("run")).hasSize(2);
+		assertThat(observed.getMethods("missing")).isEmpty();
+		assertThat(observed.getConstructors()).hasSize(1);
+		assertThat(observed.getConstructors().get(0).getParameterTypes()).extracting(ObservedType::getTypeName)
+				.containsExactly("int");
+		assertThat(observed.getEnumConstantNames()).isNull();
+	}
+
+	@Test
+	void testFindByParameterFingerprint() {
+		var observed = ObservedClass.of(Example.class);
+
+		assertThat(observed.findMethods("run", "int", true)).hasSize(1);
+		assertThat(observed.findMethods("run", "", false)).hasSize(1);
+		assertThat(observed.findMethods("run", "long", true)).isEmpty();
+		assertThat(observed.findConstructors("int", false)).hasSize(1);
+		assertThat(ObservedClass.parameterFingerprint(List.of("int", "String", "int"), false))
+				.isEqualTo("String,int,int");
+		assertThat(ObservedClass.parameterFingerprint(List.of("int", "String", "int"), true))
+				.isEqualTo("int,String,int");
+	}
+
+	@Test
+	void testFindMisnamedMembers() {
+		var observed = ObservedClass.of(Example.class);
+
+		assertThat(observed.findMisnamedField("Counter")).contains("counter");
+		assertThat(observed.findMisnamedField("countre")).contains("counter");
+		assertThat(observed.findMisnamedField("nmae")).contains("name");
+		assertThat(observed.findMisnamedField("size")).isEmpty();
+		assertThat(observed.findMisnamedMethod("Run")).contains("run");
+		assertThat(observed.findMisnamedMethod("walk")).isEmpty();
+		assertThat(ObservedClass.of(Kind.class).findMisnamedField("$values")).isEmpty();
+	}
+
+	@Test
+	void testEnumConstantNames() {
+		assertThat(ObservedClass.of(Kind.class).getEnumConstantNames()).containsExactly("B", "A");
+	}
+
+	@Test
+	void testModifierSet() {
+		assertThat(ObservedClass.modifierSet(0)).isEmpty();
+		assertThat(ObservedClass.modifierSet(java.lang.reflect.Modifier.PUBLIC)).isEqualTo(Set.of("public"));
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface Marker {
+		// marker only
+	}
+
+	abstract static class Example {
+		private static int counter;
+		@Marker
+		String name;
+
+		Example(int value) {
+			counter = value;
+		}
+
+		void run() {
+			// nothing
+		}
+
+		abstract void run(int times);
+	}
+
+	enum Kind {
+		B,
+		A
+	}
+}
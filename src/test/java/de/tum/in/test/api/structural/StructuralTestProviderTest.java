@@ -0,0 +1,80 @@
+package de.tum.in.test.api.structural;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+import de.tum.in.test.api.AresConfiguration;
+import de.tum.in.test.api.localization.UseLocale;
+
+@UseLocale("en")
+@SuppressWarnings("static-method")
+class StructuralTestProviderTest {
+
+	@AfterEach
+	void resetConfiguration() {
+		AresConfiguration.setStructuralTestParallelism(1);
+		AresConfiguration.setStructuralTestTimeout(Duration.ofMinutes(1));
+	}
+
+	@Test
+	void testHangingTestTimesOut() {
+		AresConfiguration.setStructuralTestParallelism(2);
+		AresConfiguration.setStructuralTestTimeout(Duration.ofMillis(200));
+		var tests = List.of(dynamicTest("hangs", () -> Thread.sleep(60_000)), dynamicTest("passes", () -> {
+			// nothing to check
+		}));
+
+		var evaluatedTests = StructuralTestProvider.evaluateTests(tests).collect(Collectors.toList());
+
+		assertThat(evaluatedTests).extracting(DynamicTest::getDisplayName).containsExactly("hangs", "passes");
+		assertThatThrownBy(() -> evaluatedTests.get(0).getExecutable().execute())
+				.isInstanceOf(AssertionFailedError.class).hasMessage("execution timed out after 200 ms");
+		assertThatCode(() -> evaluatedTests.get(1).getExecutable().execute()).doesNotThrowAnyException();
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> AresConfiguration.setStructuralTestTimeout(Duration.ZERO));
+	}
+
+	@Test
+	void testStructureOracleCopiedForEachCaller(@TempDir Path directory) throws IOException {
+		var jsonFile = directory.resolve("test.json");
+		Files.writeString(jsonFile, "[ { \"class\" : { \"name\" : \"A\", \"package\" : \"p\" } } ]");
+		var url = jsonFile.toUri().toURL();
+
+		var structureOracle = StructuralTestProvider.retrieveStructureOracleJSON(url);
+		structureOracle.getJSONObject(0).getJSONObject("class").put("name", "B");
+		structureOracle.remove(0);
+
+		var otherStructureOracle = StructuralTestProvider.retrieveStructureOracleJSON(url);
+		assertThat(otherStructureOracle).isNotSameAs(structureOracle);
+		assertThat(otherStructureOracle.getJSONObject(0).getJSONObject("class").getString("name")).isEqualTo("A");
+	}
+
+	@Test
+	void testQueuedTestNotExecuted() {
+		AresConfiguration.setStructuralTestParallelism(2);
+		AresConfiguration.setStructuralTestTimeout(Duration.ofMillis(200));
+		var tests = List.of(dynamicTest("hangs", () -> Thread.sleep(60_000)),
+				dynamicTest("hangs too", () -> Thread.sleep(60_000)), dynamicTest("queued", () -> {
+					// nothing to check
+				}));
+
+		var evaluatedTests = StructuralTestProvider.evaluateTests(tests).collect(Collectors.toList());
+
+		assertThatThrownBy(() -> evaluatedTests.get(0).getExecutable().execute())
+				.hasMessage("execution timed out after 200 ms");
+		assertThatThrownBy(() -> evaluatedTests.get(1).getExecutable().execute())
+				.hasMessage("execution timed out after 200 ms");
+		assertThatThrownBy(() -> evaluatedTests.get(2).getExecutable().execute())
+				.hasMessage("not executed, as the structural tests did not finish within 200 ms");
+	}
+}
@@ -0,0 +1,111 @@
+package de.tum.in.test.api.structural;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.*;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+import de.tum.in.test.api.structural.StructureOracle.*;
+
+@SuppressWarnings("static-method")
+class StructureOracleTest {
+
+	private static final String ORACLE = "[ {\n" //
+			+ "  \"class\" : { \"name\" : \"A\", \"package\" : \"p\" },\n" //
+			+ "  \"attributes\" : [ { \"name\" : \"x\", \"type\" : \"int\", \"modifiers\" : [ \"penguin: final\" ] } ],\n" //
+			+ "  \"methods\" : [ { \"name\" : \"m\", \"parameters\" : [ \"int\", \"String\" ], \"returnType\" : \"void\" } ]\n" //
+			+ "}, {\n" //
+			+ "  \"attributes\" : [ ]\n" //
+			+ "} ]";
+
+	@Test
+	void testCompiledOnce() {
+		var json = new JSONArray(ORACLE);
+		var oracle = StructureOracle.of(json);
+
+		assertThat(StructureOracle.of(json)).isSameAs(oracle);
+		assertThat(StructureOracle.of(new JSONArray(ORACLE))).isNotSameAs(oracle);
+		var classA = oracle.getClasses().get(0);
+		assertThat(classA.getMethods()).isSameAs(classA.getMethods());
+	}
+
+	@Test
+	void testSectionsCompiledLazily() {
+		var classes = StructureOracle.of(new JSONArray(ORACLE)).getClasses();
+		var classA = classes.get(0);
+		var noClass = classes.get(1);
+
+		assertThat(classA.hasNameAndPackage()).isTrue();
+		assertThat(noClass.hasClass()).isFalse();
+		assertThat(noClass.hasAttributes()).isTrue();
+		// the invalid modifier is only reported once it is used
+		var modifiers = classA.getAttributes().get(0).getModifiers();
+		assertThatIllegalArgumentException().isThrownBy(() -> modifiers.matches(new String[] { "final" }))
+				.withMessage("Invalid entry for modifier: 'penguin: final'");
+	}
+
+	@Test
+	void testModifiers() {
+		var modifiers = ExpectedModifiers.compile(new JSONArray(List.of("private", "optional: final")));
+
+		assertThat(modifiers.matches(new String[] { "private" })).isTrue();
+		assertThat(modifiers.matches(new String[] { "private", "final" })).isTrue();
+		assertThat(modifiers.matches(new String[] { "final" })).isFalse();
+		assertThat(modifiers.matches(new String[] { "private", "static" })).isFalse();
+		assertThat(ExpectedModifiers.compile(new JSONArray()).matches(new String[] { "" })).isTrue();
+		assertThat(ExpectedModifiers.compile(new JSONArray()).matches(new String[] { "public" })).isFalse();
+	}
+
+	@Test
+	void testParameters() {
+		var unordered = ExpectedParameters.compile(new JSONArray(List.of("int", "String", "int")), false);
+		var ordered = ExpectedParameters.compile(new JSONArray(List.of("int", "String", "int")), true);
+		Class<?>[] observed = { String.class, int.class, int.class };
+
+		assertThat(unordered.matches(observed)).isTrue();
+		assertThat(ordered.matches(observed)).isFalse();
+		assertThat(ordered.matches(new Class<?>[] { int.class, String.class, int.class })).isTrue();
+		assertThat(unordered.matches(new Class<?>[] { int.class, String.class })).isFalse();
+	}
+
+	@Test
+	void testQualifiedAndGenericParameters() {
+		var method = ObservedClass.of(Holder.class).getMethods("put").get(0);
+		var unordered = ExpectedParameters
+				.compile(new JSONArray(List.of("int", "java.util.List<java.lang.String>", "java.lang.String")), false);
+		var ordered = ExpectedParameters.compile(new JSONArray(List.of("String", "List<String>", "int")), true);
+
+		assertThat(unordered.getFingerprint()).isEqualTo("List,String,int");
+		assertThat(ordered.getFingerprint()).isEqualTo("String,List,int");
+		assertThat(unordered.matches(method)).isTrue();
+		assertThat(ordered.matches(method)).isTrue();
+		assertThat(ExpectedParameters.compile(new JSONArray(List.of("String", "List<Integer>", "int")), true)
+				.matches(method)).isFalse();
+		assertThat(ExpectedParameters.compile(new JSONArray(List.of("String", "java.awt.List", "int")), true)
+				.matches(method)).isFalse();
+	}
+
+	@Test
+	void testTypes() throws NoSuchFieldException {
+		var genericField = Holder.class.getDeclaredField("map");
+
+		assertThat(ExpectedType.of("Map<String, List<Integer>>").matches(genericField.getType(),
+				genericField.getGenericType())).isTrue();
+		assertThat(ExpectedType.of("java.util.Map").matches(genericField.getType(), genericField.getGenericType()))
+				.isTrue();
+		assertThat(ExpectedType.of("Map").matches(genericField.getType(), genericField.getGenericType())).isTrue();
+		assertThat(ExpectedType.of("HashMap").matches(genericField.getType(), genericField.getGenericType()))
+				.isFalse();
+		assertThat(ExpectedType.of("String[]").matches(String[].class, String[].class)).isTrue();
+	}
+
+	static class Holder {
+		Map<String, List<Integer>> map;
+
+		void put(String key, List<String> values, int index) {
+			map.put(key + values + index, null);
+		}
+	}
+}
@@ -0,0 +1,125 @@
+package de.tum.in.test.api.structural.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("static-method")
+class ProjectSourceIndexTest {
+
+	@Test
+	void testNestedTypes() {
+		var source = "package a;\n" //
+				+ "public class Outer {\n" //
+				+ "	// class Commented {}\n" //
+				+ "	private String s = \"enum InString {\";\n" //
+				+ "	private char c = '{';\n" //
+				+ "	static class Inner {\n" //
+				+ "		interface Deeper<T extends Comparable<T>> { }\n" //
+				+ "	}\n" //
+				+ "	void run() {\n" //
+				+ "		class Local { }\n" //
+				+ "		new Object() { class InAnonymous { } };\n" //
+				+ "		var type = Outer.class;\n" //
+				+ "	}\n" //
+				+ "	/* record InComment() { } */\n" //
+				+ "	record Point(int x, int y) { }\n" //
+				+ "	@interface Marker { }\n" //
+				+ "}\n" //
+				+ "enum Secondary { A { }, B }\n";
+
+		assertThat(ProjectSourceIndex.findDeclaredTypes(source)).containsExactly("Outer", "Outer$Inner",
+				"Outer$Inner$Deeper", "Outer$Point", "Outer$Marker", "Secondary");
+	}
+
+	@Test
+	void testBuildIndex(@TempDir Path sources) throws IOException {
+		Files.createDirectories(sources.resolve("a/b"));
+		Files.writeString(sources.resolve("a/b/Some.java"), "package a.b; class Some { enum Kind { X } }");
+		Files.writeString(sources.resolve("a/Some.kt"), "package a\nclass Some { class NotIndexed }");
+		Files.writeString(sources.resolve("Default.java"), "class Default {}");
+		Files.writeString(sources.resolve("a/notes.txt"), "class Text {}");
+
+		var sourceIndex = ProjectSourceIndex.build(sources);
+		var index = sourceIndex.getPackagesByTypeName();
+
+		assertThat(index).containsOnlyKeys("Some", "Some$Kind", "Default");
+		assertThat(index.get("Some")).containsExactlyInAnyOrder("a", "a.b");
+		assertThat(index.get("Some$Kind")).containsExactly("a.b");
+		assertThat(index.get("Default")).containsExactly("");
+		assertThat(sourceIndex.findWithDifferentCase("some")).containsExactly("Some");
+		assertThat(sourceIndex.findWithDifferentCase("Some")).isEmpty();
+		assertThat(sourceIndex.findSimilar("Defualt", 2)).containsExactly("Default");
+	}
+
+	@Test
+	void testBuildIndexMissingDirectory(@TempDir Path sources) {
+		assertThat(ProjectSourceIndex.build(sources.resolve("missing")).getPackagesByTypeName()).isEmpty();
+	}
+
+	@Test
+	void testRefreshOnlyScansChangedFiles(@TempDir Path sources) throws IOException {
+		Files.createDirectories(sources.resolve("a"));
+		var some = sources.resolve("a/Some.java");
+		var other = sources.resolve("a/Other.java");
+		Files.writeString(some, "package a; class Some { }");
+		Files.writeString(other, "package a; class Other { }");
+		var tracker = new ProjectSourceIndex.Tracker(sources);
+		var initial = tracker.refresh();
+
+		assertThat(tracker.getScannedFiles()).isEqualTo(2);
+		assertThat(tracker.refresh()).isSameAs(initial);
+		assertThat(tracker.getScannedFiles()).isZero();
+
+		Files.writeString(some, "package a; class Some { class Added { } }");
+		touch(some, 10);
+		var updated = tracker.refresh();
+
+		assertThat(tracker.getScannedFiles()).isEqualTo(1);
+		assertThat(updated.getPackagesByTypeName()).containsOnlyKeys("Some", "Some$Added", "Other");
+	}
+
+	@Test
+	void testRefreshKeepsIndexForSameContent(@TempDir Path sources) throws IOException {
+		var some = sources.resolve("Some.java");
+		Files.writeString(some, "class Some { }");
+		var tracker = new ProjectSourceIndex.Tracker(sources);
+		var initial = tracker.refresh();
+
+		touch(some, 10);
+		assertThat(tracker.refresh()).isSameAs(initial);
+		assertThat(tracker.getScannedFiles()).isZero();
+
+		Files.writeString(some, "class Some { int x; }");
+		touch(some, 20);
+		assertThat(tracker.refresh()).isSameAs(initial);
+		assertThat(tracker.getScannedFiles()).isEqualTo(1);
+	}
+
+	@Test
+	void testRefreshAddedAndDeletedFiles(@TempDir Path sources) throws IOException {
+		Files.createDirectories(sources.resolve("a/b"));
+		Files.writeString(sources.resolve("a/Some.java"), "package a; class Some { }");
+		var tracker = new ProjectSourceIndex.Tracker(sources);
+		tracker.refresh();
+
+		Files.delete(sources.resolve("a/Some.java"));
+		Files.writeString(sources.resolve("a/b/Some.java"), "package a.b; class Some { }");
+		Files.writeString(sources.resolve("a/Other.kt"), "package a\nclass Other");
+		var index = tracker.refresh().getPackagesByTypeName();
+
+		assertThat(index).containsOnlyKeys("Some", "Other");
+		assertThat(index.get("Some")).containsExactly("a.b");
+		assertThat(index.get("Other")).containsExactly("a");
+	}
+
+	private static void touch(Path file, long seconds) throws IOException {
+		Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+	}
+}
@@ -0,0 +1,68 @@
+package de.tum.in.test.api.structural.testutils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.junit.jupiter.api.Test;
+
+import info.debatty.java.stringsimilarity.Damerau;
+
+@SuppressWarnings("static-method")
+class TypeNameTreeTest {
+
+	private static final Damerau DAMERAU = new Damerau();
+
+	@Test
+	void testFindWithinOrdered() {
+		var tree = new TypeNameTree(List.of("Penguin", "Pinguin", "Pengiun", "Penguins", "Polarbear", "Penguin"),
+				TypeNameTreeTest::distance);
+
+		assertThat(tree.findWithin("Penguin", 0)).containsExactly("Penguin");
+		assertThat(tree.findWithin("Penguin", 1)).containsExactly("Penguin", "Pengiun", "Penguins", "Pinguin");
+		assertThat(tree.findWithin("Penguinn", 2)).containsExactly("Penguin", "Penguins", "Pengiun", "Pinguin");
+		assertThat(new TypeNameTree(List.of(), TypeNameTreeTest::distance).findWithin("Penguin", 2)).isEmpty();
+	}
+
+	@Test
+	void testFindWithinSameAsLinearSearch() {
+		var random = new Random(42);
+		var names = Stream.generate(() -> randomName(random)).limit(2000).distinct().collect(Collectors.toList());
+		var tree = new TypeNameTree(names, TypeNameTreeTest::distance);
+
+		for (var i = 0; i < 200; i++) {
+			var query = i % 2 == 0 ? randomName(random) : mutate(names.get(random.nextInt(names.size())), random);
+			var expected = names.stream().filter(name -> distance(query, name) <= 2).collect(Collectors.toSet());
+			assertThat(tree.findWithin(query, 2)).containsExactlyInAnyOrderElementsOf(expected);
+		}
+	}
+
+	private static int distance(String a, String b) {
+		return (int) DAMERAU.distance(a, b);
+	}
+
+	private static String randomName(Random random) {
+		var length = 3 + random.nextInt(6);
+		var name = new StringBuilder();
+		for (var i = 0; i < length; i++)
+			name.append((char) ('a' + random.nextInt(6)));
+		return name.toString();
+	}
+
+	private static String mutate(String name, Random random) {
+		var chars = new StringBuilder(name);
+		int position = random.nextInt(chars.length());
+		switch (random.nextInt(3)) {
+		case 0:
+			chars.deleteCharAt(position);
+			break;
+		case 1:
+			chars.insert(position, 'x');
+			break;
+		default:
+			chars.setCharAt(position, 'y');
+		}
+		return chars.toString();
+	}
+}
@@ -567,6 +567,168 @@ public class AstAssertionTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Batch-Test-Tests")
+	class BatchTestTests {
+
+		@TestTest
+		void test_testHasNoneOfPerPackage_Success() {
+			String testHasNoneOfPerPackage_Success = "testHasNoneOfPerPackage_Success";
+			tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testHasNoneOfPerPackage_Success));
+		}
+
+		@TestTest
+		void test_testHasNoneOf_Fail() {
+			String testHasNoneOf_Fail = "testHasNoneOf_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoneOf_Fail, AssertionError.class,
+							"Unwanted statement found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "loops", "yes",
+											"ClassWithAnyKindsOfLoops.java")
+									+ ":" + System.lineSeparator() + "  - For-Statement was found:"
+									+ System.lineSeparator() + "   - Between line 8 (column 3) and line 10 (column 3)"
+									+ System.lineSeparator() + "  - While-Statement was found:" + System.lineSeparator()
+									+ "   - Between line 21 (column 3) and line 24 (column 3)"));
+		}
+
+		@TestTest
+		void test_testHasNoneOfPerPackage_Fail() {
+			String testHasNoneOfPerPackage_Fail = "testHasNoneOfPerPackage_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoneOfPerPackage_Fail, AssertionError.class,
+							"Unwanted statement found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "exceptionHandlings",
+											"yes", "ClassWithAnyKindsOfExceptionHandlings.java")
+									+ ":" + System.lineSeparator() + "  - Assert-Statement was found:"
+									+ System.lineSeparator() + "   - Between line 6 (column 3) and line 6 (column 16)"
+									+ System.lineSeparator() + "  - Throw-Statement was found:" + System.lineSeparator()
+									+ "   - Between line 10 (column 3) and line 10 (column 54)" + System.lineSeparator()
+									+ " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "loops", "yes",
+											"ClassWithAnyKindsOfLoops.java")
+									+ ":" + System.lineSeparator() + "  - For-Each-Statement was found:"
+									+ System.lineSeparator()
+									+ "   - Between line 14 (column 3) and line 16 (column 3)"));
+		}
+
+		@TestTest
+		void test_testHasNoneOfPackageDoesNotExist() {
+			String testHasNoneOfPackageDoesNotExist = "testHasNoneOfPackageDoesNotExist";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoneOfPackageDoesNotExist, AssertionError.class,
+							"The source directory " + Path.of("src", "test", "java", "de", "tum", "in", "test",
+									"integration", "testuser", "subject", "structural", "astTestFiles", "does", "not",
+									"exist") + " does not exist"));
+		}
+	}
+
+	@Nested
+	@DisplayName("Call-Graph-Test-Tests")
+	class CallGraphTestTests {
+
+		private static final String CALLS_PACKAGE = "de.tum.in.test.integration.testuser.subject.structural.astTestFiles.calls";
+
+		@TestTest
+		void test_testHasNoRecursion_Success() {
+			String testHasNoRecursion_Success = "testHasNoRecursion_Success";
+			tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testHasNoRecursion_Success));
+		}
+
+		@TestTest
+		void test_testHasNoRecursion_Fail() {
+			String testHasNoRecursion_Fail = "testHasNoRecursion_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoRecursion_Fail, AssertionError.class,
+							"Unwanted recursion found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "calls", "yes",
+											"ClassWithRecursion.java")
+									+ ":" + System.lineSeparator() + "  - Recursive call of " + CALLS_PACKAGE
+									+ ".yes.ClassWithRecursion.factorial was found:" + System.lineSeparator()
+									+ "   - Between line 9 (column 27) and line 9 (column 42)" + System.lineSeparator()
+									+ "  - Recursive call of " + CALLS_PACKAGE + ".yes.ClassWithRecursion.isOdd was found:"
+									+ System.lineSeparator() + "   - Between line 13 (column 20) and line 13 (column 31)"
+									+ System.lineSeparator() + "  - Recursive call of " + CALLS_PACKAGE
+									+ ".yes.ClassWithRecursion.isEven was found:" + System.lineSeparator()
+									+ "   - Between line 17 (column 20) and line 17 (column 32)"));
+		}
+
+		@TestTest
+		void test_testHasNoCallsInto_Success() {
+			String testHasNoCallsInto_Success = "testHasNoCallsInto_Success";
+			tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testHasNoCallsInto_Success));
+		}
+
+		@TestTest
+		void test_testHasNoCallsInto_Fail() {
+			String testHasNoCallsInto_Fail = "testHasNoCallsInto_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoCallsInto_Fail, AssertionError.class,
+							"Unwanted method call found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "calls", "yes",
+											"ClassWithRecursion.java")
+									+ ":" + System.lineSeparator()
+									+ "  - Call of java.util.stream.Stream.collect was found:" + System.lineSeparator()
+									+ "   - Between line 21 (column 10) and line 21 (column 79)" + System.lineSeparator()
+									+ "  - Call of java.util.stream.Stream.map was found:" + System.lineSeparator()
+									+ "   - Between line 21 (column 10) and line 21 (column 45)" + System.lineSeparator()
+									+ "  - Call of java.util.stream.Collectors.joining was found:"
+									+ System.lineSeparator() + "   - Between line 21 (column 55) and line 21 (column 78)"));
+		}
+
+		@TestTest
+		void test_testHasNoCallsTo_Fail() {
+			String testHasNoCallsTo_Fail = "testHasNoCallsTo_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testHasNoCallsTo_Fail, AssertionError.class,
+							"Unwanted method call found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "calls", "no",
+											"ClassWithoutRecursion.java")
+									+ ":" + System.lineSeparator() + "  - Call of java.util.List.add was found:"
+									+ System.lineSeparator() + "   - Between line 22 (column 3) and line 22 (column 17)"));
+		}
+	}
+
+	@Nested
+	@DisplayName("Parallel-Test-Tests")
+	class ParallelTestTests {
+
+		@TestTest
+		void test_testParallelParsingSameResult() {
+			String testParallelParsingSameResult = "testParallelParsingSameResult";
+			tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testParallelParsingSameResult));
+		}
+	}
+
+	@Nested
+	@DisplayName("Fail-Fast-Test-Tests")
+	class FailFastTestTests {
+
+		@TestTest
+		void test_testFailFast_Success() {
+			String testFailFast_Success = "testFailFast_Success";
+			tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testFailFast_Success));
+		}
+
+		@TestTest
+		void test_testFailFast_Fail() {
+			String testFailFast_Fail = "testFailFast_Fail";
+			tests.assertThatEvents().haveExactly(1,
+					testFailedWith(testFailFast_Fail, AssertionError.class,
+							"Unwanted statement found:" + System.lineSeparator() + " - In "
+									+ Path.of("src", "test", "java", "de", "tum", "in", "test", "integration",
+											"testuser", "subject", "structural", "astTestFiles", "calls", "no",
+											"ClassWithoutRecursion.java")
+									+ ":" + System.lineSeparator() + "  - For-Statement was found:"
+									+ System.lineSeparator() + "   - Between line 11 (column 3) and line 13 (column 3)"));
+		}
+	}
+
 	@Nested
 	@DisplayName("PomXml-Test-Tests")
 	class PomXmlTestTests {
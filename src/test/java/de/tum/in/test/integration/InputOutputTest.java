@@ -7,6 +7,7 @@ import java.lang.annotation.AnnotationFormatError;
 import org.junit.ComparisonFailure;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
 import org.junit.platform.testkit.engine.Events;
+import org.opentest4j.AssertionFailedError;
 
 import de.tum.in.test.integration.testuser.InputOutputUser;
 import de.tum.in.test.testutilities.*;
@@ -20,6 +21,9 @@ class InputOutputTest {
 	private final String customStringBuilderManager = "customStringBuilderManager";
 	private final String makeUTF8Error = "makeUTF8Error";
 	private final String noneManagerInvalidParameter = "noneManagerInvalidParameter";
+	private final String testEndlessWrongOutput = "testEndlessWrongOutput";
+	private final String testExpectLinesMatch = "testExpectLinesMatch";
+	private final String testInteractiveMenu = "testInteractiveMenu";
 	private final String testLinesMatch = "testLinesMatch";
 	private final String testPenguin1 = "testPenguin1";
 	private final String testPenguin2 = "testPenguin2";
@@ -46,6 +50,23 @@ class InputOutputTest {
 				testFailedWith(noneManagerInvalidParameter, ParameterResolutionException.class));
 	}
 
+	@TestTest
+	void test_testEndlessWrongOutput() {
+		tests.assertThatEvents().haveExactly(1, testFailedWith(testEndlessWrongOutput, AssertionFailedError.class,
+				"Endless output ==> expected line #2: `Nieder mit den Eisbären!`, but actual line #2 was: `Pinguine sind die Besten!`",
+				Option.MESSAGE_CONTAINS));
+	}
+
+	@TestTest
+	void test_testExpectLinesMatch() {
+		tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testExpectLinesMatch));
+	}
+
+	@TestTest
+	void test_testInteractiveMenu() {
+		tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testInteractiveMenu));
+	}
+
 	@TestTest
 	void test_testLinesMatch() {
 		tests.assertThatEvents().haveExactly(1, finishedSuccessfully(testLinesMatch));
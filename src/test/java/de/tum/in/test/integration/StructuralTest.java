@@ -43,9 +43,10 @@ class StructuralTest {
 	private final String noBuildToolFile = "noBuildToolFile";
 
 	/**
-	 * One for Maven and one for Gradle each.
+	 * One for Maven, one for Gradle, one for reading class files and one for
+	 * parallel evaluation each.
 	 */
-	private static final int COUNT = 2;
+	private static final int COUNT = 4;
 
 	@TestTest
 	void test_testAttributesSomeInterface() {
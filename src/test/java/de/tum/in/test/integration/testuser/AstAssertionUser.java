@@ -1,7 +1,10 @@
 package de.tum.in.test.integration.testuser;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.*;
 
 import org.junit.jupiter.api.*;
 
@@ -9,6 +12,7 @@ import com.github.javaparser.ParserConfiguration;
 
 import de.tum.in.test.api.*;
 import de.tum.in.test.api.ast.asserting.UnwantedNodesAssert;
+import de.tum.in.test.api.ast.model.JavaFileCache;
 import de.tum.in.test.api.ast.type.*;
 import de.tum.in.test.api.jupiter.Public;
 import de.tum.in.test.api.localization.UseLocale;
@@ -377,6 +381,119 @@ public class AstAssertionUser {
 		}
 	}
 
+	@Nested
+	@DisplayName("Batch-Tests")
+	class BatchTests {
+		@Test
+		void testHasNoneOfPerPackage_Success() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE)
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+					.hasNoneOf(Map.of("loops.no", Set.of(LoopType.ANY), "exceptionHandlings.no",
+							Set.of(ExceptionHandlingType.ANY), "classes.no", Set.of(ClassType.ANY)));
+		}
+
+		@Test
+		void testHasNoneOf_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".loops.yes")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+					.hasNoneOf(LoopType.WHILESTMT, LoopType.FORSTMT, ExceptionHandlingType.ANY);
+		}
+
+		@Test
+		void testHasNoneOfPerPackage_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE)
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+					.hasNoneOf(Map.of("loops", Set.of(LoopType.FOR_EACHSTMT), "exceptionHandlings.yes",
+							Set.of(ExceptionHandlingType.THROW), "exceptionHandlings",
+							Set.of(ExceptionHandlingType.ASSERT)));
+		}
+
+		@Test
+		void testHasNoneOfPackageDoesNotExist() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE)
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+					.hasNoneOf(Map.of("does.not.exist", Set.of(LoopType.ANY)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Call-Graph-Tests")
+	class CallGraphTests {
+		@Test
+		void testHasNoRecursion_Success() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".calls.no")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNoRecursion();
+		}
+
+		@Test
+		void testHasNoRecursion_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".calls.yes")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNoRecursion();
+		}
+
+		@Test
+		void testHasNoCallsInto_Success() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".calls.no")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNoCallsInto("java.util.stream")
+					.hasNoCallsTo("java.util.Collections.sort");
+		}
+
+		@Test
+		void testHasNoCallsInto_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".calls.yes")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNoCallsInto("java.util.stream");
+		}
+
+		@Test
+		void testHasNoCallsTo_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".calls.no")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNoCallsTo("java.util.List.add");
+		}
+	}
+
+	@Nested
+	@DisplayName("Parallel-Tests")
+	class ParallelTests {
+
+		@AfterEach
+		void resetParallelism() {
+			AresConfiguration.setAstParsingParallelism(1);
+		}
+
+		@Test
+		void testParallelParsingSameResult() {
+			for (Type type : List.of(LoopType.ANY, ConditionalType.ANY, ExceptionHandlingType.ANY)) {
+				AresConfiguration.setAstParsingParallelism(1);
+				JavaFileCache.clear();
+				var sequential = assertThrows(AssertionError.class, () -> UnwantedNodesAssert.assertThatProjectSources()
+						.withinPackage(BASE_PACKAGE).withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+						.hasNo(type));
+				AresConfiguration.setAstParsingParallelism(4);
+				JavaFileCache.clear();
+				var parallel = assertThrows(AssertionError.class, () -> UnwantedNodesAssert.assertThatProjectSources()
+						.withinPackage(BASE_PACKAGE).withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+						.hasNo(type));
+				assertEquals(sequential.getMessage(), parallel.getMessage());
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Fail-Fast-Tests")
+	class FailFastTests {
+		@Test
+		void testFailFast_Success() {
+			UnwantedNodesAssert.assertThatProjectSources().withinPackage(BASE_PACKAGE + ".loops.no")
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).withFailFast().hasNo(LoopType.ANY);
+		}
+
+		@Test
+		void testFailFast_Fail() {
+			UnwantedNodesAssert.assertThatProjectSources().withFailFast().withinPackage(BASE_PACKAGE)
+					.withLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17).hasNo(LoopType.ANY);
+		}
+	}
+
 	@Nested
 	@DisplayName("PomXml-Tests")
 	class PomXmlTests {
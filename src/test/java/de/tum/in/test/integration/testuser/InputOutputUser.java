@@ -98,6 +98,51 @@ public class InputOutputUser {
 		InputOutputPenguin.readTwoTimes();
 	}
 
+	@Test
+	void testEndlessWrongOutput(IOTester tester) {
+		tester.out().expectLinesMatch("Endless output", //
+				"Pinguine sind die Besten!", //
+				"Nieder mit den Eisbären!");
+		InputOutputPenguin.writeEndlessly();
+	}
+
+	@Test
+	void testExpectLinesMatch(IOTester tester) {
+		tester.out().expectLinesMatch("This should pass", //
+				"Pinguine sind die Besten!", //
+				"||Nieder mit den .+!||");
+		InputOutputPenguin.writeTwoLines();
+		tester.out().assertExpectedLinesMatched();
+
+		tester.reset();
+		tester.out().expectLinesMatch("This should not pass", //
+				">> 1 >>", //
+				"Nieder mit den Eisbären!", //
+				"Pinguine sind die Besten!");
+		InputOutputPenguin.writeTwoLines();
+		assertThatThrownBy(tester.out()::assertExpectedLinesMatched).isInstanceOf(AssertionFailedError.class)
+				.hasMessageContainingAll("expected line #3: `Pinguine sind die Besten!` not found");
+	}
+
+	@Test
+	void testInteractiveMenu(IOTester tester) {
+		tester.provideInputInteractively(output -> {
+			var lines = output.getLinesAsString();
+			var lastLine = lines.get(lines.size() - 1);
+			assertThat(lastLine).endsWith("0: Ende): ");
+			if (lines.size() == 1)
+				return "2";
+			return lines.get(lines.size() - 2).contains("Eisbären") ? "1" : "0";
+		});
+
+		InputOutputPenguin.menu();
+
+		tester.out().assertLinesMatch("Menu output", //
+				"||Auswahl .+: Nieder mit den Eisbären!||", //
+				"||Auswahl .+: Pinguine sind die Besten!||", //
+				"Auswahl (1: Pinguin, 2: Eisbär, 0: Ende): ");
+	}
+
 	@Test
 	void testLinesMatch(IOTester tester) {
 		System.out.println("ABC ((");
@@ -142,7 +187,7 @@ public class InputOutputUser {
 					"|| (( |", //
 					"Something");
 		}).isInstanceOf(AssertionFailedError.class)
-				.hasMessageContainingAll("expected: matches regular expression: `d+XX`", "actual: `123`");
+				.hasMessageContainingAll("expected: matches regular expression: `\\d+XX`", "actual: `123`");
 
 		assertThatThrownBy(() -> {
 			tester.out().assertLinesMatch("This should not pass", //
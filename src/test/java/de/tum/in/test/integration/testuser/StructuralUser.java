@@ -50,6 +50,38 @@ public class StructuralUser {
 		}
 	}
 
+	@Nested
+	class ClassFiles extends StrucuralTestSet {
+
+		@BeforeEach
+		void setupTest() {
+			ClassNameScanner.setPomXmlPath(TESTUSER_POM_XML);
+			ClassNameScanner.setBuildGradlePath(null);
+			AresConfiguration.setUsingClassFilesForStructuralTests(true);
+		}
+
+		@AfterEach
+		void resetConfiguration() {
+			AresConfiguration.setUsingClassFilesForStructuralTests(false);
+		}
+	}
+
+	@Nested
+	class Parallel extends StrucuralTestSet {
+
+		@BeforeEach
+		void setupTest() {
+			ClassNameScanner.setPomXmlPath(TESTUSER_POM_XML);
+			ClassNameScanner.setBuildGradlePath(null);
+			AresConfiguration.setStructuralTestParallelism(4);
+		}
+
+		@AfterEach
+		void resetConfiguration() {
+			AresConfiguration.setStructuralTestParallelism(1);
+		}
+	}
+
 	@Nested
 	class InvalidConfigurations {
 
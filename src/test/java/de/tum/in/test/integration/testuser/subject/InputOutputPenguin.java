@@ -1,5 +1,7 @@
 package de.tum.in.test.integration.testuser.subject;
 
+import java.util.Scanner;
+
 public final class InputOutputPenguin extends MiniJava {
 
 	private InputOutputPenguin() {
@@ -10,12 +12,31 @@ public final class InputOutputPenguin extends MiniJava {
 		write("Nieder mit den Eisbären!");
 	}
 
+	public static void writeEndlessly() {
+		while (true)
+			write("Pinguine sind die Besten!");
+	}
+
 	public static void calculateSquare() {
 		int a = readInt("Zahl eingeben:");
 		write("Ausgabe:");
 		write(a * a);
 	}
 
+	@SuppressWarnings("resource")
+	public static void menu() {
+		var scanner = new Scanner(System.in);
+		int choice;
+		do {
+			writeConsole("Auswahl (1: Pinguin, 2: Eisbär, 0: Ende): ");
+			choice = scanner.nextInt();
+			if (choice == 1)
+				write("Pinguine sind die Besten!");
+			else if (choice == 2)
+				write("Nieder mit den Eisbären!");
+		} while (choice != 0);
+	}
+
 	public static void readTwoTimes() {
 		int a = readInt("Zahl eingeben:");
 		int b = readInt("Nächste");
@@ -0,0 +1,28 @@
+package de.tum.in.test.integration.testuser.subject.structural.astTestFiles.calls.no;
+
+import java.util.*;
+
+public class ClassWithoutRecursion {
+
+	private final List<String> lines = new ArrayList<>();
+
+	public int factorial(int n) {
+		int result = 1;
+		for (int i = 2; i <= n; i++) {
+			result = multiply(result, i);
+		}
+		return result;
+	}
+
+	private static int multiply(int a, int b) {
+		return a * b;
+	}
+
+	public void add(String line) {
+		lines.add(line);
+	}
+
+	public void add(int number) {
+		add(String.valueOf(number));
+	}
+}
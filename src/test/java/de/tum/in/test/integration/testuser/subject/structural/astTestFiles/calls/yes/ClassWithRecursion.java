@@ -0,0 +1,23 @@
+package de.tum.in.test.integration.testuser.subject.structural.astTestFiles.calls.yes;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class ClassWithRecursion {
+
+	public int factorial(int n) {
+		return n <= 1 ? 1 : n * factorial(n - 1);
+	}
+
+	public boolean isEven(int n) {
+		return n == 0 || isOdd(n - 1);
+	}
+
+	public boolean isOdd(int n) {
+		return n != 0 && isEven(n - 1);
+	}
+
+	public String join(List<Integer> values) {
+		return values.stream().map(String::valueOf).collect(Collectors.joining(", "));
+	}
+}